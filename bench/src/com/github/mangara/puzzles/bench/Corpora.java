@@ -0,0 +1,90 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.bench;
+
+import com.github.mangara.puzzles.data.logiquiz.Logiquiz;
+import com.github.mangara.puzzles.data.nonogram.Nonogram;
+import com.github.mangara.puzzles.data.sudoku.Sudoku;
+import com.github.mangara.puzzles.io.logiquiz.LogiquizReader;
+import com.github.mangara.puzzles.io.nonogram.NonogramReader;
+import com.github.mangara.puzzles.io.sudoku.SudokuCollectionReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Loads the fixed puzzle corpora in bench/corpora. These files must not
+ * change, so that results stay comparable across commits. Add a new corpus
+ * instead.
+ */
+public class Corpora {
+
+    /**
+     * System property to load the corpora from a different directory.
+     */
+    public static final String DIRECTORY_PROPERTY = "puzzles.bench.corpora";
+
+    private static Path directory() {
+        return Paths.get(System.getProperty(DIRECTORY_PROPERTY, "bench/corpora"));
+    }
+
+    /**
+     * @param name easy, hard or expert
+     * @return
+     */
+    public static List<Sudoku> sudoku(String name) {
+        try {
+            return SudokuCollectionReader.readAll(directory().resolve("sudoku").resolve(name + ".txt"));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * @param size small, medium or large
+     * @return
+     */
+    public static List<Nonogram> nonograms(String size) {
+        List<Nonogram> result = new ArrayList<>();
+
+        try (Stream<Path> files = Files.list(directory().resolve("nonogram").resolve(size))) {
+            for (Path file : files.sorted().collect(Collectors.toList())) {
+                result.add(NonogramReader.readNonogram(file));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        return result;
+    }
+
+    public static Logiquiz logiquiz() {
+        try {
+            return LogiquizReader.readLogiquiz(directory().resolve("logiquiz.txt"));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private Corpora() {
+    }
+}
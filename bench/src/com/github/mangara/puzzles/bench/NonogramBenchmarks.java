@@ -0,0 +1,102 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.bench;
+
+import com.github.mangara.puzzles.data.nonogram.Nonogram;
+import com.github.mangara.puzzles.data.nonogram.NonogramSolutionState;
+import com.github.mangara.puzzles.solvers.nonogram.BruteForceSolver;
+import com.github.mangara.puzzles.solvers.nonogram.IterativeSolver;
+import com.github.mangara.puzzles.solvers.nonogram.NonogramSolverHelper;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Each benchmark processes a whole corpus, so scores are per corpus.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NonogramBenchmarks {
+
+    @State(Scope.Benchmark)
+    public static class Corpus {
+
+        @Param({"small", "medium", "large"})
+        public String size;
+
+        public List<Nonogram> puzzles;
+
+        @Setup
+        public void load() {
+            puzzles = Corpora.nonograms(size);
+        }
+    }
+
+    /**
+     * The brute force solver is too slow for the larger corpora.
+     */
+    @State(Scope.Benchmark)
+    public static class SmallCorpus {
+
+        public List<Nonogram> puzzles;
+
+        @Setup
+        public void load() {
+            puzzles = Corpora.nonograms("small");
+        }
+    }
+
+    @Benchmark
+    public void lineSolve(Corpus corpus, Blackhole blackhole) {
+        for (Nonogram puzzle : corpus.puzzles) {
+            NonogramSolutionState[] unknown = new NonogramSolutionState[puzzle.getWidth()];
+            Arrays.fill(unknown, NonogramSolutionState.UNKNOWN);
+
+            for (List<Integer> numbers : puzzle.getSideNumbers()) {
+                blackhole.consume(NonogramSolverHelper.intersectAllMatchingSolutions(numbers, unknown));
+            }
+        }
+    }
+
+    @Benchmark
+    public void iterativeSolver(Corpus corpus, Blackhole blackhole) {
+        for (Nonogram puzzle : corpus.puzzles) {
+            blackhole.consume(new IterativeSolver().hasUniqueSolution(puzzle));
+        }
+    }
+
+    @Benchmark
+    public void bruteForceSolver(SmallCorpus corpus, Blackhole blackhole) {
+        for (Nonogram puzzle : corpus.puzzles) {
+            blackhole.consume(BruteForceSolver.hasUniqueSolution(puzzle));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.bench;
+
+import com.github.mangara.puzzles.data.logiquiz.Logiquiz;
+import com.github.mangara.puzzles.data.nonogram.Nonogram;
+import com.github.mangara.puzzles.data.sudoku.Sudoku;
+import com.github.mangara.puzzles.io.logiquiz.LogiquizPrinter;
+import com.github.mangara.puzzles.io.nonogram.NonogramPrinter;
+import com.github.mangara.puzzles.io.sudoku.SudokuPrinter;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class PrinterBenchmarks {
+
+    private Sudoku sudoku;
+    private Nonogram nonogram;
+    private Logiquiz logiquiz;
+
+    @Setup
+    public void load() {
+        sudoku = Corpora.sudoku("hard").get(0);
+        nonogram = Corpora.nonograms("large").get(0);
+        logiquiz = Corpora.logiquiz();
+    }
+
+    @Benchmark
+    public BufferedImage drawSudoku() {
+        return SudokuPrinter.drawSudoku(sudoku);
+    }
+
+    @Benchmark
+    public BufferedImage drawNonogram() {
+        return NonogramPrinter.drawNonogram(nonogram);
+    }
+
+    @Benchmark
+    public BufferedImage drawLogiquiz() {
+        return LogiquizPrinter.drawLogiquiz(logiquiz, true);
+    }
+}
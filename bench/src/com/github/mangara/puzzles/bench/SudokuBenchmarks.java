@@ -0,0 +1,140 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.bench;
+
+import com.github.mangara.puzzles.data.sudoku.CreateSudokuSettings;
+import com.github.mangara.puzzles.data.sudoku.Sudoku;
+import com.github.mangara.puzzles.generators.sudoku.SudokuGenerator;
+import com.github.mangara.puzzles.solvers.sudoku.BitmaskSolver;
+import com.github.mangara.puzzles.solvers.sudoku.DancingLinksSolver;
+import com.github.mangara.puzzles.solvers.sudoku.LogicalSolver;
+import com.github.mangara.puzzles.solvers.sudoku.SolveStrategy;
+import com.github.mangara.puzzles.solvers.sudoku.SolvingSudoku;
+import com.github.mangara.puzzles.solvers.sudoku.StrategyRegistry;
+import com.github.mangara.puzzles.solvers.sudoku.SudokuGrader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Each benchmark processes a whole corpus, so scores are per corpus.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SudokuBenchmarks {
+
+    @State(Scope.Benchmark)
+    public static class Corpus {
+
+        @Param({"easy", "hard", "expert"})
+        public String difficulty;
+
+        public List<Sudoku> puzzles;
+
+        @Setup
+        public void load() {
+            puzzles = Corpora.sudoku(difficulty);
+        }
+    }
+
+    /**
+     * The states of the expert corpus after all singles, where the harder
+     * strategies have something to find.
+     */
+    @State(Scope.Benchmark)
+    public static class StrategyCorpus {
+
+        @Param({"NakedPair", "HiddenPair", "PointingClaiming", "NakedTriple", "HiddenTriple", "NakedQuad", "HiddenQuad",
+            "XWing", "Swordfish", "Jellyfish", "XYWing", "XYZWing", "SimpleColoring", "XChain"})
+        public String strategyName;
+
+        public SolveStrategy strategy;
+        public List<SolvingSudoku> states;
+
+        @Setup
+        public void load() {
+            StrategyRegistry registry = new StrategyRegistry();
+            LogicalSolver singles = registry.createSolver("OnlyInRegion, NakedSingle", LogicalSolver.Ordering.CANONICAL);
+
+            strategy = registry.create(strategyName);
+            states = new ArrayList<>();
+
+            for (Sudoku puzzle : Corpora.sudoku("expert")) {
+                states.add(singles.run(new SolvingSudoku(puzzle)).getFirst());
+            }
+        }
+    }
+
+    @Benchmark
+    public void bitmaskUniqueness(Corpus corpus, Blackhole blackhole) {
+        for (Sudoku puzzle : corpus.puzzles) {
+            blackhole.consume(BitmaskSolver.hasUniqueSolution(puzzle));
+        }
+    }
+
+    @Benchmark
+    public void dancingLinksUniqueness(Corpus corpus, Blackhole blackhole) {
+        for (Sudoku puzzle : corpus.puzzles) {
+            blackhole.consume(DancingLinksSolver.hasUniqueSolution(puzzle));
+        }
+    }
+
+    @Benchmark
+    public void logicalSolve(Corpus corpus, Blackhole blackhole) {
+        for (Sudoku puzzle : corpus.puzzles) {
+            blackhole.consume(LogicalSolver.rate(puzzle));
+        }
+    }
+
+    @Benchmark
+    public void grade(Corpus corpus, Blackhole blackhole) {
+        for (Sudoku puzzle : corpus.puzzles) {
+            blackhole.consume(SudokuGrader.grade(puzzle));
+        }
+    }
+
+    /**
+     * Time for the strategy to search every state once; the steps are not
+     * applied.
+     */
+    @Benchmark
+    public void findStep(StrategyCorpus corpus, Blackhole blackhole) {
+        for (SolvingSudoku state : corpus.states) {
+            blackhole.consume(corpus.strategy.findStep(state));
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Sudoku generate() {
+        return SudokuGenerator.create(new CreateSudokuSettings(38, CreateSudokuSettings.DEFAULT_MIN_CLUES, CreateSudokuSettings.DEFAULT_MAX_CLUES, CreateSudokuSettings.Symmetry.ROTATIONAL));
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles;
+
+import com.github.mangara.puzzles.batch.BatchSettings;
+import com.github.mangara.puzzles.batch.BatchSettings.Stage;
+import com.github.mangara.puzzles.batch.SudokuBatch;
+import com.github.mangara.puzzles.io.sudoku.SudokuCollectionWriter;
+import com.github.mangara.puzzles.solvers.SolveCache;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Headless batch processing of Sudoku collections. Run without arguments for
+ * usage information.
+ */
+public class BatchMain {
+
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: BatchMain [options] <input> [output]",
+            "",
+            "Reads Sudoku from <input> (a one-puzzle-per-line file, a Sudoku file, a",
+            "directory of Sudoku files, or - for standard input) and writes the puzzles",
+            "that pass all stages to [output] (standard output if omitted), one per line.",
+            "Only Sudoku are supported: other puzzle files are rejected, and skipped in",
+            "a directory. With the rate stage, puzzles without a unique solution are",
+            "rated NONE or MULTIPLE, and puzzles with conflicting givens INVALID.",
+            "",
+            "Options:",
+            "  --stages <list>      comma-separated subset of validate,unique,rate,dedup,",
+            "                       or none (default: validate,unique,rate)",
+            "                       dedup drops puzzles equivalent to an earlier one",
+            "                       under relabeling, row and column permutations and",
+            "                       transposition",
+            "  --workers <n>        number of worker threads (default: number of cores)",
+            "  --queue <n>          capacity of the queues between stages (default: " + BatchSettings.DEFAULT_QUEUE_CAPACITY + ")",
+            "  --unordered          write puzzles as soon as they are done",
+            "  --blank <c>          character for blank cells in the output, . or 0 (default: .)",
+            "  --cache <file>       remember grades in this file and reuse them in later runs",
+            "  --cache-size <MB>    maximum size of the cache file (default: " + (SolveCache.DEFAULT_MAX_BYTES >> 20) + ")",
+            "  --report <seconds>   interval between progress reports on standard error",
+            "                       (default: 5, 0 to disable)");
+
+    /**
+     * @param args the command line arguments
+     * @throws java.io.IOException
+     * @throws java.lang.InterruptedException
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Set<Stage> stages = BatchSettings.DEFAULT_STAGES;
+        int workers = Runtime.getRuntime().availableProcessors();
+        int queue = BatchSettings.DEFAULT_QUEUE_CAPACITY;
+        boolean ordered = true;
+        char blank = '.';
+        long reportSeconds = 5;
+        String cacheFile = null;
+        long cacheBytes = SolveCache.DEFAULT_MAX_BYTES;
+        String input = null;
+        String output = null;
+        BatchSettings settings;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--stages":
+                        stages = parseStages(args[++i]);
+                        break;
+                    case "--workers":
+                        workers = Integer.parseInt(args[++i]);
+                        break;
+                    case "--queue":
+                        queue = Integer.parseInt(args[++i]);
+                        break;
+                    case "--unordered":
+                        ordered = false;
+                        break;
+                    case "--blank":
+                        String value = args[++i];
+
+                        if (!value.equals(".") && !value.equals("0")) {
+                            throw new IllegalArgumentException("The blank character must be . or 0");
+                        }
+
+                        blank = value.charAt(0);
+                        break;
+                    case "--cache":
+                        cacheFile = args[++i];
+                        break;
+                    case "--cache-size":
+                        cacheBytes = Long.parseLong(args[++i]) << 20;
+
+                        if (cacheBytes <= 0) {
+                            throw new IllegalArgumentException("The cache size must be positive");
+                        }
+                        break;
+                    case "--report":
+                        reportSeconds = Long.parseLong(args[++i]);
+                        break;
+                    default:
+                        if (args[i].startsWith("--")) {
+                            throw new IllegalArgumentException("Unknown option: " + args[i]);
+                        } else if (input == null) {
+                            input = args[i];
+                        } else if (output == null) {
+                            output = args[i];
+                        } else {
+                            throw new IllegalArgumentException("Too many arguments");
+                        }
+                }
+            }
+
+            if (input == null) {
+                throw new IllegalArgumentException("No input given");
+            }
+
+            if (!input.equals("-")) {
+                SudokuBatch.checkInput(Paths.get(input));
+            }
+
+            settings = new BatchSettings(stages, workers, queue, ordered);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+            System.err.println(ex instanceof ArrayIndexOutOfBoundsException ? "Missing option value" : ex.getMessage());
+            System.err.println(USAGE);
+            System.exit(1);
+            return;
+        }
+
+        OutputStream out = (output == null ? System.out : Files.newOutputStream(Paths.get(output)));
+        SudokuBatch batch;
+
+        try (SudokuCollectionWriter writer = new SudokuCollectionWriter(out, blank);
+                SolveCache cache = (cacheFile == null ? null : SolveCache.open(Paths.get(cacheFile), cacheBytes))) {
+            batch = new SudokuBatch(settings, cache);
+            long reportMillis = 1000 * reportSeconds;
+
+            if (input.equals("-")) {
+                batch.run(System.in, writer, reportMillis > 0 ? System.err : null, reportMillis);
+            } else {
+                Path inputPath = Paths.get(input);
+                batch.run(inputPath, writer, reportMillis > 0 ? System.err : null, reportMillis);
+            }
+        }
+
+        System.err.println("Done: " + batch.getProgress());
+    }
+
+    private static Set<Stage> parseStages(String list) {
+        Set<Stage> stages = EnumSet.noneOf(Stage.class);
+
+        if (list.equals("none")) {
+            return stages;
+        }
+
+        for (String name : list.split(",")) {
+            stages.add(Stage.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+        }
+
+        return stages;
+    }
+}
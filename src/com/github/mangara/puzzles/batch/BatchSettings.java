@@ -0,0 +1,89 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.batch;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+public class BatchSettings {
+
+    /**
+     * The optional stages between parsing and writing. Puzzles that fail
+     * {@code VALIDATE} or {@code UNIQUE} are dropped; {@code RATE} adds the
+     * difficulty to the output line. {@code DEDUP} drops puzzles that are
+     * equivalent to one written before, by relabeling digits or permuting
+     * rows and columns.
+     */
+    public enum Stage {
+        VALIDATE, UNIQUE, RATE, DEDUP
+    }
+
+    public static final Set<Stage> DEFAULT_STAGES = Collections.unmodifiableSet(EnumSet.of(Stage.VALIDATE, Stage.UNIQUE, Stage.RATE));
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    private final Set<Stage> stages;
+    private final int workers;
+    private final int queueCapacity;
+    private final boolean ordered;
+
+    public BatchSettings() {
+        this(DEFAULT_STAGES, Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUE_CAPACITY, true);
+    }
+
+    /**
+     * @param stages
+     * @param workers the number of threads that run the stages
+     * @param queueCapacity the maximum number of puzzles waiting between two
+     * steps of the pipeline
+     * @param ordered whether the output must be in the same order as the input
+     */
+    public BatchSettings(Set<Stage> stages, int workers, int queueCapacity, boolean ordered) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("At least one worker is needed");
+        }
+
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("The queue capacity must be positive");
+        }
+
+        this.stages = Collections.unmodifiableSet(stages.isEmpty() ? EnumSet.noneOf(Stage.class) : EnumSet.copyOf(stages));
+        this.workers = workers;
+        this.queueCapacity = queueCapacity;
+        this.ordered = ordered;
+    }
+
+    public Set<Stage> getStages() {
+        return stages;
+    }
+
+    public boolean hasStage(Stage stage) {
+        return stages.contains(stage);
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public boolean isOrdered() {
+        return ordered;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.batch;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+/**
+ * A set of longs stored outside the Java heap, for sets too large to keep as
+ * objects, such as the hashes of every puzzle in a large collection. It uses
+ * open addressing with linear probing in direct buffers of at most
+ * 2<sup>24</sup> slots each, and doubles its capacity when it gets too full.
+ * <p>
+ * The memory is released when the set is garbage collected. All methods are
+ * synchronized.
+ */
+public class OffHeapLongSet {
+
+    private static final int SEGMENT_BITS = 24;
+    private static final int SEGMENT_SLOTS = 1 << SEGMENT_BITS;
+    private static final double MAX_LOAD = 0.7;
+
+    // 0 marks an empty slot, so it is stored separately
+    private static final long EMPTY = 0;
+
+    private LongBuffer[] segments;
+    private long capacity;
+    private long size = 0;
+    private boolean containsEmpty = false;
+
+    public OffHeapLongSet() {
+        this(1 << 16);
+    }
+
+    /**
+     * @param expectedSize the number of elements to make room for up front
+     */
+    public OffHeapLongSet(long expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("The expected size must be non-negative");
+        }
+
+        long needed = Math.max(16, (long) Math.ceil(expectedSize / MAX_LOAD));
+        allocate(Long.highestOneBit(needed - 1) << 1);
+    }
+
+    /**
+     * Adds the given value.
+     *
+     * @param value
+     * @return true if the value was not in the set yet
+     */
+    public synchronized boolean add(long value) {
+        if (value == EMPTY) {
+            boolean added = !containsEmpty;
+            containsEmpty = true;
+            size += added ? 1 : 0;
+            return added;
+        }
+
+        long slot = find(value);
+
+        if (get(slot) == value) {
+            return false;
+        }
+
+        set(slot, value);
+        size++;
+
+        if (size > MAX_LOAD * capacity) {
+            grow();
+        }
+
+        return true;
+    }
+
+    public synchronized boolean contains(long value) {
+        return value == EMPTY ? containsEmpty : get(find(value)) == value;
+    }
+
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * The number of bytes of off-heap memory in use.
+     *
+     * @return
+     */
+    public synchronized long getMemoryUse() {
+        return 8 * capacity;
+    }
+
+    /**
+     * The slot that holds the given value, or the empty slot where it would go.
+     */
+    private long find(long value) {
+        long mask = capacity - 1;
+        long slot = mix(value) & mask;
+
+        while (true) {
+            long stored = get(slot);
+
+            if (stored == EMPTY || stored == value) {
+                return slot;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void grow() {
+        LongBuffer[] old = segments;
+        long oldCapacity = capacity;
+        allocate(2 * oldCapacity);
+
+        for (long slot = 0; slot < oldCapacity; slot++) {
+            long value = old[(int) (slot >>> SEGMENT_BITS)].get((int) (slot & (SEGMENT_SLOTS - 1)));
+
+            if (value != EMPTY) {
+                set(find(value), value);
+            }
+        }
+    }
+
+    private void allocate(long slots) {
+        int segmentSlots = (int) Math.min(slots, SEGMENT_SLOTS);
+        int count = (int) (slots / segmentSlots);
+
+        segments = new LongBuffer[count];
+
+        // Direct buffers start out zeroed, so all slots are empty
+        for (int i = 0; i < count; i++) {
+            segments[i] = ByteBuffer.allocateDirect(8 * segmentSlots).order(ByteOrder.nativeOrder()).asLongBuffer();
+        }
+
+        capacity = slots;
+    }
+
+    private long get(long slot) {
+        return segments[(int) (slot >>> SEGMENT_BITS)].get((int) (slot & (SEGMENT_SLOTS - 1)));
+    }
+
+    private void set(long slot, long value) {
+        segments[(int) (slot >>> SEGMENT_BITS)].put((int) (slot & (SEGMENT_SLOTS - 1)), value);
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.batch;
+
+import com.github.mangara.puzzles.data.Puzzle;
+import com.github.mangara.puzzles.data.nonogram.Nonogram;
+import com.github.mangara.puzzles.data.nonogram.NonogramCanonicalizer;
+import com.github.mangara.puzzles.data.sudoku.Sudoku;
+import com.github.mangara.puzzles.data.sudoku.SudokuCanonicalizer;
+
+/**
+ * Remembers which puzzles have been seen, up to symmetry, so that generators
+ * and batch jobs can skip checking puzzles they have checked before. Puzzles
+ * are identified by the 64-bit hash of their canonical form, kept in an
+ * {@link OffHeapLongSet}.
+ * <p>
+ * Nonograms are identified by their clues, so a nonogram with a drawing and
+ * the same puzzle without one count as the same. Two different puzzles with
+ * the same hash would be taken for the same puzzle, but for 64-bit hashes that
+ * is unlikely even for billions of puzzles.
+ */
+public class PuzzleDedupIndex {
+
+    private final OffHeapLongSet hashes;
+
+    public PuzzleDedupIndex() {
+        hashes = new OffHeapLongSet();
+    }
+
+    /**
+     * @param expectedSize the number of puzzles to make room for up front
+     */
+    public PuzzleDedupIndex(long expectedSize) {
+        hashes = new OffHeapLongSet(expectedSize);
+    }
+
+    /**
+     * The hash of the canonical form of the given puzzle.
+     *
+     * @param puzzle
+     * @return
+     * @throws IllegalArgumentException for puzzle types without a canonical
+     * form
+     */
+    public static long canonicalHash(Puzzle puzzle) {
+        switch (puzzle.getType()) {
+            case SUDOKU:
+                return SudokuCanonicalizer.canonicalHash((Sudoku) puzzle);
+            case NONOGRAM:
+                return NonogramCanonicalizer.clueHash((Nonogram) puzzle);
+            default:
+                throw new IllegalArgumentException("No canonical form for " + puzzle.getType());
+        }
+    }
+
+    /**
+     * Adds the given puzzle.
+     *
+     * @param puzzle
+     * @return true if no equivalent puzzle was added before
+     */
+    public boolean add(Puzzle puzzle) {
+        return hashes.add(canonicalHash(puzzle));
+    }
+
+    public boolean contains(Puzzle puzzle) {
+        return hashes.contains(canonicalHash(puzzle));
+    }
+
+    /**
+     * Adds a puzzle by its {@link #canonicalHash(Puzzle) canonical hash}, for
+     * callers that computed it already.
+     *
+     * @param hash
+     * @return true if no puzzle with that hash was added before
+     */
+    public boolean add(long hash) {
+        return hashes.add(hash);
+    }
+
+    public boolean contains(long hash) {
+        return hashes.contains(hash);
+    }
+
+    public long size() {
+        return hashes.size();
+    }
+}
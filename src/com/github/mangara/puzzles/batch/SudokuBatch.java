@@ -0,0 +1,529 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.batch;
+
+import com.github.mangara.puzzles.batch.BatchSettings.Stage;
+import com.github.mangara.puzzles.checkers.sudoku.SudokuChecker;
+import com.github.mangara.puzzles.data.PuzzleType;
+import com.github.mangara.puzzles.data.sudoku.Sudoku;
+import com.github.mangara.puzzles.data.sudoku.SudokuCanonicalizer;
+import com.github.mangara.puzzles.data.sudoku.SudokuDifficulty;
+import com.github.mangara.puzzles.io.PuzzleReader;
+import com.github.mangara.puzzles.io.sudoku.SudokuCollectionReader;
+import com.github.mangara.puzzles.io.sudoku.SudokuCollectionWriter;
+import com.github.mangara.puzzles.io.sudoku.SudokuReader;
+import com.github.mangara.puzzles.solvers.SolveCache;
+import com.github.mangara.puzzles.solvers.SolveCacheEntry;
+import com.github.mangara.puzzles.solvers.SolveResult;
+import com.github.mangara.puzzles.solvers.sudoku.SudokuGrade;
+import com.github.mangara.puzzles.solvers.sudoku.SudokuGrader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Streams a collection of Sudoku through parse, validate, unique, rate and
+ * write stages. One thread parses the input, a pool of workers runs the
+ * stages, and the calling thread writes the output. The steps are connected
+ * by bounded queues, so memory use does not depend on the size of the input.
+ * <p>
+ * The input can be a one-puzzle-per-line collection, a single Sudoku file, or
+ * a directory of Sudoku files. Other types of puzzles are not supported: files
+ * in a directory that are not Sudoku are skipped and counted, and
+ * {@link #checkInput(Path)} rejects other inputs. The output is a
+ * one-puzzle-per-line collection; with the rate stage, each line ends with the
+ * difficulty, with {@code NONE} or {@code MULTIPLE} for puzzles without a
+ * unique solution, or with {@code INVALID} for puzzles whose givens conflict.
+ * <p>
+ * The dedup stage identifies puzzles by their canonical hash in a
+ * {@link PuzzleDedupIndex}. Puzzles are claimed in the order they are
+ * written, so with ordered output the first of each group of equivalent
+ * puzzles is kept. Workers skip the other stages for puzzles that are already
+ * known to be duplicates.
+ * <p>
+ * With a {@link SolveCache}, puzzles graded in an earlier run are not graded
+ * again.
+ */
+public class SudokuBatch {
+
+    private static final Item END = new Item(-1, null);
+
+    private final BatchSettings settings;
+    private final SolveCache cache;
+
+    private final AtomicLong read = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private PuzzleDedupIndex seen;
+    private volatile boolean workerFailed = false;
+    // Set before the threads are shut down, so that they don't block on a
+    // queue that is no longer served
+    private volatile boolean stopping = false;
+    private long startTime;
+
+    public SudokuBatch(BatchSettings settings) {
+        this(settings, null);
+    }
+
+    /**
+     * @param settings
+     * @param cache where grades are looked up and stored, or null to grade
+     * every puzzle
+     */
+    public SudokuBatch(BatchSettings settings, SolveCache cache) {
+        this.settings = settings;
+        this.cache = cache;
+    }
+
+    /**
+     * Processes all puzzles in the input.
+     *
+     * @param input the input file or directory
+     * @param writer
+     * @param progress if not null, progress is printed here every
+     * {@code reportMillis} milliseconds
+     * @param reportMillis
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    public void run(Path input, SudokuCollectionWriter writer, PrintStream progress, long reportMillis) throws IOException, InterruptedException {
+        run(openSource(input), writer, progress, reportMillis);
+    }
+
+    public void run(InputStream input, SudokuCollectionWriter writer, PrintStream progress, long reportMillis) throws IOException, InterruptedException {
+        run(collectionSource(new SudokuCollectionReader(input)), writer, progress, reportMillis);
+    }
+
+    public long getRead() {
+        return read.get();
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * The number of dropped puzzles that were equivalent to an earlier one.
+     *
+     * @return
+     */
+    public long getDuplicates() {
+        return duplicates.get();
+    }
+
+    /**
+     * The number of puzzles whose grade was found in the cache.
+     *
+     * @return
+     */
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    /**
+     * The number of files in the input directory that were skipped because
+     * they do not contain a Sudoku.
+     *
+     * @return
+     */
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    /**
+     * The number of puzzles parsed per second since the start of the run.
+     *
+     * @return
+     */
+    public double getThroughput() {
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        return seconds > 0 ? read.get() / seconds : 0;
+    }
+
+    public String getProgress() {
+        return String.format("%,d read, %,d written, %,d dropped, %,d files skipped, %,.0f puzzles/s", getRead(), getWritten(), getDropped(), getSkipped(), getThroughput());
+    }
+
+    /**
+     * Checks that the given input can be processed: it must be a Sudoku file,
+     * a Sudoku collection, or a directory with at least one Sudoku file.
+     *
+     * @param input
+     * @throws IllegalArgumentException if the input does not exist, is another
+     * type of puzzle, or contains no Sudoku
+     * @throws IOException
+     */
+    public static void checkInput(Path input) throws IOException {
+        if (Files.isDirectory(input)) {
+            try (Stream<Path> list = Files.list(input)) {
+                for (Path file : (Iterable<Path>) list::iterator) {
+                    if (Files.isRegularFile(file) && SudokuReader.isSudoku(file)) {
+                        return;
+                    }
+                }
+            }
+
+            throw new IllegalArgumentException("No Sudoku files in " + input);
+        } else if (!Files.isRegularFile(input)) {
+            throw new IllegalArgumentException("Input not found: " + input);
+        } else if (SudokuReader.isSudoku(input) || SudokuCollectionReader.isSudokuCollection(input)) {
+            return;
+        }
+
+        PuzzleType type = PuzzleReader.detect(Files.readString(input, StandardCharsets.UTF_8));
+
+        if (type != null) {
+            throw new IllegalArgumentException(input + " is a " + type.toString().toLowerCase(Locale.ROOT) + "; only Sudoku can be processed");
+        } else {
+            throw new IllegalArgumentException(input + " is not a Sudoku file or collection");
+        }
+    }
+
+    private void run(Source source, SudokuCollectionWriter writer, PrintStream progress, long reportMillis) throws IOException, InterruptedException {
+        int workers = settings.getWorkers();
+        int capacity = settings.getQueueCapacity();
+
+        BlockingQueue<Item> parsed = new ArrayBlockingQueue<>(capacity);
+        BlockingQueue<Item> processed = new ArrayBlockingQueue<>(capacity);
+        // Bounds the puzzles waiting to be written out of order
+        Semaphore inFlight = new Semaphore(2 * capacity + workers);
+
+        ExecutorService threads = Executors.newFixedThreadPool(workers + 1);
+        seen = (settings.hasStage(Stage.DEDUP) ? new PuzzleDedupIndex() : null);
+        startTime = System.nanoTime();
+
+        ScheduledExecutorService reporter = null;
+
+        if (progress != null) {
+            reporter = Executors.newSingleThreadScheduledExecutor();
+            reporter.scheduleAtFixedRate(() -> progress.println(getProgress()), reportMillis, reportMillis, TimeUnit.MILLISECONDS);
+        }
+
+        try {
+            Future<?> reading = threads.submit(() -> {
+                try (Source in = source) {
+                    long sequence = 0;
+
+                    while (true) {
+                        int[][] digits = new int[9][9];
+
+                        if (!in.next(digits)) {
+                            break;
+                        }
+
+                        inFlight.acquire();
+                        parsed.put(new Item(sequence, digits));
+                        sequence++;
+                        read.incrementAndGet();
+                    }
+                } finally {
+                    for (int i = 0; i < workers && !stopping; i++) {
+                        parsed.put(END);
+                    }
+                }
+
+                return null;
+            });
+
+            List<Future<?>> working = new ArrayList<>();
+
+            for (int i = 0; i < workers; i++) {
+                working.add(threads.submit(() -> {
+                    try {
+                        for (Item item = parsed.take(); item != END; item = parsed.take()) {
+                            process(item);
+                            processed.put(item);
+                        }
+                    } catch (Throwable ex) {
+                        workerFailed = true;
+                        throw ex;
+                    } finally {
+                        if (!stopping) {
+                            processed.put(END);
+                        }
+                    }
+
+                    return null;
+                }));
+            }
+
+            write(processed, writer, inFlight);
+
+            if (workerFailed) {
+                // The other tasks may wait for puzzles that will never come
+                stopping = true;
+                threads.shutdownNow();
+            }
+
+            working.add(reading);
+            check(working);
+
+            writer.flush();
+        } finally {
+            stopping = true;
+            threads.shutdownNow();
+
+            if (reporter != null) {
+                reporter.shutdownNow();
+            }
+
+            seen = null;
+        }
+    }
+
+    private void process(Item item) throws IOException {
+        if (settings.hasStage(Stage.DEDUP)) {
+            item.hash = SudokuCanonicalizer.canonicalHash(item.digits);
+
+            if (seen.contains(item.hash)) {
+                item.duplicate = true;
+                return; // The writer drops it, so the other stages are not needed
+            }
+        }
+
+        boolean needsGrade = settings.hasStage(Stage.UNIQUE) || settings.hasStage(Stage.RATE);
+
+        if (!needsGrade) {
+            item.keep = !settings.hasStage(Stage.VALIDATE) || SudokuChecker.isValidPuzzle(new Sudoku(item.digits));
+            return;
+        }
+
+        Sudoku puzzle = new Sudoku(item.digits);
+        SolveCacheEntry grade = (cache == null ? null : cache.get(puzzle, SudokuGrader.VERSION));
+        boolean valid;
+
+        if (grade != null) {
+            cacheHits.incrementAndGet();
+            valid = SudokuChecker.isValidPuzzle(puzzle); // Cheap enough to not cache
+        } else {
+            SudokuGrade fresh = SudokuGrader.grade(puzzle);
+            SudokuDifficulty difficulty = fresh.getDifficulty();
+            grade = new SolveCacheEntry(SolveResult.ofCount(fresh.getSolutionCount()), fresh.getSolution(), difficulty != null ? difficulty.name() : null, SudokuGrader.VERSION);
+            valid = fresh.isValid();
+
+            if (cache != null) {
+                cache.put(puzzle, grade);
+            }
+        }
+
+        item.keep = (!settings.hasStage(Stage.VALIDATE) || valid)
+                && (!settings.hasStage(Stage.UNIQUE) || grade.getResult() == SolveResult.UNIQUE);
+
+        if (settings.hasStage(Stage.RATE)) {
+            // Only puzzles with a unique solution are rated
+            String difficulty = grade.getRating();
+            item.rating = (difficulty != null ? difficulty : (valid ? grade.getResult().name() : "INVALID"));
+        }
+    }
+
+    private void write(BlockingQueue<Item> processed, SudokuCollectionWriter writer, Semaphore inFlight) throws IOException, InterruptedException {
+        Map<Long, Item> pending = new HashMap<>();
+        long next = 0;
+        int finished = 0;
+
+        while (finished < settings.getWorkers()) {
+            Item item = processed.take();
+
+            if (item == END) {
+                finished++;
+
+                if (workerFailed) {
+                    return; // Puzzles were lost, so ordered output would wait forever
+                }
+            } else if (!settings.isOrdered()) {
+                write(item, writer, inFlight);
+            } else {
+                pending.put(item.sequence, item);
+
+                for (Item ready = pending.remove(next); ready != null; ready = pending.remove(next)) {
+                    write(ready, writer, inFlight);
+                    next++;
+                }
+            }
+        }
+    }
+
+    private void write(Item item, SudokuCollectionWriter writer, Semaphore inFlight) throws IOException {
+        if (settings.hasStage(Stage.DEDUP) && (item.duplicate || (item.keep && !seen.add(item.hash)))) {
+            item.keep = false;
+            duplicates.incrementAndGet();
+        }
+
+        if (item.keep) {
+            writer.write(item.digits, item.rating);
+            written.incrementAndGet();
+        } else {
+            dropped.incrementAndGet();
+        }
+
+        inFlight.release();
+    }
+
+    /**
+     * Waits for all tasks and rethrows the first failure. Tasks that were
+     * interrupted because another task failed are only reported if nothing
+     * else went wrong.
+     */
+    private static void check(List<Future<?>> tasks) throws IOException, InterruptedException {
+        Throwable interrupted = null;
+
+        for (Future<?> task : tasks) {
+            try {
+                task.get();
+            } catch (ExecutionException ex) {
+                Throwable cause = ex.getCause();
+
+                if (!(cause instanceof InterruptedException)) {
+                    rethrow(cause);
+                } else if (interrupted == null) {
+                    interrupted = cause;
+                }
+            }
+        }
+
+        if (interrupted != null) {
+            rethrow(interrupted);
+        }
+    }
+
+    private static void rethrow(Throwable cause) throws IOException, InterruptedException {
+        if (cause instanceof IOException) {
+            throw (IOException) cause;
+        } else if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        } else if (cause instanceof InterruptedException) {
+            throw (InterruptedException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+
+        throw new RuntimeException(cause);
+    }
+
+    private Source openSource(Path input) throws IOException {
+        if (Files.isDirectory(input)) {
+            List<Path> files;
+
+            try (Stream<Path> list = Files.list(input)) {
+                files = list.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+
+            return filesSource(files);
+        } else if (SudokuReader.isSudoku(input)) {
+            return filesSource(List.of(input));
+        } else {
+            return collectionSource(SudokuCollectionReader.open(input));
+        }
+    }
+
+    private static Source collectionSource(SudokuCollectionReader reader) {
+        return new Source() {
+            @Override
+            public boolean next(int[][] digits) throws IOException {
+                return reader.readDigits(digits);
+            }
+
+            @Override
+            public void close() throws IOException {
+                reader.close();
+            }
+        };
+    }
+
+    /**
+     * Reads the files in the given list that contain a Sudoku, skipping and
+     * counting the others.
+     */
+    private Source filesSource(List<Path> files) {
+        Iterator<Path> remaining = files.iterator();
+
+        return new Source() {
+            @Override
+            public boolean next(int[][] digits) throws IOException {
+                while (remaining.hasNext()) {
+                    Path file = remaining.next();
+
+                    if (SudokuReader.isSudoku(file)) {
+                        int[][] given = SudokuReader.readSudoku(file).getGivenDigits();
+
+                        for (int row = 0; row < 9; row++) {
+                            System.arraycopy(given[row], 0, digits[row], 0, 9);
+                        }
+
+                        return true;
+                    }
+
+                    skipped.incrementAndGet();
+                }
+
+                return false;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    private interface Source extends Closeable {
+
+        boolean next(int[][] digits) throws IOException;
+    }
+
+    private static class Item {
+
+        final long sequence;
+        final int[][] digits;
+        boolean keep = true;
+        String rating; // Only set by the rate stage
+        long hash; // Only set by the dedup stage
+        boolean duplicate;
+
+        Item(long sequence, int[][] digits) {
+            this.sequence = sequence;
+            this.digits = digits;
+        }
+    }
+}
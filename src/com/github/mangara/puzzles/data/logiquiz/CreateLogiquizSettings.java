@@ -17,15 +17,22 @@ package com.github.mangara.puzzles.data.logiquiz;
 
 import com.github.mangara.puzzles.data.CreatePuzzleSettings;
 import com.github.mangara.puzzles.data.PuzzleType;
+import java.util.Random;
 
 public class CreateLogiquizSettings implements CreatePuzzleSettings {
     
     private final int groupCount;
     private final int groupSize;
+    private final long seed;
 
     public CreateLogiquizSettings(int groupCount, int groupSize) {
+        this(groupCount, groupSize, new Random().nextLong());
+    }
+
+    public CreateLogiquizSettings(int groupCount, int groupSize, long seed) {
         this.groupCount = groupCount;
         this.groupSize = groupSize;
+        this.seed = seed;
     }
     
     @Override
@@ -40,4 +47,8 @@ public class CreateLogiquizSettings implements CreatePuzzleSettings {
     public int getGroupSize() {
         return groupSize;
     }
+
+    public long getSeed() {
+        return seed;
+    }
 }
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.data.logiquiz;
+
+import java.util.Objects;
+
+/**
+ * A clue about which entries of a logiquiz belong together. Entries are
+ * identified by their group and their index in that group.
+ * <p>
+ * Ordered clues compare the entries of an ordinal group that belong with the
+ * subject and the other entry: "before" means a lower index in that group,
+ * and "n more than" an index that is exactly n higher.
+ */
+public class LogiquizClue {
+
+    public enum Type {
+        /**
+         * The subject belongs with the first entry.
+         */
+        IS,
+        /**
+         * The subject does not belong with the first entry.
+         */
+        IS_NOT,
+        /**
+         * The subject belongs with exactly one of the first and second entry.
+         */
+        EITHER_OR,
+        /**
+         * The subject belongs with neither the first nor the second entry.
+         */
+        NEITHER_NOR,
+        /**
+         * The subject comes before the first entry in the ordinal group.
+         */
+        BEFORE,
+        /**
+         * The subject comes after the first entry in the ordinal group.
+         */
+        AFTER,
+        /**
+         * The subject comes exactly {@code amount} places after the first entry
+         * in the ordinal group.
+         */
+        MORE_THAN,
+        /**
+         * The subject comes exactly {@code amount} places before the first
+         * entry in the ordinal group.
+         */
+        LESS_THAN;
+
+        public boolean isOrdered() {
+            return this == BEFORE || this == AFTER || this == MORE_THAN || this == LESS_THAN;
+        }
+    }
+
+    public static class Entry {
+
+        public final int group;
+        public final int index;
+
+        public Entry(int group, int index) {
+            if (group < 0 || index < 0) {
+                throw new IllegalArgumentException("Groups and indices must be non-negative");
+            }
+
+            this.group = group;
+            this.index = index;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Entry)) {
+                return false;
+            }
+
+            Entry other = (Entry) obj;
+            return group == other.group && index == other.index;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * group + index;
+        }
+
+        @Override
+        public String toString() {
+            return "(" + group + ", " + index + ")";
+        }
+    }
+
+    private final Type type;
+    private final Entry subject;
+    private final Entry first;
+    private final Entry second; // Only for EITHER_OR and NEITHER_NOR
+    private final int ordinalGroup; // Only for ordered clues
+    private final int amount; // Only for MORE_THAN and LESS_THAN
+
+    private LogiquizClue(Type type, Entry subject, Entry first, Entry second, int ordinalGroup, int amount) {
+        this.type = type;
+        this.subject = subject;
+        this.first = first;
+        this.second = second;
+        this.ordinalGroup = ordinalGroup;
+        this.amount = amount;
+    }
+
+    public static LogiquizClue is(Entry subject, Entry other) {
+        requireDifferentGroups(subject, other);
+        return new LogiquizClue(Type.IS, subject, other, null, -1, 0);
+    }
+
+    public static LogiquizClue isNot(Entry subject, Entry other) {
+        requireDifferentGroups(subject, other);
+        return new LogiquizClue(Type.IS_NOT, subject, other, null, -1, 0);
+    }
+
+    public static LogiquizClue eitherOr(Entry subject, Entry first, Entry second) {
+        requireDifferentGroups(subject, first);
+        requireDifferentGroups(subject, second);
+        requireDifferentEntries(first, second);
+        return new LogiquizClue(Type.EITHER_OR, subject, first, second, -1, 0);
+    }
+
+    public static LogiquizClue neitherNor(Entry subject, Entry first, Entry second) {
+        requireDifferentGroups(subject, first);
+        requireDifferentGroups(subject, second);
+        requireDifferentEntries(first, second);
+        return new LogiquizClue(Type.NEITHER_NOR, subject, first, second, -1, 0);
+    }
+
+    public static LogiquizClue before(Entry subject, Entry other, int ordinalGroup) {
+        return ordered(Type.BEFORE, subject, other, ordinalGroup, 0);
+    }
+
+    public static LogiquizClue after(Entry subject, Entry other, int ordinalGroup) {
+        return ordered(Type.AFTER, subject, other, ordinalGroup, 0);
+    }
+
+    public static LogiquizClue moreThan(Entry subject, Entry other, int ordinalGroup, int amount) {
+        return ordered(Type.MORE_THAN, subject, other, ordinalGroup, amount);
+    }
+
+    public static LogiquizClue lessThan(Entry subject, Entry other, int ordinalGroup, int amount) {
+        return ordered(Type.LESS_THAN, subject, other, ordinalGroup, amount);
+    }
+
+    private static LogiquizClue ordered(Type type, Entry subject, Entry other, int ordinalGroup, int amount) {
+        requireDifferentEntries(subject, other);
+
+        if (ordinalGroup < 0) {
+            throw new IllegalArgumentException("Groups must be non-negative");
+        }
+
+        if ((type == Type.MORE_THAN || type == Type.LESS_THAN) && amount < 1) {
+            throw new IllegalArgumentException("The difference must be positive");
+        }
+
+        return new LogiquizClue(type, subject, other, null, ordinalGroup, amount);
+    }
+
+    private static void requireDifferentGroups(Entry a, Entry b) {
+        if (a.group == b.group) {
+            throw new IllegalArgumentException("A clue cannot relate two entries of the same group");
+        }
+    }
+
+    private static void requireDifferentEntries(Entry a, Entry b) {
+        if (a.equals(b)) {
+            throw new IllegalArgumentException("A clue must be about two different entries");
+        }
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Entry getSubject() {
+        return subject;
+    }
+
+    public Entry getFirst() {
+        return first;
+    }
+
+    /**
+     * The second option of an either-or or neither-nor clue.
+     *
+     * @return the entry, or null for other clues
+     */
+    public Entry getSecond() {
+        return second;
+    }
+
+    /**
+     * The group whose order an ordered clue is about.
+     *
+     * @return the group, or -1 for other clues
+     */
+    public int getOrdinalGroup() {
+        return ordinalGroup;
+    }
+
+    /**
+     * The difference in places of a more-than or less-than clue.
+     *
+     * @return the difference, or 0 for other clues
+     */
+    public int getAmount() {
+        return amount;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof LogiquizClue)) {
+            return false;
+        }
+
+        LogiquizClue other = (LogiquizClue) obj;
+        return type == other.type && subject.equals(other.subject) && first.equals(other.first)
+                && Objects.equals(second, other.second) && ordinalGroup == other.ordinalGroup && amount == other.amount;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, subject, first, second, ordinalGroup, amount);
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + subject + " " + first + (second == null ? "" : " " + second)
+                + (type.isOrdered() ? " in " + ordinalGroup : "") + (amount > 0 ? " by " + amount : "");
+    }
+}
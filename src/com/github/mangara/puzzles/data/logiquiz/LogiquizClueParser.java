@@ -0,0 +1,223 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.data.logiquiz;
+
+import com.github.mangara.puzzles.data.logiquiz.LogiquizClue.Entry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Converts clues between text and {@link LogiquizClue}. Entries are written by
+ * name, groups by number, starting at 1:
+ * <pre>
+ * X is Y
+ * X is not Y
+ * X is either Y or Z
+ * X is neither Y nor Z
+ * X is before Y in group 3
+ * X is after Y in group 3
+ * X is 2 more than Y in group 3
+ * X is 2 less than Y in group 3
+ * </pre>
+ * Keywords are not case sensitive and a final period is ignored. Entry names
+ * may contain spaces and keywords, as long as the clue can be read in only
+ * one way, but a name used in more than one group cannot be referred to.
+ */
+public class LogiquizClueParser {
+
+    private static final Pattern ORDERED = Pattern.compile("(?:(before|after)|(\\d+) (more|less) than) (.+) in group (\\d+)", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * Parses all clues of the given puzzle.
+     *
+     * @param puzzle
+     * @return
+     * @throws IllegalArgumentException if some clue cannot be parsed
+     */
+    public static List<LogiquizClue> parseAll(Logiquiz puzzle) {
+        List<LogiquizClue> result = new ArrayList<>();
+
+        for (String clue : puzzle.getClues()) {
+            result.add(parse(puzzle, clue));
+        }
+
+        return result;
+    }
+
+    /**
+     * Parses a clue about the entries of the given puzzle.
+     *
+     * @param puzzle
+     * @param text
+     * @return
+     * @throws IllegalArgumentException if the text is not a valid clue
+     */
+    public static LogiquizClue parse(Logiquiz puzzle, String text) {
+        String clue = text.trim();
+
+        if (clue.endsWith(".")) {
+            clue = clue.substring(0, clue.length() - 1).trim();
+        }
+
+        String lower = clue.toLowerCase(Locale.ROOT);
+
+        // The subject ends at one of the occurrences of " is "
+        for (int i = lower.indexOf(" is "); i >= 0; i = lower.indexOf(" is ", i + 1)) {
+            Entry subject = findEntry(puzzle, clue.substring(0, i));
+
+            if (subject != null) {
+                LogiquizClue result = parsePredicate(puzzle, subject, clue.substring(i + 4).trim());
+
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
+
+        throw new IllegalArgumentException("Cannot read clue \"" + text + "\"");
+    }
+
+    private static LogiquizClue parsePredicate(Logiquiz puzzle, Entry subject, String predicate) {
+        Entry other = findEntry(puzzle, predicate);
+
+        if (other != null) {
+            return LogiquizClue.is(subject, other);
+        }
+
+        String lower = predicate.toLowerCase(Locale.ROOT);
+
+        if (lower.startsWith("not ")) {
+            other = findEntry(puzzle, predicate.substring(4));
+            return other == null ? null : LogiquizClue.isNot(subject, other);
+        }
+
+        if (lower.startsWith("either ")) {
+            Entry[] options = findPair(puzzle, predicate.substring(7), " or ");
+            return options == null ? null : LogiquizClue.eitherOr(subject, options[0], options[1]);
+        }
+
+        if (lower.startsWith("neither ")) {
+            Entry[] options = findPair(puzzle, predicate.substring(8), " nor ");
+            return options == null ? null : LogiquizClue.neitherNor(subject, options[0], options[1]);
+        }
+
+        Matcher m = ORDERED.matcher(predicate);
+
+        if (!m.matches()) {
+            return null;
+        }
+
+        other = findEntry(puzzle, m.group(4));
+        int group = Integer.parseInt(m.group(5)) - 1;
+
+        if (other == null || group < 0 || group >= puzzle.getGroupCount()) {
+            return null;
+        }
+
+        if (m.group(1) != null) {
+            return m.group(1).equalsIgnoreCase("before") ? LogiquizClue.before(subject, other, group) : LogiquizClue.after(subject, other, group);
+        }
+
+        int amount = Integer.parseInt(m.group(2));
+        return m.group(3).equalsIgnoreCase("more") ? LogiquizClue.moreThan(subject, other, group, amount) : LogiquizClue.lessThan(subject, other, group, amount);
+    }
+
+    private static Entry[] findPair(Logiquiz puzzle, String text, String separator) {
+        String lower = text.toLowerCase(Locale.ROOT);
+
+        for (int i = lower.indexOf(separator); i >= 0; i = lower.indexOf(separator, i + 1)) {
+            Entry first = findEntry(puzzle, text.substring(0, i));
+            Entry second = findEntry(puzzle, text.substring(i + separator.length()));
+
+            if (first != null && second != null) {
+                return new Entry[]{first, second};
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Finds the entry with the given name.
+     *
+     * @param puzzle
+     * @param name
+     * @return the entry, or null if no group or more than one group has an
+     * entry with this name
+     */
+    public static Entry findEntry(Logiquiz puzzle, String name) {
+        String trimmed = name.trim();
+        Entry result = null;
+
+        for (int group = 0; group < puzzle.getGroupCount(); group++) {
+            int index = puzzle.getGroups().get(group).indexOf(trimmed);
+
+            if (index >= 0) {
+                if (result != null) {
+                    return null;
+                }
+
+                result = new Entry(group, index);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Writes a clue in the form that {@link #parse(Logiquiz, String)} reads.
+     *
+     * @param puzzle
+     * @param clue
+     * @return
+     */
+    public static String format(Logiquiz puzzle, LogiquizClue clue) {
+        String subject = name(puzzle, clue.getSubject());
+        String first = name(puzzle, clue.getFirst());
+        String group = " in group " + (clue.getOrdinalGroup() + 1);
+
+        switch (clue.getType()) {
+            case IS:
+                return subject + " is " + first + ".";
+            case IS_NOT:
+                return subject + " is not " + first + ".";
+            case EITHER_OR:
+                return subject + " is either " + first + " or " + name(puzzle, clue.getSecond()) + ".";
+            case NEITHER_NOR:
+                return subject + " is neither " + first + " nor " + name(puzzle, clue.getSecond()) + ".";
+            case BEFORE:
+                return subject + " is before " + first + group + ".";
+            case AFTER:
+                return subject + " is after " + first + group + ".";
+            case MORE_THAN:
+                return subject + " is " + clue.getAmount() + " more than " + first + group + ".";
+            case LESS_THAN:
+                return subject + " is " + clue.getAmount() + " less than " + first + group + ".";
+            default:
+                throw new IllegalArgumentException("Unrecognized clue type: " + clue.getType());
+        }
+    }
+
+    private static String name(Logiquiz puzzle, Entry entry) {
+        return puzzle.getGroups().get(entry.group).get(entry.index);
+    }
+
+    private LogiquizClueParser() {
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2023 Sander Verdonschot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.data.logiquiz;
+
+/**
+ * A Logiquiz with the marks of a solution in progress.
+ */
+public class MarkedLogiquiz extends Logiquiz {
+
+    private final LogiquizSolutionState[][] marks;
+
+    /**
+     * @param logiquiz
+     * @param marks the marks in the staircase grid layout of
+     * {@link com.github.mangara.puzzles.solvers.logiquiz.LogiquizState#toGrid()}
+     */
+    public MarkedLogiquiz(Logiquiz logiquiz, LogiquizSolutionState[][] marks) {
+        super(logiquiz.getGroups(), logiquiz.getClues());
+
+        int size = (getGroupCount() - 1) * getGroupSize();
+
+        if (marks.length != size) {
+            throw new IllegalArgumentException("Expected " + size + " columns of marks, found " + marks.length);
+        }
+
+        this.marks = new LogiquizSolutionState[size][];
+
+        for (int i = 0; i < size; i++) {
+            if (marks[i].length != size) {
+                throw new IllegalArgumentException("Expected " + size + " marks in column " + i + ", found " + marks[i].length);
+            }
+
+            this.marks[i] = marks[i].clone();
+        }
+    }
+
+    public LogiquizSolutionState[][] getMarks() {
+        LogiquizSolutionState[][] result = new LogiquizSolutionState[marks.length][];
+
+        for (int i = 0; i < marks.length; i++) {
+            result[i] = marks[i].clone();
+        }
+
+        return result;
+    }
+}
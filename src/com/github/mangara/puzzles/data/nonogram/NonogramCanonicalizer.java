@@ -0,0 +1,309 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.data.nonogram;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Computes canonical forms of nonograms under the 8 symmetries of the
+ * rectangle: the rotations and mirror images. Equivalent nonograms have the
+ * same canonical form and the same canonical hash.
+ * <p>
+ * A drawing is packed into bits in row-major order for each symmetry, and the
+ * canonical form is the one with the smallest width, then height, then packed
+ * bits. Clue-only nonograms have no drawing, so their canonical form is the
+ * one whose clues, written out row by row and then column by column, are
+ * smallest. The two forms can use different symmetries, so only compare
+ * hashes of the same kind.
+ * <p>
+ * Symmetries are numbered 0 to 7: bit 2 transposes, then bit 0 mirrors
+ * left-right and bit 1 mirrors top-bottom.
+ */
+public class NonogramCanonicalizer {
+
+    private static final int SYMMETRIES = 8;
+
+    public static SolvedNonogram canonicalize(SolvedNonogram nonogram) {
+        boolean[][] drawing = nonogram.getDrawing();
+        int best = canonicalSymmetry(drawing);
+        return new SolvedNonogram(transformClues(nonogram.getSideNumbers(), nonogram.getTopNumbers(), best, true),
+                transformClues(nonogram.getSideNumbers(), nonogram.getTopNumbers(), best, false),
+                transform(drawing, best));
+    }
+
+    /**
+     * The canonical form of the clues of the given nonogram. Its drawing, if
+     * any, is ignored.
+     *
+     * @param nonogram
+     * @return
+     */
+    public static Nonogram canonicalizeClues(Nonogram nonogram) {
+        int best = canonicalClueSymmetry(nonogram);
+        return new Nonogram(transformClues(nonogram.getSideNumbers(), nonogram.getTopNumbers(), best, true),
+                transformClues(nonogram.getSideNumbers(), nonogram.getTopNumbers(), best, false));
+    }
+
+    /**
+     * A 64-bit hash of the canonical form of the drawing.
+     *
+     * @param nonogram
+     * @return
+     */
+    public static long drawingHash(SolvedNonogram nonogram) {
+        boolean[][] drawing = nonogram.getDrawing();
+        int best = canonicalSymmetry(drawing);
+        int width = transposes(best) ? drawing[0].length : drawing.length;
+        int height = transposes(best) ? drawing.length : drawing[0].length;
+
+        long hash = mixIn(mixIn(0xCBF29CE484222325L, width), height);
+
+        for (long word : pack(drawing, best)) {
+            hash = mixIn(hash, word);
+        }
+
+        return finish(hash);
+    }
+
+    /**
+     * A 64-bit hash of the canonical form of the clues. Equivalent puzzles
+     * have the same hash, whether or not they have a drawing.
+     *
+     * @param nonogram
+     * @return
+     */
+    public static long clueHash(Nonogram nonogram) {
+        int[] key = clueKey(nonogram, canonicalClueSymmetry(nonogram));
+        long hash = 0x84222325CBF29CE4L;
+
+        for (int value : key) {
+            hash = mixIn(hash, value);
+        }
+
+        return finish(hash);
+    }
+
+    /**
+     * Applies the given symmetry to a drawing, indexed [x][y].
+     *
+     * @param drawing
+     * @param symmetry
+     * @return a new drawing
+     */
+    public static boolean[][] transform(boolean[][] drawing, int symmetry) {
+        int width = drawing.length;
+        int height = drawing[0].length;
+        boolean transpose = transposes(symmetry);
+        int newWidth = transpose ? height : width;
+        int newHeight = transpose ? width : height;
+
+        boolean[][] result = new boolean[newWidth][newHeight];
+
+        for (int x = 0; x < newWidth; x++) {
+            for (int y = 0; y < newHeight; y++) {
+                result[x][y] = get(drawing, symmetry, newWidth, newHeight, x, y);
+            }
+        }
+
+        return result;
+    }
+
+    private static int canonicalSymmetry(boolean[][] drawing) {
+        int best = 0;
+        long[] bestBits = pack(drawing, 0);
+
+        for (int symmetry = 1; symmetry < SYMMETRIES; symmetry++) {
+            // A smaller width comes first
+            int widthOrder = Integer.compare(transposes(symmetry) ? drawing[0].length : drawing.length,
+                    transposes(best) ? drawing[0].length : drawing.length);
+
+            if (widthOrder > 0) {
+                continue;
+            }
+
+            long[] bits = pack(drawing, symmetry);
+
+            if (widthOrder < 0 || compareUnsigned(bits, bestBits) < 0) {
+                best = symmetry;
+                bestBits = bits;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Packs the transformed drawing in row-major order, 64 cells per word,
+     * with the first cell in the highest bit.
+     */
+    private static long[] pack(boolean[][] drawing, int symmetry) {
+        boolean transpose = transposes(symmetry);
+        int width = transpose ? drawing[0].length : drawing.length;
+        int height = transpose ? drawing.length : drawing[0].length;
+        long[] bits = new long[(width * height + 63) / 64];
+
+        int i = 0;
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (get(drawing, symmetry, width, height, x, y)) {
+                    bits[i >>> 6] |= 1L << (63 - (i & 63));
+                }
+
+                i++;
+            }
+        }
+
+        return bits;
+    }
+
+    /**
+     * The cell at (x, y) of the transformed drawing, which has the given
+     * width and height.
+     */
+    private static boolean get(boolean[][] drawing, int symmetry, int width, int height, int x, int y) {
+        int a = (symmetry & 1) != 0 ? width - 1 - x : x;
+        int b = (symmetry & 2) != 0 ? height - 1 - y : y;
+        return transposes(symmetry) ? drawing[b][a] : drawing[a][b];
+    }
+
+    private static int compareUnsigned(long[] a, long[] b) {
+        for (int i = 0; i < a.length; i++) {
+            int comparison = Long.compareUnsigned(a[i], b[i]);
+
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+
+        return 0;
+    }
+
+    private static int canonicalClueSymmetry(Nonogram nonogram) {
+        int best = 0;
+        int[] bestKey = clueKey(nonogram, 0);
+
+        for (int symmetry = 1; symmetry < SYMMETRIES; symmetry++) {
+            int[] key = clueKey(nonogram, symmetry);
+
+            if (compare(key, bestKey) < 0) {
+                best = symmetry;
+                bestKey = key;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * The width and height, followed by the length and numbers of each row
+     * clue, then of each column clue, after applying the symmetry.
+     */
+    private static int[] clueKey(Nonogram nonogram, int symmetry) {
+        List<List<Integer>> side = transformClues(nonogram.getSideNumbers(), nonogram.getTopNumbers(), symmetry, true);
+        List<List<Integer>> top = transformClues(nonogram.getSideNumbers(), nonogram.getTopNumbers(), symmetry, false);
+
+        int length = 2;
+
+        for (List<Integer> clue : side) {
+            length += 1 + clue.size();
+        }
+
+        for (List<Integer> clue : top) {
+            length += 1 + clue.size();
+        }
+
+        int[] key = new int[length];
+        key[0] = top.size();
+        key[1] = side.size();
+        int i = 2;
+
+        for (List<List<Integer>> clues : List.of(side, top)) {
+            for (List<Integer> clue : clues) {
+                key[i++] = clue.size();
+
+                for (int number : clue) {
+                    key[i++] = number;
+                }
+            }
+        }
+
+        return key;
+    }
+
+    private static int compare(int[] a, int[] b) {
+        for (int i = 0; i < Math.min(a.length, b.length); i++) {
+            int comparison = Integer.compare(a[i], b[i]);
+
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+
+        return Integer.compare(a.length, b.length);
+    }
+
+    /**
+     * The side (row) or top (column) numbers after applying the symmetry.
+     */
+    private static List<List<Integer>> transformClues(List<List<Integer>> sideNumbers, List<List<Integer>> topNumbers, int symmetry, boolean side) {
+        boolean transpose = transposes(symmetry);
+
+        // Rows of the result come from columns of the original if it is transposed
+        List<List<Integer>> clues = (side != transpose ? sideNumbers : topNumbers);
+
+        // Mirroring left-right reverses the order of the columns and each row clue
+        boolean reverseList = side ? (symmetry & 2) != 0 : (symmetry & 1) != 0;
+        boolean reverseClues = side ? (symmetry & 1) != 0 : (symmetry & 2) != 0;
+
+        List<List<Integer>> result = new ArrayList<>(clues.size());
+
+        for (List<Integer> clue : clues) {
+            List<Integer> copy = new ArrayList<>(clue);
+
+            if (reverseClues) {
+                Collections.reverse(copy);
+            }
+
+            result.add(copy);
+        }
+
+        if (reverseList) {
+            Collections.reverse(result);
+        }
+
+        return result;
+    }
+
+    private static boolean transposes(int symmetry) {
+        return (symmetry & 4) != 0;
+    }
+
+    private static long mixIn(long hash, long value) {
+        return (hash ^ value) * 0x100000001B3L;
+    }
+
+    private static long finish(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
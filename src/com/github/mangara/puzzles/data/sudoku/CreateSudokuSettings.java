@@ -17,12 +17,75 @@ package com.github.mangara.puzzles.data.sudoku;
 
 import com.github.mangara.puzzles.data.CreatePuzzleSettings;
 import com.github.mangara.puzzles.data.PuzzleType;
+import java.util.Random;
 
 public class CreateSudokuSettings implements CreatePuzzleSettings {
 
+    public enum Symmetry {
+        NONE, ROTATIONAL, MIRROR
+    }
+
+    // No 9 x 9 Sudoku with fewer than 17 given digits has a unique solution
+    public static final int MIN_CLUES = 17;
+    public static final int DEFAULT_MIN_CLUES = 22;
+    public static final int DEFAULT_MAX_CLUES = 30;
+
+    private final long seed;
+    private final int minClues;
+    private final int maxClues;
+    private final Symmetry symmetry;
+    private final SudokuDifficulty difficulty;
+
+    public CreateSudokuSettings() {
+        this(new Random().nextLong(), DEFAULT_MIN_CLUES, DEFAULT_MAX_CLUES, Symmetry.ROTATIONAL);
+    }
+
+    public CreateSudokuSettings(long seed, int minClues, int maxClues, Symmetry symmetry) {
+        this(seed, minClues, maxClues, symmetry, null);
+    }
+
+    /**
+     * @param seed
+     * @param minClues
+     * @param maxClues
+     * @param symmetry
+     * @param difficulty the difficulty the generated Sudoku must have, or null
+     * to accept any difficulty
+     */
+    public CreateSudokuSettings(long seed, int minClues, int maxClues, Symmetry symmetry, SudokuDifficulty difficulty) {
+        if (minClues < MIN_CLUES || maxClues > 81 || minClues > maxClues) {
+            throw new IllegalArgumentException("The clue range must satisfy " + MIN_CLUES + " <= minimum <= maximum <= 81");
+        }
+
+        this.seed = seed;
+        this.minClues = minClues;
+        this.maxClues = maxClues;
+        this.symmetry = symmetry;
+        this.difficulty = difficulty;
+    }
+
     @Override
     public PuzzleType getType() {
         return PuzzleType.SUDOKU;
     }
 
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getMinClues() {
+        return minClues;
+    }
+
+    public int getMaxClues() {
+        return maxClues;
+    }
+
+    public Symmetry getSymmetry() {
+        return symmetry;
+    }
+
+    public SudokuDifficulty getDifficulty() {
+        return difficulty;
+    }
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2023 Sander Verdonschot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.data.sudoku;
+
+public class RatedSudoku extends Sudoku {
+
+    private final SudokuDifficulty difficulty;
+    private final boolean meetsSettings;
+
+    public RatedSudoku(int[][] givenDigits, SudokuDifficulty difficulty) {
+        this(givenDigits, difficulty, true);
+    }
+
+    /**
+     * @param givenDigits
+     * @param difficulty
+     * @param meetsSettings whether the puzzle has the clue count and difficulty
+     * it was generated for
+     */
+    public RatedSudoku(int[][] givenDigits, SudokuDifficulty difficulty, boolean meetsSettings) {
+        super(givenDigits);
+        this.difficulty = difficulty;
+        this.meetsSettings = meetsSettings;
+    }
+
+    public SudokuDifficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * The generator falls back to its closest attempt when none has the
+     * requested clue count and difficulty.
+     *
+     * @return whether the puzzle has the clue count and difficulty it was
+     * generated for
+     */
+    public boolean meetsSettings() {
+        return meetsSettings;
+    }
+}
@@ -0,0 +1,471 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.data.sudoku;
+
+import static com.github.mangara.puzzles.data.sudoku.SudokuSolutionState.BLANK;
+
+/**
+ * Computes a canonical form of a Sudoku: the same grid for all puzzles that
+ * are equivalent under relabeling the digits, permuting the rows within a
+ * band or the columns within a stack, permuting the bands or the stacks, and
+ * transposing. The canonical form is the equivalent grid that is smallest when
+ * read as a string of digits in row-major order, with blanks as 0.
+ * <p>
+ * For a fixed order of the cells, the smallest relabeling numbers the digits in
+ * order of first appearance. The smallest first row always has its blanks
+ * first, with the stacks sorted by their number of blanks, so only column
+ * orders that achieve this are tried. If no row or column repeats a digit, only
+ * the rows with the most leading blanks can start the smallest grid; otherwise
+ * a row with fewer blanks but repeated digits may be smaller, so every row is
+ * tried. For each first row and column order the other rows are chosen one at
+ * a time, abandoning any order that falls behind the best grid so far.
+ * Of identical rows, columns, bands or stacks (such as empty ones) only one
+ * order is tried, as the others give the same grid.
+ * <p>
+ * Instances are not thread-safe. The static methods use one instance per
+ * thread.
+ */
+public class SudokuCanonicalizer {
+
+    private static final ThreadLocal<SudokuCanonicalizer> INSTANCE = ThreadLocal.withInitial(SudokuCanonicalizer::new);
+
+    private static final int[][] ORDERS = {{0, 1, 2}, {0, 2, 1}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0}};
+
+    // Larger than any relabeled digit, so that every row beats an unset row
+    private static final int UNSET = 10;
+
+    private final int[][] grid = new int[9][9]; // The input, possibly transposed
+    private final int[][] best = new int[9][9];
+    private final int[][] current = new int[9][9];
+    private final int[] columns = new int[9];
+    private final int[] rows = new int[9];
+    private final boolean[] usedRows = new boolean[9];
+    private final boolean[][] sameRows = new boolean[9][9];
+    private final boolean[][] sameColumns = new boolean[9][9];
+    private final int[] label = new int[10];
+    private final int[] labeledDigit = new int[10];
+    private int nextLabel;
+    private boolean distinctDigits; // No row or column of the input repeats a digit
+
+    public static Sudoku canonicalize(Sudoku puzzle) {
+        return new Sudoku(INSTANCE.get().canonicalDigits(puzzle.getGivenDigits()));
+    }
+
+    /**
+     * A 64-bit hash of the canonical form, so equal for all equivalent
+     * puzzles.
+     *
+     * @param puzzle
+     * @return
+     */
+    public static long canonicalHash(Sudoku puzzle) {
+        return canonicalHash(puzzle.getGivenDigits());
+    }
+
+    public static long canonicalHash(int[][] digits) {
+        SudokuCanonicalizer canonicalizer = INSTANCE.get();
+        canonicalizer.canonicalize(digits);
+        return hash(canonicalizer.best);
+    }
+
+    /**
+     * Computes the canonical form of the given 9 by 9 digits.
+     *
+     * @param digits
+     * @return a new array with the canonical digits
+     */
+    public int[][] canonicalDigits(int[][] digits) {
+        canonicalize(digits);
+
+        int[][] result = new int[9][9];
+
+        for (int row = 0; row < 9; row++) {
+            System.arraycopy(best[row], 0, result[row], 0, 9);
+        }
+
+        return result;
+    }
+
+    /**
+     * Hashes the given digits cell by cell. Two grids with the same digits
+     * always have the same hash; apply it to canonical digits to get a hash
+     * that identifies the puzzle up to equivalence.
+     *
+     * @param digits
+     * @return
+     */
+    public static long hash(int[][] digits) {
+        long hash = 0xCBF29CE484222325L; // FNV-1a
+
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                hash = (hash ^ digits[row][col]) * 0x100000001B3L;
+            }
+        }
+
+        // Spread the bits, so that the low bits are good enough for a hash table
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private void canonicalize(int[][] digits) {
+        for (int row = 0; row < 9; row++) {
+            best[row][0] = UNSET;
+        }
+
+        distinctDigits = hasDistinctDigits(digits);
+
+        // Without repeated digits, the first row with the most blanks in its first stacks wins
+        int bestKey = -1;
+
+        for (int transpose = 0; transpose < 2 && distinctDigits; transpose++) {
+            for (int row = 0; row < 9; row++) {
+                bestKey = Math.max(bestKey, firstRowKey(digits, transpose == 1, row));
+            }
+        }
+
+        for (int transpose = 0; transpose < 2; transpose++) {
+            load(digits, transpose == 1);
+
+            for (int row = 0; row < 9; row++) {
+                if ((!distinctDigits || firstRowKey(digits, transpose == 1, row) == bestKey) && !isRepeated(row, true)) {
+                    tryFirstRow(row);
+                }
+            }
+        }
+    }
+
+    private static boolean hasDistinctDigits(int[][] digits) {
+        for (int i = 0; i < 9; i++) {
+            int rowSeen = 0;
+            int columnSeen = 0;
+
+            for (int j = 0; j < 9; j++) {
+                int rowBit = 1 << digits[i][j];
+                int columnBit = 1 << digits[j][i];
+
+                if ((digits[i][j] != BLANK && (rowSeen & rowBit) != 0) || (digits[j][i] != BLANK && (columnSeen & columnBit) != 0)) {
+                    return false;
+                }
+
+                rowSeen |= rowBit;
+                columnSeen |= columnBit;
+            }
+        }
+
+        return true;
+    }
+
+    private void load(int[][] digits, boolean transpose) {
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                grid[row][col] = transpose ? digits[col][row] : digits[row][col];
+            }
+        }
+
+        for (int i = 0; i < 9; i++) {
+            for (int j = 0; j < 9; j++) {
+                sameRows[i][j] = true;
+                sameColumns[i][j] = true;
+
+                for (int k = 0; k < 9; k++) {
+                    sameRows[i][j] &= grid[i][k] == grid[j][k];
+                    sameColumns[i][j] &= grid[k][i] == grid[k][j];
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether an unused row identical to the given one comes before it
+     * in its band, or, if it would start a new band, whether an unused band
+     * identical to its band comes before it. Trying that one instead gives
+     * the same grids.
+     */
+    private boolean isRepeated(int row, boolean startsBand) {
+        int band = 3 * (row / 3);
+
+        for (int other = band; other < row; other++) {
+            if (!usedRows[other] && sameRows[other][row]) {
+                return true;
+            }
+        }
+
+        if (startsBand) {
+            for (int other = 0; other < band; other += 3) {
+                if (!usedRows[other] && sameRows[other][band] && sameRows[other + 1][band + 1] && sameRows[other + 2][band + 2]) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private boolean isRepeatedOrder(int[] stacks) {
+        for (int i = 0; i < 3; i++) {
+            for (int j = i + 1; j < 3; j++) {
+                int a = 3 * stacks[i];
+                int b = 3 * stacks[j];
+
+                if (a > b && sameColumns[a][b] && sameColumns[a + 1][b + 1] && sameColumns[a + 2][b + 2]) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private boolean isRepeatedOrder(int stack, int[] order) {
+        for (int i = 0; i < 3; i++) {
+            for (int j = i + 1; j < 3; j++) {
+                if (order[i] > order[j] && sameColumns[3 * stack + order[i]][3 * stack + order[j]]) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * The blank counts of the stacks of the given row, largest first, as a
+     * number that is larger for better first rows.
+     */
+    private static int firstRowKey(int[][] digits, boolean transpose, int row) {
+        int[] blanks = new int[3];
+
+        for (int col = 0; col < 9; col++) {
+            int digit = transpose ? digits[col][row] : digits[row][col];
+
+            if (digit == BLANK) {
+                blanks[col / 3]++;
+            }
+        }
+
+        int max = Math.max(blanks[0], Math.max(blanks[1], blanks[2]));
+        int min = Math.min(blanks[0], Math.min(blanks[1], blanks[2]));
+        int middle = blanks[0] + blanks[1] + blanks[2] - max - min;
+        return 16 * max + 4 * middle + min;
+    }
+
+    /**
+     * Tries all column orders that put the blanks of the given row first, with
+     * the stacks in order of decreasing number of blanks.
+     */
+    private void tryFirstRow(int first) {
+        int[] blanks = new int[3];
+
+        for (int col = 0; col < 9; col++) {
+            if (grid[first][col] == BLANK) {
+                blanks[col / 3]++;
+            }
+        }
+
+        // Then all first rows that are tried relabel to the same row, and the second row decides
+        boolean canPrune = distinctDigits;
+        rows[0] = first;
+        usedRows[first] = true;
+
+        for (int[] stacks : ORDERS) {
+            if (blanks[stacks[0]] < blanks[stacks[1]] || blanks[stacks[1]] < blanks[stacks[2]] || isRepeatedOrder(stacks)) {
+                continue;
+            }
+
+            for (int[] order0 : ORDERS) {
+                if (!blanksFirst(first, stacks[0], order0) || isRepeatedOrder(stacks[0], order0)) {
+                    continue;
+                }
+
+                setColumns(0, stacks[0], order0);
+
+                if (canPrune && secondRowLoses(3)) {
+                    continue;
+                }
+
+                for (int[] order1 : ORDERS) {
+                    if (!blanksFirst(first, stacks[1], order1) || isRepeatedOrder(stacks[1], order1)) {
+                        continue;
+                    }
+
+                    setColumns(3, stacks[1], order1);
+
+                    if (canPrune && secondRowLoses(6)) {
+                        continue;
+                    }
+
+                    for (int[] order2 : ORDERS) {
+                        if (!blanksFirst(first, stacks[2], order2) || isRepeatedOrder(stacks[2], order2)) {
+                            continue;
+                        }
+
+                        setColumns(6, stacks[2], order2);
+                        nextLabel = 1;
+                        searchRow(0);
+                    }
+                }
+            }
+        }
+
+        usedRows[first] = false;
+    }
+
+    private void setColumns(int start, int stack, int[] order) {
+        for (int i = 0; i < 3; i++) {
+            columns[start + i] = 3 * stack + order[i];
+        }
+    }
+
+    /**
+     * Checks whether, with only the first {@code count} columns placed, every
+     * possible second row is already known to be larger than the best second
+     * row, because it has a digit where the best has the first blank not
+     * shared with it.
+     */
+    private boolean secondRowLoses(int count) {
+        if (best[1][0] == UNSET) {
+            return false;
+        }
+
+        int band = 3 * (rows[0] / 3);
+
+        for (int second = band; second < band + 3; second++) {
+            if (usedRows[second] || isRepeated(second, false)) {
+                continue;
+            }
+
+            boolean loses = false;
+
+            for (int i = 0; i < count; i++) {
+                boolean blank = grid[second][columns[i]] == BLANK;
+                boolean bestBlank = best[1][i] == BLANK;
+
+                if (!blank || !bestBlank) {
+                    loses = !blank && bestBlank;
+                    break;
+                }
+            }
+
+            if (!loses) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean blanksFirst(int row, int stack, int[] order) {
+        boolean seenDigit = false;
+
+        for (int i = 0; i < 3; i++) {
+            boolean blank = grid[row][3 * stack + order[i]] == BLANK;
+
+            if (blank && seenDigit) {
+                return false;
+            }
+
+            seenDigit |= !blank;
+        }
+
+        return true;
+    }
+
+    /**
+     * Relabels rows[level] into current[level] and compares it to the best
+     * grid, whose earlier rows are equal to the current ones. Then tries all
+     * rows that can come next.
+     */
+    private void searchRow(int level) {
+        int row = rows[level];
+        int labelsBefore = nextLabel;
+        int comparison = 0;
+
+        for (int i = 0; i < 9; i++) {
+            int digit = grid[row][columns[i]];
+            int value = BLANK;
+
+            if (digit != BLANK) {
+                if (label[digit] == 0) {
+                    label[digit] = nextLabel;
+                    labeledDigit[nextLabel] = digit;
+                    nextLabel++;
+                }
+
+                value = label[digit];
+            }
+
+            current[level][i] = value;
+
+            if (comparison == 0) {
+                comparison = Integer.compare(value, best[level][i]);
+
+                if (comparison > 0) {
+                    break;
+                }
+            }
+        }
+
+        if (comparison < 0) {
+            System.arraycopy(current[level], 0, best[level], 0, 9);
+
+            for (int later = level + 1; later < 9; later++) {
+                best[later][0] = UNSET;
+            }
+        }
+
+        if (comparison <= 0 && level < 8) {
+            int next = level + 1;
+
+            if (next % 3 == 0) {
+                // Any row of a band that has not been used yet
+                for (int candidate = 0; candidate < 9; candidate++) {
+                    int band = 3 * (candidate / 3);
+
+                    if (!usedRows[band] && !usedRows[band + 1] && !usedRows[band + 2] && !isRepeated(candidate, true)) {
+                        tryRow(next, candidate);
+                    }
+                }
+            } else {
+                int band = 3 * (row / 3);
+
+                for (int candidate = band; candidate < band + 3; candidate++) {
+                    if (!usedRows[candidate] && !isRepeated(candidate, false)) {
+                        tryRow(next, candidate);
+                    }
+                }
+            }
+        }
+
+        // Forget the labels introduced by this row
+        for (int l = labelsBefore; l < nextLabel; l++) {
+            label[labeledDigit[l]] = 0;
+        }
+
+        nextLabel = labelsBefore;
+    }
+
+    private void tryRow(int level, int row) {
+        rows[level] = row;
+        usedRows[row] = true;
+        searchRow(level);
+        usedRows[row] = false;
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2023 Sander Verdonschot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.data.sudoku;
+
+/**
+ * The difficulty of a Sudoku, determined by the hardest technique the logical
+ * solver needs to solve it. Values are ordered from easiest to hardest.
+ */
+public enum SudokuDifficulty {
+    EASY, // Naked and hidden singles
+    MEDIUM, // Naked and hidden pairs
+    HARD, // Pointing and claiming, naked and hidden triples and quads, X-Wings
+    EXPERT, // Swordfish and Jellyfish, wings, coloring and X-Chains
+    UNSOLVED; // The logical solver gets stuck
+}
@@ -22,11 +22,11 @@ import java.util.List;
 
 public class SudokuSolutionState {
     public static int BLANK = 0;
+    private static final int ALL_DIGITS = 0x1FF;
     
     public boolean given;
     public int digit;
-    private boolean[] possible; // possible[3] = true => this square can contain a 4
-    private int possibleCount;
+    private int possible; // bit 3 set => this square can contain a 4
     public boolean[] pencilmark;
 
     public SudokuSolutionState() {
@@ -41,14 +41,10 @@ public class SudokuSolutionState {
         this.digit = number;
         this.given = given;
        
-        possible = new boolean[9];
         if (number == BLANK) {
-            Arrays.fill(possible, true);
-            possibleCount = 9;
+            possible = ALL_DIGITS;
         } else {
-            Arrays.fill(possible, false);
-            possible[number - 1] = true;
-            possibleCount = 1;
+            possible = 1 << (number - 1);
         }
         
         pencilmark = new boolean[9];
@@ -58,27 +54,21 @@ public class SudokuSolutionState {
     public SudokuSolutionState(SudokuSolutionState state) {
         this.digit = state.digit;
         this.given = state.given;
-       
-        possible = new boolean[9];
-        System.arraycopy(state.possible, 0, possible, 0, 9);
-        possibleCount = state.possibleCount;
+        this.possible = state.possible;
         
         pencilmark = new boolean[9];
         System.arraycopy(state.pencilmark, 0, pencilmark, 0, 9);
     }
 
     public boolean isPossible(int digit) {
-        return possible[digit - 1];
+        return (possible & (1 << (digit - 1))) != 0;
     }
     
     public void setPossible(int digit, boolean possible) {
-        boolean prevPossible = this.possible[digit - 1];
-        this.possible[digit - 1] = possible;
-        
-        if (prevPossible && !possible) {
-            possibleCount--;
-        } else if (!prevPossible && possible) {
-            possibleCount++;
+        if (possible) {
+            this.possible |= 1 << (digit - 1);
+        } else {
+            this.possible &= ~(1 << (digit - 1));
         }
     }
     
@@ -89,7 +79,16 @@ public class SudokuSolutionState {
     }
 
     public int getPossibleCount() {
-        return possibleCount;
+        return Integer.bitCount(possible);
+    }
+
+    /**
+     * The possible digits as a bit mask: bit d - 1 is set iff d is possible.
+     *
+     * @return
+     */
+    public int getPossibleMask() {
+        return possible;
     }
     
     public List<Integer> allPossible() {
@@ -106,9 +105,6 @@ public class SudokuSolutionState {
     
     public void setDigit(int digit) {
         this.digit = digit;
-        
-        Arrays.fill(possible, false);
-        setPossible(digit, true);
-        possibleCount = 1;
+        possible = 1 << (digit - 1);
     }
 }
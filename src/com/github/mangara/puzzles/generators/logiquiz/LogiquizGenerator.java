@@ -17,13 +17,77 @@ package com.github.mangara.puzzles.generators.logiquiz;
 
 import com.github.mangara.puzzles.data.logiquiz.CreateLogiquizSettings;
 import com.github.mangara.puzzles.data.logiquiz.Logiquiz;
+import com.github.mangara.puzzles.data.logiquiz.LogiquizClue;
+import com.github.mangara.puzzles.data.logiquiz.LogiquizClue.Entry;
+import com.github.mangara.puzzles.data.logiquiz.LogiquizClueParser;
+import com.github.mangara.puzzles.solvers.SolveContext;
+import com.github.mangara.puzzles.solvers.SolveResult;
+import com.github.mangara.puzzles.solvers.logiquiz.LogiquizConstraint;
+import com.github.mangara.puzzles.solvers.logiquiz.LogiquizSolver;
+import com.github.mangara.puzzles.solvers.logiquiz.LogiquizState;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
 
+/**
+ * Generates logiquizzes with a unique solution. It picks a random hidden
+ * solution and a pool of clues that are true for it, then adds clues from the
+ * pool until the solution is unique. Each step adds the clue that rules out
+ * the most matches, evaluated in parallel on copies of the propagated state.
+ * "Is" clues give away a match, so they are only used when no other clue
+ * helps. Finally, clues that the others make redundant are removed.
+ * <p>
+ * The last group serves as the ordinal group for ordered clues.
+ */
 public class LogiquizGenerator {
-    
+
+    // The number of random clues in the pool, per entry
+    private static final int POOL_SIZE_PER_ENTRY = 6;
+
     public static Logiquiz create(CreateLogiquizSettings settings) {
+        return create(settings, () -> false);
+    }
+
+    /**
+     * Generates a logiquiz for the given settings. The same seed always
+     * produces the same puzzle.
+     *
+     * @param settings
+     * @param cancelled checked between clues; generation stops with a
+     * {@link CancellationException} once it returns true
+     * @return a logiquiz whose clues have a unique solution, none of which can
+     * be left out
+     */
+    public static Logiquiz create(CreateLogiquizSettings settings, BooleanSupplier cancelled) {
+        Logiquiz blank = createBlank(settings);
+        Random random = new Random(settings.getSeed());
+
+        int[][] solution = randomSolution(settings, random);
+        List<LogiquizClue> clues = selectClues(settings, cluePool(settings, solution, random), cancelled);
+        pruneClues(settings, clues, random, cancelled);
+
+        List<String> text = new ArrayList<>(clues.size());
+
+        for (LogiquizClue clue : clues) {
+            text.add(LogiquizClueParser.format(blank, clue));
+        }
+
+        return new Logiquiz(blank.getGroups(), text);
+    }
+
+    /**
+     * Creates a logiquiz with placeholder entries and no clues.
+     *
+     * @param settings
+     * @return
+     */
+    public static Logiquiz createBlank(CreateLogiquizSettings settings) {
         List<List<String>> groups = generateGroups(settings);
         List<String> clues = Collections.emptyList();
         return new Logiquiz(groups, clues);
@@ -31,22 +95,283 @@ public class LogiquizGenerator {
 
     private static List<List<String>> generateGroups(CreateLogiquizSettings settings) {
         List<List<String>> groups = new ArrayList<>(settings.getGroupCount());
-        
+
         for (int groupNumber = 0; groupNumber < settings.getGroupCount(); groupNumber++) {
             groups.add(generateGroup(settings, groupNumber));
         }
-        
+
         return groups;
     }
 
     private static List<String> generateGroup(CreateLogiquizSettings settings, int groupNumber) {
         List<String> group = new ArrayList<>(settings.getGroupSize());
-        
+
         for (int entryNumber = 0; entryNumber < settings.getGroupSize(); entryNumber++) {
             String entry = Character.toString('A' + groupNumber) + Integer.toString(entryNumber);
             group.add(entry);
         }
-        
+
         return group;
     }
+
+    /**
+     * A random solution, as {@link LogiquizState#getSolution()}: entry x of
+     * the first group belongs with entry {@code solution[b][x]} of group b.
+     */
+    private static int[][] randomSolution(CreateLogiquizSettings settings, Random random) {
+        int[][] solution = new int[settings.getGroupCount()][];
+
+        for (int b = 0; b < settings.getGroupCount(); b++) {
+            List<Integer> order = new ArrayList<>(settings.getGroupSize());
+
+            for (int y = 0; y < settings.getGroupSize(); y++) {
+                order.add(y);
+            }
+
+            if (b > 0) {
+                Collections.shuffle(order, random);
+            }
+
+            solution[b] = order.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        return solution;
+    }
+
+    /**
+     * All "is" clues, plus random clues of the other types, that are true for
+     * the given solution.
+     */
+    private static List<LogiquizClue> cluePool(CreateLogiquizSettings settings, int[][] solution, Random random) {
+        ClueFactory factory = new ClueFactory(solution, random);
+        Set<LogiquizClue> pool = new LinkedHashSet<>();
+
+        for (int a = 0; a < settings.getGroupCount(); a++) {
+            for (int b = a + 1; b < settings.getGroupCount(); b++) {
+                for (int x = 0; x < settings.getGroupSize(); x++) {
+                    Entry subject = new Entry(a, x);
+                    pool.add(LogiquizClue.is(subject, factory.partner(subject, b)));
+                }
+            }
+        }
+
+        int target = pool.size() + POOL_SIZE_PER_ENTRY * settings.getGroupCount() * settings.getGroupSize();
+
+        // Small puzzles have fewer distinct clues than the target
+        for (int attempt = 0; attempt < 10 * target && pool.size() < target; attempt++) {
+            pool.add(factory.randomClue());
+        }
+
+        return new ArrayList<>(pool);
+    }
+
+    /**
+     * Adds clues from the pool until they have a unique solution. The state
+     * is kept propagated with the clues chosen so far, so each candidate and
+     * each uniqueness check starts from there.
+     */
+    private static List<LogiquizClue> selectClues(CreateLogiquizSettings settings, List<LogiquizClue> pool, BooleanSupplier cancelled) {
+        List<LogiquizClue> candidates = new ArrayList<>(pool);
+        List<LogiquizConstraint> candidateConstraints = new ArrayList<>(pool.size());
+
+        for (LogiquizClue clue : pool) {
+            candidateConstraints.add(LogiquizConstraint.compile(clue, settings.getGroupCount(), settings.getGroupSize()));
+        }
+
+        List<LogiquizClue> chosen = new ArrayList<>();
+        List<LogiquizConstraint> constraints = new ArrayList<>();
+        LogiquizState state = new LogiquizState(settings.getGroupCount(), settings.getGroupSize());
+
+        while (!isUnique(state, constraints)) {
+            checkCancelled(cancelled);
+
+            LogiquizState current = state;
+            int options = state.getOptionCount();
+            int[] scores = IntStream.range(0, candidates.size())
+                    .parallel()
+                    .map(i -> options - evaluate(current, constraints, candidateConstraints.get(i)))
+                    .toArray();
+
+            int best = pickBest(candidates, scores);
+
+            chosen.add(candidates.remove(best));
+            constraints.add(candidateConstraints.remove(best));
+            state.propagate(constraints);
+        }
+
+        return chosen;
+    }
+
+    /**
+     * The number of options left after adding the constraint to the state.
+     */
+    private static int evaluate(LogiquizState state, List<LogiquizConstraint> constraints, LogiquizConstraint candidate) {
+        List<LogiquizConstraint> all = new ArrayList<>(constraints.size() + 1);
+        all.addAll(constraints);
+        all.add(candidate);
+
+        LogiquizState next = new LogiquizState(state);
+        next.propagate(all);
+        return next.getOptionCount();
+    }
+
+    /**
+     * The candidate with the highest score, preferring any useful clue over
+     * an "is" clue. Ties go to the first candidate.
+     */
+    private static int pickBest(List<LogiquizClue> candidates, int[] scores) {
+        int best = -1;
+        int bestIs = -1;
+
+        for (int i = 0; i < candidates.size(); i++) {
+            if (candidates.get(i).getType() == LogiquizClue.Type.IS) {
+                if (bestIs < 0 || scores[i] > scores[bestIs]) {
+                    bestIs = i;
+                }
+            } else if (best < 0 || scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+
+        return best >= 0 && scores[best] > 0 ? best : bestIs;
+    }
+
+    /**
+     * Removes clues in random order, as long as the rest still has a unique
+     * solution.
+     */
+    private static void pruneClues(CreateLogiquizSettings settings, List<LogiquizClue> clues, Random random, BooleanSupplier cancelled) {
+        List<LogiquizConstraint> constraints = new ArrayList<>(clues.size());
+
+        for (LogiquizClue clue : clues) {
+            constraints.add(LogiquizConstraint.compile(clue, settings.getGroupCount(), settings.getGroupSize()));
+        }
+
+        List<LogiquizClue> order = new ArrayList<>(clues);
+        Collections.shuffle(order, random);
+
+        for (LogiquizClue clue : order) {
+            checkCancelled(cancelled);
+
+            int index = clues.indexOf(clue);
+            LogiquizConstraint removed = constraints.remove(index);
+            LogiquizState state = new LogiquizState(settings.getGroupCount(), settings.getGroupSize());
+
+            if (isUnique(state, constraints)) {
+                clues.remove(index);
+            } else {
+                constraints.add(index, removed);
+            }
+        }
+    }
+
+    private static boolean isUnique(LogiquizState state, List<LogiquizConstraint> constraints) {
+        return state.isSolved() || LogiquizSolver.solve(state, constraints, SolveContext.UNBOUNDED) == SolveResult.UNIQUE;
+    }
+
+    private static void checkCancelled(BooleanSupplier cancelled) {
+        if (cancelled.getAsBoolean()) {
+            throw new CancellationException("Logiquiz generation was cancelled");
+        }
+    }
+
+    /**
+     * Creates random clues that are true for a solution.
+     */
+    private static class ClueFactory {
+
+        private final int[][] solution;
+        private final int[][] row; // row[b][y] is the entry of the first group that y in group b belongs with
+        private final int groupCount;
+        private final int groupSize;
+        private final int ordinal;
+        private final Random random;
+
+        ClueFactory(int[][] solution, Random random) {
+            this.solution = solution;
+            this.random = random;
+            this.groupCount = solution.length;
+            this.groupSize = solution[0].length;
+            this.ordinal = groupCount - 1;
+            this.row = new int[groupCount][groupSize];
+
+            for (int b = 0; b < groupCount; b++) {
+                for (int x = 0; x < groupSize; x++) {
+                    row[b][solution[b][x]] = x;
+                }
+            }
+        }
+
+        Entry partner(Entry entry, int group) {
+            return new Entry(group, solution[group][row[entry.group][entry.index]]);
+        }
+
+        LogiquizClue randomClue() {
+            Entry subject = randomEntry();
+
+            switch (random.nextInt(4)) {
+                case 0:
+                    return LogiquizClue.isNot(subject, randomNonPartner(subject));
+                case 1: {
+                    Entry partner = partner(subject, randomOtherGroup(subject.group));
+                    Entry other = randomNonPartner(subject);
+
+                    if (partner.equals(other)) {
+                        return LogiquizClue.isNot(subject, other);
+                    }
+
+                    return random.nextBoolean() ? LogiquizClue.eitherOr(subject, partner, other) : LogiquizClue.eitherOr(subject, other, partner);
+                }
+                case 2: {
+                    Entry first = randomNonPartner(subject);
+                    Entry second = randomNonPartner(subject);
+
+                    return first.equals(second) ? LogiquizClue.isNot(subject, first) : LogiquizClue.neitherNor(subject, first, second);
+                }
+                default:
+                    return randomOrderedClue(subject);
+            }
+        }
+
+        private LogiquizClue randomOrderedClue(Entry subject) {
+            Entry other = randomEntry();
+            int subjectPosition = position(subject);
+            int otherPosition = position(other);
+
+            if (subjectPosition == otherPosition || (subject.group == ordinal && other.group == ordinal)) {
+                // Both are at the same position, or the clue says nothing
+                return LogiquizClue.isNot(subject, randomNonPartner(subject));
+            }
+
+            if (random.nextBoolean()) {
+                return subjectPosition < otherPosition
+                        ? LogiquizClue.before(subject, other, ordinal)
+                        : LogiquizClue.after(subject, other, ordinal);
+            } else {
+                return subjectPosition > otherPosition
+                        ? LogiquizClue.moreThan(subject, other, ordinal, subjectPosition - otherPosition)
+                        : LogiquizClue.lessThan(subject, other, ordinal, otherPosition - subjectPosition);
+            }
+        }
+
+        private int position(Entry entry) {
+            return partner(entry, ordinal).index;
+        }
+
+        private Entry randomEntry() {
+            return new Entry(random.nextInt(groupCount), random.nextInt(groupSize));
+        }
+
+        private int randomOtherGroup(int group) {
+            int other = random.nextInt(groupCount - 1);
+            return other < group ? other : other + 1;
+        }
+
+        private Entry randomNonPartner(Entry entry) {
+            int group = randomOtherGroup(entry.group);
+            int partner = partner(entry, group).index;
+            int index = random.nextInt(groupSize - 1);
+            return new Entry(group, index < partner ? index : index + 1);
+        }
+    }
 }
@@ -16,23 +16,247 @@
 package com.github.mangara.puzzles.generators.sudoku;
 
 import com.github.mangara.puzzles.data.sudoku.CreateSudokuSettings;
+import com.github.mangara.puzzles.data.sudoku.CreateSudokuSettings.Symmetry;
+import com.github.mangara.puzzles.data.sudoku.RatedSudoku;
 import com.github.mangara.puzzles.data.sudoku.Sudoku;
+import com.github.mangara.puzzles.data.sudoku.SudokuDifficulty;
 import com.github.mangara.puzzles.data.sudoku.SudokuSolutionState;
+import static com.github.mangara.puzzles.data.sudoku.SudokuSolutionState.BLANK;
+import com.github.mangara.puzzles.solvers.sudoku.BitmaskSolver;
+import com.github.mangara.puzzles.solvers.sudoku.SudokuGrade;
+import com.github.mangara.puzzles.solvers.sudoku.SudokuGrader;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
 
+/**
+ * Generates Sudoku with a unique solution. It fills a random grid, then removes
+ * given digits in random order (respecting the requested symmetry), keeping
+ * each removal only if the puzzle remains unique and, if a difficulty is
+ * requested, the logical solver can still solve it without harder strategies.
+ */
 public class SudokuGenerator {
-    
-    public static Sudoku create(CreateSudokuSettings settings) {
-        return new Sudoku(blankGrid());
+
+    // Give up on reaching the maximum clue count after this many full grids
+    private static final int MAX_ATTEMPTS = 1000;
+
+    public static RatedSudoku create(CreateSudokuSettings settings) {
+        return create(settings, () -> false);
+    }
+
+    /**
+     * Generates a Sudoku for the given settings. The same seed always produces
+     * the same puzzle.
+     *
+     * @param settings
+     * @param cancelled checked between removals; generation stops with a
+     * {@link CancellationException} once it returns true
+     * @return a Sudoku with a unique solution, a number of given digits in the
+     * requested range and the requested difficulty. If no attempt satisfied all
+     * requirements, this is the attempt closest to the requested difficulty
+     * with the fewest given digits, and {@link RatedSudoku#meetsSettings()}
+     * returns false.
+     */
+    public static RatedSudoku create(CreateSudokuSettings settings, BooleanSupplier cancelled) {
+        return generate(settings, new Random(settings.getSeed()), cancelled);
+    }
+
+    /**
+     * Generates {@code count} Sudoku, using one thread per available core.
+     * Each thread runs its own generator with a seed derived from the settings,
+     * so the result only depends on the settings and the number of cores.
+     *
+     * @param settings
+     * @param count
+     * @param cancelled
+     * @return
+     * @throws InterruptedException
+     */
+    public static List<RatedSudoku> createBatch(CreateSudokuSettings settings, int count, BooleanSupplier cancelled) throws InterruptedException {
+        if (count <= 0) {
+            return Collections.emptyList();
+        }
+
+        int workers = Math.min(count, Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        Random seeds = new Random(settings.getSeed());
+
+        try {
+            List<Future<List<RatedSudoku>>> results = new ArrayList<>(workers);
+
+            for (int worker = 0; worker < workers; worker++) {
+                int share = count / workers + (worker < count % workers ? 1 : 0);
+                Random random = new Random(seeds.nextLong());
+
+                results.add(executor.submit(() -> {
+                    List<RatedSudoku> puzzles = new ArrayList<>(share);
+
+                    for (int i = 0; i < share; i++) {
+                        puzzles.add(generate(settings, random, cancelled));
+                    }
+
+                    return puzzles;
+                }));
+            }
+
+            List<RatedSudoku> puzzles = new ArrayList<>(count);
+
+            for (Future<List<RatedSudoku>> result : results) {
+                puzzles.addAll(result.get());
+            }
+
+            return puzzles;
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+
+            throw new RuntimeException(ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static RatedSudoku generate(CreateSudokuSettings settings, Random random, BooleanSupplier cancelled) {
+        int[][] best = null;
+        SudokuDifficulty bestDifficulty = null;
+        int bestDistance = Integer.MAX_VALUE;
+        int bestClues = Integer.MAX_VALUE;
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            checkCancelled(cancelled);
+
+            int[][] digits = BitmaskSolver.findRandomSolution(blankGrid(), random);
+            int clues = removeDigits(digits, settings, random, cancelled);
+            SudokuDifficulty difficulty = SudokuGrader.grade(new Sudoku(digits)).getDifficulty();
+            int distance = settings.getDifficulty() == null ? 0 : Math.abs(difficulty.ordinal() - settings.getDifficulty().ordinal());
+
+            if (clues <= settings.getMaxClues() && distance == 0) {
+                return new RatedSudoku(digits, difficulty);
+            }
+
+            // Prefer attempts in the requested band over attempts with fewer clues
+            if (distance < bestDistance || (distance == bestDistance && clues < bestClues)) {
+                best = digits;
+                bestDifficulty = difficulty;
+                bestDistance = distance;
+                bestClues = clues;
+            }
+        }
+
+        return new RatedSudoku(best, bestDifficulty, false);
+    }
+
+    /**
+     * Removes as many digits as possible from the given full grid, while the
+     * solution stays unique and at least the minimum number of clues remains.
+     *
+     * @return the number of given digits left
+     */
+    private static int removeDigits(int[][] digits, CreateSudokuSettings settings, Random random, BooleanSupplier cancelled) {
+        int clues = 81;
+        int[] removed = new int[2];
+
+        List<Integer> cells = orbitRepresentatives(settings.getSymmetry());
+        Collections.shuffle(cells, random);
+
+        for (int cell : cells) {
+            checkCancelled(cancelled);
+
+            int[] orbit = orbit(cell, settings.getSymmetry());
+
+            if (clues - orbit.length < settings.getMinClues()) {
+                continue;
+            }
+
+            for (int i = 0; i < orbit.length; i++) {
+                removed[i] = digits[orbit[i] / 9][orbit[i] % 9];
+                digits[orbit[i] / 9][orbit[i] % 9] = BLANK;
+            }
+
+            if (isAcceptable(digits, settings.getDifficulty())) {
+                clues -= orbit.length;
+            } else {
+                for (int i = 0; i < orbit.length; i++) {
+                    digits[orbit[i] / 9][orbit[i] % 9] = removed[i];
+                }
+            }
+        }
+
+        return clues;
     }
-    
+
+    private static boolean isAcceptable(int[][] digits, SudokuDifficulty difficulty) {
+        if (difficulty == null) {
+            return BitmaskSolver.countSolutions(digits, 2, null) == 1;
+        }
+
+        // The grader only runs the logical solver once the solution is unique
+        SudokuGrade grade = SudokuGrader.grade(new Sudoku(digits));
+        return grade.isUnique() && grade.getDifficulty().compareTo(difficulty) <= 0;
+    }
+
+    private static List<Integer> orbitRepresentatives(Symmetry symmetry) {
+        List<Integer> cells = new ArrayList<>(81);
+
+        for (int cell = 0; cell < 81; cell++) {
+            if (orbit(cell, symmetry)[0] == cell) {
+                cells.add(cell);
+            }
+        }
+
+        return cells;
+    }
+
+    /**
+     * The cells that must be removed together with the given cell. The first
+     * entry is the representative of the orbit.
+     */
+    private static int[] orbit(int cell, Symmetry symmetry) {
+        int partner;
+
+        switch (symmetry) {
+            case NONE:
+                partner = cell;
+                break;
+            case ROTATIONAL:
+                partner = 80 - cell;
+                break;
+            case MIRROR:
+                partner = 9 * (cell / 9) + 8 - cell % 9;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown symmetry: " + symmetry);
+        }
+
+        if (partner == cell) {
+            return new int[]{cell};
+        } else {
+            return new int[]{Math.min(cell, partner), Math.max(cell, partner)};
+        }
+    }
+
+    private static void checkCancelled(BooleanSupplier cancelled) {
+        if (cancelled.getAsBoolean()) {
+            throw new CancellationException("Sudoku generation was cancelled");
+        }
+    }
+
     private static int[][] blankGrid() {
         int[][] result = new int[9][9];
-        
+
         for (int i = 0; i < 9; i++) {
             Arrays.fill(result[i], SudokuSolutionState.BLANK);
         }
-        
+
         return result;
     }
 }
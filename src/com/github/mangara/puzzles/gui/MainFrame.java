@@ -26,6 +26,7 @@ import javax.swing.filechooser.FileNameExtensionFilter;
 import com.github.mangara.puzzles.data.nonogram.Nonogram;
 import com.github.mangara.puzzles.data.Puzzle;
 import com.github.mangara.puzzles.data.nonogram.NonogramSolutionState;
+import com.github.mangara.puzzles.data.sudoku.RatedSudoku;
 import com.github.mangara.puzzles.generators.PuzzleFactory;
 import com.github.mangara.puzzles.io.PuzzlePrinter;
 import com.github.mangara.puzzles.io.PuzzleReader;
@@ -72,6 +73,13 @@ public class MainFrame extends javax.swing.JFrame {
     public void newPuzzle(CreatePuzzleSettings settings) {
         Puzzle puzzle = PuzzleFactory.create(settings);
         puzzlePanel.setPuzzle(puzzle);
+
+        if (puzzle instanceof RatedSudoku && !((RatedSudoku) puzzle).meetsSettings()) {
+            JOptionPane.showMessageDialog(this,
+                    "No puzzle with the requested number of clues and difficulty was found.\n"
+                    + "This is the closest one, rated " + ((RatedSudoku) puzzle).getDifficulty() + ".",
+                    "Warning", JOptionPane.WARNING_MESSAGE);
+        }
     }
     
     /**
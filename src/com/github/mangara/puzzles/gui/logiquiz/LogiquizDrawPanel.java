@@ -42,7 +42,7 @@ public class LogiquizDrawPanel extends JPanel implements MouseListener {
         setPreferredSize(new Dimension(800, 600));
         addMouseListener(this);
 
-        puzzle = LogiquizGenerator.create(new CreateLogiquizSettings(3, 2));
+        puzzle = LogiquizGenerator.createBlank(new CreateLogiquizSettings(3, 2));
         clearSolution();
     }
 
@@ -64,9 +64,23 @@ public class LogiquizDrawPanel extends JPanel implements MouseListener {
         repaint();
     }
 
+    public LogiquizSolutionState[][] getSolution() {
+        return solution;
+    }
+
+    /**
+     * Shows the given marks, as {@link com.github.mangara.puzzles.solvers.logiquiz.LogiquizState#toGrid()}.
+     *
+     * @param solution
+     */
+    public void setSolution(LogiquizSolutionState[][] solution) {
+        this.solution = solution;
+        repaint();
+    }
+
     public void clear() {
         CreateLogiquizSettings settings = new CreateLogiquizSettings(puzzle.getGroupCount(), puzzle.getGroupSize());
-        puzzle = LogiquizGenerator.create(settings);
+        puzzle = LogiquizGenerator.createBlank(settings);
         clearSolution();
         repaint();
     }
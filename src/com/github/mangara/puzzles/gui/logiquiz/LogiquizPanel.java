@@ -16,14 +16,21 @@
 package com.github.mangara.puzzles.gui.logiquiz;
 
 import com.github.mangara.puzzles.data.logiquiz.Logiquiz;
+import com.github.mangara.puzzles.data.logiquiz.LogiquizSolutionState;
+import com.github.mangara.puzzles.data.logiquiz.MarkedLogiquiz;
 import com.github.mangara.puzzles.data.Puzzle;
 import com.github.mangara.puzzles.data.PuzzleType;
 import com.github.mangara.puzzles.gui.PuzzlePanel;
+import com.github.mangara.puzzles.solvers.logiquiz.LogiquizGrade;
+import com.github.mangara.puzzles.solvers.logiquiz.LogiquizGrader;
+import com.github.mangara.puzzles.solvers.logiquiz.LogiquizState;
+import javax.swing.JOptionPane;
 
 public class LogiquizPanel extends javax.swing.JPanel implements PuzzlePanel {
 
     private final LogiquizDrawPanel drawPanel;
     private final EditGroupsDialog editGroupsDialog;
+    private final LogiquizStepsDialog stepsDialog;
     
     /**
      * Creates new form LogiquizPanel
@@ -35,6 +42,7 @@ public class LogiquizPanel extends javax.swing.JPanel implements PuzzlePanel {
         add(drawPanel, java.awt.BorderLayout.CENTER);
         
         editGroupsDialog = new EditGroupsDialog(frame, drawPanel);
+        stepsDialog = new LogiquizStepsDialog(frame, drawPanel);
     }
 
     @Override
@@ -45,10 +53,27 @@ public class LogiquizPanel extends javax.swing.JPanel implements PuzzlePanel {
         
         Logiquiz logiquiz = (Logiquiz) puzzle;
         drawPanel.setPuzzle(logiquiz);
+
+        if (logiquiz instanceof MarkedLogiquiz) {
+            drawPanel.setSolution(((MarkedLogiquiz) logiquiz).getMarks());
+        }
     }
 
+    /**
+     * @return the puzzle, as a {@link MarkedLogiquiz} if any cells are marked
+     */
     @Override
     public Puzzle getPuzzle() {
+        LogiquizSolutionState[][] marks = drawPanel.getSolution();
+
+        for (LogiquizSolutionState[] column : marks) {
+            for (LogiquizSolutionState mark : column) {
+                if (mark != LogiquizSolutionState.UNKNOWN) {
+                    return new MarkedLogiquiz(drawPanel.getPuzzle(), marks);
+                }
+            }
+        }
+
         return drawPanel.getPuzzle();
     }
 
@@ -75,6 +100,7 @@ public class LogiquizPanel extends javax.swing.JPanel implements PuzzlePanel {
         jSeparator2 = new javax.swing.JSeparator();
         cluesPanel = new javax.swing.JPanel();
         editGroupsButton = new javax.swing.JButton();
+        gradeButton = new javax.swing.JButton();
 
         setLayout(new java.awt.BorderLayout());
 
@@ -85,13 +111,22 @@ public class LogiquizPanel extends javax.swing.JPanel implements PuzzlePanel {
             }
         });
 
+        gradeButton.setText("Grade");
+        gradeButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                gradeButtonActionPerformed(evt);
+            }
+        });
+
         javax.swing.GroupLayout cluesPanelLayout = new javax.swing.GroupLayout(cluesPanel);
         cluesPanel.setLayout(cluesPanelLayout);
         cluesPanelLayout.setHorizontalGroup(
             cluesPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
             .addGroup(cluesPanelLayout.createSequentialGroup()
                 .addContainerGap()
-                .addComponent(editGroupsButton)
+                .addGroup(cluesPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+                    .addComponent(editGroupsButton)
+                    .addComponent(gradeButton))
                 .addContainerGap(javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE))
         );
         cluesPanelLayout.setVerticalGroup(
@@ -99,7 +134,9 @@ public class LogiquizPanel extends javax.swing.JPanel implements PuzzlePanel {
             .addGroup(cluesPanelLayout.createSequentialGroup()
                 .addContainerGap()
                 .addComponent(editGroupsButton)
-                .addContainerGap(266, Short.MAX_VALUE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED, 237, Short.MAX_VALUE)
+                .addComponent(gradeButton)
+                .addContainerGap())
         );
 
         add(cluesPanel, java.awt.BorderLayout.LINE_END);
@@ -110,10 +147,29 @@ public class LogiquizPanel extends javax.swing.JPanel implements PuzzlePanel {
         editGroupsDialog.setVisible(true);
     }//GEN-LAST:event_editGroupsButtonActionPerformed
 
+    private void gradeButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_gradeButtonActionPerformed
+        Logiquiz puzzle = drawPanel.getPuzzle();
+        LogiquizGrade grade;
+
+        try {
+            grade = LogiquizGrader.grade(puzzle);
+        } catch (IllegalArgumentException iae) {
+            JOptionPane.showMessageDialog(this,
+                    "The puzzle cannot be graded:\n"
+                    + iae.getMessage(),
+                    "Error!", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        stepsDialog.setGrade(new LogiquizState(puzzle), grade);
+        stepsDialog.setVisible(true);
+    }//GEN-LAST:event_gradeButtonActionPerformed
+
 
     // Variables declaration - do not modify//GEN-BEGIN:variables
     private javax.swing.JPanel cluesPanel;
     private javax.swing.JButton editGroupsButton;
+    private javax.swing.JButton gradeButton;
     private javax.swing.JSeparator jSeparator2;
     // End of variables declaration//GEN-END:variables
 
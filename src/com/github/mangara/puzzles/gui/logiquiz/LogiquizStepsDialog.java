@@ -0,0 +1,162 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.gui.logiquiz;
+
+import com.github.mangara.puzzles.solvers.logiquiz.LogiquizDeduction;
+import com.github.mangara.puzzles.solvers.logiquiz.LogiquizGrade;
+import com.github.mangara.puzzles.solvers.logiquiz.LogiquizState;
+import com.github.mangara.puzzles.solvers.logiquiz.LogiquizStep;
+import java.util.List;
+import javax.swing.BorderFactory;
+import javax.swing.Box;
+import javax.swing.BoxLayout;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JSlider;
+import javax.swing.JTextArea;
+
+/**
+ * Replays the steps of a {@link LogiquizGrade} on the draw panel, like
+ * {@link com.github.mangara.puzzles.gui.sudoku.SolutionStepsDialog}.
+ */
+public class LogiquizStepsDialog extends javax.swing.JDialog {
+
+    private final LogiquizDrawPanel drawPanel;
+
+    private LogiquizState start;
+    private List<LogiquizStep> steps;
+    private int currentStep = 0;
+    private boolean updateInProgress = false;
+
+    public LogiquizStepsDialog(java.awt.Frame parent, LogiquizDrawPanel drawPanel) {
+        super(parent, false);
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+        this.drawPanel = drawPanel;
+        initComponents();
+    }
+
+    public void setGrade(LogiquizState start, LogiquizGrade grade) {
+        this.start = start;
+        this.steps = grade.getSteps();
+        scoreLabel.setText(describe(grade));
+        stepSlider.setMaximum(steps.size());
+        currentStep = 0;
+        update();
+        pack();
+    }
+
+    private String describe(LogiquizGrade grade) {
+        if (!grade.isUnique()) {
+            return "Solutions: " + grade.getResult();
+        }
+
+        LogiquizDeduction hardest = grade.getHardestDeduction();
+        return "Score: " + grade.getScore()
+                + (hardest == null ? "" : ", hardest: " + hardest)
+                + (grade.isComplete() ? "" : " (incomplete)");
+    }
+
+    private void update() {
+        updateInProgress = true;
+        stepLabel.setText("Step " + currentStep + " of " + steps.size());
+        stepSlider.setValue(currentStep);
+
+        LogiquizState state = currentStep == 0 ? start : steps.get(currentStep - 1).getResult();
+        drawPanel.setSolution(state.toGrid());
+        descTextArea.setText(currentStep < steps.size() ? steps.get(currentStep).description() : "");
+
+        updateInProgress = false;
+    }
+
+    private void show(int step) {
+        currentStep = Math.max(0, Math.min(steps.size(), step));
+        update();
+    }
+
+    private JLabel scoreLabel;
+    private JLabel stepLabel;
+    private JSlider stepSlider;
+    private JTextArea descTextArea;
+
+    private void initComponents() {
+        setTitle("Solution steps");
+        getContentPane().setLayout(new BoxLayout(getContentPane(), BoxLayout.PAGE_AXIS));
+
+        scoreLabel = new JLabel();
+        stepLabel = new JLabel();
+
+        JPanel labelPanel = new JPanel();
+        labelPanel.setLayout(new BoxLayout(labelPanel, BoxLayout.LINE_AXIS));
+        labelPanel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+        labelPanel.add(stepLabel);
+        labelPanel.add(Box.createHorizontalGlue());
+        labelPanel.add(scoreLabel);
+        getContentPane().add(labelPanel);
+
+        stepSlider = new JSlider(0, 0, 0);
+        stepSlider.setMinorTickSpacing(1);
+        stepSlider.setPaintTicks(true);
+        stepSlider.setSnapToTicks(true);
+        stepSlider.addChangeListener((e) -> {
+            if (!updateInProgress) {
+                show(stepSlider.getValue());
+            }
+        });
+        getContentPane().add(stepSlider);
+
+        descTextArea = new JTextArea(5, 40);
+        descTextArea.setEditable(false);
+        descTextArea.setLineWrap(true);
+        descTextArea.setWrapStyleWord(true);
+        getContentPane().add(new JScrollPane(descTextArea));
+
+        initButtonPanel();
+        pack();
+    }
+
+    private void initButtonPanel() {
+        JButton firstButton = new JButton("First");
+        firstButton.addActionListener((e) -> show(0));
+
+        JButton prevButton = new JButton("Previous");
+        prevButton.addActionListener((e) -> show(currentStep - 1));
+
+        JButton nextButton = new JButton("Next");
+        nextButton.addActionListener((e) -> show(currentStep + 1));
+
+        JButton lastButton = new JButton("Last");
+        lastButton.addActionListener((e) -> show(steps.size()));
+
+        JButton closeButton = new JButton("Close");
+        closeButton.addActionListener((e) -> dispose());
+
+        JPanel buttonPanel = new JPanel();
+        buttonPanel.setLayout(new BoxLayout(buttonPanel, BoxLayout.LINE_AXIS));
+        buttonPanel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+        buttonPanel.add(firstButton);
+        buttonPanel.add(Box.createHorizontalStrut(5));
+        buttonPanel.add(prevButton);
+        buttonPanel.add(Box.createHorizontalStrut(5));
+        buttonPanel.add(nextButton);
+        buttonPanel.add(Box.createHorizontalStrut(5));
+        buttonPanel.add(lastButton);
+        buttonPanel.add(Box.createHorizontalGlue());
+        buttonPanel.add(closeButton);
+        getContentPane().add(buttonPanel);
+    }
+}
@@ -15,17 +15,16 @@
  */
 package com.github.mangara.puzzles.gui.sudoku;
 
-import com.github.mangara.puzzles.checkers.sudoku.SudokuChecker;
 import com.github.mangara.puzzles.data.Pair;
 import com.github.mangara.puzzles.data.Puzzle;
 import com.github.mangara.puzzles.data.PuzzleType;
 import com.github.mangara.puzzles.data.sudoku.Sudoku;
-import static com.github.mangara.puzzles.data.sudoku.SudokuSolutionState.BLANK;
 import com.github.mangara.puzzles.gui.PuzzlePanel;
-import com.github.mangara.puzzles.solvers.sudoku.BruteForceSolver;
 import com.github.mangara.puzzles.solvers.sudoku.LogicalSolver;
 import com.github.mangara.puzzles.solvers.sudoku.SolveStep;
 import com.github.mangara.puzzles.solvers.sudoku.SolvingSudoku;
+import com.github.mangara.puzzles.solvers.sudoku.SudokuGrade;
+import com.github.mangara.puzzles.solvers.sudoku.SudokuGrader;
 import java.util.List;
 
 public class SudokuPanel extends javax.swing.JPanel implements PuzzlePanel {
@@ -70,40 +69,9 @@ public class SudokuPanel extends javax.swing.JPanel implements PuzzlePanel {
     }
 
     private void puzzleChanged(SudokuChangedEvent e) {
-        Sudoku puzzle = drawPanel.getPuzzle();
-        updateValidity(puzzle);
-        updateUniqueness(puzzle);
-    }
-
-    private void updateValidity(Sudoku puzzle) {
-        boolean isValid = SudokuChecker.isValidPuzzle(puzzle);
-        String text = isValid ? "Valid: YES" : "Valid: NO";
-        validLabel.setText(text);
-    }
-    
-    private void updateUniqueness(Sudoku puzzle) {
-        // count given digits, if too few, don't check
-        int givenDigitCount = 0;
-        int[][] digits = puzzle.getGivenDigits();
-        
-        for (int row = 0; row < 9; row++) {
-            for (int col = 0; col < 9; col++) {
-                if (digits[row][col] != BLANK) {
-                    givenDigitCount++;
-                }
-            }
-        }
-        
-        String text;
-        
-        if (givenDigitCount < 78) {
-            text = "Unique: ?";
-        } else {
-            boolean isUnique = BruteForceSolver.hasUniqueSolution(puzzle);
-            text = isUnique ? "Unique: YES" : "Unique: NO";
-        }
-        
-        uniqueLabel.setText(text);
+        SudokuGrade grade = SudokuGrader.grade(drawPanel.getPuzzle());
+        validLabel.setText(grade.isValid() ? "Valid: YES" : "Valid: NO");
+        uniqueLabel.setText(grade.isUnique() ? "Unique: YES" : "Unique: NO");
     }
 
     /**
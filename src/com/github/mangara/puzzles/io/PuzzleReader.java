@@ -15,24 +15,74 @@
  */
 package com.github.mangara.puzzles.io;
 
+import com.github.mangara.puzzles.io.logiquiz.LogiquizFile;
 import com.github.mangara.puzzles.io.logiquiz.LogiquizReader;
 import com.github.mangara.puzzles.io.nonogram.NonogramReader;
 import com.github.mangara.puzzles.data.Puzzle;
+import com.github.mangara.puzzles.data.logiquiz.MarkedLogiquiz;
+import com.github.mangara.puzzles.data.PuzzleType;
 import com.github.mangara.puzzles.io.sudoku.SudokuReader;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 
+/**
+ * Reads a puzzle file of any type. The file is read once; the type is
+ * detected from the contents in memory, which are then handed to the parser
+ * for that type. A Logiquiz with a solution in progress is read as a
+ * {@link MarkedLogiquiz}.
+ */
 public class PuzzleReader {
     
     public static Puzzle read(Path inputFile) throws IOException {
-        if (SudokuReader.isSudoku(inputFile)) {
-            return SudokuReader.readSudoku(inputFile);
-        } else if (NonogramReader.isNonogram(inputFile)) { // Nonograms are easier to recognize, so check those first
-            return NonogramReader.readNonogram(inputFile);
-        } else if (LogiquizReader.isLogiquiz(inputFile)) {
-            return LogiquizReader.readLogiquiz(inputFile);
-        } else {
+        String text = new String(Files.readAllBytes(inputFile), StandardCharsets.UTF_8);
+        PuzzleType type = detect(text);
+
+        if (type == null) {
             throw new IOException("Puzzle could not be read.");
         }
+
+        try (BufferedReader in = new BufferedReader(new StringReader(text))) {
+            switch (type) {
+                case SUDOKU:
+                    return SudokuReader.readSudoku(in);
+                case NONOGRAM:
+                    return NonogramReader.readNonogram(in);
+                case LOGIQUIZ:
+                    LogiquizFile logiquiz = LogiquizReader.read(in);
+                    return logiquiz.hasProgress() ? new MarkedLogiquiz(logiquiz.getPuzzle(), logiquiz.getProgress()) : logiquiz.getPuzzle();
+                default:
+                    throw new IOException("Unexpected puzzle type: " + type);
+            }
+        }
+    }
+
+    /**
+     * Finds out which type of puzzle the given file contents hold. Files with
+     * a header are recognized from their first line. Otherwise nonograms are
+     * checked first, since they are easier to recognize.
+     *
+     * @param text
+     * @return the type, or null if the text is not a recognized puzzle
+     * @throws IOException
+     */
+    public static PuzzleType detect(String text) throws IOException {
+        int end = text.indexOf('\n');
+        String firstLine = (end < 0 ? text : text.substring(0, end)).replace("\r", "");
+
+        if (SudokuReader.isHeader(firstLine)) {
+            return PuzzleType.SUDOKU;
+        } else if (LogiquizReader.isHeader(firstLine)) {
+            return PuzzleType.LOGIQUIZ;
+        } else if (NonogramReader.isNonogram(text)) {
+            return PuzzleType.NONOGRAM;
+        }
+
+        try (BufferedReader in = new BufferedReader(new StringReader(text))) {
+            return LogiquizReader.isLogiquiz(in) ? PuzzleType.LOGIQUIZ : null;
+        }
     }
 }
@@ -19,6 +19,8 @@ import com.github.mangara.puzzles.io.sudoku.SudokuWriter;
 import com.github.mangara.puzzles.io.logiquiz.LogiquizWriter;
 import com.github.mangara.puzzles.io.nonogram.NonogramWriter;
 import com.github.mangara.puzzles.data.logiquiz.Logiquiz;
+import com.github.mangara.puzzles.data.logiquiz.LogiquizSolutionState;
+import com.github.mangara.puzzles.data.logiquiz.MarkedLogiquiz;
 import com.github.mangara.puzzles.data.Puzzle;
 import com.github.mangara.puzzles.data.nonogram.SolvedNonogram;
 import com.github.mangara.puzzles.data.sudoku.Sudoku;
@@ -41,7 +43,8 @@ public class PuzzleWriter {
                     throw new IllegalArgumentException("Incorrect Logiquiz type.");
                 }
                 Logiquiz logiquiz = (Logiquiz) puzzle;
-                LogiquizWriter.save(logiquiz, outputFile);
+                LogiquizSolutionState[][] marks = (logiquiz instanceof MarkedLogiquiz ? ((MarkedLogiquiz) logiquiz).getMarks() : null);
+                LogiquizWriter.save(logiquiz, marks, outputFile);
                 break;
             case SUDOKU:
                 if (!(puzzle instanceof Sudoku)) {
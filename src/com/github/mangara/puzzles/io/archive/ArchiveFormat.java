@@ -0,0 +1,73 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.io.archive;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The layout of a puzzle archive, shared by {@link PuzzleArchiveWriter} and
+ * {@link PuzzleArchiveReader}. All numbers are big-endian.
+ * <pre>
+ * header        MAGIC (4 bytes), VERSION (4 bytes)
+ * records       one per puzzle: a type byte, then the packed puzzle
+ * strings       the UTF-8 bytes of every distinct Logiquiz string
+ * (padding to a multiple of 8 bytes)
+ * string index  the offset of each string, plus the end of the last one
+ * record index  the offset of each record, plus the end of the last one
+ * footer        record index offset, record count, string index offset,
+ *               string count, MAGIC
+ * </pre>
+ * Records are packed as follows:
+ * <ul>
+ * <li>Sudoku: 81 digits of 4 bits each, in row-major order, first cell in the
+ * high bits.</li>
+ * <li>Nonogram: width and height as varints, then one bit per cell of the
+ * drawing in row-major order, first cell in the high bit.</li>
+ * <li>Logiquiz: group count, group size and clue count as varints, then the
+ * string number of every entry and clue as varints.</li>
+ * </ul>
+ * Varints use 7 bits per byte, low bits first, with the high bit set on all
+ * but the last byte.
+ */
+final class ArchiveFormat {
+
+    static final int MAGIC = 0x505A4152; // "PZAR"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    static final int FOOTER_SIZE = 32;
+
+    static final byte SUDOKU = 1;
+    static final byte NONOGRAM = 2;
+    static final byte LOGIQUIZ = 3;
+
+    static int readVarint(ByteBuffer in) {
+        int result = 0;
+
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.get();
+            result |= (b & 0x7F) << shift;
+
+            if (b >= 0) {
+                return result;
+            }
+        }
+
+        throw new IllegalArgumentException("Invalid varint");
+    }
+
+    private ArchiveFormat() {
+    }
+}
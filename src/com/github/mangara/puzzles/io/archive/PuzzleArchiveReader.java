@@ -0,0 +1,349 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.io.archive;
+
+import com.github.mangara.puzzles.data.Puzzle;
+import com.github.mangara.puzzles.data.PuzzleType;
+import com.github.mangara.puzzles.data.logiquiz.Logiquiz;
+import com.github.mangara.puzzles.data.sudoku.Sudoku;
+import com.github.mangara.puzzles.generators.nonogram.NonogramGenerator;
+import static com.github.mangara.puzzles.io.archive.ArchiveFormat.*;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads puzzles from an archive written by {@link PuzzleArchiveWriter}. The
+ * file is memory-mapped and puzzles are found through the index at the end, so
+ * reading puzzle N takes the same time no matter how large the archive is.
+ * <p>
+ * A single mapped buffer can hold at most 2 GB, so the file is mapped in
+ * segments. The indexes are aligned so that no entry crosses a segment; the
+ * rare record or string that does is read into a small heap buffer instead.
+ * <p>
+ * Readers are safe to use from multiple threads.
+ */
+public class PuzzleArchiveReader implements Closeable {
+
+    static final int SEGMENT_SIZE = 1 << 30;
+
+    private final FileChannel channel;
+    private final int segmentSize;
+    private final MappedByteBuffer[] segments;
+    private final long fileSize;
+
+    private final long recordIndex;
+    private final long count;
+    private final long recordsEnd; // Where the string data starts
+    private final long stringIndex;
+    private final int stringCount;
+
+    public static PuzzleArchiveReader open(Path file) throws IOException {
+        return new PuzzleArchiveReader(file, SEGMENT_SIZE);
+    }
+
+    PuzzleArchiveReader(Path file, int segmentSize) throws IOException {
+        if (segmentSize <= 0 || segmentSize % 8 != 0) {
+            throw new IllegalArgumentException("The segment size must be a positive multiple of 8.");
+        }
+
+        this.segmentSize = segmentSize;
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+
+        try {
+            fileSize = channel.size();
+
+            if (fileSize < HEADER_SIZE + FOOTER_SIZE) {
+                throw new IOException("Not a puzzle archive: file too small.");
+            }
+
+            int segmentCount = (int) ((fileSize + segmentSize - 1) / segmentSize);
+            segments = new MappedByteBuffer[segmentCount];
+
+            for (int i = 0; i < segmentCount; i++) {
+                long start = (long) i * segmentSize;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(segmentSize, fileSize - start));
+            }
+
+            ByteBuffer header = slice(0, HEADER_SIZE);
+
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a puzzle archive.");
+            }
+
+            int version = header.getInt();
+
+            if (version > VERSION) {
+                throw new IOException("Unsupported archive version " + version + ", expected at most " + VERSION + ".");
+            }
+
+            ByteBuffer footer = slice(fileSize - FOOTER_SIZE, FOOTER_SIZE);
+            recordIndex = footer.getLong();
+            count = footer.getLong();
+            stringIndex = footer.getLong();
+            stringCount = footer.getInt();
+
+            if (footer.getInt() != MAGIC) {
+                throw new IOException("Incomplete puzzle archive: the footer is missing.");
+            }
+
+            if (count < 0 || stringCount < 0
+                    || recordIndex % 8 != 0 || stringIndex % 8 != 0
+                    || stringIndex + 8L * (stringCount + 1) != recordIndex
+                    || recordIndex + 8 * (count + 1) != fileSize - FOOTER_SIZE) {
+                throw new IOException("Corrupt puzzle archive: the footer does not match the file.");
+            }
+
+            recordsEnd = indexEntry(recordIndex, count);
+
+            if (recordsEnd < HEADER_SIZE || recordsEnd > stringIndex || indexEntry(stringIndex, 0) != recordsEnd) {
+                throw new IOException("Corrupt puzzle archive: the indexes do not match.");
+            }
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * The number of puzzles in the archive.
+     *
+     * @return
+     */
+    public long size() {
+        return count;
+    }
+
+    /**
+     * The type of the puzzle with the given number, without reading the rest
+     * of it.
+     *
+     * @param n
+     * @return
+     * @throws IOException if the record is corrupt
+     * @throws IndexOutOfBoundsException if n is not between 0 and size() - 1
+     */
+    public PuzzleType getType(long n) throws IOException {
+        checkIndex(n);
+        long start = recordOffset(n);
+
+        if (recordOffset(n + 1) <= start) {
+            throw new IOException("Corrupt record " + n + ".");
+        }
+
+        byte type = slice(start, 1).get();
+        return toPuzzleType(type);
+    }
+
+    /**
+     * Reads the puzzle with the given number.
+     *
+     * @param n
+     * @return
+     * @throws IOException if the record is corrupt
+     * @throws IndexOutOfBoundsException if n is not between 0 and size() - 1
+     */
+    public Puzzle get(long n) throws IOException {
+        checkIndex(n);
+        long start = recordOffset(n);
+        long end = recordOffset(n + 1);
+
+        if (end <= start || end - start > Integer.MAX_VALUE) {
+            throw new IOException("Corrupt record " + n + ".");
+        }
+
+        ByteBuffer record = slice(start, (int) (end - start));
+
+        try {
+            byte type = record.get();
+
+            switch (toPuzzleType(type)) {
+                case SUDOKU:
+                    return unpackSudoku(record);
+                case NONOGRAM:
+                    return unpackNonogram(record);
+                case LOGIQUIZ:
+                    return unpackLogiquiz(record);
+                default:
+                    throw new IOException("Unexpected record type " + type + ".");
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException ex) {
+            throw new IOException("Corrupt record " + n + ".", ex);
+        }
+    }
+
+    private Sudoku unpackSudoku(ByteBuffer record) {
+        int[][] digits = new int[9][9];
+
+        for (int cell = 0; cell < 81; cell += 2) {
+            int b = record.get() & 0xFF;
+            digits[cell / 9][cell % 9] = b >>> 4;
+
+            if (cell + 1 < 81) {
+                digits[(cell + 1) / 9][(cell + 1) % 9] = b & 0xF;
+            }
+        }
+
+        return new Sudoku(digits);
+    }
+
+    private Puzzle unpackNonogram(ByteBuffer record) {
+        int width = readVarint(record);
+        int height = readVarint(record);
+
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Invalid nonogram size");
+        }
+
+        boolean[][] drawing = new boolean[width][height];
+        int bits = 0;
+        int bitsLeft = 0;
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (bitsLeft == 0) {
+                    bits = record.get() & 0xFF;
+                    bitsLeft = 8;
+                }
+
+                bitsLeft--;
+                drawing[x][y] = (bits >>> bitsLeft & 1) == 1;
+            }
+        }
+
+        return NonogramGenerator.generateNonogram(drawing);
+    }
+
+    private Logiquiz unpackLogiquiz(ByteBuffer record) throws IOException {
+        int groupCount = readVarint(record);
+        int groupSize = readVarint(record);
+        int clueCount = readVarint(record);
+
+        List<List<String>> groups = new ArrayList<>(groupCount);
+
+        for (int g = 0; g < groupCount; g++) {
+            List<String> group = new ArrayList<>(groupSize);
+
+            for (int i = 0; i < groupSize; i++) {
+                group.add(getString(readVarint(record)));
+            }
+
+            groups.add(group);
+        }
+
+        List<String> clues = new ArrayList<>(clueCount);
+
+        for (int i = 0; i < clueCount; i++) {
+            clues.add(getString(readVarint(record)));
+        }
+
+        return new Logiquiz(groups, clues);
+    }
+
+    private String getString(int id) throws IOException {
+        if (id < 0 || id >= stringCount) {
+            throw new IOException("Unknown string " + id + ".");
+        }
+
+        long start = indexEntry(stringIndex, id);
+        long end = indexEntry(stringIndex, id + 1);
+
+        if (end < start || end - start > Integer.MAX_VALUE) {
+            throw new IOException("Corrupt string " + id + ".");
+        }
+
+        ByteBuffer bytes = slice(start, (int) (end - start));
+        return StandardCharsets.UTF_8.decode(bytes).toString();
+    }
+
+    private void checkIndex(long n) {
+        if (n < 0 || n >= count) {
+            throw new IndexOutOfBoundsException("Puzzle " + n + " out of range for archive of size " + count);
+        }
+    }
+
+    /**
+     * The start of record n, or the end of the records for n = count.
+     */
+    private long recordOffset(long n) throws IOException {
+        long offset = indexEntry(recordIndex, n);
+
+        if (offset < HEADER_SIZE || offset > recordsEnd) {
+            throw new IOException("Corrupt index entry " + n + ".");
+        }
+
+        return offset;
+    }
+
+    private long indexEntry(long index, long n) {
+        long position = index + 8 * n;
+        return segments[(int) (position / segmentSize)].getLong((int) (position % segmentSize));
+    }
+
+    /**
+     * Returns a buffer with the given range of the file, positioned at its
+     * start. Within a segment this is a view of the mapped memory; otherwise
+     * the bytes are copied.
+     */
+    private ByteBuffer slice(long offset, int length) throws IOException {
+        if (offset < 0 || offset + length > fileSize) {
+            throw new IOException("Range outside the archive.");
+        }
+
+        int segment = (int) (offset / segmentSize);
+        int start = (int) (offset % segmentSize);
+
+        if (start + length <= segments[segment].limit()) {
+            return segments[segment].duplicate().position(start).limit(start + length).slice();
+        }
+
+        ByteBuffer copy = ByteBuffer.allocate(length);
+
+        while (copy.hasRemaining()) {
+            if (channel.read(copy, offset + copy.position()) < 0) {
+                throw new IOException("Unexpected end of archive.");
+            }
+        }
+
+        return copy.flip();
+    }
+
+    private static PuzzleType toPuzzleType(byte type) throws IOException {
+        switch (type) {
+            case SUDOKU:
+                return PuzzleType.SUDOKU;
+            case NONOGRAM:
+                return PuzzleType.NONOGRAM;
+            case LOGIQUIZ:
+                return PuzzleType.LOGIQUIZ;
+            default:
+                throw new IOException("Unknown record type " + type + ".");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.io.archive;
+
+import com.github.mangara.puzzles.data.Puzzle;
+import com.github.mangara.puzzles.data.logiquiz.Logiquiz;
+import com.github.mangara.puzzles.data.nonogram.SolvedNonogram;
+import com.github.mangara.puzzles.data.sudoku.Sudoku;
+import static com.github.mangara.puzzles.io.archive.ArchiveFormat.*;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes puzzles of any type to a compact binary archive that
+ * {@link PuzzleArchiveReader} can read in any order. Records are written as
+ * the puzzles come in; the strings and both indexes are written on
+ * {@link #close()}, so the archive is only valid once it is closed.
+ * <p>
+ * The offsets of all records and the distinct Logiquiz strings are kept in
+ * memory until then.
+ */
+public class PuzzleArchiveWriter implements Closeable {
+
+    private final DataOutputStream out;
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream();
+    private long position = 0;
+
+    private long[] offsets = new long[1024];
+    private long count = 0;
+
+    private final Map<String, Integer> stringNumbers = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+    private boolean closed = false;
+
+    public PuzzleArchiveWriter(OutputStream out) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+        this.out.writeInt(MAGIC);
+        this.out.writeInt(VERSION);
+        position = HEADER_SIZE;
+    }
+
+    public static PuzzleArchiveWriter create(Path file) throws IOException {
+        return new PuzzleArchiveWriter(Files.newOutputStream(file));
+    }
+
+    public static void writeAll(List<? extends Puzzle> puzzles, Path file) throws IOException {
+        try (PuzzleArchiveWriter writer = create(file)) {
+            for (Puzzle puzzle : puzzles) {
+                writer.write(puzzle);
+            }
+        }
+    }
+
+    /**
+     * Appends a puzzle. Its number in the archive is the number of puzzles
+     * written before it.
+     *
+     * @param puzzle
+     * @throws IOException if the writer is closed
+     * @throws IllegalArgumentException if the puzzle cannot be stored, such
+     * as a nonogram without a drawing
+     */
+    public void write(Puzzle puzzle) throws IOException {
+        if (closed) {
+            throw new IOException("The archive is already closed.");
+        }
+
+        record.reset();
+
+        switch (puzzle.getType()) {
+            case SUDOKU:
+                packSudoku((Sudoku) puzzle);
+                break;
+            case NONOGRAM:
+                if (!(puzzle instanceof SolvedNonogram)) {
+                    throw new IllegalArgumentException("Nonograms must have a solution to write.");
+                }
+                packNonogram((SolvedNonogram) puzzle);
+                break;
+            case LOGIQUIZ:
+                packLogiquiz((Logiquiz) puzzle);
+                break;
+            default:
+                throw new IllegalArgumentException("Unexpected puzzle type: " + puzzle.getType());
+        }
+
+        if (count == offsets.length) {
+            offsets = Arrays.copyOf(offsets, 2 * offsets.length);
+        }
+
+        offsets[(int) count] = position;
+        count++;
+
+        record.writeTo(out);
+        position += record.size();
+    }
+
+    /**
+     * The number of puzzles written so far.
+     *
+     * @return
+     */
+    public long getCount() {
+        return count;
+    }
+
+    private void packSudoku(Sudoku sudoku) {
+        int[][] digits = sudoku.getGivenDigits();
+        record.write(SUDOKU);
+
+        for (int cell = 0; cell < 81; cell += 2) {
+            int high = digits[cell / 9][cell % 9];
+            int low = cell + 1 < 81 ? digits[(cell + 1) / 9][(cell + 1) % 9] : 0;
+            record.write(high << 4 | low);
+        }
+    }
+
+    private void packNonogram(SolvedNonogram nonogram) {
+        boolean[][] drawing = nonogram.getDrawing(); // Indexed [x][y]
+        int width = drawing.length;
+        int height = drawing[0].length;
+
+        record.write(NONOGRAM);
+        writeVarint(width);
+        writeVarint(height);
+
+        int bits = 0;
+        int bitCount = 0;
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                bits = bits << 1 | (drawing[x][y] ? 1 : 0);
+                bitCount++;
+
+                if (bitCount == 8) {
+                    record.write(bits);
+                    bits = 0;
+                    bitCount = 0;
+                }
+            }
+        }
+
+        if (bitCount > 0) {
+            record.write(bits << (8 - bitCount));
+        }
+    }
+
+    private void packLogiquiz(Logiquiz logiquiz) {
+        record.write(LOGIQUIZ);
+        writeVarint(logiquiz.getGroupCount());
+        writeVarint(logiquiz.getGroupSize());
+        writeVarint(logiquiz.getClues().size());
+
+        for (List<String> group : logiquiz.getGroups()) {
+            for (String entry : group) {
+                writeVarint(stringNumber(entry));
+            }
+        }
+
+        for (String clue : logiquiz.getClues()) {
+            writeVarint(stringNumber(clue));
+        }
+    }
+
+    private int stringNumber(String string) {
+        return stringNumbers.computeIfAbsent(string, s -> {
+            strings.add(s);
+            return strings.size() - 1;
+        });
+    }
+
+    private void writeVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            record.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        record.write(value);
+    }
+
+    /**
+     * Writes the strings, the indexes and the footer, and closes the output.
+     * Closing the writer again has no effect.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        try {
+            long[] stringOffsets = new long[strings.size() + 1];
+
+            for (int i = 0; i < strings.size(); i++) {
+                byte[] bytes = strings.get(i).getBytes(StandardCharsets.UTF_8);
+                stringOffsets[i] = position;
+                out.write(bytes);
+                position += bytes.length;
+            }
+
+            stringOffsets[strings.size()] = position;
+
+            // Align the indexes, so that no entry crosses a mapped segment
+            while (position % 8 != 0) {
+                out.write(0);
+                position++;
+            }
+
+            long stringIndex = position;
+
+            for (long offset : stringOffsets) {
+                out.writeLong(offset);
+            }
+
+            long recordIndex = stringIndex + 8L * stringOffsets.length;
+
+            for (int i = 0; i < count; i++) {
+                out.writeLong(offsets[i]);
+            }
+
+            out.writeLong(stringOffsets[0]); // The end of the last record
+
+            out.writeLong(recordIndex);
+            out.writeLong(count);
+            out.writeLong(stringIndex);
+            out.writeInt(strings.size());
+            out.writeInt(MAGIC);
+        } finally {
+            out.close();
+        }
+    }
+}
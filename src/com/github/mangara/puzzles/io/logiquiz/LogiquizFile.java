@@ -0,0 +1,55 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.io.logiquiz;
+
+import com.github.mangara.puzzles.data.logiquiz.Logiquiz;
+import com.github.mangara.puzzles.data.logiquiz.LogiquizSolutionState;
+
+/**
+ * The contents of a Logiquiz file: the puzzle and, optionally, the marks of a
+ * solution in progress.
+ */
+public class LogiquizFile {
+
+    private final Logiquiz puzzle;
+    private final LogiquizSolutionState[][] progress;
+
+    /**
+     * @param puzzle
+     * @param progress the marks in the staircase grid layout of
+     * {@link com.github.mangara.puzzles.solvers.logiquiz.LogiquizState#toGrid()},
+     * or null
+     */
+    public LogiquizFile(Logiquiz puzzle, LogiquizSolutionState[][] progress) {
+        this.puzzle = puzzle;
+        this.progress = progress;
+    }
+
+    public Logiquiz getPuzzle() {
+        return puzzle;
+    }
+
+    public boolean hasProgress() {
+        return progress != null;
+    }
+
+    /**
+     * @return the marks, or null if the file has none
+     */
+    public LogiquizSolutionState[][] getProgress() {
+        return progress;
+    }
+}
@@ -16,6 +16,8 @@
 package com.github.mangara.puzzles.io.logiquiz;
 
 import com.github.mangara.puzzles.data.logiquiz.Logiquiz;
+import com.github.mangara.puzzles.data.logiquiz.LogiquizSolutionState;
+import static com.github.mangara.puzzles.io.logiquiz.LogiquizWriter.*;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -25,50 +27,107 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+/**
+ * Reads Logiquiz files in the format of {@link LogiquizWriter}, as well as the
+ * older format that only has the groups, separated by blank lines. The format
+ * is recognized from the first line, and the file is read in a single pass.
+ * The type of each clue must match the type that {@link LogiquizWriter} would
+ * store for its text.
+ */
 public class LogiquizReader {
 
+    /**
+     * Checks whether the given file is likely to be a Logiquiz.
+     *
+     * Files with a header only need their first line read. Files in the older
+     * format are recognized by their groups of equal size.
+     *
+     * @param file
+     * @return
+     * @throws IOException
+     */
     public static boolean isLogiquiz(Path file) throws IOException {
         try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
-            int groupCount = 0;
-            int firstGroupSize = -1;
-            int currentGroupSize = 0;
-            
-            for (String line = in.readLine(); line != null; line = in.readLine()) {
-                if (line.isBlank()) {
-                    if (currentGroupSize > 0) {
-                        groupCount++;
-                        
-                        if (firstGroupSize < 0) {
-                            firstGroupSize = currentGroupSize;
-                        } else if (currentGroupSize != firstGroupSize) {
-                            return false;
-                        }
-
-                        currentGroupSize = 0;
+            return isLogiquiz(in);
+        }
+    }
+
+    public static boolean isLogiquiz(BufferedReader in) throws IOException {
+        String first = in.readLine();
+        return first != null && (isHeader(first) || hasEqualGroups(first, in));
+    }
+
+    private static boolean hasEqualGroups(String first, BufferedReader in) throws IOException {
+        int groupCount = 0;
+        int firstGroupSize = -1;
+        int currentGroupSize = 0;
+
+        for (String line = first; ; line = in.readLine()) {
+            if (line == null || line.isBlank()) {
+                if (currentGroupSize > 0) {
+                    groupCount++;
+
+                    if (firstGroupSize < 0) {
+                        firstGroupSize = currentGroupSize;
+                    } else if (currentGroupSize != firstGroupSize) {
+                        return false;
                     }
-                } else {
-                    currentGroupSize++;
+
+                    currentGroupSize = 0;
+                }
+
+                if (line == null) {
+                    return groupCount > 0;
                 }
+            } else {
+                currentGroupSize++;
             }
-            
-            return groupCount > 0;
         }
     }
 
+    /**
+     * Checks whether the given first line of a file is the Logiquiz header.
+     *
+     * @param line the first line, or null for an empty file
+     * @return
+     */
+    public static boolean isHeader(String line) {
+        return line != null && line.trim().equals(TYPE);
+    }
+
     public static Logiquiz readLogiquiz(Path file) throws IOException {
-        List<List<String>> groups = new ArrayList<>();
+        return read(file).getPuzzle();
+    }
 
+    /**
+     * Reads the puzzle and the solution in progress, if there is one.
+     *
+     * @param file
+     * @return
+     * @throws IOException if the file is not a valid Logiquiz
+     */
+    public static LogiquizFile read(Path file) throws IOException {
         try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
-            readGroups(groups, in);
+            return read(in);
         }
+    }
 
-        return new Logiquiz(groups, Collections.emptyList());
+    public static LogiquizFile read(BufferedReader in) throws IOException {
+        String first = in.readLine();
+
+        if (isHeader(first)) {
+            return new VersionedReader().read(in);
+        }
+
+        List<List<String>> groups = new ArrayList<>();
+        readGroups(first, groups, in);
+        return new LogiquizFile(create(groups, Collections.emptyList()), null);
     }
 
-    private static void readGroups(List<List<String>> groups, BufferedReader in) throws IOException {
+    private static void readGroups(String first, List<List<String>> groups, BufferedReader in) throws IOException {
         List<String> currentGroup = new ArrayList<>();
 
-        for (String line = in.readLine(); line != null; line = in.readLine()) {
+        for (String line = first; line != null; line = in.readLine()) {
             if (line.isEmpty()) {
                 if (!currentGroup.isEmpty()) {
                     groups.add(currentGroup);
@@ -84,4 +143,173 @@ public class LogiquizReader {
         }
     }
 
+    private static Logiquiz create(List<List<String>> groups, List<String> clues) throws IOException {
+        if (groups.isEmpty()) {
+            throw new IOException("Invalid Logiquiz: no groups.");
+        }
+
+        try {
+            return new Logiquiz(groups, clues);
+        } catch (IllegalArgumentException ex) {
+            throw new IOException("Invalid Logiquiz: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Reads the lines after the header line, one section at a time.
+     */
+    private static class VersionedReader {
+
+        private final List<List<String>> groups = new ArrayList<>();
+        private final List<String> clues = new ArrayList<>();
+        private final List<String> clueTypes = new ArrayList<>();
+        private final List<Integer> clueLines = new ArrayList<>();
+        private final List<String> progress = new ArrayList<>();
+        private List<String> currentGroup = new ArrayList<>();
+        private String section = null; // null while reading the header
+        private int version = -1;
+        private int lineNumber = 1;
+
+        LogiquizFile read(BufferedReader in) throws IOException {
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                lineNumber++;
+
+                if (line.equals(GROUPS) || line.equals(CLUES) || line.equals(PROGRESS)) {
+                    startSection(line);
+                } else if (section == null) {
+                    readHeader(line);
+                } else if (section.equals(GROUPS)) {
+                    readEntry(line);
+                } else if (!line.isBlank()) {
+                    if (section.equals(CLUES)) {
+                        readClue(line);
+                    } else {
+                        progress.add(line);
+                    }
+                }
+            }
+
+            endGroup();
+
+            if (version < 0) {
+                throw new IOException("Invalid Logiquiz: missing version.");
+            }
+
+            Logiquiz puzzle = create(groups, clues);
+            checkClueTypes(puzzle);
+            return new LogiquizFile(puzzle, progress.isEmpty() ? null : parseProgress(puzzle));
+        }
+
+        private void startSection(String line) throws IOException {
+            if (version < 0) {
+                throw error("missing version");
+            }
+
+            endGroup();
+            section = line;
+        }
+
+        private void readHeader(String line) throws IOException {
+            if (line.isBlank()) {
+                return;
+            }
+
+            int split = line.indexOf('=');
+
+            if (split < 0) {
+                throw error("expected a header or section, found \"" + line + "\"");
+            }
+
+            // Unknown keys are left for later versions
+            if (line.substring(0, split).trim().equals("version")) {
+                try {
+                    version = Integer.parseInt(line.substring(split + 1).trim());
+                } catch (NumberFormatException ex) {
+                    throw error("invalid version \"" + line + "\"");
+                }
+
+                if (version > VERSION) {
+                    throw new IOException("Unsupported Logiquiz file version " + version + "; the newest supported version is " + VERSION + ".");
+                }
+            }
+        }
+
+        private void readEntry(String line) {
+            if (line.isEmpty()) {
+                endGroup();
+            } else {
+                currentGroup.add(line);
+            }
+        }
+
+        private void endGroup() {
+            if (!currentGroup.isEmpty()) {
+                groups.add(currentGroup);
+                currentGroup = new ArrayList<>();
+            }
+        }
+
+        private void readClue(String line) throws IOException {
+            int tab = line.indexOf('\t');
+
+            if (tab < 0) {
+                throw error("expected a clue type and a tab, found \"" + line + "\"");
+            }
+
+            clueTypes.add(line.substring(0, tab));
+            clues.add(line.substring(tab + 1));
+            clueLines.add(lineNumber);
+        }
+
+        private void checkClueTypes(Logiquiz puzzle) throws IOException {
+            for (int i = 0; i < clues.size(); i++) {
+                String expected = typeOf(puzzle, clues.get(i));
+
+                if (!clueTypes.get(i).equals(expected)) {
+                    throw new IOException("Invalid Logiquiz on line " + clueLines.get(i) + ": clue \"" + clues.get(i) + "\" has type " + expected + ", not " + clueTypes.get(i) + ".");
+                }
+            }
+        }
+
+        private LogiquizSolutionState[][] parseProgress(Logiquiz puzzle) throws IOException {
+            int size = (puzzle.getGroupCount() - 1) * puzzle.getGroupSize();
+
+            if (progress.size() != size) {
+                throw new IOException("Invalid Logiquiz: expected " + size + " rows of progress, found " + progress.size() + ".");
+            }
+
+            LogiquizSolutionState[][] result = new LogiquizSolutionState[size][size];
+
+            for (int row = 0; row < size; row++) {
+                String line = progress.get(row);
+
+                if (line.length() != size) {
+                    throw new IOException("Invalid Logiquiz: expected " + size + " marks in row " + (row + 1) + " of the progress, found " + line.length() + ".");
+                }
+
+                for (int column = 0; column < size; column++) {
+                    result[column][row] = stateFor(line.charAt(column));
+                }
+            }
+
+            return result;
+        }
+
+        private LogiquizSolutionState stateFor(char c) throws IOException {
+            switch (c) {
+                case POSITIVE:
+                    return LogiquizSolutionState.POSITIVE;
+                case NEGATIVE:
+                    return LogiquizSolutionState.NEGATIVE;
+                case UNKNOWN:
+                    return LogiquizSolutionState.UNKNOWN;
+                default:
+                    throw new IOException("Invalid Logiquiz: unknown mark '" + c + "' in the progress.");
+            }
+        }
+
+        private IOException error(String message) {
+            return new IOException("Invalid Logiquiz on line " + lineNumber + ": " + message + ".");
+        }
+    }
 }
@@ -16,30 +16,149 @@
 package com.github.mangara.puzzles.io.logiquiz;
 
 import com.github.mangara.puzzles.data.logiquiz.Logiquiz;
+import com.github.mangara.puzzles.data.logiquiz.LogiquizClueParser;
+import com.github.mangara.puzzles.data.logiquiz.LogiquizSolutionState;
+import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Locale;
 
 /**
- * Saves a logiquiz as a plain text file.
+ * Writes Logiquiz files in the current version of the format:
+ * <pre>
+ * type=logiquiz
+ * version=1
+ *
+ * [groups]
+ * (the entries of each group, one per line, with a blank line after each group)
+ *
+ * [clues]
+ * (one clue per line: its type, a tab, and its text)
+ *
+ * [progress]
+ * (optional: one line per row of the staircase grid, one mark per column)
+ * </pre>
+ * The type of a clue is the lower case name of its
+ * {@link com.github.mangara.puzzles.data.logiquiz.LogiquizClue.Type}, or
+ * "text" if {@link LogiquizClueParser} cannot read it.
  */
 public class LogiquizWriter {
 
+    static final String TYPE = "type=logiquiz";
+    static final int VERSION = 1;
+    static final String GROUPS = "[groups]";
+    static final String CLUES = "[clues]";
+    static final String PROGRESS = "[progress]";
+    static final String FREE_TEXT = "text";
+    static final char UNKNOWN = '.';
+    static final char POSITIVE = 'o';
+    static final char NEGATIVE = 'x';
+
     public static void save(Logiquiz logiquiz, Path file) throws IOException {
-        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
-            for (List<String> group : logiquiz.getGroups()) {
-                writeGroup(group, out);
-            }
+        save(logiquiz, null, file);
+    }
+
+    /**
+     * Saves the puzzle and the marks of a solution in progress.
+     *
+     * @param logiquiz
+     * @param progress the marks, as {@link LogiquizFile#getProgress()}, or
+     * null
+     * @param file
+     * @throws IOException
+     */
+    public static void save(Logiquiz logiquiz, LogiquizSolutionState[][] progress, Path file) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            write(logiquiz, progress, out);
         }
     }
 
-    private static void writeGroup(List<String> group, PrintWriter out) {
+    public static void write(Logiquiz logiquiz, LogiquizSolutionState[][] progress, BufferedWriter out) throws IOException {
+        writeHeader(out);
+        writeGroups(logiquiz, out);
+        writeClues(logiquiz, out);
+
+        if (progress != null) {
+            writeProgress(progress, out);
+        }
+
+        out.flush();
+    }
+
+    private static void writeHeader(BufferedWriter out) throws IOException {
+        out.write(TYPE);
+        out.newLine();
+        out.write("version=" + VERSION);
+        out.newLine();
+        out.newLine();
+    }
+
+    private static void writeGroups(Logiquiz logiquiz, BufferedWriter out) throws IOException {
+        out.write(GROUPS);
+        out.newLine();
+
+        for (List<String> group : logiquiz.getGroups()) {
+            writeGroup(group, out);
+        }
+    }
+
+    private static void writeGroup(List<String> group, BufferedWriter out) throws IOException {
         for (String entry : group) {
-            out.println(entry);
+            out.write(entry);
+            out.newLine();
+        }
+        out.newLine();
+    }
+
+    private static void writeClues(Logiquiz logiquiz, BufferedWriter out) throws IOException {
+        out.write(CLUES);
+        out.newLine();
+
+        for (String clue : logiquiz.getClues()) {
+            out.write(typeOf(logiquiz, clue));
+            out.write('\t');
+            out.write(clue);
+            out.newLine();
+        }
+
+        out.newLine();
+    }
+
+    /**
+     * The type that the clues section stores for the given clue.
+     */
+    static String typeOf(Logiquiz logiquiz, String clue) {
+        try {
+            return LogiquizClueParser.parse(logiquiz, clue).getType().name().toLowerCase(Locale.ROOT);
+        } catch (IllegalArgumentException ex) {
+            return FREE_TEXT;
+        }
+    }
+
+    private static void writeProgress(LogiquizSolutionState[][] progress, BufferedWriter out) throws IOException {
+        out.write(PROGRESS);
+        out.newLine();
+
+        // progress is indexed [column][row]
+        for (int row = 0; row < progress.length; row++) {
+            for (int column = 0; column < progress.length; column++) {
+                out.write(charFor(progress[column][row]));
+            }
+            out.newLine();
         }
-        out.println();
     }
 
+    private static char charFor(LogiquizSolutionState state) {
+        switch (state) {
+            case POSITIVE:
+                return POSITIVE;
+            case NEGATIVE:
+                return NEGATIVE;
+            default:
+                return UNKNOWN;
+        }
+    }
 }
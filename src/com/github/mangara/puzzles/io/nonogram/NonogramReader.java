@@ -24,8 +24,6 @@ import java.util.ArrayList;
 import java.util.List;
 import com.github.mangara.puzzles.data.nonogram.SolvedNonogram;
 import com.github.mangara.puzzles.generators.nonogram.NonogramGenerator;
-import java.util.HashSet;
-import java.util.Set;
 
 public class NonogramReader {
 
@@ -40,27 +38,40 @@ public class NonogramReader {
      * @throws IOException 
      */
     public static boolean isNonogram(Path file) throws IOException {
-        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
-            Set<Character> characters = new HashSet<>();
-            int blankLines = 0;
-            
-            for (String line = in.readLine(); line != null; line = in.readLine()) {
-                if (line.isBlank()) {
-                    blankLines++;
+        return isNonogram(Files.readString(file, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Checks whether the given file contents are likely to be a Nonogram, as
+     * {@link #isNonogram(Path)}. Stops at the first character or blank line
+     * that rules it out.
+     *
+     * @param text
+     * @return
+     */
+    public static boolean isNonogram(CharSequence text) {
+        boolean blankLine = true;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+
+            if (c == '\n') {
+                if (blankLine) {
+                    return false;
                 }
-                
-                for (char c : line.toCharArray()) {
-                    if (!Character.isWhitespace(c)) {
-                        characters.add(c);
-                    }
+
+                blankLine = true;
+            } else if (!Character.isWhitespace(c)) {
+                if (c != NonogramWriter.FILLED && c != NonogramWriter.EMPTY) {
+                    return false;
                 }
+
+                blankLine = false;
             }
-            
-            characters.remove(NonogramWriter.FILLED);
-            characters.remove(NonogramWriter.EMPTY);
-            
-            return blankLines == 0 && characters.isEmpty();
         }
+
+        // The last line only counts if it does not end in a line break
+        return text.length() > 0 && (!blankLine || text.charAt(text.length() - 1) == '\n');
     }
     
     public static SolvedNonogram readNonogram(Path inputFile) throws IOException {
@@ -68,13 +79,29 @@ public class NonogramReader {
         return NonogramGenerator.generateNonogram(drawing);
     }
 
+    /**
+     * Reads a Nonogram drawing from the given reader. Assumes that it contains
+     * a Nonogram.
+     *
+     * @param in
+     * @return
+     * @throws IOException
+     */
+    public static SolvedNonogram readNonogram(BufferedReader in) throws IOException {
+        return NonogramGenerator.generateNonogram(readDrawing(in));
+    }
+
     private static boolean[][] readDrawing(Path inputFile) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(inputFile, StandardCharsets.UTF_8)) {
+            return readDrawing(in);
+        }
+    }
+
+    private static boolean[][] readDrawing(BufferedReader in) throws IOException {
         List<boolean[]> result = new ArrayList<>();
 
-        try (BufferedReader in = Files.newBufferedReader(inputFile, StandardCharsets.UTF_8)) {
-            for (String line = in.readLine(); line != null; line = in.readLine()) {
-                result.add(readLine(line));
-            }
+        for (String line = in.readLine(); line != null; line = in.readLine()) {
+            result.add(readLine(line));
         }
 
         return toDrawing(result);
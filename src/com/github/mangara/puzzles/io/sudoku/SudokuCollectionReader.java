@@ -0,0 +1,194 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.io.sudoku;
+
+import com.github.mangara.puzzles.data.sudoku.Sudoku;
+import com.github.mangara.puzzles.data.sudoku.SudokuSolutionState;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads collections of Sudoku in the common one-puzzle-per-line format: 81
+ * characters in row-major order, with '.' or '0' for blank cells. Anything
+ * after the 81 cells that is separated by whitespace (such as a rating) is
+ * ignored, as are blank lines and lines starting with '#'.
+ * <p>
+ * The input is read in large blocks and parsed directly into digit arrays,
+ * without creating a String per line.
+ */
+public class SudokuCollectionReader implements Closeable {
+
+    public static final int BUFFER_SIZE = 1 << 20;
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position = 0;
+    private int limit = 0;
+    private long lineNumber = 0;
+
+    public SudokuCollectionReader(InputStream in) {
+        this.in = in;
+    }
+
+    public static SudokuCollectionReader open(Path file) throws IOException {
+        return new SudokuCollectionReader(Files.newInputStream(file));
+    }
+
+    /**
+     * Checks whether the given file is likely to be a Sudoku collection.
+     *
+     * Only reads the first puzzle.
+     *
+     * @param file
+     * @return
+     * @throws IOException
+     */
+    public static boolean isSudokuCollection(Path file) throws IOException {
+        try (SudokuCollectionReader reader = open(file)) {
+            return reader.readDigits(new int[9][9]);
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    public static List<Sudoku> readAll(Path file) throws IOException {
+        List<Sudoku> result = new ArrayList<>();
+
+        try (SudokuCollectionReader reader = open(file)) {
+            for (Sudoku sudoku = reader.next(); sudoku != null; sudoku = reader.next()) {
+                result.add(sudoku);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Reads the next puzzle.
+     *
+     * @return the puzzle, or null if there are no more puzzles
+     * @throws IOException
+     */
+    public Sudoku next() throws IOException {
+        int[][] digits = new int[9][9];
+        return readDigits(digits) ? new Sudoku(digits) : null;
+    }
+
+    /**
+     * Reads the next puzzle into the given 9 by 9 array.
+     *
+     * @param digits
+     * @return false if there are no more puzzles, true otherwise
+     * @throws IOException if the next line is not a valid puzzle
+     */
+    public boolean readDigits(int[][] digits) throws IOException {
+        int c = skipIgnoredLines();
+
+        if (c < 0) {
+            return false;
+        }
+
+        lineNumber++;
+
+        for (int cell = 0; cell < 81; cell++) {
+            if (cell > 0) {
+                c = read();
+            }
+
+            if (c >= '1' && c <= '9') {
+                digits[cell / 9][cell % 9] = c - '0';
+            } else if (c == '.' || c == '0') {
+                digits[cell / 9][cell % 9] = SudokuSolutionState.BLANK;
+            } else {
+                throw new IOException("Invalid Sudoku on line " + lineNumber + ": expected 81 cells, found an invalid character at position " + (cell + 1) + ".");
+            }
+        }
+
+        c = read();
+
+        if (c >= 0 && c != '\n' && c != '\r' && c != ' ' && c != '\t' && c != ',' && c != ';') {
+            throw new IOException("Invalid Sudoku on line " + lineNumber + ": more than 81 cells.");
+        }
+
+        // Skip the rest of the line
+        while (c >= 0 && c != '\n') {
+            c = read();
+        }
+
+        return true;
+    }
+
+    /**
+     * The line of the last puzzle that was read, starting at 1.
+     *
+     * @return
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Skips blank and comment lines.
+     *
+     * @return the first character of the next puzzle, or -1 at the end of the
+     * input
+     */
+    private int skipIgnoredLines() throws IOException {
+        while (true) {
+            int c = read();
+
+            if (c == '#') {
+                lineNumber++;
+
+                while (c >= 0 && c != '\n') {
+                    c = read();
+                }
+            } else if (c == '\n') {
+                lineNumber++;
+            } else if (c != '\r' && c != ' ' && c != '\t') {
+                return c;
+            }
+
+            if (c < 0) {
+                return c;
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            position = 0;
+
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+
+        return buffer[position++] & 0xFF;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.io.sudoku;
+
+import com.github.mangara.puzzles.data.sudoku.Sudoku;
+import com.github.mangara.puzzles.data.sudoku.SudokuSolutionState;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+
+/**
+ * Writes collections of Sudoku in the one-puzzle-per-line format read by
+ * {@link SudokuCollectionReader}. Lines are encoded straight into a large
+ * byte buffer.
+ */
+public class SudokuCollectionWriter implements Closeable, Flushable {
+
+    public static final int BUFFER_SIZE = 1 << 20;
+
+    private final OutputStream out;
+    private final byte blank;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position = 0;
+
+    /**
+     * @param out
+     * @param blank the character to write for blank cells, usually '.' or '0'
+     */
+    public SudokuCollectionWriter(OutputStream out, char blank) {
+        if (blank != '.' && blank != '0') {
+            throw new IllegalArgumentException("Blank cells must be written as '.' or '0'");
+        }
+
+        this.out = out;
+        this.blank = (byte) blank;
+    }
+
+    public static SudokuCollectionWriter open(Path file) throws IOException {
+        return new SudokuCollectionWriter(Files.newOutputStream(file), '.');
+    }
+
+    public static void save(Collection<Sudoku> sudokus, Path file) throws IOException {
+        try (SudokuCollectionWriter writer = open(file)) {
+            for (Sudoku sudoku : sudokus) {
+                writer.write(sudoku);
+            }
+        }
+    }
+
+    public void write(Sudoku sudoku) throws IOException {
+        write(sudoku.getGivenDigits());
+    }
+
+    public void write(int[][] digits) throws IOException {
+        write(digits, null);
+    }
+
+    /**
+     * Writes the given digits as one line, followed by a space and the given
+     * text if that is not null. Non-ASCII characters in the text are written
+     * as '?'.
+     *
+     * @param digits
+     * @param suffix
+     * @throws IOException
+     */
+    public void write(int[][] digits, String suffix) throws IOException {
+        int length = 82 + (suffix == null ? 0 : 1 + suffix.length());
+
+        if (buffer.length - position < length) {
+            flushBuffer();
+        }
+
+        if (length > buffer.length) {
+            throw new IllegalArgumentException("Suffix too long");
+        }
+
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                int digit = digits[row][col];
+                buffer[position++] = (digit == SudokuSolutionState.BLANK ? blank : (byte) ('0' + digit));
+            }
+        }
+
+        if (suffix != null) {
+            buffer[position++] = ' ';
+
+            for (int i = 0; i < suffix.length(); i++) {
+                char c = suffix.charAt(i);
+                buffer[position++] = (byte) (c < 128 ? c : '?');
+            }
+        }
+
+        buffer[position++] = '\n';
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBuffer();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+    }
+}
@@ -36,16 +36,24 @@ public class SudokuReader {
      */
     public static boolean isSudoku(Path file) throws IOException {
         try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
-            String line = in.readLine();
+            return isHeader(in.readLine());
+        }
+    }
 
-            if (line == null || !line.contains("=")) {
-                return false;
-            }
+    /**
+     * Checks whether the given first line of a file is the Sudoku header.
+     *
+     * @param line the first line, or null for an empty file
+     * @return
+     */
+    public static boolean isHeader(String line) {
+        if (line == null || !line.contains("=")) {
+            return false;
+        }
 
-            String[] parts = line.split("=");
+        String[] parts = line.split("=");
 
-            return parts.length == 2 && parts[0].trim().equals("type") && parts[1].trim().equals("sudoku");
-        }
+        return parts.length == 2 && parts[0].trim().equals("type") && parts[1].trim().equals("sudoku");
     }
 
     /**
@@ -61,20 +69,34 @@ public class SudokuReader {
         return new Sudoku(digits);
     }
 
-    private static int[][] readDigits(Path file) throws IOException {
-        int[][] digits = new int[9][9];
+    /**
+     * Reads a Sudoku from the given reader. Assumes that it contains a Sudoku.
+     *
+     * @param in
+     * @return
+     * @throws IOException
+     */
+    public static Sudoku readSudoku(BufferedReader in) throws IOException {
+        return new Sudoku(readDigits(in));
+    }
 
+    private static int[][] readDigits(Path file) throws IOException {
         try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
-            int row = 0;
+            return readDigits(in);
+        }
+    }
 
-            for (String line = in.readLine(); line != null; line = in.readLine()) {
-                if (line.isBlank() || line.contains("=")) {
-                    continue;
-                }
+    private static int[][] readDigits(BufferedReader in) throws IOException {
+        int[][] digits = new int[9][9];
+        int row = 0;
 
-                parseRow(line, row, digits);
-                row++;
+        for (String line = in.readLine(); line != null; line = in.readLine()) {
+            if (line.isBlank() || line.contains("=")) {
+                continue;
             }
+
+            parseRow(line, row, digits);
+            row++;
         }
 
         return digits;
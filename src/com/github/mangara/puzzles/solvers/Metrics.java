@@ -0,0 +1,214 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers;
+
+import java.lang.management.ManagementFactory;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Decides where solver events go. By default they are ignored.
+ * <p>
+ * {@link #enable()} starts keeping cumulative totals for the whole process,
+ * which {@link #registerMBean()} exports over JMX as {@value #OBJECT_NAME}.
+ * Setting the system property {@value #PROPERTY} to {@code jmx} does both at
+ * startup. Independently, {@link #record()} collects the events of the
+ * current thread, for example to attach them to one slow request.
+ */
+public class Metrics {
+
+    public static final String PROPERTY = "puzzles.metrics";
+    public static final String OBJECT_NAME = "com.github.mangara.puzzles:type=SolverMetrics";
+
+    private static final ThreadLocal<SolverCounters> RECORDING = new ThreadLocal<>();
+    private static volatile SolverCounters totals = null; // null while disabled
+
+    static {
+        if ("jmx".equalsIgnoreCase(System.getProperty(PROPERTY))) {
+            registerMBean();
+        }
+    }
+
+    /**
+     * The metrics a solve that starts on this thread should report to. Solvers
+     * should call this once per solve and pass the result to any helper
+     * threads.
+     *
+     * @return
+     */
+    public static SolverMetrics current() {
+        SolverCounters local = RECORDING.get();
+        SolverCounters global = totals;
+
+        if (local == null) {
+            return global == null ? SolverMetrics.NONE : global;
+        } else {
+            return global == null ? local : new Both(local, global);
+        }
+    }
+
+    /**
+     * Starts keeping cumulative totals, if it was not already.
+     */
+    public static synchronized void enable() {
+        if (totals == null) {
+            totals = new SolverCounters();
+        }
+    }
+
+    /**
+     * Stops keeping cumulative totals. A registered MBean stays registered but
+     * no longer changes.
+     */
+    public static synchronized void disable() {
+        totals = null;
+    }
+
+    public static boolean isEnabled() {
+        return totals != null;
+    }
+
+    /**
+     * The cumulative totals since they were enabled.
+     *
+     * @return the totals, or null if they are not enabled
+     */
+    public static SolverCounters getTotals() {
+        return totals;
+    }
+
+    /**
+     * Enables the cumulative totals and registers them with the platform MBean
+     * server. Does nothing if they are already registered.
+     */
+    public static synchronized void registerMBean() {
+        enable();
+
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name); // Left over from an earlier enable
+            }
+
+            server.registerMBean(totals, name);
+        } catch (InstanceAlreadyExistsException ex) {
+            // Registered concurrently by someone else
+        } catch (JMException ex) {
+            throw new IllegalStateException("Could not register the solver metrics", ex);
+        }
+    }
+
+    /**
+     * Collects the events of solves started on this thread until the returned
+     * recording is closed. Recordings do not nest.
+     *
+     * @return
+     */
+    public static Recording record() {
+        if (RECORDING.get() != null) {
+            throw new IllegalStateException("This thread is already recording");
+        }
+
+        SolverCounters counters = new SolverCounters();
+        RECORDING.set(counters);
+        return new Recording(counters);
+    }
+
+    public static class Recording implements AutoCloseable {
+
+        private final SolverCounters counters;
+
+        private Recording(SolverCounters counters) {
+            this.counters = counters;
+        }
+
+        /**
+         * The events recorded so far.
+         *
+         * @return
+         */
+        public MetricsSnapshot getSnapshot() {
+            return counters.snapshot();
+        }
+
+        @Override
+        public void close() {
+            if (RECORDING.get() == counters) {
+                RECORDING.remove();
+            }
+        }
+    }
+
+    private static class Both implements SolverMetrics {
+
+        private final SolverMetrics first;
+        private final SolverMetrics second;
+
+        Both(SolverMetrics first, SolverMetrics second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public void solved(long nanos) {
+            first.solved(nanos);
+            second.solved(nanos);
+        }
+
+        @Override
+        public void lineSolved(long nanos) {
+            first.lineSolved(nanos);
+            second.lineSolved(nanos);
+        }
+
+        @Override
+        public void propagationPass() {
+            first.propagationPass();
+            second.propagationPass();
+        }
+
+        @Override
+        public void strategyAttempted(boolean hit, long nanos) {
+            first.strategyAttempted(hit, nanos);
+            second.strategyAttempted(hit, nanos);
+        }
+
+        @Override
+        public void searchNode() {
+            first.searchNode();
+            second.searchNode();
+        }
+
+        @Override
+        public void backtrack() {
+            first.backtrack();
+            second.backtrack();
+        }
+
+        @Override
+        public void cacheLookup(boolean hit) {
+            first.cacheLookup(hit);
+            second.cacheLookup(hit);
+        }
+    }
+
+    private Metrics() {
+    }
+}
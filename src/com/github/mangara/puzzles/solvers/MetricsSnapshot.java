@@ -0,0 +1,132 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers;
+
+/**
+ * The values of a {@link SolverCounters} at one point in time.
+ */
+public class MetricsSnapshot {
+
+    private final long solves;
+    private final long solveNanos;
+    private final long lineSolves;
+    private final long lineSolveNanos;
+    private final long propagationPasses;
+    private final long strategyAttempts;
+    private final long strategyHits;
+    private final long strategyNanos;
+    private final long searchNodes;
+    private final long backtracks;
+    private final long cacheHits;
+    private final long cacheMisses;
+
+    MetricsSnapshot(long solves, long solveNanos, long lineSolves, long lineSolveNanos, long propagationPasses,
+            long strategyAttempts, long strategyHits, long strategyNanos, long searchNodes, long backtracks,
+            long cacheHits, long cacheMisses) {
+        this.solves = solves;
+        this.solveNanos = solveNanos;
+        this.lineSolves = lineSolves;
+        this.lineSolveNanos = lineSolveNanos;
+        this.propagationPasses = propagationPasses;
+        this.strategyAttempts = strategyAttempts;
+        this.strategyHits = strategyHits;
+        this.strategyNanos = strategyNanos;
+        this.searchNodes = searchNodes;
+        this.backtracks = backtracks;
+        this.cacheHits = cacheHits;
+        this.cacheMisses = cacheMisses;
+    }
+
+    public long getSolves() {
+        return solves;
+    }
+
+    public long getSolveNanos() {
+        return solveNanos;
+    }
+
+    public long getLineSolves() {
+        return lineSolves;
+    }
+
+    public long getLineSolveNanos() {
+        return lineSolveNanos;
+    }
+
+    public long getPropagationPasses() {
+        return propagationPasses;
+    }
+
+    public long getStrategyAttempts() {
+        return strategyAttempts;
+    }
+
+    public long getStrategyHits() {
+        return strategyHits;
+    }
+
+    public long getStrategyNanos() {
+        return strategyNanos;
+    }
+
+    public long getSearchNodes() {
+        return searchNodes;
+    }
+
+    public long getBacktracks() {
+        return backtracks;
+    }
+
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses;
+    }
+
+    /**
+     * The fraction of cache lookups that were hits, or 0 if there were none.
+     *
+     * @return
+     */
+    public double getCacheHitRate() {
+        long lookups = cacheHits + cacheMisses;
+        return lookups == 0 ? 0 : cacheHits / (double) lookups;
+    }
+
+    /**
+     * The events between the given earlier snapshot and this one.
+     *
+     * @param earlier
+     * @return
+     */
+    public MetricsSnapshot minus(MetricsSnapshot earlier) {
+        return new MetricsSnapshot(solves - earlier.solves, solveNanos - earlier.solveNanos,
+                lineSolves - earlier.lineSolves, lineSolveNanos - earlier.lineSolveNanos,
+                propagationPasses - earlier.propagationPasses, strategyAttempts - earlier.strategyAttempts,
+                strategyHits - earlier.strategyHits, strategyNanos - earlier.strategyNanos,
+                searchNodes - earlier.searchNodes, backtracks - earlier.backtracks,
+                cacheHits - earlier.cacheHits, cacheMisses - earlier.cacheMisses);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d solves in %.3f ms, %d line solves in %.3f ms, %d passes, %d/%d strategy hits in %.3f ms, %d search nodes, %d backtracks, %.1f%% cache hits",
+                solves, solveNanos / 1e6, lineSolves, lineSolveNanos / 1e6, propagationPasses, strategyHits, strategyAttempts, strategyNanos / 1e6,
+                searchNodes, backtracks, 100 * getCacheHitRate());
+    }
+}
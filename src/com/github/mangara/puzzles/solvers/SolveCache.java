@@ -0,0 +1,538 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers;
+
+import com.github.mangara.puzzles.data.Puzzle;
+import com.github.mangara.puzzles.data.logiquiz.Logiquiz;
+import com.github.mangara.puzzles.data.nonogram.Nonogram;
+import com.github.mangara.puzzles.data.sudoku.Sudoku;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Remembers solve results across runs, so that puzzles that were solved
+ * before do not need to be solved again. Results are appended to a log file
+ * and found through an in-memory index from puzzle key to file position.
+ * <p>
+ * Puzzles are keyed by a hash of their exact content: the digits of a Sudoku,
+ * the clues of a nonogram, or the groups and clues of a Logiquiz. Equivalent
+ * puzzles under symmetry get different keys, since a cached solution only fits
+ * the puzzle it was found for.
+ * <p>
+ * Each record ends with a CRC-32 checksum. On opening, the log is read up to
+ * the first incomplete or damaged record, which is where a crash during an
+ * append would leave it, and the rest is cut off. When the log grows beyond
+ * its maximum size, the most recently used entries that fit in half of that
+ * are copied to a new file, which then atomically replaces the log.
+ * <p>
+ * A lock file next to the log keeps other processes from opening the same
+ * cache. All methods are synchronized.
+ */
+public class SolveCache implements Closeable {
+
+    public static final long DEFAULT_MAX_BYTES = 1L << 30;
+
+    private static final int MAGIC = 0x505A5343; // "PZSC"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+
+    // A record is its body length, the body, and the checksum of the body
+    private static final int RECORD_OVERHEAD = 8;
+    private static final int MAX_BODY_SIZE = 1 << 24;
+
+    private final Path file;
+    private final long maxBytes;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private FileChannel channel;
+    private long size;
+
+    // In access order, so iteration starts at the least recently used entry
+    private final LinkedHashMap<Long, Location> index = new LinkedHashMap<>(16, 0.75f, true);
+
+    public static SolveCache open(Path file) throws IOException {
+        return open(file, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Opens the cache in the given file, creating it if it does not exist.
+     *
+     * @param file
+     * @param maxBytes the size the file may grow to before the least recently
+     * used entries are evicted
+     * @return
+     * @throws IOException if the file is not a cache, or the cache is in use
+     */
+    public static SolveCache open(Path file, long maxBytes) throws IOException {
+        if (maxBytes < HEADER_SIZE) {
+            throw new IllegalArgumentException("The maximum size must be at least " + HEADER_SIZE + " bytes");
+        }
+
+        return new SolveCache(file, maxBytes);
+    }
+
+    private SolveCache(Path file, long maxBytes) throws IOException {
+        this.file = file;
+        this.maxBytes = maxBytes;
+
+        lockChannel = FileChannel.open(siblingFile(".lock"), StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+
+        try {
+            lock = tryLock(lockChannel);
+
+            if (lock == null) {
+                throw new IOException("The solve cache " + file + " is in use.");
+            }
+
+            // Left over from a compaction that did not finish; the log itself is intact
+            Files.deleteIfExists(siblingFile(".tmp"));
+
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+            recover();
+        } catch (IOException | RuntimeException ex) {
+            if (channel != null) {
+                channel.close();
+            }
+
+            lockChannel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * A 64-bit hash of the content of the given puzzle.
+     *
+     * @param puzzle
+     * @return
+     */
+    public static long key(Puzzle puzzle) {
+        long hash = mixIn(0xCBF29CE484222325L, puzzle.getType().ordinal());
+
+        switch (puzzle.getType()) {
+            case SUDOKU:
+                for (int[] row : ((Sudoku) puzzle).getGivenDigits()) {
+                    for (int digit : row) {
+                        hash = mixIn(hash, digit);
+                    }
+                }
+                break;
+            case NONOGRAM:
+                Nonogram nonogram = (Nonogram) puzzle;
+                hash = mixInNumbers(mixInNumbers(hash, nonogram.getSideNumbers()), nonogram.getTopNumbers());
+                break;
+            case LOGIQUIZ:
+                Logiquiz logiquiz = (Logiquiz) puzzle;
+                hash = mixIn(hash, logiquiz.getGroupCount());
+
+                for (List<String> group : logiquiz.getGroups()) {
+                    hash = mixInStrings(hash, group);
+                }
+
+                hash = mixInStrings(hash, logiquiz.getClues());
+                break;
+            default:
+                throw new IllegalArgumentException("Unexpected puzzle type: " + puzzle.getType());
+        }
+
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * Looks up the given puzzle.
+     *
+     * @param puzzle
+     * @param solverVersion the version of the solver the caller would use
+     * @return the cached entry, or null if there is none, or it was made by a
+     * different version of the solver
+     * @throws IOException
+     */
+    public SolveCacheEntry get(Puzzle puzzle, int solverVersion) throws IOException {
+        SolveCacheEntry entry = get(key(puzzle));
+        return entry != null && entry.getSolverVersion() == solverVersion ? entry : null;
+    }
+
+    /**
+     * Looks up a puzzle by its {@link #key(Puzzle) key}.
+     *
+     * @param key
+     * @return the cached entry, or null if there is none
+     * @throws IOException
+     */
+    public synchronized SolveCacheEntry get(long key) throws IOException {
+        Location location = index.get(key);
+
+        if (location == null) {
+            return null;
+        }
+
+        ByteBuffer record = ByteBuffer.allocate(location.length);
+
+        while (record.hasRemaining()) {
+            if (channel.read(record, location.offset + record.position()) < 0) {
+                throw new IOException("Unexpected end of the solve cache.");
+            }
+        }
+
+        byte[] body = new byte[location.length - RECORD_OVERHEAD];
+        record.flip().position(4);
+        record.get(body);
+        return decode(body);
+    }
+
+    public void put(Puzzle puzzle, SolveCacheEntry entry) throws IOException {
+        put(key(puzzle), entry);
+    }
+
+    /**
+     * Appends the entry to the log. It replaces any earlier entry for the same
+     * key.
+     *
+     * @param key
+     * @param entry
+     * @throws IOException
+     */
+    public synchronized void put(long key, SolveCacheEntry entry) throws IOException {
+        byte[] body = encode(key, entry);
+        ByteBuffer record = ByteBuffer.allocate(body.length + RECORD_OVERHEAD);
+        record.putInt(body.length).put(body).putInt(checksum(body, body.length)).flip();
+
+        long offset = size;
+
+        while (record.hasRemaining()) {
+            channel.write(record, offset + record.position());
+        }
+
+        index.put(key, new Location(offset, record.limit()));
+        size += record.limit();
+
+        if (size > maxBytes) {
+            compact();
+        }
+    }
+
+    /**
+     * The number of puzzles in the cache.
+     *
+     * @return
+     */
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * The size of the log file, including entries that have been replaced.
+     *
+     * @return
+     */
+    public synchronized long getFileSize() {
+        return size;
+    }
+
+    /**
+     * Writes all entries to the storage device, so that they survive a crash
+     * of the operating system.
+     *
+     * @throws IOException
+     */
+    public synchronized void flush() throws IOException {
+        channel.force(false);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            channel.close();
+        } finally {
+            lockChannel.close(); // Releases the lock
+        }
+    }
+
+    /**
+     * Reads the log, builds the index, and cuts off anything after the last
+     * complete record.
+     */
+    private void recover() throws IOException {
+        long fileSize = channel.size();
+
+        if (fileSize < HEADER_SIZE) {
+            // New, or a crash before the header was written
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+            channel.truncate(0);
+
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+
+            size = HEADER_SIZE;
+            return;
+        }
+
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel.position(0)), 1 << 16));
+
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a solve cache: " + file);
+        }
+
+        int version = in.readInt();
+
+        if (version > VERSION) {
+            throw new IOException("Unsupported solve cache version " + version + ", expected at most " + VERSION + ".");
+        }
+
+        long position = HEADER_SIZE;
+        byte[] body = new byte[256];
+
+        while (true) {
+            try {
+                int length = in.readInt();
+
+                if (length < 8 || length > MAX_BODY_SIZE) {
+                    break;
+                }
+
+                if (body.length < length) {
+                    body = new byte[Math.max(length, 2 * body.length)];
+                }
+
+                in.readFully(body, 0, length);
+
+                if (in.readInt() != checksum(body, length)) {
+                    break;
+                }
+
+                long key = ByteBuffer.wrap(body, 0, 8).getLong();
+                index.put(key, new Location(position, length + RECORD_OVERHEAD));
+                position += length + RECORD_OVERHEAD;
+            } catch (EOFException ex) {
+                break;
+            }
+        }
+
+        if (position < fileSize) {
+            channel.truncate(position);
+        }
+
+        size = position;
+    }
+
+    /**
+     * Copies the most recently used entries that fit in half the maximum size
+     * to a new file, and replaces the log with it. If that fails, the old log
+     * stays in use.
+     */
+    private void compact() throws IOException {
+        List<Map.Entry<Long, Location>> entries = new ArrayList<>(index.entrySet());
+        long target = maxBytes / 2;
+        long kept = HEADER_SIZE;
+        int first = entries.size();
+
+        while (first > 0 && kept + entries.get(first - 1).getValue().length <= target) {
+            first--;
+            kept += entries.get(first).getValue().length;
+        }
+
+        Path temporary = siblingFile(".tmp");
+        LinkedHashMap<Long, Location> compacted = new LinkedHashMap<>();
+        long position = HEADER_SIZE;
+        boolean moved = false;
+
+        try {
+            try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+
+                while (header.hasRemaining()) {
+                    out.write(header);
+                }
+
+                for (int i = first; i < entries.size(); i++) {
+                    Location location = entries.get(i).getValue();
+                    long copied = 0;
+
+                    while (copied < location.length) {
+                        copied += channel.transferTo(location.offset + copied, location.length - copied, out);
+                    }
+
+                    compacted.put(entries.get(i).getKey(), new Location(position, location.length));
+                    position += location.length;
+                }
+
+                out.force(true);
+            }
+
+            channel.close(); // Some systems can't replace a file that is open
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            moved = true;
+        } finally {
+            if (!moved) {
+                // The old log is still complete, so keep using it
+                Files.deleteIfExists(temporary);
+            }
+
+            if (!channel.isOpen()) {
+                channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+        }
+
+        index.clear();
+        index.putAll(compacted);
+        size = position;
+    }
+
+    private static byte[] encode(long key, SolveCacheEntry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeLong(key);
+        out.writeInt(entry.getSolverVersion());
+        out.writeByte(entry.getResult().ordinal());
+
+        int[][] solution = entry.getSolution();
+
+        if (solution == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(solution.length);
+            out.writeInt(solution.length == 0 ? 0 : solution[0].length);
+
+            for (int[] row : solution) {
+                for (int value : row) {
+                    out.writeByte(value);
+                }
+            }
+        }
+
+        out.writeBoolean(entry.getRating() != null);
+
+        if (entry.getRating() != null) {
+            out.writeUTF(entry.getRating());
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private static SolveCacheEntry decode(byte[] body) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+
+        in.readLong(); // The key
+        int solverVersion = in.readInt();
+        int result = in.readUnsignedByte();
+
+        if (result >= SolveResult.values().length) {
+            throw new IOException("Invalid solve result in the solve cache.");
+        }
+
+        int[][] solution = null;
+        int rows = in.readInt();
+
+        if (rows >= 0) {
+            int columns = in.readInt();
+            solution = new int[rows][columns];
+
+            for (int[] row : solution) {
+                for (int i = 0; i < columns; i++) {
+                    row[i] = in.readUnsignedByte();
+                }
+            }
+        }
+
+        String rating = in.readBoolean() ? in.readUTF() : null;
+        return new SolveCacheEntry(SolveResult.values()[result], solution, rating, solverVersion);
+    }
+
+    private static int checksum(byte[] bytes, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, length);
+        return (int) crc.getValue();
+    }
+
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException ex) {
+            return null; // Locked by this process
+        }
+    }
+
+    private Path siblingFile(String suffix) {
+        return file.resolveSibling(file.getFileName() + suffix);
+    }
+
+    private static long mixInNumbers(long hash, List<List<Integer>> numbers) {
+        hash = mixIn(hash, numbers.size());
+
+        for (List<Integer> clue : numbers) {
+            hash = mixIn(hash, clue.size());
+
+            for (int number : clue) {
+                hash = mixIn(hash, number);
+            }
+        }
+
+        return hash;
+    }
+
+    private static long mixInStrings(long hash, List<String> strings) {
+        hash = mixIn(hash, strings.size());
+
+        for (String string : strings) {
+            hash = mixIn(hash, string.length());
+
+            for (int i = 0; i < string.length(); i++) {
+                hash = mixIn(hash, string.charAt(i));
+            }
+        }
+
+        return hash;
+    }
+
+    private static long mixIn(long hash, long value) {
+        return (hash ^ value) * 0x100000001B3L;
+    }
+
+    private static class Location {
+
+        final long offset;
+        final int length;
+
+        Location(long offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
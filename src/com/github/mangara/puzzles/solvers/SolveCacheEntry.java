@@ -0,0 +1,94 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers;
+
+/**
+ * What is known about a puzzle in the {@link SolveCache}: whether it has a
+ * unique solution, the solution, a rating, and the version of the solver that
+ * found them.
+ */
+public class SolveCacheEntry {
+
+    private final SolveResult result;
+    private final int[][] solution;
+    private final String rating;
+    private final int solverVersion;
+
+    /**
+     * @param result
+     * @param solution the solution, with every value between 0 and 255, or
+     * null if there is none; nonogram drawings use 1 for filled cells
+     * @param rating a rating such as a difficulty name, or null
+     * @param solverVersion
+     */
+    public SolveCacheEntry(SolveResult result, int[][] solution, String rating, int solverVersion) {
+        if (result == null) {
+            throw new IllegalArgumentException("The result may not be null");
+        }
+
+        if (solution != null) {
+            for (int[] row : solution) {
+                if (row.length != solution[0].length) {
+                    throw new IllegalArgumentException("The solution must be rectangular");
+                }
+
+                for (int value : row) {
+                    if (value < 0 || value > 255) {
+                        throw new IllegalArgumentException("Solution values must be between 0 and 255, inclusive");
+                    }
+                }
+            }
+        }
+
+        this.result = result;
+        this.solution = copy(solution);
+        this.rating = rating;
+        this.solverVersion = solverVersion;
+    }
+
+    public SolveResult getResult() {
+        return result;
+    }
+
+    /**
+     * @return a copy of the solution, or null if there is none
+     */
+    public int[][] getSolution() {
+        return copy(solution);
+    }
+
+    public String getRating() {
+        return rating;
+    }
+
+    public int getSolverVersion() {
+        return solverVersion;
+    }
+
+    private static int[][] copy(int[][] original) {
+        if (original == null) {
+            return null;
+        }
+
+        int[][] result = new int[original.length][];
+
+        for (int i = 0; i < original.length; i++) {
+            result[i] = original[i].clone();
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers;
+
+import java.time.Duration;
+
+/**
+ * Limits a solve. The solver calls {@link #checkpoint()} for every unit of
+ * work, such as a search node, and stops as soon as it returns true. Every
+ * {@value #CHECK_INTERVAL} units, the context checks the deadline and the
+ * cancellation token and reports progress; in between a checkpoint only
+ * counts. Solvers whose units of work are expensive, like whole lines or
+ * strategy passes, call {@link #check()} instead.
+ * <p>
+ * The clock starts when the context is created, so use a new context for each
+ * solve. Once stopped, a context stays stopped. A context can be shared by the
+ * threads of one solve; the work count is then approximate.
+ */
+public class SolveContext {
+
+    public static final int CHECK_INTERVAL = 1024;
+
+    /**
+     * Never stops and reports nothing. Checkpoints do not even count, so it
+     * can be shared between solves.
+     */
+    public static final SolveContext UNBOUNDED = new SolveContext(null, null, null);
+
+    private final long start;
+    private final long deadline; // In System.nanoTime(), only used if timed
+    private final boolean timed;
+    private final CancellationToken token;
+    private final ProgressListener listener;
+    private final boolean unbounded;
+
+    private long work = 0;
+    private volatile boolean stopped = false;
+
+    /**
+     * @param timeout how long the solve may take, or null for no limit
+     * @param token stops the solve when cancelled, may be null
+     * @param listener is told about the progress, may be null
+     */
+    public SolveContext(Duration timeout, CancellationToken token, ProgressListener listener) {
+        if (timeout != null && timeout.isNegative()) {
+            throw new IllegalArgumentException("The timeout must be non-negative");
+        }
+
+        this.start = System.nanoTime();
+        this.timed = timeout != null;
+        this.deadline = timed ? start + timeout.toNanos() : 0;
+        this.token = token;
+        this.listener = listener;
+        this.unbounded = !timed && token == null && listener == null;
+    }
+
+    public static SolveContext withTimeout(Duration timeout) {
+        return new SolveContext(timeout, null, null);
+    }
+
+    public static SolveContext withToken(CancellationToken token) {
+        return new SolveContext(null, token, null);
+    }
+
+    /**
+     * Counts one unit of work.
+     *
+     * @return true if the solve should stop
+     */
+    public boolean checkpoint() {
+        if (unbounded) {
+            return false;
+        }
+
+        work++;
+
+        if (work % CHECK_INTERVAL != 0) {
+            return stopped;
+        }
+
+        return update();
+    }
+
+    /**
+     * Counts one unit of work and checks the limits right away.
+     *
+     * @return true if the solve should stop
+     */
+    public boolean check() {
+        if (unbounded) {
+            return false;
+        }
+
+        work++;
+        return update();
+    }
+
+    private boolean update() {
+        long now = System.nanoTime();
+
+        if ((timed && now - deadline > 0) || (token != null && token.isCancelled())) {
+            stopped = true;
+        }
+
+        if (listener != null) {
+            listener.progress(work, now - start);
+        }
+
+        return stopped;
+    }
+
+    /**
+     * Whether a checkpoint found that the solve should stop.
+     *
+     * @return
+     */
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * The number of units of work counted so far.
+     *
+     * @return
+     */
+    public long getWork() {
+        return work;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers;
+
+/**
+ * What a solver found out about the number of solutions of a puzzle.
+ */
+public enum SolveResult {
+    /**
+     * The puzzle has exactly one solution.
+     */
+    UNIQUE,
+    /**
+     * The puzzle has more than one solution.
+     */
+    MULTIPLE,
+    /**
+     * The puzzle has no solution.
+     */
+    NONE,
+    /**
+     * The solver was stopped, or could not decide, before finding out.
+     */
+    UNKNOWN;
+
+    /**
+     * The result of a search that ran to completion, counting solutions up to
+     * a limit of at least 2.
+     *
+     * @param count
+     * @return
+     */
+    public static SolveResult ofCount(int count) {
+        return count == 0 ? NONE : (count == 1 ? UNIQUE : MULTIPLE);
+    }
+
+    /**
+     * The result of a search that counted solutions up to a limit of at least
+     * 2, and may have been stopped early.
+     *
+     * @param count
+     * @param stopped
+     * @return
+     */
+    public static SolveResult ofCount(int count, boolean stopped) {
+        return stopped && count < 2 ? UNKNOWN : ofCount(count);
+    }
+}
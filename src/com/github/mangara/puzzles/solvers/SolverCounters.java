@@ -0,0 +1,181 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the events it receives. Safe to update from multiple threads.
+ */
+public class SolverCounters implements SolverMetrics, SolverCountersMBean {
+
+    private final LongAdder solves = new LongAdder();
+    private final LongAdder solveNanos = new LongAdder();
+    private final LongAdder lineSolves = new LongAdder();
+    private final LongAdder lineSolveNanos = new LongAdder();
+    private final LongAdder propagationPasses = new LongAdder();
+    private final LongAdder strategyAttempts = new LongAdder();
+    private final LongAdder strategyHits = new LongAdder();
+    private final LongAdder strategyNanos = new LongAdder();
+    private final LongAdder searchNodes = new LongAdder();
+    private final LongAdder backtracks = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    @Override
+    public void solved(long nanos) {
+        solves.increment();
+        solveNanos.add(nanos);
+    }
+
+    @Override
+    public void lineSolved(long nanos) {
+        lineSolves.increment();
+        lineSolveNanos.add(nanos);
+    }
+
+    @Override
+    public void propagationPass() {
+        propagationPasses.increment();
+    }
+
+    @Override
+    public void strategyAttempted(boolean hit, long nanos) {
+        strategyAttempts.increment();
+        strategyNanos.add(nanos);
+
+        if (hit) {
+            strategyHits.increment();
+        }
+    }
+
+    @Override
+    public void searchNode() {
+        searchNodes.increment();
+    }
+
+    @Override
+    public void backtrack() {
+        backtracks.increment();
+    }
+
+    @Override
+    public void cacheLookup(boolean hit) {
+        if (hit) {
+            cacheHits.increment();
+        } else {
+            cacheMisses.increment();
+        }
+    }
+
+    @Override
+    public long getSolves() {
+        return solves.sum();
+    }
+
+    @Override
+    public long getSolveNanos() {
+        return solveNanos.sum();
+    }
+
+    @Override
+    public long getLineSolves() {
+        return lineSolves.sum();
+    }
+
+    @Override
+    public long getLineSolveNanos() {
+        return lineSolveNanos.sum();
+    }
+
+    @Override
+    public long getPropagationPasses() {
+        return propagationPasses.sum();
+    }
+
+    @Override
+    public long getStrategyAttempts() {
+        return strategyAttempts.sum();
+    }
+
+    @Override
+    public long getStrategyHits() {
+        return strategyHits.sum();
+    }
+
+    @Override
+    public long getStrategyNanos() {
+        return strategyNanos.sum();
+    }
+
+    @Override
+    public long getSearchNodes() {
+        return searchNodes.sum();
+    }
+
+    @Override
+    public long getBacktracks() {
+        return backtracks.sum();
+    }
+
+    @Override
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    @Override
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    @Override
+    public double getCacheHitRate() {
+        return snapshot().getCacheHitRate();
+    }
+
+    /**
+     * The current values of all counters. Counters that are updated while the
+     * snapshot is taken may or may not include the update.
+     *
+     * @return
+     */
+    public MetricsSnapshot snapshot() {
+        return new MetricsSnapshot(getSolves(), getSolveNanos(), getLineSolves(), getLineSolveNanos(),
+                getPropagationPasses(), getStrategyAttempts(), getStrategyHits(), getStrategyNanos(),
+                getSearchNodes(), getBacktracks(), getCacheHits(), getCacheMisses());
+    }
+
+    @Override
+    public void reset() {
+        solves.reset();
+        solveNanos.reset();
+        lineSolves.reset();
+        lineSolveNanos.reset();
+        propagationPasses.reset();
+        strategyAttempts.reset();
+        strategyHits.reset();
+        strategyNanos.reset();
+        searchNodes.reset();
+        backtracks.reset();
+        cacheHits.reset();
+        cacheMisses.reset();
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+}
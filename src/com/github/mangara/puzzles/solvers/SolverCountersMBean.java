@@ -0,0 +1,50 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers;
+
+/**
+ * The JMX view of {@link SolverCounters}.
+ */
+public interface SolverCountersMBean {
+
+    long getSolves();
+
+    long getSolveNanos();
+
+    long getLineSolves();
+
+    long getLineSolveNanos();
+
+    long getPropagationPasses();
+
+    long getStrategyAttempts();
+
+    long getStrategyHits();
+
+    long getStrategyNanos();
+
+    long getSearchNodes();
+
+    long getBacktracks();
+
+    long getCacheHits();
+
+    long getCacheMisses();
+
+    double getCacheHitRate();
+
+    void reset();
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers;
+
+/**
+ * Receives events from the solvers. All methods do nothing by default, so an
+ * implementation only needs to override the events it cares about.
+ * <p>
+ * Solvers get their metrics from {@link Metrics#current()} once per solve and
+ * report to it from the thread that does the work, so implementations must be
+ * thread-safe.
+ */
+public interface SolverMetrics {
+
+    /**
+     * Ignores all events.
+     */
+    public static final SolverMetrics NONE = new SolverMetrics() {
+    };
+
+    /**
+     * A solve finished.
+     *
+     * @param nanos the time it took
+     */
+    default void solved(long nanos) {
+    }
+
+    /**
+     * A nonogram line was solved by intersecting all its matching solutions.
+     *
+     * @param nanos the time it took
+     */
+    default void lineSolved(long nanos) {
+    }
+
+    /**
+     * A pass over all lines or all strategies was started.
+     */
+    default void propagationPass() {
+    }
+
+    /**
+     * A Sudoku strategy looked for a step.
+     *
+     * @param hit whether it found one
+     * @param nanos the time it took
+     */
+    default void strategyAttempted(boolean hit, long nanos) {
+    }
+
+    /**
+     * A node of a backtracking search was entered.
+     */
+    default void searchNode() {
+    }
+
+    /**
+     * A node of a backtracking search turned out to be a dead end.
+     */
+    default void backtrack() {
+    }
+
+    /**
+     * A cached result was looked up.
+     *
+     * @param hit whether it could be reused
+     */
+    default void cacheLookup(boolean hit) {
+    }
+}
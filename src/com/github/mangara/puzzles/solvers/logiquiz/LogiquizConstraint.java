@@ -0,0 +1,309 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.logiquiz;
+
+import com.github.mangara.puzzles.data.logiquiz.Logiquiz;
+import com.github.mangara.puzzles.data.logiquiz.LogiquizClue;
+import com.github.mangara.puzzles.data.logiquiz.LogiquizClue.Entry;
+import com.github.mangara.puzzles.data.logiquiz.LogiquizClueParser;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A clue compiled for a {@link LogiquizState}. All lookups and masks are
+ * computed once, so applying a constraint only combines a few bit masks.
+ */
+public abstract class LogiquizConstraint {
+
+    /**
+     * Removes the matches that this constraint rules out. A contradiction
+     * shows up as an entry without options, which the next
+     * {@link LogiquizState#propagate()} detects.
+     *
+     * @param state
+     * @return true if this changed the state
+     */
+    public abstract boolean apply(LogiquizState state);
+
+    /**
+     * Parses and compiles all clues of the given puzzle.
+     *
+     * @param puzzle
+     * @return
+     * @throws IllegalArgumentException if some clue is invalid
+     */
+    public static List<LogiquizConstraint> compileAll(Logiquiz puzzle) {
+        List<LogiquizConstraint> result = new ArrayList<>();
+
+        for (LogiquizClue clue : LogiquizClueParser.parseAll(puzzle)) {
+            result.add(compile(clue, puzzle.getGroupCount(), puzzle.getGroupSize()));
+        }
+
+        return result;
+    }
+
+    /**
+     * Compiles a clue for a puzzle with the given dimensions.
+     *
+     * @param clue
+     * @param groupCount
+     * @param groupSize
+     * @return
+     * @throws IllegalArgumentException if the clue refers to entries outside
+     * the puzzle, or can never be true
+     */
+    public static LogiquizConstraint compile(LogiquizClue clue, int groupCount, int groupSize) {
+        Entry s = checked(clue.getSubject(), groupCount, groupSize);
+        Entry f = checked(clue.getFirst(), groupCount, groupSize);
+
+        switch (clue.getType()) {
+            case IS:
+                return new Restrict(s, f.group, 1 << f.index);
+            case IS_NOT:
+                return new Restrict(s, f.group, ~(1 << f.index));
+            case EITHER_OR: {
+                Entry second = checked(clue.getSecond(), groupCount, groupSize);
+
+                if (f.group == second.group) {
+                    return new Restrict(s, f.group, (1 << f.index) | (1 << second.index));
+                } else {
+                    return new ExclusiveOr(s, f, second);
+                }
+            }
+            case NEITHER_NOR: {
+                Entry second = checked(clue.getSecond(), groupCount, groupSize);
+                return new Both(new Restrict(s, f.group, ~(1 << f.index)), new Restrict(s, second.group, ~(1 << second.index)));
+            }
+            default: {
+                int ordinal = clue.getOrdinalGroup();
+
+                if (ordinal >= groupCount) {
+                    throw new IllegalArgumentException("No such group: " + ordinal);
+                }
+
+                return new Ordered(s, f, ordinal, allowedPositions(clue, groupSize));
+            }
+        }
+    }
+
+    /**
+     * For each position i of the subject in the ordinal group, the positions
+     * of the other entry that the clue allows.
+     */
+    private static int[] allowedPositions(LogiquizClue clue, int groupSize) {
+        int[] allowed = new int[groupSize];
+
+        for (int i = 0; i < groupSize; i++) {
+            for (int j = 0; j < groupSize; j++) {
+                boolean ok;
+
+                switch (clue.getType()) {
+                    case BEFORE:
+                        ok = i < j;
+                        break;
+                    case AFTER:
+                        ok = i > j;
+                        break;
+                    case MORE_THAN:
+                        ok = i == j + clue.getAmount();
+                        break;
+                    case LESS_THAN:
+                        ok = i == j - clue.getAmount();
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unrecognized clue type: " + clue.getType());
+                }
+
+                if (ok) {
+                    allowed[i] |= 1 << j;
+                }
+            }
+        }
+
+        return allowed;
+    }
+
+    private static Entry checked(Entry entry, int groupCount, int groupSize) {
+        if (entry.group >= groupCount || entry.index >= groupSize) {
+            throw new IllegalArgumentException("No such entry: " + entry);
+        }
+
+        return entry;
+    }
+
+    /**
+     * The subject can only belong with the entries of a group in a mask.
+     */
+    private static class Restrict extends LogiquizConstraint {
+
+        private final int group;
+        private final int index;
+        private final int otherGroup;
+        private final int mask;
+
+        Restrict(Entry subject, int otherGroup, int mask) {
+            this.group = subject.group;
+            this.index = subject.index;
+            this.otherGroup = otherGroup;
+            this.mask = mask;
+        }
+
+        @Override
+        public boolean apply(LogiquizState state) {
+            return state.restrict(group, index, otherGroup, mask);
+        }
+    }
+
+    private static class Both extends LogiquizConstraint {
+
+        private final LogiquizConstraint first;
+        private final LogiquizConstraint second;
+
+        Both(LogiquizConstraint first, LogiquizConstraint second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public boolean apply(LogiquizState state) {
+            boolean changed = first.apply(state);
+            return second.apply(state) || changed;
+        }
+    }
+
+    /**
+     * The subject belongs with exactly one of two entries of different groups.
+     * Those two entries then cannot belong together either.
+     */
+    private static class ExclusiveOr extends LogiquizConstraint {
+
+        private final Entry subject;
+        private final Entry first;
+        private final Entry second;
+
+        ExclusiveOr(Entry subject, Entry first, Entry second) {
+            this.subject = subject;
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public boolean apply(LogiquizState state) {
+            boolean changed = state.exclude(first.group, first.index, second.group, second.index);
+
+            int firstMask = state.getPossible(subject.group, subject.index, first.group);
+            int secondMask = state.getPossible(subject.group, subject.index, second.group);
+            int firstBit = 1 << first.index;
+            int secondBit = 1 << second.index;
+
+            if ((firstMask & firstBit) == 0) {
+                changed |= state.restrict(subject.group, subject.index, second.group, secondBit);
+            } else if ((secondMask & secondBit) == 0) {
+                changed |= state.restrict(subject.group, subject.index, first.group, firstBit);
+            } else if (firstMask == firstBit) {
+                changed |= state.exclude(subject.group, subject.index, second.group, second.index);
+            } else if (secondMask == secondBit) {
+                changed |= state.exclude(subject.group, subject.index, first.group, first.index);
+            }
+
+            return changed;
+        }
+    }
+
+    /**
+     * Relates the positions of the subject and another entry in an ordinal
+     * group. The position of an entry of the ordinal group itself is its
+     * index.
+     */
+    private static class Ordered extends LogiquizConstraint {
+
+        private final Entry subject;
+        private final Entry other;
+        private final int ordinal;
+        private final int[] allowed; // By subject position, the allowed positions of the other entry
+        private final int[] allowedInverse; // By other position, the allowed positions of the subject
+
+        Ordered(Entry subject, Entry other, int ordinal, int[] allowed) {
+            this.subject = subject;
+            this.other = other;
+            this.ordinal = ordinal;
+            this.allowed = allowed;
+            this.allowedInverse = new int[allowed.length];
+
+            for (int i = 0; i < allowed.length; i++) {
+                for (int j = 0; j < allowed.length; j++) {
+                    if ((allowed[i] & (1 << j)) != 0) {
+                        allowedInverse[j] |= 1 << i;
+                    }
+                }
+            }
+
+            if (subject.group == ordinal && other.group == ordinal && (allowed[subject.index] & (1 << other.index)) == 0) {
+                throw new IllegalArgumentException("The clue can never be true");
+            }
+        }
+
+        @Override
+        public boolean apply(LogiquizState state) {
+            boolean changed = false;
+
+            // Entries at different positions cannot belong together
+            if (subject.group != other.group) {
+                changed = state.exclude(subject.group, subject.index, other.group, other.index);
+            }
+
+            int subjectPositions = positions(state, subject);
+            int otherPositions = positions(state, other);
+            int newSubject = supported(subjectPositions, otherPositions, allowed);
+            int newOther = supported(otherPositions, newSubject, allowedInverse);
+
+            if (subject.group != ordinal) {
+                changed |= state.restrict(subject.group, subject.index, ordinal, newSubject);
+            } else if (newSubject == 0) {
+                // The subject cannot move, so leave the other entry without options
+                newOther = 0;
+            }
+
+            if (other.group != ordinal) {
+                changed |= state.restrict(other.group, other.index, ordinal, newOther);
+            }
+
+            return changed;
+        }
+
+        private int positions(LogiquizState state, Entry entry) {
+            return entry.group == ordinal ? 1 << entry.index : state.getPossible(entry.group, entry.index, ordinal);
+        }
+
+        /**
+         * The positions in the mask that are allowed with some position of the
+         * other mask.
+         */
+        private static int supported(int mask, int otherMask, int[] allowed) {
+            int result = 0;
+
+            for (int rest = mask; rest != 0; rest &= rest - 1) {
+                int i = Integer.numberOfTrailingZeros(rest);
+
+                if ((allowed[i] & otherMask) != 0) {
+                    result |= 1 << i;
+                }
+            }
+
+            return result;
+        }
+    }
+}
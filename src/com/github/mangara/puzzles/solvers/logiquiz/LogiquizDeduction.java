@@ -0,0 +1,52 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.logiquiz;
+
+/**
+ * The kinds of deduction that {@link LogiquizGrader} uses, from easiest to
+ * hardest. Each step of a grade counts its weight towards the score.
+ */
+public enum LogiquizDeduction {
+    /**
+     * Reading off what a single clue says about the current state.
+     */
+    DIRECT_CLUE(1),
+    /**
+     * An entry that has to belong with y rules out y for the other entries of
+     * its group.
+     */
+    ELIMINATION(1),
+    /**
+     * Two entries can only belong together if, in every other group, some
+     * entry can belong with both.
+     */
+    TRANSITIVITY(3),
+    /**
+     * Assuming a match and following the clues until they contradict each
+     * other.
+     */
+    LOOKAHEAD(10);
+
+    private final int weight;
+
+    private LogiquizDeduction(int weight) {
+        this.weight = weight;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+}
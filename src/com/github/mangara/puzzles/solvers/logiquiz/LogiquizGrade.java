@@ -0,0 +1,116 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.logiquiz;
+
+import com.github.mangara.puzzles.data.logiquiz.Logiquiz;
+import com.github.mangara.puzzles.solvers.SolveResult;
+import java.util.List;
+
+/**
+ * The result of {@link LogiquizGrader#grade(Logiquiz)}: whether the solution
+ * is unique, and the steps that solve it with the easiest deductions that
+ * work.
+ */
+public class LogiquizGrade {
+
+    private final SolveResult result;
+    private final List<LogiquizStep> steps;
+    private final boolean complete;
+    private final int score;
+    private final LogiquizDeduction hardest;
+
+    LogiquizGrade(SolveResult result, List<LogiquizStep> steps, boolean complete) {
+        this.result = result;
+        this.steps = steps;
+        this.complete = complete;
+
+        int total = 0;
+        LogiquizDeduction max = null;
+
+        for (LogiquizStep step : steps) {
+            total += step.getDeduction().getWeight();
+
+            if (max == null || step.getDeduction().compareTo(max) > 0) {
+                max = step.getDeduction();
+            }
+        }
+
+        this.score = total;
+        this.hardest = max;
+    }
+
+    /**
+     * Whether the puzzle has no, one or more solutions.
+     *
+     * @return
+     */
+    public SolveResult getResult() {
+        return result;
+    }
+
+    public boolean isUnique() {
+        return result == SolveResult.UNIQUE;
+    }
+
+    /**
+     * Whether the steps solve the puzzle. This is false if the solution is not
+     * unique, or if it needs more than one assumption at a time.
+     *
+     * @return
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * The total weight of the deductions of all steps. The same puzzle always
+     * gets the same score.
+     *
+     * @return
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * @return the hardest deduction of any step, or null if there are no steps
+     */
+    public LogiquizDeduction getHardestDeduction() {
+        return hardest;
+    }
+
+    /**
+     * The number of steps that used the given deduction.
+     *
+     * @param deduction
+     * @return
+     */
+    public int getStepCount(LogiquizDeduction deduction) {
+        int count = 0;
+
+        for (LogiquizStep step : steps) {
+            if (step.getDeduction() == deduction) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    public List<LogiquizStep> getSteps() {
+        return steps;
+    }
+}
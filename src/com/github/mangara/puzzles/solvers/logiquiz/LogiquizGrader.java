@@ -0,0 +1,127 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.logiquiz;
+
+import com.github.mangara.puzzles.data.logiquiz.Logiquiz;
+import com.github.mangara.puzzles.solvers.SolveContext;
+import com.github.mangara.puzzles.solvers.SolveResult;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Rates a logiquiz by solving it the way a person would. Each step uses the
+ * easiest {@link LogiquizDeduction} that makes progress: reading one clue,
+ * eliminating the other entries of a known match, one pass of transitivity,
+ * or, as a last resort, assuming a match and propagating all clues until they
+ * contradict each other.
+ * <p>
+ * Every step only copies the small {@link LogiquizState}, so grading takes
+ * about as long as a few solver runs.
+ */
+public class LogiquizGrader {
+
+    /**
+     * Grades the given puzzle. Only puzzles with a unique solution get steps.
+     *
+     * @param puzzle
+     * @return
+     * @throws IllegalArgumentException if some clue is invalid
+     */
+    public static LogiquizGrade grade(Logiquiz puzzle) {
+        List<LogiquizConstraint> constraints = LogiquizConstraint.compileAll(puzzle);
+        SolveResult result = LogiquizSolver.solve(new LogiquizState(puzzle), constraints, SolveContext.UNBOUNDED);
+
+        if (result != SolveResult.UNIQUE) {
+            return new LogiquizGrade(result, Collections.emptyList(), false);
+        }
+
+        List<LogiquizStep> steps = new ArrayList<>();
+        LogiquizState state = new LogiquizState(puzzle);
+        int solvedCount = puzzle.getGroupCount() * (puzzle.getGroupCount() - 1) / 2 * puzzle.getGroupSize();
+
+        while (state.getOptionCount() > solvedCount) {
+            LogiquizStep step = nextStep(puzzle, constraints, state);
+
+            if (step == null) {
+                return new LogiquizGrade(result, steps, false);
+            }
+
+            steps.add(step);
+            state = step.getResult();
+        }
+
+        return new LogiquizGrade(result, steps, true);
+    }
+
+    private static LogiquizStep nextStep(Logiquiz puzzle, List<LogiquizConstraint> constraints, LogiquizState state) {
+        for (int i = 0; i < constraints.size(); i++) {
+            LogiquizState next = new LogiquizState(state);
+
+            if (constraints.get(i).apply(next)) {
+                return new LogiquizStep(puzzle, LogiquizDeduction.DIRECT_CLUE, i, null, state, next);
+            }
+        }
+
+        LogiquizState next = new LogiquizState(state);
+
+        if (next.eliminateSingles()) {
+            return new LogiquizStep(puzzle, LogiquizDeduction.ELIMINATION, -1, null, state, next);
+        }
+
+        if (next.eliminateUnsupported()) {
+            return new LogiquizStep(puzzle, LogiquizDeduction.TRANSITIVITY, -1, null, state, next);
+        }
+
+        return lookahead(puzzle, constraints, state);
+    }
+
+    /**
+     * Finds a possible match that leads to a contradiction, and rules it out.
+     */
+    private static LogiquizStep lookahead(Logiquiz puzzle, List<LogiquizConstraint> constraints, LogiquizState state) {
+        int groupCount = state.getGroupCount();
+
+        for (int a = 0; a < groupCount; a++) {
+            for (int b = a + 1; b < groupCount; b++) {
+                for (int x = 0; x < state.getGroupSize(); x++) {
+                    int options = state.getPossible(a, x, b);
+
+                    if (Integer.bitCount(options) < 2) {
+                        continue;
+                    }
+
+                    for (; options != 0; options &= options - 1) {
+                        int y = Integer.numberOfTrailingZeros(options);
+                        LogiquizState assumed = new LogiquizState(state);
+                        assumed.match(a, x, b, y);
+
+                        if (!assumed.propagate(constraints)) {
+                            LogiquizState next = new LogiquizState(state);
+                            next.exclude(a, x, b, y);
+                            return new LogiquizStep(puzzle, LogiquizDeduction.LOOKAHEAD, -1, new int[]{a, x, b, y}, state, next);
+                        }
+                    }
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private LogiquizGrader() {
+    }
+}
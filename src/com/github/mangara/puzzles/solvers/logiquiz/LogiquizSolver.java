@@ -0,0 +1,193 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.logiquiz;
+
+import com.github.mangara.puzzles.data.logiquiz.Logiquiz;
+import com.github.mangara.puzzles.solvers.Metrics;
+import com.github.mangara.puzzles.solvers.SolveContext;
+import com.github.mangara.puzzles.solvers.SolveResult;
+import com.github.mangara.puzzles.solvers.SolverMetrics;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Solves a logiquiz from its clues, or from the matches that are known or
+ * ruled out. At each node of the search it propagates the
+ * {@link LogiquizState} and the compiled clues to a fixpoint, then branches on
+ * the entry with the fewest options left in some other group.
+ */
+public class LogiquizSolver {
+
+    public static boolean hasUniqueSolution(Logiquiz puzzle) {
+        return countSolutions(new LogiquizState(puzzle), LogiquizConstraint.compileAll(puzzle), 2, null) == 1;
+    }
+
+    /**
+     * Finds a solution that satisfies all clues of the given puzzle.
+     *
+     * @param puzzle
+     * @return the matches of a solution, as {@link LogiquizState#getSolution()},
+     * or null if there is none
+     */
+    public static int[][] findAnySolution(Logiquiz puzzle) {
+        LogiquizState[] solution = new LogiquizState[1];
+        int count = countSolutions(new LogiquizState(puzzle), LogiquizConstraint.compileAll(puzzle), 1, solution);
+        return count > 0 ? solution[0].getSolution() : null;
+    }
+
+    public static SolveResult solve(Logiquiz puzzle, SolveContext context) {
+        return solve(new LogiquizState(puzzle), LogiquizConstraint.compileAll(puzzle), context);
+    }
+
+    public static boolean hasUniqueSolution(LogiquizState givens) {
+        return countSolutions(givens, Collections.emptyList(), 2, null) == 1;
+    }
+
+    /**
+     * Finds a solution that agrees with the given state.
+     *
+     * @param givens
+     * @return the matches of a solution, as {@link LogiquizState#getSolution()},
+     * or null if there is none
+     */
+    public static int[][] findAnySolution(LogiquizState givens) {
+        LogiquizState[] solution = new LogiquizState[1];
+        return countSolutions(givens, Collections.emptyList(), 1, solution) > 0 ? solution[0].getSolution() : null;
+    }
+
+    /**
+     * Finds out whether the given state has zero, one or more solutions,
+     * unless the context stops the search first.
+     *
+     * @param givens
+     * @param context
+     * @return
+     */
+    public static SolveResult solve(LogiquizState givens, SolveContext context) {
+        return solve(givens, Collections.emptyList(), context);
+    }
+
+    /**
+     * Finds out whether the given state has zero, one or more solutions that
+     * satisfy the constraints, unless the context stops the search first.
+     *
+     * @param givens
+     * @param constraints
+     * @param context
+     * @return
+     */
+    public static SolveResult solve(LogiquizState givens, List<LogiquizConstraint> constraints, SolveContext context) {
+        Search search = new Search(2, constraints, null, context);
+        search.run(new LogiquizState(givens));
+        return SolveResult.ofCount(search.count, search.stopped);
+    }
+
+    /**
+     * Counts the solutions that agree with the given state, stopping once
+     * {@code limit} solutions have been found. The state is not changed.
+     *
+     * @param givens
+     * @param limit
+     * @return the number of solutions, capped at limit
+     */
+    public static int countSolutions(LogiquizState givens, int limit) {
+        return countSolutions(givens, Collections.emptyList(), limit, null);
+    }
+
+    /**
+     * Counts the solutions that agree with the given state and satisfy the
+     * constraints, stopping once {@code limit} solutions have been found. The
+     * state is not changed.
+     *
+     * @param givens
+     * @param constraints
+     * @param limit
+     * @return the number of solutions, capped at limit
+     */
+    public static int countSolutions(LogiquizState givens, List<LogiquizConstraint> constraints, int limit) {
+        return countSolutions(givens, constraints, limit, null);
+    }
+
+    private static int countSolutions(LogiquizState givens, List<LogiquizConstraint> constraints, int limit, LogiquizState[] firstSolution) {
+        Search search = new Search(limit, constraints, firstSolution, SolveContext.UNBOUNDED);
+        search.run(new LogiquizState(givens));
+        return search.count;
+    }
+
+    private static class Search {
+
+        final int limit;
+        final List<LogiquizConstraint> constraints;
+        final LogiquizState[] firstSolution;
+        final SolveContext context;
+        final SolverMetrics metrics = Metrics.current();
+        int count = 0;
+        boolean stopped = false;
+
+        Search(int limit, List<LogiquizConstraint> constraints, LogiquizState[] firstSolution, SolveContext context) {
+            this.limit = limit;
+            this.constraints = constraints;
+            this.firstSolution = firstSolution;
+            this.context = context;
+        }
+
+        void run(LogiquizState state) {
+            long start = System.nanoTime();
+            solve(state);
+            metrics.solved(System.nanoTime() - start);
+        }
+
+        void solve(LogiquizState state) {
+            if (context.checkpoint()) {
+                stopped = true;
+                return;
+            }
+
+            metrics.searchNode();
+            metrics.propagationPass();
+
+            if (!state.propagate(constraints)) {
+                metrics.backtrack();
+                return;
+            }
+
+            int[] branch = state.pickBranch();
+
+            if (branch == null) {
+                if (count == 0 && firstSolution != null) {
+                    firstSolution[0] = state;
+                }
+
+                count++;
+                return;
+            }
+
+            int a = branch[0];
+            int x = branch[1];
+            int b = branch[2];
+            int options = state.getPossible(a, x, b);
+
+            while (options != 0 && count < limit && !stopped) {
+                int y = Integer.numberOfTrailingZeros(options);
+                options &= options - 1;
+
+                LogiquizState next = new LogiquizState(state);
+                next.match(a, x, b, y);
+                solve(next);
+            }
+        }
+    }
+}
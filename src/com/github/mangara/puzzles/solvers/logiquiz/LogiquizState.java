@@ -0,0 +1,515 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.logiquiz;
+
+import com.github.mangara.puzzles.data.logiquiz.Logiquiz;
+import com.github.mangara.puzzles.data.logiquiz.LogiquizSolutionState;
+import java.util.List;
+
+/**
+ * Which entries of different groups can still belong together. For every
+ * ordered pair of groups (a, b) and entry x of a, a bit mask holds the entries
+ * of b that x can still be matched with. Both directions are kept, so (a, b, x)
+ * and (b, a, y) always agree about x and y.
+ * <p>
+ * Entries are identified by their index in their group. Groups can have at
+ * most 32 entries.
+ */
+public class LogiquizState {
+
+    private final int groupCount;
+    private final int groupSize;
+    private final int[] possible; // Indexed by (a * groupCount + b) * groupSize + x
+
+    /**
+     * Creates a state in which every match is still possible.
+     *
+     * @param groupCount
+     * @param groupSize
+     */
+    public LogiquizState(int groupCount, int groupSize) {
+        if (groupCount < 2 || groupSize < 2 || groupSize > 32) {
+            throw new IllegalArgumentException("A logiquiz needs at least 2 groups of 2 to 32 entries");
+        }
+
+        this.groupCount = groupCount;
+        this.groupSize = groupSize;
+        this.possible = new int[groupCount * groupCount * groupSize];
+
+        int all = groupSize == 32 ? -1 : (1 << groupSize) - 1;
+
+        for (int a = 0; a < groupCount; a++) {
+            for (int b = 0; b < groupCount; b++) {
+                if (a != b) {
+                    for (int x = 0; x < groupSize; x++) {
+                        possible[index(a, b, x)] = all;
+                    }
+                }
+            }
+        }
+    }
+
+    public LogiquizState(Logiquiz puzzle) {
+        this(puzzle.getGroupCount(), puzzle.getGroupSize());
+    }
+
+    public LogiquizState(LogiquizState state) {
+        this.groupCount = state.groupCount;
+        this.groupSize = state.groupSize;
+        this.possible = state.possible.clone();
+    }
+
+    /**
+     * Reads the marks of a staircase grid as drawn by the puzzle panel:
+     * columns are the entries of the groups from last to second, rows the
+     * entries of the groups from first to second to last, and
+     * {@code grid[column][row]} is the mark for that pair. Cells outside the
+     * staircase are ignored.
+     *
+     * @param puzzle
+     * @param grid
+     * @return
+     */
+    public static LogiquizState fromGrid(Logiquiz puzzle, LogiquizSolutionState[][] grid) {
+        LogiquizState state = new LogiquizState(puzzle);
+        int n = state.groupSize;
+
+        for (int column = 0; column < grid.length; column++) {
+            for (int row = 0; row < grid[column].length; row++) {
+                int a = row / n;
+                int b = state.groupCount - 1 - column / n;
+
+                if (a >= b) {
+                    continue;
+                }
+
+                switch (grid[column][row]) {
+                    case POSITIVE:
+                        state.match(a, row % n, b, column % n);
+                        break;
+                    case NEGATIVE:
+                        state.exclude(a, row % n, b, column % n);
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+
+        return state;
+    }
+
+    /**
+     * The marks of this state in the staircase grid layout of
+     * {@link #fromGrid(Logiquiz, LogiquizSolutionState[][])}.
+     *
+     * @return
+     */
+    public LogiquizSolutionState[][] toGrid() {
+        int size = (groupCount - 1) * groupSize;
+        LogiquizSolutionState[][] grid = new LogiquizSolutionState[size][size];
+
+        for (int column = 0; column < size; column++) {
+            for (int row = 0; row < size; row++) {
+                int a = row / groupSize;
+                int b = groupCount - 1 - column / groupSize;
+
+                grid[column][row] = a < b ? getState(a, row % groupSize, b, column % groupSize) : LogiquizSolutionState.UNKNOWN;
+            }
+        }
+
+        return grid;
+    }
+
+    public int getGroupCount() {
+        return groupCount;
+    }
+
+    public int getGroupSize() {
+        return groupSize;
+    }
+
+    /**
+     * The entries of group b that entry x of group a can still be matched
+     * with, as a bit mask.
+     *
+     * @param a
+     * @param x
+     * @param b
+     * @return
+     */
+    public int getPossible(int a, int x, int b) {
+        return possible[index(a, b, x)];
+    }
+
+    public boolean isPossible(int a, int x, int b, int y) {
+        return (possible[index(a, b, x)] & (1 << y)) != 0;
+    }
+
+    /**
+     * The number of matches that are still possible. Each pair is counted
+     * once.
+     *
+     * @return
+     */
+    public int getOptionCount() {
+        int count = 0;
+
+        for (int a = 0; a < groupCount; a++) {
+            for (int b = a + 1; b < groupCount; b++) {
+                for (int x = 0; x < groupSize; x++) {
+                    count += Integer.bitCount(possible[index(a, b, x)]);
+                }
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * @param a
+     * @param x
+     * @param b
+     * @param y
+     * @return POSITIVE if entry x of group a is matched with entry y of group
+     * b, NEGATIVE if they cannot be matched, UNKNOWN otherwise
+     */
+    public LogiquizSolutionState getState(int a, int x, int b, int y) {
+        int mask = possible[index(a, b, x)];
+
+        if ((mask & (1 << y)) == 0) {
+            return LogiquizSolutionState.NEGATIVE;
+        }
+
+        return mask == 1 << y ? LogiquizSolutionState.POSITIVE : LogiquizSolutionState.UNKNOWN;
+    }
+
+    /**
+     * Rules out matching entry x of group a with entry y of group b.
+     *
+     * @param a
+     * @param x
+     * @param b
+     * @param y
+     * @return true if this changed the state
+     */
+    public boolean exclude(int a, int x, int b, int y) {
+        validate(a, x, b, y);
+
+        if (!isPossible(a, x, b, y)) {
+            return false;
+        }
+
+        remove(a, x, b, y);
+        return true;
+    }
+
+    /**
+     * Matches entry x of group a with entry y of group b, ruling out all other
+     * matches between x and group b. The other consequences are left to
+     * {@link #propagate()}.
+     *
+     * @param a
+     * @param x
+     * @param b
+     * @param y
+     * @return true if this changed the state
+     */
+    public boolean match(int a, int x, int b, int y) {
+        validate(a, x, b, y);
+
+        boolean changed = false;
+        int others = possible[index(a, b, x)] & ~(1 << y);
+
+        while (others != 0) {
+            int other = Integer.numberOfTrailingZeros(others);
+            others &= others - 1;
+
+            remove(a, x, b, other);
+            changed = true;
+        }
+
+        return changed;
+    }
+
+    /**
+     * Rules out all matches of entry x of group a with entries of group b that
+     * are not in the given mask.
+     *
+     * @param a
+     * @param x
+     * @param b
+     * @param mask
+     * @return true if this changed the state
+     */
+    public boolean restrict(int a, int x, int b, int mask) {
+        validate(a, x, b, 0);
+
+        int removed = possible[index(a, b, x)] & ~mask;
+
+        if (removed == 0) {
+            return false;
+        }
+
+        while (removed != 0) {
+            int y = Integer.numberOfTrailingZeros(removed);
+            removed &= removed - 1;
+
+            remove(a, x, b, y);
+        }
+
+        return true;
+    }
+
+    /**
+     * Alternates between {@link #propagate()} and applying the given
+     * constraints until neither changes anything.
+     *
+     * @param constraints
+     * @return false if some entry has no option left, true otherwise
+     */
+    public boolean propagate(List<LogiquizConstraint> constraints) {
+        boolean changed;
+
+        do {
+            if (!propagate()) {
+                return false;
+            }
+
+            changed = false;
+
+            for (LogiquizConstraint constraint : constraints) {
+                changed |= constraint.apply(this);
+            }
+        } while (changed);
+
+        return true;
+    }
+
+    /**
+     * Applies the rules below until nothing changes:
+     * <ul>
+     * <li>Every entry is matched with exactly one entry of each other group:
+     * an entry whose only option is y rules y out for the other entries of its
+     * group.</li>
+     * <li>Matching is transitive: x in group a can only be matched with y in
+     * group b if, for every other group c, some entry of c can be matched with
+     * both.</li>
+     * </ul>
+     *
+     * @return false if some entry has no option left, true otherwise
+     */
+    public boolean propagate() {
+        boolean changed;
+
+        do {
+            if (!isConsistent()) {
+                return false;
+            }
+
+            changed = eliminateSingles();
+            changed |= eliminateUnsupported();
+        } while (changed);
+
+        return true;
+    }
+
+    /**
+     * Whether every entry still has an option in each other group.
+     *
+     * @return
+     */
+    boolean isConsistent() {
+        for (int a = 0; a < groupCount; a++) {
+            for (int b = a + 1; b < groupCount; b++) {
+                for (int x = 0; x < groupSize; x++) {
+                    if (possible[index(a, b, x)] == 0 || possible[index(b, a, x)] == 0) {
+                        return false;
+                    }
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * One pass of the first rule of {@link #propagate()}.
+     *
+     * @return true if this changed the state
+     */
+    boolean eliminateSingles() {
+        boolean changed = false;
+
+        for (int a = 0; a < groupCount; a++) {
+            for (int b = 0; b < groupCount; b++) {
+                if (a == b) {
+                    continue;
+                }
+
+                for (int x = 0; x < groupSize; x++) {
+                    int mask = possible[index(a, b, x)];
+
+                    if (mask != 0 && (mask & (mask - 1)) == 0) {
+                        int y = Integer.numberOfTrailingZeros(mask);
+
+                        for (int other = 0; other < groupSize; other++) {
+                            if (other != x && (possible[index(a, b, other)] & mask) != 0) {
+                                remove(a, other, b, y);
+                                changed = true;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        return changed;
+    }
+
+    /**
+     * One pass of the second rule of {@link #propagate()}.
+     *
+     * @return true if this changed the state
+     */
+    boolean eliminateUnsupported() {
+        boolean changed = false;
+
+        for (int a = 0; a < groupCount; a++) {
+            for (int b = a + 1; b < groupCount; b++) {
+                for (int x = 0; x < groupSize; x++) {
+                    int mask = possible[index(a, b, x)];
+
+                    while (mask != 0) {
+                        int y = Integer.numberOfTrailingZeros(mask);
+                        mask &= mask - 1;
+
+                        if (!isSupported(a, x, b, y)) {
+                            remove(a, x, b, y);
+                            changed = true;
+                        }
+                    }
+                }
+            }
+        }
+
+        return changed;
+    }
+
+    private boolean isSupported(int a, int x, int b, int y) {
+        for (int c = 0; c < groupCount; c++) {
+            if (c != a && c != b && (possible[index(a, c, x)] & possible[index(b, c, y)]) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Whether every entry of the first group has exactly one option left in
+     * each other group. After a successful {@link #propagate()}, this means
+     * all matches are known.
+     *
+     * @return
+     */
+    public boolean isSolved() {
+        for (int b = 1; b < groupCount; b++) {
+            for (int x = 0; x < groupSize; x++) {
+                int mask = possible[index(0, b, x)];
+
+                if (mask == 0 || (mask & (mask - 1)) != 0) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * The matches of a solved state: {@code result[b][x]} is the entry of
+     * group b that entry x of the first group is matched with. Row 0 is the
+     * identity.
+     *
+     * @return
+     */
+    public int[][] getSolution() {
+        if (!isSolved()) {
+            throw new IllegalStateException("The state is not solved");
+        }
+
+        int[][] result = new int[groupCount][groupSize];
+
+        for (int x = 0; x < groupSize; x++) {
+            result[0][x] = x;
+
+            for (int b = 1; b < groupCount; b++) {
+                result[b][x] = Integer.numberOfTrailingZeros(possible[index(0, b, x)]);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Finds an entry with the fewest options above one in some other group.
+     *
+     * @return {a, x, b}, or null if every entry has at most one option
+     */
+    int[] pickBranch() {
+        int[] best = null;
+        int bestCount = Integer.MAX_VALUE;
+
+        for (int a = 0; a < groupCount; a++) {
+            for (int b = a + 1; b < groupCount; b++) {
+                for (int x = 0; x < groupSize; x++) {
+                    int count = Integer.bitCount(possible[index(a, b, x)]);
+
+                    if (count > 1 && count < bestCount) {
+                        best = new int[]{a, x, b};
+                        bestCount = count;
+
+                        if (count == 2) {
+                            return best;
+                        }
+                    }
+                }
+            }
+        }
+
+        return best;
+    }
+
+    private void remove(int a, int x, int b, int y) {
+        possible[index(a, b, x)] &= ~(1 << y);
+        possible[index(b, a, y)] &= ~(1 << x);
+    }
+
+    private int index(int a, int b, int x) {
+        return (a * groupCount + b) * groupSize + x;
+    }
+
+    private void validate(int a, int x, int b, int y) {
+        if (a == b) {
+            throw new IllegalArgumentException("Entries of the same group cannot be matched");
+        }
+
+        if (a < 0 || b < 0 || a >= groupCount || b >= groupCount || x < 0 || y < 0 || x >= groupSize || y >= groupSize) {
+            throw new IllegalArgumentException("No such entry");
+        }
+    }
+}
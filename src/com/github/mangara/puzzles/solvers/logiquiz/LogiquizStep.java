@@ -0,0 +1,114 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.logiquiz;
+
+import com.github.mangara.puzzles.data.logiquiz.Logiquiz;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One step of a {@link LogiquizGrade}: the deduction it used and the state
+ * before and after. The description is only built when requested.
+ */
+public class LogiquizStep {
+
+    private final Logiquiz puzzle;
+    private final LogiquizDeduction deduction;
+    private final int clue; // The index of the clue for DIRECT_CLUE, -1 otherwise
+    private final int[] assumption; // {a, x, b, y} for LOOKAHEAD, null otherwise
+    private final LogiquizState before;
+    private final LogiquizState after;
+
+    LogiquizStep(Logiquiz puzzle, LogiquizDeduction deduction, int clue, int[] assumption, LogiquizState before, LogiquizState after) {
+        this.puzzle = puzzle;
+        this.deduction = deduction;
+        this.clue = clue;
+        this.assumption = assumption;
+        this.before = before;
+        this.after = after;
+    }
+
+    public LogiquizDeduction getDeduction() {
+        return deduction;
+    }
+
+    /**
+     * @return the index of the clue this step read, or -1 if it is not a
+     * {@link LogiquizDeduction#DIRECT_CLUE} step
+     */
+    public int getClueIndex() {
+        return clue;
+    }
+
+    /**
+     * The state after this step. This should not be changed.
+     *
+     * @return
+     */
+    public LogiquizState getResult() {
+        return after;
+    }
+
+    public String description() {
+        StringBuilder result = new StringBuilder();
+
+        switch (deduction) {
+            case DIRECT_CLUE:
+                result.append("Clue ").append(clue + 1).append(": ").append(puzzle.getClues().get(clue));
+                break;
+            case ELIMINATION:
+                result.append("Each entry belongs with exactly one entry of every other group.");
+                break;
+            case TRANSITIVITY:
+                result.append("Entries that belong together share their matches in every other group.");
+                break;
+            case LOOKAHEAD:
+                result.append("If ").append(name(assumption[0], assumption[1]))
+                        .append(" were ").append(name(assumption[2], assumption[3]))
+                        .append(", the clues would contradict each other.");
+                break;
+            default:
+                throw new IllegalArgumentException("Unrecognized deduction: " + deduction);
+        }
+
+        List<String> matches = new ArrayList<>();
+        int removed = before.getOptionCount() - after.getOptionCount();
+
+        for (int a = 0; a < after.getGroupCount(); a++) {
+            for (int b = a + 1; b < after.getGroupCount(); b++) {
+                for (int x = 0; x < after.getGroupSize(); x++) {
+                    int mask = after.getPossible(a, x, b);
+
+                    if (Integer.bitCount(mask) == 1 && Integer.bitCount(before.getPossible(a, x, b)) > 1) {
+                        matches.add(name(a, x) + " is " + name(b, Integer.numberOfTrailingZeros(mask)));
+                    }
+                }
+            }
+        }
+
+        result.append("\nThis rules out ").append(removed).append(removed == 1 ? " match." : " matches.");
+
+        if (!matches.isEmpty()) {
+            result.append("\nSo ").append(String.join(", ", matches)).append('.');
+        }
+
+        return result.toString();
+    }
+
+    private String name(int group, int index) {
+        return puzzle.getGroups().get(group).get(index);
+    }
+}
@@ -19,6 +19,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import com.github.mangara.puzzles.data.nonogram.Nonogram;
+import com.github.mangara.puzzles.solvers.Metrics;
+import com.github.mangara.puzzles.solvers.SolveContext;
+import com.github.mangara.puzzles.solvers.SolveResult;
+import com.github.mangara.puzzles.solvers.SolverMetrics;
 
 public class BruteForceSolver {
 
@@ -53,25 +57,60 @@ public class BruteForceSolver {
     }
 
     public static boolean[][] findAnySolution(Nonogram puzzle) {
+        return findAnySolution(puzzle, SolveContext.UNBOUNDED);
+    }
+
+    /**
+     * Finds a solution, unless the context stops the search first.
+     *
+     * @param puzzle
+     * @param context
+     * @return a solution, or null if there is none or the search was stopped
+     */
+    public static boolean[][] findAnySolution(Nonogram puzzle, SolveContext context) {
         clearRecord();
+        SolverMetrics metrics = Metrics.current();
+        long start = System.nanoTime();
         boolean[][] solution = new boolean[puzzle.getWidth()][puzzle.getHeight()];
-        boolean solved = findBruteForceSolution(puzzle, solution, 0);
+        boolean solved = findBruteForceSolution(puzzle, solution, 0, context, metrics);
+        metrics.solved(System.nanoTime() - start);
         return solved ? solution : null;
     }
 
     public static boolean hasUniqueSolution(Nonogram puzzle) {
-        clearRecord();
-        return findUniqueBruteForceSolution(puzzle, false, new boolean[puzzle.getWidth()][puzzle.getHeight()], 0);
+        return solve(puzzle, SolveContext.UNBOUNDED) == SolveResult.UNIQUE;
+    }
+
+    /**
+     * Finds out whether the given puzzle has zero, one or more solutions,
+     * unless the context stops the search first.
+     *
+     * @param puzzle
+     * @param context
+     * @return
+     */
+    public static SolveResult solve(Nonogram puzzle, SolveContext context) {
+        SolverMetrics metrics = Metrics.current();
+        long start = System.nanoTime();
+        int count = countSolutions(puzzle, new boolean[puzzle.getWidth()][puzzle.getHeight()], 0, 2, context, metrics);
+        metrics.solved(System.nanoTime() - start);
+        return SolveResult.ofCount(count, context.isStopped());
     }
 
-    private static boolean findBruteForceSolution(Nonogram puzzle, boolean[][] partialSolution, int rowToSolve) {
+    private static boolean findBruteForceSolution(Nonogram puzzle, boolean[][] partialSolution, int rowToSolve, SolveContext context, SolverMetrics metrics) {
+        if (context.checkpoint()) {
+            return false;
+        }
+
         System.out.println("Solving row " + rowToSolve);
+        metrics.searchNode();
 
         // Is each column of the partial solution valid?
         for (int i = 0; i < puzzle.getWidth(); i++) {
             System.out.println("Testing column " + i);
             if (!NonogramSolverHelper.isValidPartial(partialSolution[i], rowToSolve, puzzle.getTopNumbers().get(i))) {
                 System.out.println("Wrong");
+                metrics.backtrack();
                 return false;
             }
         }
@@ -94,7 +133,7 @@ public class BruteForceSolver {
                 partialSolution[i][rowToSolve] = possibleRowSolution[i];
             }
 
-            boolean solved = findBruteForceSolution(puzzle, partialSolution, rowToSolve + 1);
+            boolean solved = findBruteForceSolution(puzzle, partialSolution, rowToSolve + 1, context, metrics);
 
             if (solved) {
                 System.out.println("Solved!");
@@ -109,59 +148,42 @@ public class BruteForceSolver {
         return false;
     }
 
-    private static boolean findUniqueBruteForceSolution(Nonogram puzzle, boolean solved, boolean[][] partialSolution, int rowToSolve) {
-        System.out.println("Solving row " + rowToSolve);
+    private static int countSolutions(Nonogram puzzle, boolean[][] partialSolution, int rowToSolve, int limit, SolveContext context, SolverMetrics metrics) {
+        if (context.checkpoint()) {
+            return 0;
+        }
+
+        metrics.searchNode();
 
         // Is each column of the partial solution valid?
         for (int i = 0; i < puzzle.getWidth(); i++) {
-            System.out.println("Testing column " + i);
             if (!NonogramSolverHelper.isValidPartial(partialSolution[i], rowToSolve, puzzle.getTopNumbers().get(i))) {
-                System.out.println("Wrong");
-                return solved;
+                metrics.backtrack();
+                return 0;
             }
         }
 
         // Are we done?
         if (rowToSolve == puzzle.getHeight()) {
-            System.out.println("Done");
-            return !solved;
+            return 1;
         }
 
         List<Integer> rowNumbers = puzzle.getSideNumbers().get(rowToSolve);
-
-        boolean mySolved = solved;
+        int count = 0;
 
         // Try each possible solution for this row
         for (boolean[] possibleRowSolution : NonogramSolverHelper.getAllSolutions(rowNumbers, puzzle.getWidth())) {
-            System.out.println("Trying row " + rowToSolve + " solution " + Arrays.toString(possibleRowSolution));
-
             for (int i = 0; i < puzzle.getWidth(); i++) {
                 partialSolution[i][rowToSolve] = possibleRowSolution[i];
             }
 
-            boolean result = findUniqueBruteForceSolution(puzzle, mySolved, partialSolution, rowToSolve + 1);
+            count += countSolutions(puzzle, partialSolution, rowToSolve + 1, limit - count, context, metrics);
 
-            if (mySolved) {
-                if (result) {
-                    // Still okay, no new solution found
-                } else {
-                    // Second solution found
-                    System.out.println("Non-unique!");
-                    return false;
-                }
-            } else {
-                if (result) {
-                    // First solution found
-                    System.out.println("Solved!");
-                    mySolved = true;
-                } else {
-                    // Still okay, no solution yet
-                }
+            if (count >= limit || context.isStopped()) {
+                break;
             }
-
-            System.out.println("Row " + rowToSolve + " not solved.");
         }
 
-        return mySolved;
+        return count;
     }
 }
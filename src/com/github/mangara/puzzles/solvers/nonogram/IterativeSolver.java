@@ -20,6 +20,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import com.github.mangara.puzzles.data.nonogram.Nonogram;
+import com.github.mangara.puzzles.solvers.Metrics;
+import com.github.mangara.puzzles.solvers.SolveContext;
+import com.github.mangara.puzzles.solvers.SolveResult;
+import com.github.mangara.puzzles.solvers.SolverMetrics;
 
 public class IterativeSolver {
     private final boolean recordPartials;
@@ -62,16 +66,42 @@ public class IterativeSolver {
     
     public boolean[][] findAnySolution(Nonogram puzzle) {
         clearRecord();
-        NonogramSolutionState[][] solution = findSolution(puzzle);
+        NonogramSolutionState[][] solution = findSolution(puzzle, SolveContext.UNBOUNDED);
         return (NonogramSolverHelper.isSolved(solution) ? NonogramSolverHelper.convertToBooleanArray(solution) : null);
     }
     
     public boolean hasUniqueSolution(Nonogram puzzle) {
         clearRecord();
-        return NonogramSolverHelper.isSolved(findSolution(puzzle));
+        return NonogramSolverHelper.isSolved(findSolution(puzzle, SolveContext.UNBOUNDED));
+    }
+
+    /**
+     * Solves as many lines as possible. The context is checked before each
+     * line.
+     *
+     * @param puzzle
+     * @param context
+     * @return {@link SolveResult#UNIQUE} if this determines every cell,
+     * {@link SolveResult#NONE} if some line has no possible solution left, and
+     * {@link SolveResult#UNKNOWN} otherwise
+     */
+    public SolveResult solve(Nonogram puzzle, SolveContext context) {
+        clearRecord();
+        NonogramSolutionState[][] solution;
+
+        try {
+            solution = findSolution(puzzle, context);
+        } catch (IllegalArgumentException ex) {
+            return SolveResult.NONE; // No solution of some line matches the known cells
+        }
+
+        return NonogramSolverHelper.isSolved(solution) ? SolveResult.UNIQUE : SolveResult.UNKNOWN;
     }
     
-    private NonogramSolutionState[][] findSolution(Nonogram puzzle) {
+    private NonogramSolutionState[][] findSolution(Nonogram puzzle, SolveContext context) {
+        SolverMetrics metrics = Metrics.current();
+        long start = System.nanoTime();
+
         NonogramSolutionState[][] solution = new NonogramSolutionState[puzzle.getWidth()][puzzle.getHeight()];
         for (int i = 0; i < puzzle.getWidth(); i++) {
             Arrays.fill(solution[i], NonogramSolutionState.UNKNOWN);
@@ -80,13 +110,16 @@ public class IterativeSolver {
         
         boolean progress = true;
         
-        while (progress) {
+        while (progress && !context.isStopped()) {
             progress = false;
+            metrics.propagationPass();
             
-            for (int row = 0; row < puzzle.getHeight(); row++) {
+            for (int row = 0; row < puzzle.getHeight() && !context.check(); row++) {
                 List<Integer> rowNumbers = puzzle.getSideNumbers().get(row);
                 NonogramSolutionState[] currentValues = NonogramSolverHelper.readRow(solution, row);
+                long lineStart = System.nanoTime();
                 NonogramSolutionState[] intersection = NonogramSolverHelper.intersectAllMatchingSolutions(rowNumbers, currentValues);
+                metrics.lineSolved(System.nanoTime() - lineStart);
                 
                 if (!Arrays.equals(currentValues, intersection)) {
                     progress = true;
@@ -95,10 +128,12 @@ public class IterativeSolver {
                 }
             }
             
-            for (int col = 0; col < puzzle.getWidth(); col++) {
+            for (int col = 0; col < puzzle.getWidth() && !context.check(); col++) {
                 List<Integer> colNumbers = puzzle.getTopNumbers().get(col);
                 NonogramSolutionState[] currentValues = NonogramSolverHelper.readColumn(solution, col);
+                long lineStart = System.nanoTime();
                 NonogramSolutionState[] intersection = NonogramSolverHelper.intersectAllMatchingSolutions(colNumbers, currentValues);
+                metrics.lineSolved(System.nanoTime() - lineStart);
                 
                 if (!Arrays.equals(currentValues, intersection)) {
                     progress = true;
@@ -108,6 +143,7 @@ public class IterativeSolver {
             }
         }
         
+        metrics.solved(System.nanoTime() - start);
         return solution;
     }
 }
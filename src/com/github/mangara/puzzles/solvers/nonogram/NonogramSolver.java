@@ -16,6 +16,8 @@
 package com.github.mangara.puzzles.solvers.nonogram;
 
 import com.github.mangara.puzzles.data.nonogram.Nonogram;
+import com.github.mangara.puzzles.solvers.SolveContext;
+import com.github.mangara.puzzles.solvers.SolveResult;
 
 public class NonogramSolver {
 
@@ -38,6 +40,32 @@ public class NonogramSolver {
         }
     }
 
+    public static SolveResult solve(Nonogram puzzle, SolveContext context) {
+        return solve(puzzle, Algorithm.ITERATIVE, context);
+    }
+
+    /**
+     * Finds out whether the given puzzle has zero, one or more solutions,
+     * unless the context stops the solver first. The iterative solver cannot
+     * tell multiple solutions apart from lines it could not solve, so it
+     * answers {@link SolveResult#UNKNOWN} for both.
+     *
+     * @param puzzle
+     * @param algo
+     * @param context
+     * @return
+     */
+    public static SolveResult solve(Nonogram puzzle, Algorithm algo, SolveContext context) {
+        switch (algo) {
+            case BRUTE_FORCE:
+                return BruteForceSolver.solve(puzzle, context);
+            case ITERATIVE:
+                return (new IterativeSolver()).solve(puzzle, context);
+            default:
+                throw new IllegalArgumentException("Unrecognized algorithm: " + algo);
+        }
+    }
+
     public static boolean[][] findAnySolution(Nonogram puzzle) {
         return findAnySolution(puzzle, Algorithm.BRUTE_FORCE);
     }
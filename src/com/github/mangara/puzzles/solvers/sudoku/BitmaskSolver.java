@@ -0,0 +1,417 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.sudoku;
+
+import com.github.mangara.puzzles.data.sudoku.Sudoku;
+import com.github.mangara.puzzles.solvers.Metrics;
+import com.github.mangara.puzzles.solvers.SolveContext;
+import com.github.mangara.puzzles.solvers.SolveResult;
+import com.github.mangara.puzzles.solvers.SolverMetrics;
+import static com.github.mangara.puzzles.data.sudoku.SudokuSolutionState.BLANK;
+import java.util.Random;
+
+/**
+ * A backtracking solver that keeps the digits used in each row, column and box
+ * as 9-bit masks. At each node it places all naked and hidden singles, then
+ * branches on the empty cell with the fewest candidates.
+ */
+public class BitmaskSolver {
+
+    static final int ALL_DIGITS = 0x1FF; // bit d - 1 set => digit d
+
+    // Cells are numbered 0..80 in row-major order
+    static final int[] ROW = new int[81];
+    static final int[] COL = new int[81];
+    static final int[] BOX = new int[81];
+
+    // Units 0..8 are rows, 9..17 are columns, 18..26 are boxes
+    static final int[][] UNITS = new int[27][9];
+
+    static {
+        for (int cell = 0; cell < 81; cell++) {
+            int row = cell / 9;
+            int col = cell % 9;
+            int box = 3 * (row / 3) + col / 3;
+
+            ROW[cell] = row;
+            COL[cell] = col;
+            BOX[cell] = box;
+
+            UNITS[row][col] = cell;
+            UNITS[9 + col][row] = cell;
+            UNITS[18 + box][3 * (row % 3) + col % 3] = cell;
+        }
+    }
+
+    public static boolean hasUniqueSolution(Sudoku puzzle) {
+        return countSolutions(puzzle, 2) == 1;
+    }
+
+    /**
+     * Finds out whether the given puzzle has zero, one or more solutions,
+     * unless the context stops the search first.
+     *
+     * @param puzzle
+     * @param context
+     * @return
+     */
+    public static SolveResult solve(Sudoku puzzle, SolveContext context) {
+        State state = State.fromDigits(puzzle.getGivenDigits());
+
+        if (state == null) {
+            return SolveResult.NONE;
+        }
+
+        Search search = new Search(2, null, null, context);
+        search.run(state);
+        return SolveResult.ofCount(search.count, search.stopped);
+    }
+
+    /**
+     * Finds a solution to the given puzzle.
+     *
+     * @param puzzle
+     * @return the digits of a solution, or null if the puzzle has none
+     */
+    public static int[][] findAnySolution(Sudoku puzzle) {
+        int[][] solution = new int[9][9];
+        int count = countSolutions(puzzle.getGivenDigits(), 1, solution);
+        return count > 0 ? solution : null;
+    }
+
+    /**
+     * Counts the solutions of the given puzzle, stopping once {@code limit}
+     * solutions have been found.
+     *
+     * @param puzzle
+     * @param limit
+     * @return the number of solutions, capped at limit
+     */
+    public static int countSolutions(Sudoku puzzle, int limit) {
+        return countSolutions(puzzle.getGivenDigits(), limit, null);
+    }
+
+    /**
+     * Counts the solutions of the given digits, stopping once {@code limit}
+     * solutions have been found. If {@code firstSolution} is not null, the
+     * first solution found is copied into it.
+     *
+     * @param digits
+     * @param limit
+     * @param firstSolution
+     * @return the number of solutions, capped at limit
+     */
+    public static int countSolutions(int[][] digits, int limit, int[][] firstSolution) {
+        State state = State.fromDigits(digits);
+
+        if (state == null) {
+            return 0;
+        }
+
+        Search search = new Search(limit, firstSolution, null, SolveContext.UNBOUNDED);
+        search.run(state);
+        return search.count;
+    }
+
+    /**
+     * Counts the solutions that extend the given state, as
+     * {@link #countSolutions(int[][], int, int[][])}. The state is not changed.
+     * This does not record a solve in the metrics, so that a caller that counts
+     * solutions as part of a larger solve records that solve only once.
+     *
+     * @param state
+     * @param limit
+     * @param firstSolution
+     * @return the number of solutions, capped at limit
+     */
+    static int countSolutions(State state, int limit, int[][] firstSolution) {
+        Search search = new Search(limit, firstSolution, null, SolveContext.UNBOUNDED);
+        search.solve(new State(state));
+        return search.count;
+    }
+
+    /**
+     * Finds a random solution of the given digits by trying the candidates of
+     * each cell in random order. With no given digits, this produces a random
+     * full grid.
+     *
+     * @param digits
+     * @param random
+     * @return the digits of a solution, or null if there is none
+     */
+    public static int[][] findRandomSolution(int[][] digits, Random random) {
+        State state = State.fromDigits(digits);
+
+        if (state == null) {
+            return null;
+        }
+
+        int[][] solution = new int[9][9];
+        Search search = new Search(1, solution, random, SolveContext.UNBOUNDED);
+        search.run(state);
+        return search.count > 0 ? solution : null;
+    }
+
+    static class State {
+
+        final int[] digits;
+        final int[] rows;
+        final int[] cols;
+        final int[] boxes;
+
+        State() {
+            digits = new int[81];
+            rows = new int[9];
+            cols = new int[9];
+            boxes = new int[9];
+        }
+
+        State(State state) {
+            digits = state.digits.clone();
+            rows = state.rows.clone();
+            cols = state.cols.clone();
+            boxes = state.boxes.clone();
+        }
+
+        /**
+         * Builds the state for the given digits.
+         *
+         * @param digits
+         * @return the state, or null if the given digits conflict
+         */
+        static State fromDigits(int[][] digits) {
+            State state = new State();
+
+            for (int row = 0; row < 9; row++) {
+                for (int col = 0; col < 9; col++) {
+                    int digit = digits[row][col];
+
+                    if (digit != BLANK && !state.place(9 * row + col, digit)) {
+                        return null;
+                    }
+                }
+            }
+
+            return state;
+        }
+
+        int candidates(int cell) {
+            return ALL_DIGITS & ~(rows[ROW[cell]] | cols[COL[cell]] | boxes[BOX[cell]]);
+        }
+
+        boolean place(int cell, int digit) {
+            int bit = 1 << (digit - 1);
+
+            if (digits[cell] != BLANK || (candidates(cell) & bit) == 0) {
+                return false;
+            }
+
+            placeBit(cell, bit);
+            return true;
+        }
+
+        void placeBit(int cell, int bit) {
+            digits[cell] = Integer.numberOfTrailingZeros(bit) + 1;
+            rows[ROW[cell]] |= bit;
+            cols[COL[cell]] |= bit;
+            boxes[BOX[cell]] |= bit;
+        }
+
+        /**
+         * Places naked and hidden singles until none are left.
+         *
+         * @return false if a contradiction was found, true otherwise
+         */
+        boolean propagate() {
+            boolean progress;
+
+            do {
+                progress = false;
+
+                // Naked singles
+                for (int cell = 0; cell < 81; cell++) {
+                    if (digits[cell] != BLANK) {
+                        continue;
+                    }
+
+                    int options = candidates(cell);
+
+                    if (options == 0) {
+                        return false;
+                    }
+
+                    if ((options & (options - 1)) == 0) {
+                        placeBit(cell, options);
+                        progress = true;
+                    }
+                }
+
+                // Hidden singles
+                for (int[] unit : UNITS) {
+                    int once = 0;
+                    int twice = 0;
+                    int used = 0;
+
+                    for (int cell : unit) {
+                        if (digits[cell] != BLANK) {
+                            used |= 1 << (digits[cell] - 1);
+                        } else {
+                            int options = candidates(cell);
+                            twice |= once & options;
+                            once |= options;
+                        }
+                    }
+
+                    if ((once | used) != ALL_DIGITS) {
+                        return false; // Some digit has no place left in this unit
+                    }
+
+                    int hidden = once & ~twice;
+
+                    while (hidden != 0) {
+                        int bit = hidden & -hidden;
+                        hidden ^= bit;
+
+                        if (!placeHidden(unit, bit)) {
+                            return false;
+                        }
+
+                        progress = true;
+                    }
+                }
+            } while (progress);
+
+            return true;
+        }
+
+        private boolean placeHidden(int[] unit, int bit) {
+            for (int cell : unit) {
+                if (digits[cell] == BLANK && (candidates(cell) & bit) != 0) {
+                    placeBit(cell, bit);
+                    return true;
+                }
+            }
+
+            // Another hidden single already took the only cell for this digit
+            return false;
+        }
+
+        /**
+         * Finds the empty cell with the fewest candidates.
+         *
+         * @return the cell, or -1 if all cells are filled
+         */
+        int pickCell() {
+            int best = -1;
+            int bestCount = 10;
+
+            for (int cell = 0; cell < 81; cell++) {
+                if (digits[cell] != BLANK) {
+                    continue;
+                }
+
+                int count = Integer.bitCount(candidates(cell));
+
+                if (count < bestCount) {
+                    best = cell;
+                    bestCount = count;
+
+                    if (count <= 2) {
+                        break;
+                    }
+                }
+            }
+
+            return best;
+        }
+
+        void copyDigitsTo(int[][] result) {
+            for (int row = 0; row < 9; row++) {
+                System.arraycopy(digits, 9 * row, result[row], 0, 9);
+            }
+        }
+    }
+
+    private static class Search {
+
+        final int limit;
+        final int[][] firstSolution;
+        final Random random; // Tries candidates in random order if not null
+        final SolveContext context;
+        final SolverMetrics metrics = Metrics.current();
+        int count = 0;
+        boolean stopped = false;
+
+        Search(int limit, int[][] firstSolution, Random random, SolveContext context) {
+            this.limit = limit;
+            this.firstSolution = firstSolution;
+            this.random = random;
+            this.context = context;
+        }
+
+        void run(State state) {
+            long start = System.nanoTime();
+            solve(state);
+            metrics.solved(System.nanoTime() - start);
+        }
+
+        void solve(State state) {
+            if (context.checkpoint()) {
+                stopped = true;
+                return;
+            }
+
+            metrics.searchNode();
+
+            if (!state.propagate()) {
+                metrics.backtrack();
+                return;
+            }
+
+            int cell = state.pickCell();
+
+            if (cell < 0) {
+                if (count == 0 && firstSolution != null) {
+                    state.copyDigitsTo(firstSolution);
+                }
+
+                count++;
+                return;
+            }
+
+            int options = state.candidates(cell);
+
+            while (options != 0 && count < limit && !stopped) {
+                int bit = (random == null ? options & -options : randomBit(options));
+                options ^= bit;
+
+                State next = new State(state);
+                next.placeBit(cell, bit);
+                solve(next);
+            }
+        }
+
+        private int randomBit(int options) {
+            int skip = random.nextInt(Integer.bitCount(options));
+
+            for (int i = 0; i < skip; i++) {
+                options &= options - 1; // Clear the lowest bit
+            }
+
+            return options & -options;
+        }
+    }
+}
@@ -0,0 +1,367 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.sudoku;
+
+import com.github.mangara.puzzles.data.sudoku.Sudoku;
+import com.github.mangara.puzzles.solvers.Metrics;
+import com.github.mangara.puzzles.solvers.SolveContext;
+import com.github.mangara.puzzles.solvers.SolveResult;
+import com.github.mangara.puzzles.solvers.SolverMetrics;
+import static com.github.mangara.puzzles.data.sudoku.SudokuSolutionState.BLANK;
+
+/**
+ * Solves Sudoku as an exact cover problem with Knuth's Dancing Links.
+ * <p>
+ * The matrix has 324 columns (one per cell, and one per digit in each row,
+ * column and box) and 729 rows (one per digit in each cell). It is built once
+ * per instance; a puzzle is solved by selecting the rows of its given digits,
+ * searching, and then restoring the matrix. The nodes are stored in parallel
+ * int arrays rather than as objects.
+ * <p>
+ * Instances are not thread-safe. The static methods use one instance per
+ * thread.
+ */
+public class DancingLinksSolver {
+
+    private static final int COLUMNS = 4 * 81;
+    private static final int ROWS = 9 * 81;
+    private static final int ROOT = 0;
+
+    private static final ThreadLocal<DancingLinksSolver> INSTANCE = ThreadLocal.withInitial(DancingLinksSolver::new);
+
+    // Node 0 is the root, nodes 1..COLUMNS are column headers, the rest are row nodes
+    private final int[] left;
+    private final int[] right;
+    private final int[] up;
+    private final int[] down;
+    private final int[] column;
+    private final int[] rowOf;
+    private final int[] size;
+    private final int[] rowStart;
+
+    // Search state
+    private final int[] chosen = new int[81];
+    private int limit;
+    private int count;
+    private int[][] firstSolution;
+    private SolverMetrics metrics = SolverMetrics.NONE;
+    private SolveContext context = SolveContext.UNBOUNDED;
+    private boolean stopped;
+
+    public DancingLinksSolver() {
+        int nodes = 1 + COLUMNS + 4 * ROWS;
+
+        left = new int[nodes];
+        right = new int[nodes];
+        up = new int[nodes];
+        down = new int[nodes];
+        column = new int[nodes];
+        rowOf = new int[nodes];
+        size = new int[COLUMNS + 1];
+        rowStart = new int[ROWS];
+
+        buildMatrix();
+    }
+
+    public static boolean hasUniqueSolution(Sudoku puzzle) {
+        return countSolutions(puzzle, 2) == 1;
+    }
+
+    /**
+     * Finds out whether the given puzzle has zero, one or more solutions,
+     * unless the context stops the search first.
+     *
+     * @param puzzle
+     * @param context
+     * @return
+     */
+    public static SolveResult solve(Sudoku puzzle, SolveContext context) {
+        DancingLinksSolver solver = INSTANCE.get();
+        int count = solver.countSolutions(puzzle.getGivenDigits(), 2, null, context);
+        return SolveResult.ofCount(count, solver.stopped);
+    }
+
+    /**
+     * Finds a solution to the given puzzle.
+     *
+     * @param puzzle
+     * @return the digits of a solution, or null if the puzzle has none
+     */
+    public static int[][] findAnySolution(Sudoku puzzle) {
+        int[][] solution = new int[9][9];
+        int count = INSTANCE.get().countSolutions(puzzle.getGivenDigits(), 1, solution);
+        return count > 0 ? solution : null;
+    }
+
+    /**
+     * Counts the solutions of the given puzzle, stopping once {@code limit}
+     * solutions have been found.
+     *
+     * @param puzzle
+     * @param limit
+     * @return the number of solutions, capped at limit
+     */
+    public static int countSolutions(Sudoku puzzle, int limit) {
+        return INSTANCE.get().countSolutions(puzzle.getGivenDigits(), limit, null);
+    }
+
+    /**
+     * Counts the solutions of the given digits, stopping once {@code limit}
+     * solutions have been found. If {@code firstSolution} is not null, the
+     * first solution found is copied into it. The matrix is restored
+     * afterwards, so the instance can be reused for the next puzzle.
+     *
+     * @param digits
+     * @param limit
+     * @param firstSolution
+     * @return the number of solutions, capped at limit
+     */
+    public int countSolutions(int[][] digits, int limit, int[][] firstSolution) {
+        return countSolutions(digits, limit, firstSolution, SolveContext.UNBOUNDED);
+    }
+
+    /**
+     * Counts solutions as {@link #countSolutions(int[][], int, int[][])}, but
+     * stops early if the context says so. The count is then a lower bound.
+     *
+     * @param digits
+     * @param limit
+     * @param firstSolution
+     * @param context
+     * @return the number of solutions found, capped at limit
+     */
+    public int countSolutions(int[][] digits, int limit, int[][] firstSolution, SolveContext context) {
+        this.limit = limit;
+        this.count = 0;
+        this.firstSolution = firstSolution;
+        this.metrics = Metrics.current();
+        this.context = context;
+        this.stopped = false;
+
+        long start = System.nanoTime();
+
+        // Select the rows of the given digits
+        int selected = 0;
+        boolean conflict = false;
+
+        for (int cell = 0; cell < 81 && !conflict; cell++) {
+            int digit = digits[cell / 9][cell % 9];
+
+            if (digit == BLANK) {
+                continue;
+            }
+
+            int row = 9 * cell + digit - 1;
+
+            if (isCovered(row)) {
+                conflict = true;
+            } else {
+                selectRow(rowStart[row]);
+                chosen[selected] = rowStart[row];
+                selected++;
+            }
+        }
+
+        if (!conflict) {
+            search(selected);
+        }
+
+        // Restore the matrix in reverse order
+        for (int i = selected - 1; i >= 0; i--) {
+            deselectRow(chosen[i]);
+        }
+
+        this.firstSolution = null;
+        metrics.solved(System.nanoTime() - start);
+        this.metrics = SolverMetrics.NONE;
+        this.context = SolveContext.UNBOUNDED;
+        return conflict ? 0 : count;
+    }
+
+    private void search(int depth) {
+        if (context.checkpoint()) {
+            stopped = true;
+            return;
+        }
+
+        metrics.searchNode();
+
+        if (right[ROOT] == ROOT) {
+            if (count == 0 && firstSolution != null) {
+                recordSolution(depth);
+            }
+
+            count++;
+            return;
+        }
+
+        // Pick the column with the fewest rows left
+        int best = right[ROOT];
+
+        for (int c = right[best]; c != ROOT; c = right[c]) {
+            if (size[c] < size[best]) {
+                best = c;
+
+                if (size[c] <= 1) {
+                    break;
+                }
+            }
+        }
+
+        if (size[best] == 0) {
+            metrics.backtrack();
+            return;
+        }
+
+        cover(best);
+
+        for (int node = down[best]; node != best && count < limit && !stopped; node = down[node]) {
+            chosen[depth] = node;
+
+            for (int j = right[node]; j != node; j = right[j]) {
+                cover(column[j]);
+            }
+
+            search(depth + 1);
+
+            for (int j = left[node]; j != node; j = left[j]) {
+                uncover(column[j]);
+            }
+        }
+
+        uncover(best);
+    }
+
+    private void recordSolution(int depth) {
+        for (int i = 0; i < depth; i++) {
+            int row = rowOf[chosen[i]];
+            int cell = row / 9;
+            firstSolution[cell / 9][cell % 9] = row % 9 + 1;
+        }
+    }
+
+    private boolean isCovered(int row) {
+        int node = rowStart[row];
+
+        do {
+            int c = column[node];
+
+            // A column is covered iff it was unlinked from the header list
+            if (right[left[c]] != c) {
+                return true;
+            }
+
+            node = right[node];
+        } while (node != rowStart[row]);
+
+        return false;
+    }
+
+    private void selectRow(int node) {
+        int j = node;
+
+        do {
+            cover(column[j]);
+            j = right[j];
+        } while (j != node);
+    }
+
+    private void deselectRow(int node) {
+        int j = left[node];
+
+        do {
+            uncover(column[j]);
+            j = left[j];
+        } while (j != left[node]);
+    }
+
+    private void cover(int c) {
+        left[right[c]] = left[c];
+        right[left[c]] = right[c];
+
+        for (int i = down[c]; i != c; i = down[i]) {
+            for (int j = right[i]; j != i; j = right[j]) {
+                up[down[j]] = up[j];
+                down[up[j]] = down[j];
+                size[column[j]]--;
+            }
+        }
+    }
+
+    private void uncover(int c) {
+        for (int i = up[c]; i != c; i = up[i]) {
+            for (int j = left[i]; j != i; j = left[j]) {
+                size[column[j]]++;
+                up[down[j]] = j;
+                down[up[j]] = j;
+            }
+        }
+
+        left[right[c]] = c;
+        right[left[c]] = c;
+    }
+
+    private void buildMatrix() {
+        // Header list
+        for (int c = 0; c <= COLUMNS; c++) {
+            left[c] = (c == 0 ? COLUMNS : c - 1);
+            right[c] = (c == COLUMNS ? 0 : c + 1);
+            up[c] = c;
+            down[c] = c;
+            column[c] = c;
+        }
+
+        int next = COLUMNS + 1;
+
+        for (int cell = 0; cell < 81; cell++) {
+            int r = cell / 9;
+            int c = cell % 9;
+            int b = 3 * (r / 3) + c / 3;
+
+            for (int d = 0; d < 9; d++) {
+                int row = 9 * cell + d;
+                int[] columns = {
+                    1 + cell,
+                    1 + 81 + 9 * r + d,
+                    1 + 162 + 9 * c + d,
+                    1 + 243 + 9 * b + d
+                };
+
+                rowStart[row] = next;
+
+                for (int k = 0; k < 4; k++) {
+                    int node = next + k;
+                    int col = columns[k];
+
+                    // Append to the bottom of the column
+                    column[node] = col;
+                    rowOf[node] = row;
+                    up[node] = up[col];
+                    down[node] = col;
+                    down[up[col]] = node;
+                    up[col] = node;
+                    size[col]++;
+
+                    // Link into the circular row
+                    left[node] = next + (k + 3) % 4;
+                    right[node] = next + (k + 1) % 4;
+                }
+
+                next += 4;
+            }
+        }
+    }
+}
@@ -17,20 +17,86 @@ package com.github.mangara.puzzles.solvers.sudoku;
 
 import com.github.mangara.puzzles.data.Pair;
 import com.github.mangara.puzzles.data.sudoku.Sudoku;
+import com.github.mangara.puzzles.data.sudoku.SudokuDifficulty;
 import com.github.mangara.puzzles.data.sudoku.SudokuSolutionState;
-import com.github.mangara.puzzles.solvers.sudoku.strategy.*;
+import com.github.mangara.puzzles.solvers.Metrics;
+import com.github.mangara.puzzles.solvers.SolveContext;
+import com.github.mangara.puzzles.solvers.SolverMetrics;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Solves Sudoku by repeatedly applying the first strategy that finds a step.
+ * <p>
+ * Each solver keeps a {@link StrategyStats} per strategy. In
+ * {@link Ordering#ADAPTIVE} mode, {@link #run(SolvingSudoku)} tries the
+ * strategies that eliminated the most candidates per microsecond so far first.
+ * This reaches the same solution faster, but the steps differ, so grading
+ * always uses the configured order.
+ * <p>
+ * The static methods use a shared canonical solver. Its strategies can be set
+ * with the system property {@value #STRATEGIES_PROPERTY}, a comma-separated
+ * list of {@link StrategyRegistry} names, as given by
+ * {@link StrategyStats#getKey()}.
+ */
 public class LogicalSolver {
 
-    private static List<SolveStrategy> strategies = Arrays.asList(
-            new OnlyInRegion(), new NakedSingle(),
-            new NakedPair(), new HiddenPair(),
-            new AllSeen()
-    );
+    public static final String STRATEGIES_PROPERTY = "puzzles.sudoku.strategies";
+
+    public enum Ordering {
+        CANONICAL, ADAPTIVE;
+    }
+
+    private static final LogicalSolver DEFAULT = new StrategyRegistry().createSolver(
+            System.getProperty(STRATEGIES_PROPERTY, StrategyRegistry.CANONICAL),
+            Ordering.CANONICAL);
+
+    private final List<SolveStrategy> strategies;
+    private final List<StrategyStats> stats;
+    private final Ordering ordering;
+
+    /**
+     * Creates a solver with the given strategies. The statistics of each
+     * strategy are keyed by its fully qualified class name; use
+     * {@link StrategyRegistry#createSolver(String, Ordering)} to key them by
+     * registry name instead.
+     *
+     * @param strategies
+     * @param ordering
+     */
+    public LogicalSolver(List<SolveStrategy> strategies, Ordering ordering) {
+        this(classNames(strategies), strategies, ordering);
+    }
+
+    LogicalSolver(List<String> keys, List<SolveStrategy> strategies, Ordering ordering) {
+        if (strategies.isEmpty()) {
+            throw new IllegalArgumentException("A solver needs at least one strategy");
+        }
+
+        this.strategies = new ArrayList<>(strategies);
+        this.stats = new ArrayList<>();
+        this.ordering = ordering;
+
+        for (int i = 0; i < strategies.size(); i++) {
+            stats.add(new StrategyStats(keys.get(i), strategies.get(i).getName()));
+        }
+    }
+
+    private static List<String> classNames(List<SolveStrategy> strategies) {
+        List<String> names = new ArrayList<>();
+
+        for (SolveStrategy strategy : strategies) {
+            names.add(strategy.getClass().getName());
+        }
+
+        return names;
+    }
+
+    public static LogicalSolver getDefault() {
+        return DEFAULT;
+    }
 
     public static Pair<SolvingSudoku, List<SolveStep>> solve(Sudoku sudoku) {
         return solve(new SolvingSudoku(sudoku));
@@ -41,25 +107,183 @@ public class LogicalSolver {
     }
 
     public static Pair<SolvingSudoku, List<SolveStep>> solve(SolvingSudoku sudoku) {
+        return DEFAULT.run(sudoku);
+    }
+
+    public static Pair<SolvingSudoku, List<SolveStep>> solve(SolvingSudoku sudoku, SolveContext context) {
+        return DEFAULT.run(sudoku, context);
+    }
+
+    public static SudokuDifficulty rate(Sudoku sudoku) {
+        return rate(new SolvingSudoku(sudoku));
+    }
+
+    /**
+     * Solves the given Sudoku in place and rates it by the hardest strategy
+     * that was needed.
+     *
+     * @param sudoku
+     * @return the difficulty of the hardest strategy used, or
+     * {@link SudokuDifficulty#UNSOLVED} if the solver got stuck
+     */
+    public static SudokuDifficulty rate(SolvingSudoku sudoku) {
+        return DEFAULT.grade(sudoku);
+    }
+
+    public List<SolveStrategy> getStrategies() {
+        return Collections.unmodifiableList(strategies);
+    }
+
+    public Ordering getOrdering() {
+        return ordering;
+    }
+
+    /**
+     * The statistics of each strategy, in the configured order.
+     *
+     * @return
+     */
+    public List<StrategyStats> getStatistics() {
+        return Collections.unmodifiableList(stats);
+    }
+
+    public void resetStatistics() {
+        for (StrategyStats s : stats) {
+            s.reset();
+        }
+    }
+
+    /**
+     * Applies steps to the given Sudoku in place until no strategy makes
+     * progress.
+     *
+     * @param sudoku
+     * @return the sudoku and the steps that were applied
+     */
+    public Pair<SolvingSudoku, List<SolveStep>> run(SolvingSudoku sudoku) {
+        return run(sudoku, SolveContext.UNBOUNDED);
+    }
+
+    /**
+     * Applies steps to the given Sudoku in place until no strategy makes
+     * progress or the context says to stop. The context is checked before
+     * each pass over the strategies.
+     *
+     * @param sudoku
+     * @param context
+     * @return the sudoku and the steps that were applied
+     */
+    public Pair<SolvingSudoku, List<SolveStep>> run(SolvingSudoku sudoku, SolveContext context) {
+        SolverMetrics metrics = Metrics.current();
+        long start = System.nanoTime();
         List<SolveStep> steps = new ArrayList<>();
+        List<Integer> order = strategyOrder(ordering);
+
+        while (!context.check() && applyNextStep(sudoku, order, steps, metrics) != null) {
+            // Keep going
+        }
 
-        boolean progress;
-        do {
-            progress = false;
+        metrics.solved(System.nanoTime() - start);
+        return new Pair<>(sudoku, steps);
+    }
+
+    /**
+     * Solves the given Sudoku in place, trying the strategies in the
+     * configured order, and rates it by the hardest strategy that was needed.
+     *
+     * @param sudoku
+     * @return the difficulty of the hardest strategy used, or
+     * {@link SudokuDifficulty#UNSOLVED} if the solver got stuck
+     */
+    public SudokuDifficulty grade(SolvingSudoku sudoku) {
+        SolverMetrics metrics = Metrics.current();
+        long start = System.nanoTime();
+        SudokuDifficulty difficulty = grade(sudoku, metrics);
+        metrics.solved(System.nanoTime() - start);
+        return difficulty;
+    }
+
+    /**
+     * Grades the given Sudoku as {@link #grade(SolvingSudoku)}, but leaves
+     * recording the solve to the caller.
+     *
+     * @param sudoku
+     * @param metrics
+     * @return the difficulty of the hardest strategy used, or
+     * {@link SudokuDifficulty#UNSOLVED} if the solver got stuck
+     */
+    SudokuDifficulty grade(SolvingSudoku sudoku, SolverMetrics metrics) {
+        SudokuDifficulty hardest = SudokuDifficulty.EASY;
+        List<Integer> order = strategyOrder(Ordering.CANONICAL);
+
+        for (SolveStrategy strategy = applyNextStep(sudoku, order, null, metrics); strategy != null; strategy = applyNextStep(sudoku, order, null, metrics)) {
+            if (strategy.getDifficulty().compareTo(hardest) > 0) {
+                hardest = strategy.getDifficulty();
+            }
+        }
+
+        return sudoku.isSolved() ? hardest : SudokuDifficulty.UNSOLVED;
+    }
 
-            for (SolveStrategy strategy : strategies) {
-                Optional<SolveStep> maybeStep = strategy.findStep(sudoku);
+    private List<Integer> strategyOrder(Ordering ordering) {
+        List<Integer> order = new ArrayList<>();
 
-                if (maybeStep.isPresent()) {
-                    SolveStep step = maybeStep.get();
-                    step.apply(sudoku);
+        for (int i = 0; i < strategies.size(); i++) {
+            order.add(i);
+        }
+
+        if (ordering == Ordering.ADAPTIVE) {
+            double[] rate = new double[order.size()];
+
+            for (int i = 0; i < rate.length; i++) {
+                rate[i] = stats.get(i).getEliminationsPerMicrosecond();
+            }
+
+            // Stable, so strategies that were never tried keep their relative order
+            order.sort((a, b) -> Double.compare(rate[b], rate[a]));
+        }
+
+        return order;
+    }
+
+    /**
+     * Finds and applies a step of the first strategy that makes progress.
+     *
+     * @param sudoku
+     * @param order the indices of the strategies, in the order to try them
+     * @param steps if not null, the step is added to this list
+     * @param metrics
+     * @return the strategy that was applied, or null if none made progress
+     */
+    private SolveStrategy applyNextStep(SolvingSudoku sudoku, List<Integer> order, List<SolveStep> steps, SolverMetrics metrics) {
+        metrics.propagationPass();
+
+        for (int i : order) {
+            SolveStrategy strategy = strategies.get(i);
+
+            long start = System.nanoTime();
+            Optional<SolveStep> maybeStep = strategy.findStep(sudoku);
+
+            if (maybeStep.isPresent()) {
+                SolveStep step = maybeStep.get();
+                int before = sudoku.getCandidateCount();
+                step.apply(sudoku);
+                long elapsed = System.nanoTime() - start;
+                stats.get(i).record(elapsed, true, before - sudoku.getCandidateCount());
+                metrics.strategyAttempted(true, elapsed);
+
+                if (steps != null) {
                     steps.add(step);
-                    progress = true;
-                    break;
                 }
+
+                return strategy;
             }
-        } while (progress);
 
-        return new Pair<>(sudoku, steps);
+            long elapsed = System.nanoTime() - start;
+            stats.get(i).record(elapsed, false, 0);
+            metrics.strategyAttempted(false, elapsed);
+        }
+
+        return null;
     }
 }
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.sudoku;
+
+import com.github.mangara.puzzles.data.sudoku.Sudoku;
+import com.github.mangara.puzzles.solvers.Metrics;
+import com.github.mangara.puzzles.solvers.SolveContext;
+import com.github.mangara.puzzles.solvers.SolveResult;
+import com.github.mangara.puzzles.solvers.SolverMetrics;
+import com.github.mangara.puzzles.solvers.sudoku.BitmaskSolver.State;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts Sudoku solutions on multiple threads. The search tree of
+ * {@link BitmaskSolver} is split into fork-join tasks for the first few
+ * branching levels; below that each task searches sequentially. All tasks
+ * share one solution counter and stop as soon as the limit is reached.
+ * <p>
+ * The result is the same as {@link BitmaskSolver#countSolutions(Sudoku, int)}.
+ * This is only worth it for sparse grids with many solutions or large
+ * search trees; near-complete grids are faster to count sequentially.
+ * <p>
+ * The tasks report to the {@link Metrics#current() metrics} of the thread
+ * that called {@link #countSolutions(int[][], int)}.
+ */
+public class ParallelSolutionCounter {
+
+    public static final int DEFAULT_SPLIT_DEPTH = 3;
+
+    private final ForkJoinPool pool;
+    private final int splitDepth;
+
+    public ParallelSolutionCounter() {
+        this(ForkJoinPool.commonPool(), DEFAULT_SPLIT_DEPTH);
+    }
+
+    /**
+     * @param pool the pool to run the tasks in
+     * @param splitDepth the number of branching levels that are split into
+     * separate tasks
+     */
+    public ParallelSolutionCounter(ForkJoinPool pool, int splitDepth) {
+        if (splitDepth < 0) {
+            throw new IllegalArgumentException("The split depth must be non-negative");
+        }
+
+        this.pool = pool;
+        this.splitDepth = splitDepth;
+    }
+
+    public static int countSolutionsInParallel(Sudoku puzzle, int limit) {
+        return new ParallelSolutionCounter().countSolutions(puzzle, limit);
+    }
+
+    /**
+     * Counts the solutions of the given puzzle, stopping once {@code limit}
+     * solutions have been found.
+     *
+     * @param puzzle
+     * @param limit
+     * @return the number of solutions, capped at limit
+     */
+    public int countSolutions(Sudoku puzzle, int limit) {
+        return countSolutions(puzzle.getGivenDigits(), limit);
+    }
+
+    public int countSolutions(int[][] digits, int limit) {
+        return countSolutions(digits, limit, SolveContext.UNBOUNDED);
+    }
+
+    /**
+     * Finds out whether the given puzzle has zero, one or more solutions,
+     * unless the context stops the search first. All tasks share the context.
+     *
+     * @param puzzle
+     * @param context
+     * @return
+     */
+    public SolveResult solve(Sudoku puzzle, SolveContext context) {
+        int count = countSolutions(puzzle.getGivenDigits(), 2, context);
+        return SolveResult.ofCount(count, context.isStopped());
+    }
+
+    /**
+     * Counts solutions as {@link #countSolutions(int[][], int)}, but stops
+     * early if the context says so. The count is then a lower bound.
+     *
+     * @param digits
+     * @param limit
+     * @param context
+     * @return the number of solutions found, capped at limit
+     */
+    public int countSolutions(int[][] digits, int limit, SolveContext context) {
+        State state = State.fromDigits(digits);
+
+        if (state == null || limit <= 0) {
+            return 0;
+        }
+
+        SolverMetrics metrics = Metrics.current();
+        long start = System.nanoTime();
+
+        AtomicInteger counter = new AtomicInteger();
+        pool.invoke(new CountTask(state, 0, counter, limit, context, metrics));
+        metrics.solved(System.nanoTime() - start);
+
+        // Workers that found a solution at the same time may overshoot
+        return Math.min(counter.get(), limit);
+    }
+
+    @SuppressWarnings("serial")
+    private class CountTask extends RecursiveAction {
+
+        private final State state;
+        private final int depth;
+        private final AtomicInteger counter;
+        private final int limit;
+        private final SolveContext context;
+        private final SolverMetrics metrics;
+
+        CountTask(State state, int depth, AtomicInteger counter, int limit, SolveContext context, SolverMetrics metrics) {
+            this.state = state;
+            this.depth = depth;
+            this.counter = counter;
+            this.limit = limit;
+            this.context = context;
+            this.metrics = metrics;
+        }
+
+        @Override
+        protected void compute() {
+            if (depth >= splitDepth) {
+                count(state);
+                return;
+            }
+
+            if (counter.get() >= limit || context.checkpoint()) {
+                return;
+            }
+
+            metrics.searchNode();
+
+            if (!state.propagate()) {
+                metrics.backtrack();
+                return;
+            }
+
+            int cell = state.pickCell();
+
+            if (cell < 0) {
+                counter.incrementAndGet();
+                return;
+            }
+
+            List<CountTask> subtasks = new ArrayList<>();
+            int options = state.candidates(cell);
+
+            while (options != 0) {
+                int bit = options & -options;
+                options ^= bit;
+
+                State next = new State(state);
+                next.placeBit(cell, bit);
+                subtasks.add(new CountTask(next, depth + 1, counter, limit, context, metrics));
+            }
+
+            invokeAll(subtasks);
+        }
+
+        private void count(State state) {
+            if (context.checkpoint()) {
+                return;
+            }
+
+            metrics.searchNode();
+
+            if (!state.propagate()) {
+                metrics.backtrack();
+                return;
+            }
+
+            int cell = state.pickCell();
+
+            if (cell < 0) {
+                counter.incrementAndGet();
+                return;
+            }
+
+            int options = state.candidates(cell);
+
+            while (options != 0 && counter.get() < limit && !context.isStopped()) {
+                int bit = options & -options;
+                options ^= bit;
+
+                State next = new State(state);
+                next.placeBit(cell, bit);
+                count(next);
+            }
+        }
+    }
+}
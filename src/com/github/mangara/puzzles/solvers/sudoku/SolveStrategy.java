@@ -15,8 +15,14 @@
  */
 package com.github.mangara.puzzles.solvers.sudoku;
 
+import com.github.mangara.puzzles.data.sudoku.SudokuDifficulty;
 import java.util.Optional;
 
 public interface SolveStrategy {
     public abstract Optional<SolveStep> findStep(SolvingSudoku sudoku);
+    public abstract SudokuDifficulty getDifficulty();
+
+    public default String getName() {
+        return getClass().getSimpleName();
+    }
 }
@@ -18,6 +18,7 @@ package com.github.mangara.puzzles.solvers.sudoku;
 import com.github.mangara.puzzles.data.sudoku.Cell;
 import com.github.mangara.puzzles.data.sudoku.Sudoku;
 import com.github.mangara.puzzles.data.sudoku.SudokuSolutionState;
+import com.github.mangara.puzzles.solvers.Metrics;
 import static com.github.mangara.puzzles.data.sudoku.SudokuSolutionState.BLANK;
 import java.util.Arrays;
 import java.util.Collection;
@@ -29,12 +30,24 @@ public class SolvingSudoku {
 
     public final SudokuSolutionState[][] state;
 
+    // Bit c of rowPositions[d - 1][r] is set iff (r, c) is blank and can be d,
+    // and likewise bit r of colPositions[d - 1][c]. These are kept up to date
+    // by the methods below, so the state should only be changed through them.
+    private final int[][] rowPositions = new int[9][9];
+    private final int[][] colPositions = new int[9][9];
+
+    // Incremented whenever the positions of a digit change
+    private final int[] positionVersions = new int[9];
+    private StrongLinkGraph strongLinks; // Created when first needed
+
     public SolvingSudoku() {
         state = initState();
+        initPositions();
     }
 
     public SolvingSudoku(int[][] givenDigits) {
         state = initState();
+        initPositions();
 
         for (int row = 0; row < 9; row++) {
             for (int col = 0; col < 9; col++) {
@@ -52,10 +65,16 @@ public class SolvingSudoku {
 
     public SolvingSudoku(SolvingSudoku sudoku) {
         this.state = copyState(sudoku.state);
+
+        for (int d = 0; d < 9; d++) {
+            System.arraycopy(sudoku.rowPositions[d], 0, rowPositions[d], 0, 9);
+            System.arraycopy(sudoku.colPositions[d], 0, colPositions[d], 0, 9);
+        }
     }
 
     public SolvingSudoku(SudokuSolutionState[][] state) {
         this.state = copyState(state);
+        initPositions();
     }
 
     public int[][] getGivenDigits() {
@@ -90,6 +109,18 @@ public class SolvingSudoku {
         return digits;
     }
     
+    public boolean isSolved() {
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                if (state[row][col].digit == BLANK) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
     public SudokuSolutionState getState(Cell cell) {
         return state[cell.row][cell.col];
     }
@@ -101,14 +132,20 @@ public class SolvingSudoku {
     public void placeDigit(int row, int col, int digit) {
         state[row][col].setDigit(digit);
 
+        for (int d = 1; d <= 9; d++) {
+            updatePositions(row, col, d);
+        }
+
         // Eliminate digit from row
         for (int c = 0; c < 9; c++) {
             state[row][c].removePossible(digit);
+            updatePositions(row, c, digit);
         }
 
         // Eliminate from column
         for (int r = 0; r < 9; r++) {
             state[r][col].removePossible(digit);
+            updatePositions(r, col, digit);
         }
 
         // Eliminate from box
@@ -118,17 +155,117 @@ public class SolvingSudoku {
         for (int r = 0; r < 3; r++) {
             for (int c = 0; c < 3; c++) {
                 state[boxRow + r][boxCol + c].removePossible(digit);
+                updatePositions(boxRow + r, boxCol + c, digit);
             }
         }
     }
 
     public void removePossible(Cell cell, int digit) {
         state[cell.row][cell.col].removePossible(digit);
+        updatePositions(cell.row, cell.col, digit);
     }
 
     public void removeDigit(int row, int col) {
         state[row][col].digit = BLANK;
         // TODO: update possible of (row, col) and all other affected places
+
+        for (int d = 1; d <= 9; d++) {
+            updatePositions(row, col, d);
+        }
+    }
+
+    /**
+     * The columns of the blank cells in the given row that can contain the
+     * given digit, as a bit mask.
+     *
+     * @param digit
+     * @param row
+     * @return
+     */
+    public int getRowPositions(int digit, int row) {
+        return rowPositions[digit - 1][row];
+    }
+
+    /**
+     * The rows of the blank cells in the given column that can contain the
+     * given digit, as a bit mask.
+     *
+     * @param digit
+     * @param col
+     * @return
+     */
+    public int getColumnPositions(int digit, int col) {
+        return colPositions[digit - 1][col];
+    }
+
+    /**
+     * The total number of candidates over all blank cells.
+     *
+     * @return
+     */
+    public int getCandidateCount() {
+        int count = 0;
+
+        for (int d = 0; d < 9; d++) {
+            for (int row = 0; row < 9; row++) {
+                count += Integer.bitCount(rowPositions[d][row]);
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * A number that changes whenever the positions of the given digit change.
+     *
+     * @param digit
+     * @return
+     */
+    public int getPositionVersion(int digit) {
+        return positionVersions[digit - 1];
+    }
+
+    /**
+     * The strong links of each digit. The graph is brought up to date for the
+     * digits whose positions changed since the last call. Each digit counts as
+     * a cache lookup in the {@link Metrics}.
+     *
+     * @return
+     */
+    public StrongLinkGraph getStrongLinks() {
+        if (strongLinks == null) {
+            strongLinks = new StrongLinkGraph();
+        }
+
+        strongLinks.update(this, Metrics.current());
+        return strongLinks;
+    }
+
+    private void updatePositions(int row, int col, int digit) {
+        SudokuSolutionState cell = state[row][col];
+        int before = rowPositions[digit - 1][row];
+
+        if (cell.digit == BLANK && cell.isPossible(digit)) {
+            rowPositions[digit - 1][row] |= 1 << col;
+            colPositions[digit - 1][col] |= 1 << row;
+        } else {
+            rowPositions[digit - 1][row] &= ~(1 << col);
+            colPositions[digit - 1][col] &= ~(1 << row);
+        }
+
+        if (rowPositions[digit - 1][row] != before) {
+            positionVersions[digit - 1]++;
+        }
+    }
+
+    private void initPositions() {
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                for (int d = 1; d <= 9; d++) {
+                    updatePositions(row, col, d);
+                }
+            }
+        }
     }
 
     /**
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.sudoku;
+
+import com.github.mangara.puzzles.solvers.sudoku.strategy.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Creates strategies by name, so the strategies of a {@link LogicalSolver} can
+ * be configured with a string like {@code "OnlyInRegion, NakedSingle, XWing"}. Names
+ * that are not registered are loaded as the fully qualified name of a
+ * {@link SolveStrategy} class with a public no-argument constructor. A solver
+ * created by {@link #createSolver(String, LogicalSolver.Ordering)} reports the
+ * name each strategy was created with as its {@link StrategyStats#getKey() key}.
+ */
+public class StrategyRegistry {
+
+    /**
+     * All built-in strategies, from easiest to hardest.
+     */
+    public static final String CANONICAL = "OnlyInRegion, NakedSingle, "
+            + "NakedPair, HiddenPair, PointingClaiming, "
+            + "NakedTriple, HiddenTriple, NakedQuad, HiddenQuad, "
+            + "XWing, Swordfish, Jellyfish, "
+            + "XYWing, XYZWing, SimpleColoring, XChain";
+
+    private final Map<String, Supplier<SolveStrategy>> factories = new LinkedHashMap<>();
+
+    /**
+     * Creates a registry with all built-in strategies.
+     */
+    public StrategyRegistry() {
+        register("OnlyInRegion", OnlyInRegion::new);
+        register("NakedSingle", NakedSingle::new);
+        register("NakedPair", () -> new NakedSubset(2));
+        register("HiddenPair", () -> new HiddenSubset(2));
+        register("PointingClaiming", AllSeen::new);
+        register("NakedTriple", () -> new NakedSubset(3));
+        register("HiddenTriple", () -> new HiddenSubset(3));
+        register("NakedQuad", () -> new NakedSubset(4));
+        register("HiddenQuad", () -> new HiddenSubset(4));
+        register("XWing", () -> new Fish(2));
+        register("Swordfish", () -> new Fish(3));
+        register("Jellyfish", () -> new Fish(4));
+        register("XYWing", () -> new XYWing(false));
+        register("XYZWing", () -> new XYWing(true));
+        register("SimpleColoring", SimpleColoring::new);
+        register("XChain", XChain::new);
+    }
+
+    public void register(String name, Supplier<SolveStrategy> factory) {
+        factories.put(name, factory);
+    }
+
+    public Set<String> getNames() {
+        return Collections.unmodifiableSet(factories.keySet());
+    }
+
+    public SolveStrategy create(String name) {
+        Supplier<SolveStrategy> factory = factories.get(name);
+
+        if (factory != null) {
+            return factory.get();
+        }
+
+        try {
+            return Class.forName(name).asSubclass(SolveStrategy.class).getConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException ex) {
+            throw new IllegalArgumentException("Unknown strategy: " + name, ex);
+        }
+    }
+
+    /**
+     * Creates the strategies in a comma-separated list of names.
+     *
+     * @param names
+     * @return
+     */
+    public List<SolveStrategy> createAll(String names) {
+        List<SolveStrategy> strategies = new ArrayList<>();
+
+        for (String name : splitNames(names)) {
+            strategies.add(create(name));
+        }
+
+        return strategies;
+    }
+
+    /**
+     * Creates a solver with the strategies in a comma-separated list of names.
+     * The statistics of each strategy are keyed by the name it was created
+     * with.
+     *
+     * @param names
+     * @param ordering
+     * @return
+     */
+    public LogicalSolver createSolver(String names, LogicalSolver.Ordering ordering) {
+        List<String> keys = splitNames(names);
+        List<SolveStrategy> strategies = new ArrayList<>();
+
+        for (String key : keys) {
+            strategies.add(create(key));
+        }
+
+        return new LogicalSolver(keys, strategies, ordering);
+    }
+
+    private static List<String> splitNames(String names) {
+        List<String> result = new ArrayList<>();
+
+        for (String name : names.split(",")) {
+            if (!name.isBlank()) {
+                result.add(name.trim());
+            }
+        }
+
+        if (result.isEmpty()) {
+            throw new IllegalArgumentException("No strategies given");
+        }
+
+        return result;
+    }
+}
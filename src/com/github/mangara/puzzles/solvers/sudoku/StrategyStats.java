@@ -0,0 +1,106 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.sudoku;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running totals for one strategy of a {@link LogicalSolver}: how often it was
+ * tried, how often it found a step, how long that took, and how many
+ * candidates its steps eliminated. Safe to update from multiple threads.
+ */
+public class StrategyStats {
+
+    private final String key;
+    private final String name;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private final LongAdder eliminations = new LongAdder();
+
+    public StrategyStats(String key, String name) {
+        this.key = key;
+        this.name = name;
+    }
+
+    void record(long elapsedNanos, boolean success, int eliminated) {
+        calls.increment();
+        nanos.add(elapsedNanos);
+
+        if (success) {
+            successes.increment();
+            eliminations.add(eliminated);
+        }
+    }
+
+    /**
+     * The name the strategy was created with in a {@link StrategyRegistry}, or
+     * its fully qualified class name if it was given to the solver directly.
+     *
+     * @return
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    public long getSuccesses() {
+        return successes.sum();
+    }
+
+    public long getNanos() {
+        return nanos.sum();
+    }
+
+    public long getEliminations() {
+        return eliminations.sum();
+    }
+
+    public double getSuccessRate() {
+        long n = getCalls();
+        return n == 0 ? 0 : getSuccesses() / (double) n;
+    }
+
+    /**
+     * The number of candidates eliminated per microsecond spent in this
+     * strategy, or positive infinity if it has not been timed yet.
+     *
+     * @return
+     */
+    public double getEliminationsPerMicrosecond() {
+        long time = getNanos();
+        return time == 0 ? Double.POSITIVE_INFINITY : 1000.0 * getEliminations() / time;
+    }
+
+    public void reset() {
+        calls.reset();
+        successes.reset();
+        nanos.reset();
+        eliminations.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d calls, %.1f%% successful, %d eliminations in %.3f ms", name, getCalls(), 100 * getSuccessRate(), getEliminations(), getNanos() / 1e6);
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.sudoku;
+
+import com.github.mangara.puzzles.data.sudoku.Cell;
+import com.github.mangara.puzzles.solvers.SolverMetrics;
+import java.util.Arrays;
+
+/**
+ * For each digit, the strong links between cells: two cells are strongly
+ * linked if they are the only two places for the digit in some row, column or
+ * box, so one of them must be that digit. Each cell has at most three strong
+ * links per digit.
+ * <p>
+ * Cells are numbered 0..80 in row-major order. The links of a digit are only
+ * recomputed, from the position masks of {@link SolvingSudoku}, when those
+ * positions changed since the last update.
+ */
+public class StrongLinkGraph {
+
+    private final int[][] linkCount = new int[9][81];
+    private final int[][][] links = new int[9][81][3];
+    private final int[] builtVersion = new int[9];
+
+    StrongLinkGraph() {
+        Arrays.fill(builtVersion, -1);
+    }
+
+    void update(SolvingSudoku sudoku, SolverMetrics metrics) {
+        for (int digit = 1; digit <= 9; digit++) {
+            int version = sudoku.getPositionVersion(digit);
+            boolean current = builtVersion[digit - 1] == version;
+
+            metrics.cacheLookup(current);
+
+            if (!current) {
+                build(sudoku, digit);
+                builtVersion[digit - 1] = version;
+            }
+        }
+    }
+
+    /**
+     * The number of cells strongly linked to the given cell for this digit.
+     *
+     * @param digit
+     * @param cell
+     * @return
+     */
+    public int getLinkCount(int digit, int cell) {
+        return linkCount[digit - 1][cell];
+    }
+
+    /**
+     * The i-th cell strongly linked to the given cell for this digit.
+     *
+     * @param digit
+     * @param cell
+     * @param i
+     * @return
+     */
+    public int getLink(int digit, int cell, int i) {
+        return links[digit - 1][cell][i];
+    }
+
+    public static int index(Cell cell) {
+        return 9 * cell.row + cell.col;
+    }
+
+    public static Cell cell(int index) {
+        return new Cell(index / 9, index % 9);
+    }
+
+    /**
+     * Whether the two cells share a row, column or box.
+     *
+     * @param a
+     * @param b
+     * @return
+     */
+    public static boolean sees(int a, int b) {
+        int rowA = a / 9, colA = a % 9;
+        int rowB = b / 9, colB = b % 9;
+
+        return rowA == rowB || colA == colB
+                || (rowA / 3 == rowB / 3 && colA / 3 == colB / 3);
+    }
+
+    private void build(SolvingSudoku sudoku, int digit) {
+        int[] count = linkCount[digit - 1];
+        Arrays.fill(count, 0);
+
+        for (int i = 0; i < 9; i++) {
+            int rowPositions = sudoku.getRowPositions(digit, i);
+
+            if (Integer.bitCount(rowPositions) == 2) {
+                addLink(digit, 9 * i + lowest(rowPositions), 9 * i + highest(rowPositions));
+            }
+
+            int colPositions = sudoku.getColumnPositions(digit, i);
+
+            if (Integer.bitCount(colPositions) == 2) {
+                addLink(digit, 9 * lowest(colPositions) + i, 9 * highest(colPositions) + i);
+            }
+
+            // Bit 3 * r + c is set for the cell in row r and column c of the box
+            int boxRow = 3 * (i / 3);
+            int boxCol = 3 * (i % 3);
+            int boxPositions = 0;
+
+            for (int r = 0; r < 3; r++) {
+                boxPositions |= ((sudoku.getRowPositions(digit, boxRow + r) >> boxCol) & 7) << (3 * r);
+            }
+
+            if (Integer.bitCount(boxPositions) == 2) {
+                int first = lowest(boxPositions);
+                int second = highest(boxPositions);
+
+                addLink(digit, 9 * (boxRow + first / 3) + boxCol + first % 3, 9 * (boxRow + second / 3) + boxCol + second % 3);
+            }
+        }
+    }
+
+    private void addLink(int digit, int a, int b) {
+        int[] count = linkCount[digit - 1];
+        int[][] cellLinks = links[digit - 1];
+
+        // Two cells in the same row and box are only linked once
+        for (int i = 0; i < count[a]; i++) {
+            if (cellLinks[a][i] == b) {
+                return;
+            }
+        }
+
+        cellLinks[a][count[a]++] = b;
+        cellLinks[b][count[b]++] = a;
+    }
+
+    private static int lowest(int mask) {
+        return Integer.numberOfTrailingZeros(mask);
+    }
+
+    private static int highest(int mask) {
+        return 31 - Integer.numberOfLeadingZeros(mask);
+    }
+}
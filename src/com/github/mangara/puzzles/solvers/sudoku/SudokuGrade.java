@@ -0,0 +1,105 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.sudoku;
+
+import com.github.mangara.puzzles.data.sudoku.Sudoku;
+import com.github.mangara.puzzles.data.sudoku.SudokuDifficulty;
+import java.util.List;
+
+/**
+ * The result of {@link SudokuGrader#grade(Sudoku)}: whether the givens are
+ * valid, how many solutions there are, and how hard the puzzle is to solve
+ * logically. The logical solve steps are only computed when first requested.
+ */
+public class SudokuGrade {
+
+    private final Sudoku puzzle;
+    private final boolean valid;
+    private final int givenCount;
+    private final int solutionCount;
+    private final int[][] solution;
+    private final SudokuDifficulty difficulty;
+    private List<SolveStep> steps; // Computed when first needed
+
+    SudokuGrade(Sudoku puzzle, boolean valid, int givenCount, int solutionCount, int[][] solution, SudokuDifficulty difficulty) {
+        this.puzzle = puzzle;
+        this.valid = valid;
+        this.givenCount = givenCount;
+        this.solutionCount = solutionCount;
+        this.solution = solution;
+        this.difficulty = difficulty;
+    }
+
+    /**
+     * Whether the given digits satisfy the rules of Sudoku, as
+     * {@link com.github.mangara.puzzles.checkers.sudoku.SudokuChecker#isValidPuzzle(Sudoku)}.
+     *
+     * @return
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    public int getGivenCount() {
+        return givenCount;
+    }
+
+    /**
+     * The number of solutions, capped at 2.
+     *
+     * @return
+     */
+    public int getSolutionCount() {
+        return solutionCount;
+    }
+
+    public boolean isUnique() {
+        return solutionCount == 1;
+    }
+
+    /**
+     * The solution, if it is unique.
+     *
+     * @return the digits of the solution, or null if there is none or more
+     * than one
+     */
+    public int[][] getSolution() {
+        return solution;
+    }
+
+    /**
+     * The difficulty, if the solution is unique.
+     *
+     * @return the difficulty, or null if there is no unique solution
+     */
+    public SudokuDifficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * The steps the logical solver takes, starting from the givens. These are
+     * computed on the first call.
+     *
+     * @return
+     */
+    public synchronized List<SolveStep> getSteps() {
+        if (steps == null) {
+            steps = LogicalSolver.solve(puzzle).getSecond();
+        }
+
+        return steps;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.sudoku;
+
+import com.github.mangara.puzzles.data.sudoku.Sudoku;
+import com.github.mangara.puzzles.data.sudoku.SudokuDifficulty;
+import com.github.mangara.puzzles.solvers.Metrics;
+import com.github.mangara.puzzles.solvers.SolverMetrics;
+import static com.github.mangara.puzzles.data.sudoku.SudokuSolutionState.BLANK;
+import com.github.mangara.puzzles.solvers.sudoku.BitmaskSolver.State;
+
+/**
+ * Validates a puzzle, checks that its solution is unique, and rates it, in one
+ * pass over a single {@link BitmaskSolver} state:
+ * <ol>
+ * <li>Placing the givens in the state detects conflicts.</li>
+ * <li>Placing all naked and hidden singles in that state either solves the
+ * puzzle, which makes it unique and {@link SudokuDifficulty#EASY}, or leaves
+ * the search tree for the uniqueness check.</li>
+ * <li>The logical solver starts from the digits placed by the singles, since
+ * it would place those first itself.</li>
+ * </ol>
+ */
+public class SudokuGrader {
+
+    /**
+     * Identifies the grading rules in cached grades. Increase it whenever a
+     * change can give a puzzle a different grade.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Grades the given puzzle. This records a single solve in the metrics.
+     *
+     * @param puzzle
+     * @return the grade
+     */
+    public static SudokuGrade grade(Sudoku puzzle) {
+        SolverMetrics metrics = Metrics.current();
+        long start = System.nanoTime();
+        SudokuGrade grade = grade(puzzle, metrics);
+        metrics.solved(System.nanoTime() - start);
+        return grade;
+    }
+
+    private static SudokuGrade grade(Sudoku puzzle, SolverMetrics metrics) {
+        int[][] digits = puzzle.getGivenDigits();
+        int givenCount = 0;
+
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                if (digits[row][col] != BLANK) {
+                    givenCount++;
+                }
+            }
+        }
+
+        State state = State.fromDigits(digits);
+
+        if (state == null) {
+            return new SudokuGrade(puzzle, false, givenCount, 0, null, null);
+        }
+
+        if (!state.propagate()) {
+            return new SudokuGrade(puzzle, true, givenCount, 0, null, null);
+        }
+
+        int[][] singles = new int[9][9];
+        state.copyDigitsTo(singles);
+
+        if (state.pickCell() < 0) {
+            return new SudokuGrade(puzzle, true, givenCount, 1, singles, SudokuDifficulty.EASY);
+        }
+
+        int[][] solution = new int[9][9];
+        int count = BitmaskSolver.countSolutions(state, 2, solution);
+
+        if (count != 1) {
+            return new SudokuGrade(puzzle, true, givenCount, count, null, null);
+        }
+
+        SudokuDifficulty difficulty = LogicalSolver.getDefault().grade(new SolvingSudoku(singles), metrics);
+        return new SudokuGrade(puzzle, true, givenCount, 1, solution, difficulty);
+    }
+}
@@ -16,6 +16,7 @@
 package com.github.mangara.puzzles.solvers.sudoku.strategy;
 
 import com.github.mangara.puzzles.data.sudoku.Cell;
+import com.github.mangara.puzzles.data.sudoku.SudokuDifficulty;
 import com.github.mangara.puzzles.data.sudoku.SudokuSolutionState;
 import static com.github.mangara.puzzles.data.sudoku.SudokuSolutionState.BLANK;
 import com.github.mangara.puzzles.solvers.sudoku.Region;
@@ -29,6 +30,11 @@ import java.util.Set;
 
 public class AllSeen implements SolveStrategy {
 
+    @Override
+    public SudokuDifficulty getDifficulty() {
+        return SudokuDifficulty.HARD;
+    }
+
     @Override
     public Optional<SolveStep> findStep(SolvingSudoku sudoku) {
         Optional<SolveStep> step;
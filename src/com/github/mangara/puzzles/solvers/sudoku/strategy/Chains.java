@@ -0,0 +1,72 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.sudoku.strategy;
+
+import com.github.mangara.puzzles.data.sudoku.Cell;
+import com.github.mangara.puzzles.solvers.sudoku.SolvingSudoku;
+import com.github.mangara.puzzles.solvers.sudoku.StrongLinkGraph;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helpers for wings and chains, with cells numbered 0..80 as in
+ * {@link StrongLinkGraph}.
+ */
+class Chains {
+
+    static boolean isCandidate(SolvingSudoku sudoku, int digit, int cell) {
+        return (sudoku.getRowPositions(digit, cell / 9) & (1 << (cell % 9))) != 0;
+    }
+
+    /**
+     * The blank cells that can contain the digit and see all given cells,
+     * excluding the given cells themselves, in row-major order.
+     */
+    static List<Cell> commonPeers(SolvingSudoku sudoku, int digit, int... cells) {
+        List<Cell> result = new ArrayList<>();
+
+        for (int i = 0; i < 81; i++) {
+            if (isCandidate(sudoku, digit, i) && seesAll(i, cells)) {
+                result.add(StrongLinkGraph.cell(i));
+            }
+        }
+
+        return result;
+    }
+
+    static List<Cell> cells(int... cells) {
+        List<Cell> result = new ArrayList<>(cells.length);
+
+        for (int cell : cells) {
+            result.add(StrongLinkGraph.cell(cell));
+        }
+
+        return result;
+    }
+
+    private static boolean seesAll(int cell, int[] cells) {
+        for (int other : cells) {
+            if (cell == other || !StrongLinkGraph.sees(cell, other)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private Chains() {
+    }
+}
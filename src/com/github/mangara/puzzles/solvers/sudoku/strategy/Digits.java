@@ -0,0 +1,73 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.sudoku.strategy;
+
+import com.github.mangara.puzzles.data.sudoku.Cell;
+import com.github.mangara.puzzles.solvers.sudoku.Region;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helpers for 9-bit masks, where bit i stands for digit i + 1 or for the i-th
+ * cell of a region.
+ */
+class Digits {
+
+    static String toString(int digitMask) {
+        StringBuilder sb = new StringBuilder();
+        int count = Integer.bitCount(digitMask);
+        int remaining = count;
+
+        for (int rest = digitMask; rest != 0; rest &= rest - 1) {
+            sb.append(Integer.numberOfTrailingZeros(rest) + 1);
+            remaining--;
+
+            if (remaining == 1) {
+                sb.append(count > 2 ? ", and " : " and ");
+            } else if (remaining > 1) {
+                sb.append(", ");
+            }
+        }
+
+        return sb.toString();
+    }
+
+    static List<Cell> cells(Region region, int cellMask) {
+        List<Cell> result = new ArrayList<>(Integer.bitCount(cellMask));
+
+        for (int rest = cellMask; rest != 0; rest &= rest - 1) {
+            result.add(region.cells.get(Integer.numberOfTrailingZeros(rest)));
+        }
+
+        return result;
+    }
+
+    static String subsetName(int size) {
+        switch (size) {
+            case 2:
+                return "pair";
+            case 3:
+                return "triple";
+            case 4:
+                return "quad";
+            default:
+                throw new IllegalArgumentException("Unsupported subset size: " + size);
+        }
+    }
+
+    private Digits() {
+    }
+}
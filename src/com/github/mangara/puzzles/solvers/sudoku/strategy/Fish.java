@@ -0,0 +1,206 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.sudoku.strategy;
+
+import com.github.mangara.puzzles.data.sudoku.Cell;
+import com.github.mangara.puzzles.data.sudoku.SudokuDifficulty;
+import com.github.mangara.puzzles.solvers.sudoku.SolveStep;
+import com.github.mangara.puzzles.solvers.sudoku.SolveStrategy;
+import com.github.mangara.puzzles.solvers.sudoku.SolvingSudoku;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Finds n rows in which a digit can only go in the same n columns, for n
+ * between 2 and 4 (X-Wing, Swordfish and Jellyfish). The digit must then be in
+ * those columns in these rows, so it can be eliminated from the rest of those
+ * columns. The same holds with rows and columns swapped. This works on the
+ * per-digit position masks of {@link SolvingSudoku}.
+ */
+public class Fish implements SolveStrategy {
+
+    private final int size;
+
+    public Fish(int size) {
+        if (size < 2 || size > 4) {
+            throw new IllegalArgumentException("Fish must have between 2 and 4 rows");
+        }
+
+        this.size = size;
+    }
+
+    @Override
+    public SudokuDifficulty getDifficulty() {
+        return size == 2 ? SudokuDifficulty.HARD : SudokuDifficulty.EXPERT;
+    }
+
+    @Override
+    public String getName() {
+        return fishName(size);
+    }
+
+    @Override
+    public Optional<SolveStep> findStep(SolvingSudoku sudoku) {
+        int[] rowPositions = new int[9];
+        int[] colPositions = new int[9];
+
+        for (int digit = 1; digit <= 9; digit++) {
+            for (int i = 0; i < 9; i++) {
+                rowPositions[i] = sudoku.getRowPositions(digit, i);
+                colPositions[i] = sudoku.getColumnPositions(digit, i);
+            }
+
+            Optional<SolveStep> step = findFish(digit, rowPositions, colPositions, true);
+            if (step.isPresent()) {
+                return step;
+            }
+
+            step = findFish(digit, colPositions, rowPositions, false);
+            if (step.isPresent()) {
+                return step;
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Looks for a fish with the given base lines. For rows, base[r] holds the
+     * columns in row r that can contain the digit and cover[c] the rows in
+     * column c; for columns it is the other way around.
+     */
+    private Optional<SolveStep> findFish(int digit, int[] base, int[] cover, boolean rows) {
+        int candidates = 0; // Lines where the digit can go in at most size places
+
+        for (int i = 0; i < 9; i++) {
+            int count = Integer.bitCount(base[i]);
+
+            if (count > 0 && count <= size) {
+                candidates |= 1 << i;
+            }
+        }
+
+        if (Integer.bitCount(candidates) < size) {
+            return Optional.empty();
+        }
+
+        for (int subset = candidates; subset != 0; subset = (subset - 1) & candidates) {
+            if (Integer.bitCount(subset) != size) {
+                continue;
+            }
+
+            int covered = 0;
+
+            for (int rest = subset; rest != 0; rest &= rest - 1) {
+                covered |= base[Integer.numberOfTrailingZeros(rest)];
+            }
+
+            if (Integer.bitCount(covered) != size) {
+                continue;
+            }
+
+            boolean useful = false;
+
+            for (int rest = covered; rest != 0 && !useful; rest &= rest - 1) {
+                useful = (cover[Integer.numberOfTrailingZeros(rest)] & ~subset) != 0;
+            }
+
+            if (useful) {
+                List<Cell> fish = new ArrayList<>();
+                List<Cell> targets = new ArrayList<>();
+
+                for (int rest = covered; rest != 0; rest &= rest - 1) {
+                    int line = Integer.numberOfTrailingZeros(rest);
+
+                    for (int others = cover[line]; others != 0; others &= others - 1) {
+                        int i = Integer.numberOfTrailingZeros(others);
+                        Cell cell = rows ? new Cell(i, line) : new Cell(line, i);
+
+                        if ((subset & (1 << i)) != 0) {
+                            fish.add(cell);
+                        } else {
+                            targets.add(cell);
+                        }
+                    }
+                }
+
+                return Optional.of(new Step(fish, targets, digit, subset, covered, rows));
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private static String fishName(int size) {
+        switch (size) {
+            case 2:
+                return "X-Wing";
+            case 3:
+                return "Swordfish";
+            case 4:
+                return "Jellyfish";
+            default:
+                throw new IllegalArgumentException("Unsupported fish size: " + size);
+        }
+    }
+
+    public class Step implements SolveStep {
+
+        private final List<Cell> fish;
+        private final List<Cell> targets;
+        private final int digit;
+        private final int baseLines;
+        private final int coverLines;
+        private final boolean rows;
+
+        public Step(List<Cell> fish, List<Cell> targets, int digit, int baseLines, int coverLines, boolean rows) {
+            this.fish = fish;
+            this.targets = targets;
+            this.digit = digit;
+            this.baseLines = baseLines;
+            this.coverLines = coverLines;
+            this.rows = rows;
+        }
+
+        @Override
+        public List<Cell> primaryCells() {
+            return fish;
+        }
+
+        @Override
+        public List<Cell> secondaryCells() {
+            return targets;
+        }
+
+        @Override
+        public String description() {
+            String base = rows ? "rows" : "columns";
+            String cover = rows ? "columns" : "rows";
+
+            return String.format("The %ds in %s %s form %s on %s %s, eliminating %d from %s.", digit, base, Digits.toString(baseLines), (size == 2 ? "an " : "a ") + fishName(size), cover, Digits.toString(coverLines), digit, Cell.toString(targets));
+        }
+
+        @Override
+        public void apply(SolvingSudoku sudoku) {
+            for (Cell target : targets) {
+                sudoku.removePossible(target, digit);
+            }
+        }
+
+    }
+
+}
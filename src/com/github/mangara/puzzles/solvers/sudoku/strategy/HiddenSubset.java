@@ -0,0 +1,181 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.sudoku.strategy;
+
+import com.github.mangara.puzzles.data.sudoku.Cell;
+import com.github.mangara.puzzles.data.sudoku.SudokuDifficulty;
+import com.github.mangara.puzzles.data.sudoku.SudokuSolutionState;
+import static com.github.mangara.puzzles.data.sudoku.SudokuSolutionState.BLANK;
+import com.github.mangara.puzzles.solvers.sudoku.Region;
+import com.github.mangara.puzzles.solvers.sudoku.SolveStep;
+import com.github.mangara.puzzles.solvers.sudoku.SolveStrategy;
+import com.github.mangara.puzzles.solvers.sudoku.SolvingSudoku;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Finds n digits that can only go in the same n cells of a region, for n
+ * between 2 and 4. All other digits can be eliminated from those cells. Cells
+ * and digits are handled as 9-bit masks.
+ */
+public class HiddenSubset implements SolveStrategy {
+
+    private static final int ALL_DIGITS = 0x1FF;
+
+    private final int size;
+
+    public HiddenSubset(int size) {
+        if (size < 2 || size > 4) {
+            throw new IllegalArgumentException("Subsets must have between 2 and 4 digits");
+        }
+
+        this.size = size;
+    }
+
+    @Override
+    public SudokuDifficulty getDifficulty() {
+        return size == 2 ? SudokuDifficulty.MEDIUM : SudokuDifficulty.HARD;
+    }
+
+    @Override
+    public String getName() {
+        return "Hidden " + Digits.subsetName(size);
+    }
+
+    @Override
+    public Optional<SolveStep> findStep(SolvingSudoku sudoku) {
+        Optional<SolveStep> step;
+
+        for (int i = 0; i < 9; i++) {
+            step = checkRegion(sudoku, Region.row(i));
+            if (step.isPresent()) {
+                return step;
+            }
+
+            step = checkRegion(sudoku, Region.col(i));
+            if (step.isPresent()) {
+                return step;
+            }
+
+            step = checkRegion(sudoku, Region.box(i));
+            if (step.isPresent()) {
+                return step;
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private Optional<SolveStep> checkRegion(SolvingSudoku sudoku, Region region) {
+        int[] options = new int[9];
+        int[] positions = new int[9]; // Bit i of positions[d - 1] is set if d can go in the i-th cell
+        int blankCount = 0;
+
+        for (int i = 0; i < 9; i++) {
+            SudokuSolutionState state = sudoku.getState(region.cells.get(i));
+
+            if (state.digit == BLANK) {
+                blankCount++;
+                options[i] = state.getPossibleMask();
+
+                for (int rest = options[i]; rest != 0; rest &= rest - 1) {
+                    positions[Integer.numberOfTrailingZeros(rest)] |= 1 << i;
+                }
+            }
+        }
+
+        if (blankCount <= size) {
+            return Optional.empty();
+        }
+
+        int few = 0; // Digits that fit in at most size cells
+
+        for (int d = 0; d < 9; d++) {
+            int count = Integer.bitCount(positions[d]);
+
+            if (count > 0 && count <= size) {
+                few |= 1 << d;
+            }
+        }
+
+        // Try every subset of these digits
+        for (int subset = few; subset != 0; subset = (subset - 1) & few) {
+            if (Integer.bitCount(subset) != size) {
+                continue;
+            }
+
+            int cells = 0;
+
+            for (int rest = subset; rest != 0; rest &= rest - 1) {
+                cells |= positions[Integer.numberOfTrailingZeros(rest)];
+            }
+
+            if (Integer.bitCount(cells) != size) {
+                continue;
+            }
+
+            for (int rest = cells; rest != 0; rest &= rest - 1) {
+                if ((options[Integer.numberOfTrailingZeros(rest)] & ~subset) != 0) { // This subset is useful!
+                    return Optional.of(new Step(Digits.cells(region, cells), region, subset));
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    public class Step implements SolveStep {
+
+        private final List<Cell> subset;
+        private final Region region;
+        private final int digits;
+
+        public Step(List<Cell> subset, Region region, int digits) {
+            this.subset = subset;
+            this.region = region;
+            this.digits = digits;
+        }
+
+        @Override
+        public List<Cell> primaryCells() {
+            return subset;
+        }
+
+        @Override
+        public List<Cell> secondaryCells() {
+            List<Cell> result = new ArrayList<>(region.cells);
+            result.removeAll(subset);
+            return result;
+        }
+
+        @Override
+        public String description() {
+            return String.format("%s must be in %s in %s, eliminating the other options from these cells.", Digits.toString(digits), Cell.toString(subset), region.toString());
+        }
+
+        @Override
+        public void apply(SolvingSudoku sudoku) {
+            for (Cell cell : subset) {
+                for (int rest = ALL_DIGITS & ~digits; rest != 0; rest &= rest - 1) {
+                    sudoku.removePossible(cell, Integer.numberOfTrailingZeros(rest) + 1);
+                }
+            }
+        }
+
+    }
+
+}
@@ -16,6 +16,7 @@
 package com.github.mangara.puzzles.solvers.sudoku.strategy;
 
 import com.github.mangara.puzzles.data.sudoku.Cell;
+import com.github.mangara.puzzles.data.sudoku.SudokuDifficulty;
 import com.github.mangara.puzzles.data.sudoku.SudokuSolutionState;
 import static com.github.mangara.puzzles.data.sudoku.SudokuSolutionState.BLANK;
 import com.github.mangara.puzzles.solvers.sudoku.SolveStep;
@@ -27,6 +28,11 @@ import java.util.Optional;
 
 public class NakedSingle implements SolveStrategy {
 
+    @Override
+    public SudokuDifficulty getDifficulty() {
+        return SudokuDifficulty.EASY;
+    }
+
     @Override
     public Optional<SolveStep> findStep(SolvingSudoku sudoku) {
         for (int row = 0; row < 9; row++) {
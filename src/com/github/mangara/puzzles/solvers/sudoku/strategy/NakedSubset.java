@@ -0,0 +1,176 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.sudoku.strategy;
+
+import com.github.mangara.puzzles.data.sudoku.Cell;
+import com.github.mangara.puzzles.data.sudoku.SudokuDifficulty;
+import com.github.mangara.puzzles.data.sudoku.SudokuSolutionState;
+import static com.github.mangara.puzzles.data.sudoku.SudokuSolutionState.BLANK;
+import com.github.mangara.puzzles.solvers.sudoku.Region;
+import com.github.mangara.puzzles.solvers.sudoku.SolveStep;
+import com.github.mangara.puzzles.solvers.sudoku.SolveStrategy;
+import com.github.mangara.puzzles.solvers.sudoku.SolvingSudoku;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Finds n cells in a region that together can only contain n digits, for n
+ * between 2 and 4. Those digits can be eliminated from the other cells in the
+ * region. Cells and digits are handled as 9-bit masks.
+ */
+public class NakedSubset implements SolveStrategy {
+
+    private final int size;
+
+    public NakedSubset(int size) {
+        if (size < 2 || size > 4) {
+            throw new IllegalArgumentException("Subsets must have between 2 and 4 cells");
+        }
+
+        this.size = size;
+    }
+
+    @Override
+    public SudokuDifficulty getDifficulty() {
+        return size == 2 ? SudokuDifficulty.MEDIUM : SudokuDifficulty.HARD;
+    }
+
+    @Override
+    public String getName() {
+        return "Naked " + Digits.subsetName(size);
+    }
+
+    @Override
+    public Optional<SolveStep> findStep(SolvingSudoku sudoku) {
+        Optional<SolveStep> step;
+
+        for (int i = 0; i < 9; i++) {
+            step = checkRegion(sudoku, Region.row(i));
+            if (step.isPresent()) {
+                return step;
+            }
+
+            step = checkRegion(sudoku, Region.col(i));
+            if (step.isPresent()) {
+                return step;
+            }
+
+            step = checkRegion(sudoku, Region.box(i));
+            if (step.isPresent()) {
+                return step;
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private Optional<SolveStep> checkRegion(SolvingSudoku sudoku, Region region) {
+        int[] options = new int[9];
+        int blank = 0; // Bit i is set if the i-th cell of the region is blank
+        int small = 0; // Blank cells with at most size options
+
+        for (int i = 0; i < 9; i++) {
+            SudokuSolutionState state = sudoku.getState(region.cells.get(i));
+
+            if (state.digit == BLANK) {
+                options[i] = state.getPossibleMask();
+                blank |= 1 << i;
+
+                if (Integer.bitCount(options[i]) <= size) {
+                    small |= 1 << i;
+                }
+            }
+        }
+
+        if (Integer.bitCount(blank) <= size || Integer.bitCount(small) < size) {
+            return Optional.empty();
+        }
+
+        // Try every subset of the small cells
+        for (int subset = small; subset != 0; subset = (subset - 1) & small) {
+            if (Integer.bitCount(subset) != size) {
+                continue;
+            }
+
+            int digits = 0;
+
+            for (int rest = subset; rest != 0; rest &= rest - 1) {
+                digits |= options[Integer.numberOfTrailingZeros(rest)];
+            }
+
+            if (Integer.bitCount(digits) != size) {
+                continue;
+            }
+
+            int targets = 0;
+
+            for (int rest = blank & ~subset; rest != 0; rest &= rest - 1) {
+                int i = Integer.numberOfTrailingZeros(rest);
+
+                if ((options[i] & digits) != 0) {
+                    targets |= 1 << i;
+                }
+            }
+
+            if (targets != 0) { // This subset is useful!
+                return Optional.of(new Step(Digits.cells(region, subset), Digits.cells(region, targets), region, digits));
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    public class Step implements SolveStep {
+
+        private final List<Cell> subset;
+        private final List<Cell> targets;
+        private final Region region;
+        private final int digits;
+
+        public Step(List<Cell> subset, List<Cell> targets, Region region, int digits) {
+            this.subset = subset;
+            this.targets = targets;
+            this.region = region;
+            this.digits = digits;
+        }
+
+        @Override
+        public List<Cell> primaryCells() {
+            return subset;
+        }
+
+        @Override
+        public List<Cell> secondaryCells() {
+            return targets;
+        }
+
+        @Override
+        public String description() {
+            return String.format("%s form a naked %s, eliminating %s from the other cells in %s.", Cell.toString(subset), Digits.subsetName(subset.size()), Digits.toString(digits), region.toString());
+        }
+
+        @Override
+        public void apply(SolvingSudoku sudoku) {
+            for (Cell target : targets) {
+                for (int rest = digits; rest != 0; rest &= rest - 1) {
+                    sudoku.removePossible(target, Integer.numberOfTrailingZeros(rest) + 1);
+                }
+            }
+        }
+
+    }
+
+}
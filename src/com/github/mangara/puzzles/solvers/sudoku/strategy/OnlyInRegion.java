@@ -16,6 +16,7 @@
 package com.github.mangara.puzzles.solvers.sudoku.strategy;
 
 import com.github.mangara.puzzles.data.sudoku.Cell;
+import com.github.mangara.puzzles.data.sudoku.SudokuDifficulty;
 import com.github.mangara.puzzles.data.sudoku.SudokuSolutionState;
 import com.github.mangara.puzzles.solvers.sudoku.Region;
 import com.github.mangara.puzzles.solvers.sudoku.SolveStep;
@@ -27,7 +28,12 @@ import java.util.List;
 import java.util.Optional;
 
 public class OnlyInRegion implements SolveStrategy {
-    
+
+    @Override
+    public SudokuDifficulty getDifficulty() {
+        return SudokuDifficulty.EASY;
+    }
+
     @Override
     public Optional<SolveStep> findStep(SolvingSudoku sudoku) {
         Optional<SolveStep> step;
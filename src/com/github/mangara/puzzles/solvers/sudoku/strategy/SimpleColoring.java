@@ -0,0 +1,196 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.sudoku.strategy;
+
+import com.github.mangara.puzzles.data.sudoku.Cell;
+import com.github.mangara.puzzles.data.sudoku.SudokuDifficulty;
+import com.github.mangara.puzzles.solvers.sudoku.SolveStep;
+import com.github.mangara.puzzles.solvers.sudoku.SolveStrategy;
+import com.github.mangara.puzzles.solvers.sudoku.SolvingSudoku;
+import com.github.mangara.puzzles.solvers.sudoku.StrongLinkGraph;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Colors each group of strongly linked cells of a digit with two alternating
+ * colors, so that all cells of one color contain the digit. If two cells of the
+ * same color see each other, that color is wrong and the digit can be
+ * eliminated from all its cells. Otherwise, the digit can be eliminated from
+ * any other cell that sees cells of both colors.
+ */
+public class SimpleColoring implements SolveStrategy {
+
+    @Override
+    public SudokuDifficulty getDifficulty() {
+        return SudokuDifficulty.EXPERT;
+    }
+
+    @Override
+    public Optional<SolveStep> findStep(SolvingSudoku sudoku) {
+        StrongLinkGraph graph = sudoku.getStrongLinks();
+        int[] color = new int[81];
+
+        for (int digit = 1; digit <= 9; digit++) {
+            Arrays.fill(color, 0);
+
+            for (int start = 0; start < 81; start++) {
+                if (color[start] != 0 || graph.getLinkCount(digit, start) == 0) {
+                    continue;
+                }
+
+                Optional<SolveStep> step = checkGroup(sudoku, graph, digit, start, color);
+                if (step.isPresent()) {
+                    return step;
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private Optional<SolveStep> checkGroup(SolvingSudoku sudoku, StrongLinkGraph graph, int digit, int start, int[] color) {
+        // Breadth-first search, alternating between colors 1 and 2
+        List<Integer> group = new ArrayList<>();
+        group.add(start);
+        color[start] = 1;
+
+        for (int i = 0; i < group.size(); i++) {
+            int cell = group.get(i);
+
+            for (int j = 0; j < graph.getLinkCount(digit, cell); j++) {
+                int next = graph.getLink(digit, cell, j);
+
+                if (color[next] == 0) {
+                    color[next] = 3 - color[cell];
+                    group.add(next);
+                }
+            }
+        }
+
+        if (group.size() < 3) {
+            return Optional.empty(); // A single pair is handled by simpler strategies
+        }
+
+        List<Cell> first = new ArrayList<>();
+        List<Cell> second = new ArrayList<>();
+        List<Integer> firstCells = new ArrayList<>();
+        List<Integer> secondCells = new ArrayList<>();
+
+        for (int cell : group) {
+            if (color[cell] == 1) {
+                first.add(StrongLinkGraph.cell(cell));
+                firstCells.add(cell);
+            } else {
+                second.add(StrongLinkGraph.cell(cell));
+                secondCells.add(cell);
+            }
+        }
+
+        // Color wrap
+        if (seeEachOther(firstCells)) {
+            return Optional.of(new Step(second, first, digit, true));
+        }
+
+        if (seeEachOther(secondCells)) {
+            return Optional.of(new Step(first, second, digit, true));
+        }
+
+        // Color trap
+        List<Cell> targets = new ArrayList<>();
+
+        for (int cell = 0; cell < 81; cell++) {
+            if (color[cell] == 0 && Chains.isCandidate(sudoku, digit, cell)
+                    && seesAny(cell, firstCells) && seesAny(cell, secondCells)) {
+                targets.add(StrongLinkGraph.cell(cell));
+            }
+        }
+
+        if (!targets.isEmpty()) {
+            List<Cell> colored = new ArrayList<>(first);
+            colored.addAll(second);
+            return Optional.of(new Step(colored, targets, digit, false));
+        }
+
+        return Optional.empty();
+    }
+
+    private static boolean seeEachOther(List<Integer> cells) {
+        for (int i = 0; i < cells.size(); i++) {
+            for (int j = i + 1; j < cells.size(); j++) {
+                if (StrongLinkGraph.sees(cells.get(i), cells.get(j))) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean seesAny(int cell, List<Integer> cells) {
+        for (int other : cells) {
+            if (StrongLinkGraph.sees(cell, other)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public class Step implements SolveStep {
+
+        private final List<Cell> colored;
+        private final List<Cell> targets;
+        private final int digit;
+        private final boolean wrap;
+
+        public Step(List<Cell> colored, List<Cell> targets, int digit, boolean wrap) {
+            this.colored = colored;
+            this.targets = targets;
+            this.digit = digit;
+            this.wrap = wrap;
+        }
+
+        @Override
+        public List<Cell> primaryCells() {
+            return colored;
+        }
+
+        @Override
+        public List<Cell> secondaryCells() {
+            return targets;
+        }
+
+        @Override
+        public String description() {
+            if (wrap) {
+                return String.format("Coloring the strong links of %d puts two cells that see each other in the same color, so %s cannot be %d and %s must be.", digit, Cell.toString(targets), digit, Cell.toString(colored));
+            } else {
+                return String.format("Coloring the strong links of %d in %s shows that one of each color is %d, eliminating %d from %s.", digit, Cell.toString(colored), digit, digit, Cell.toString(targets));
+            }
+        }
+
+        @Override
+        public void apply(SolvingSudoku sudoku) {
+            for (Cell target : targets) {
+                sudoku.removePossible(target, digit);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.sudoku.strategy;
+
+import com.github.mangara.puzzles.data.sudoku.Cell;
+import com.github.mangara.puzzles.data.sudoku.SudokuDifficulty;
+import com.github.mangara.puzzles.solvers.sudoku.SolveStep;
+import com.github.mangara.puzzles.solvers.sudoku.SolveStrategy;
+import com.github.mangara.puzzles.solvers.sudoku.SolvingSudoku;
+import com.github.mangara.puzzles.solvers.sudoku.StrongLinkGraph;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Finds a chain of cells for one digit that starts and ends with a strong link
+ * and alternates between strong and weak links. If the first cell is not the
+ * digit, the last one must be, so the digit can be eliminated from all cells
+ * that see both ends. The shortest chains are found first.
+ */
+public class XChain implements SolveStrategy {
+
+    public static final int MAX_LENGTH = 9; // In links
+
+    @Override
+    public SudokuDifficulty getDifficulty() {
+        return SudokuDifficulty.EXPERT;
+    }
+
+    @Override
+    public Optional<SolveStep> findStep(SolvingSudoku sudoku) {
+        StrongLinkGraph graph = sudoku.getStrongLinks();
+
+        // Node 2 * cell means the cell is not the digit, 2 * cell + 1 that it is
+        int[] parent = new int[2 * 81];
+        int[] length = new int[2 * 81];
+        int[] queue = new int[2 * 81];
+
+        for (int digit = 1; digit <= 9; digit++) {
+            for (int start = 0; start < 81; start++) {
+                if (graph.getLinkCount(digit, start) == 0) {
+                    continue;
+                }
+
+                Arrays.fill(parent, -1);
+                int head = 0, tail = 0;
+                queue[tail++] = 2 * start;
+                parent[2 * start] = 2 * start;
+                length[2 * start] = 0;
+
+                while (head < tail) {
+                    int node = queue[head++];
+                    int cell = node / 2;
+
+                    if (length[node] >= MAX_LENGTH) {
+                        continue;
+                    }
+
+                    if (node % 2 == 0) {
+                        // Not the digit, so each strongly linked cell is
+                        for (int i = 0; i < graph.getLinkCount(digit, cell); i++) {
+                            int next = 2 * graph.getLink(digit, cell, i) + 1;
+
+                            if (parent[next] < 0) {
+                                parent[next] = node;
+                                length[next] = length[node] + 1;
+                                queue[tail++] = next;
+
+                                Optional<SolveStep> step = check(sudoku, digit, start, next, parent, length[next]);
+                                if (step.isPresent()) {
+                                    return step;
+                                }
+                            }
+                        }
+                    } else {
+                        // The digit, so no other cell that sees this one is
+                        for (int other = 0; other < 81; other++) {
+                            int next = 2 * other;
+
+                            if (other != cell && parent[next] < 0 && Chains.isCandidate(sudoku, digit, other) && StrongLinkGraph.sees(cell, other)) {
+                                parent[next] = node;
+                                length[next] = length[node] + 1;
+                                queue[tail++] = next;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private Optional<SolveStep> check(SolvingSudoku sudoku, int digit, int start, int end, int[] parent, int length) {
+        int last = end / 2;
+
+        // Shorter chains are pointing and claiming
+        if (length < 3 || last == start) {
+            return Optional.empty();
+        }
+
+        List<Cell> targets = Chains.commonPeers(sudoku, digit, start, last);
+
+        if (targets.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<Cell> chain = new ArrayList<>();
+
+        for (int node = end; node != 2 * start; node = parent[node]) {
+            chain.add(StrongLinkGraph.cell(node / 2));
+        }
+
+        chain.add(StrongLinkGraph.cell(start));
+        Collections.reverse(chain);
+
+        return Optional.of(new Step(chain, targets, digit));
+    }
+
+    public class Step implements SolveStep {
+
+        private final List<Cell> chain;
+        private final List<Cell> targets;
+        private final int digit;
+
+        public Step(List<Cell> chain, List<Cell> targets, int digit) {
+            this.chain = chain;
+            this.targets = targets;
+            this.digit = digit;
+        }
+
+        @Override
+        public List<Cell> primaryCells() {
+            return chain;
+        }
+
+        @Override
+        public List<Cell> secondaryCells() {
+            return targets;
+        }
+
+        @Override
+        public String description() {
+            StringBuilder links = new StringBuilder();
+
+            for (int i = 0; i < chain.size(); i++) {
+                if (i > 0) {
+                    links.append(i % 2 == 1 ? " = " : " - ");
+                }
+
+                links.append(chain.get(i));
+            }
+
+            return String.format("The X-Chain %s on %d means that %s or %s is %d, eliminating %d from %s.", links, digit, chain.get(0), chain.get(chain.size() - 1), digit, digit, Cell.toString(targets));
+        }
+
+        @Override
+        public void apply(SolvingSudoku sudoku) {
+            for (Cell target : targets) {
+                sudoku.removePossible(target, digit);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.sudoku.strategy;
+
+import com.github.mangara.puzzles.data.sudoku.Cell;
+import com.github.mangara.puzzles.data.sudoku.SudokuDifficulty;
+import com.github.mangara.puzzles.data.sudoku.SudokuSolutionState;
+import static com.github.mangara.puzzles.data.sudoku.SudokuSolutionState.BLANK;
+import com.github.mangara.puzzles.solvers.sudoku.SolveStep;
+import com.github.mangara.puzzles.solvers.sudoku.SolveStrategy;
+import com.github.mangara.puzzles.solvers.sudoku.SolvingSudoku;
+import com.github.mangara.puzzles.solvers.sudoku.StrongLinkGraph;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Finds a pivot cell with options XY that sees two pincer cells with options
+ * XZ and YZ. Whichever digit the pivot gets, one of the pincers is Z, so Z can
+ * be eliminated from all cells that see both pincers.
+ * <p>
+ * With {@code includePivotDigit} set, the pivot has options XYZ instead
+ * (XYZ-Wing), and only cells that also see the pivot are affected.
+ */
+public class XYWing implements SolveStrategy {
+
+    private final boolean includePivotDigit;
+
+    public XYWing(boolean includePivotDigit) {
+        this.includePivotDigit = includePivotDigit;
+    }
+
+    @Override
+    public SudokuDifficulty getDifficulty() {
+        return SudokuDifficulty.EXPERT;
+    }
+
+    @Override
+    public String getName() {
+        return includePivotDigit ? "XYZ-Wing" : "XY-Wing";
+    }
+
+    @Override
+    public Optional<SolveStep> findStep(SolvingSudoku sudoku) {
+        int[] options = new int[81];
+
+        for (int cell = 0; cell < 81; cell++) {
+            SudokuSolutionState state = sudoku.getState(StrongLinkGraph.cell(cell));
+            options[cell] = (state.digit == BLANK ? state.getPossibleMask() : 0);
+        }
+
+        int pivotSize = (includePivotDigit ? 3 : 2);
+
+        for (int pivot = 0; pivot < 81; pivot++) {
+            if (Integer.bitCount(options[pivot]) != pivotSize) {
+                continue;
+            }
+
+            for (int first = 0; first < 81; first++) {
+                if (!isPincer(options, pivot, first)) {
+                    continue;
+                }
+
+                for (int second = first + 1; second < 81; second++) {
+                    if (!isPincer(options, pivot, second) || options[first] == options[second]) {
+                        continue;
+                    }
+
+                    int z = options[first] & options[second];
+
+                    if (Integer.bitCount(z) != 1 || (options[first] | options[second] | options[pivot]) != (includePivotDigit ? options[pivot] : options[pivot] | z)) {
+                        continue;
+                    }
+
+                    int digit = Integer.numberOfTrailingZeros(z) + 1;
+                    List<Cell> targets = (includePivotDigit
+                            ? Chains.commonPeers(sudoku, digit, pivot, first, second)
+                            : Chains.commonPeers(sudoku, digit, first, second));
+
+                    if (!targets.isEmpty()) {
+                        return Optional.of(new Step(Chains.cells(pivot, first, second), targets, digit));
+                    }
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private boolean isPincer(int[] options, int pivot, int cell) {
+        if (cell == pivot || Integer.bitCount(options[cell]) != 2 || !StrongLinkGraph.sees(pivot, cell)) {
+            return false;
+        }
+
+        int shared = options[cell] & options[pivot];
+
+        // An XYZ-Wing pincer has two of the pivot's options, an XY-Wing pincer only one
+        return Integer.bitCount(shared) == (includePivotDigit ? 2 : 1);
+    }
+
+    public class Step implements SolveStep {
+
+        private final List<Cell> wing; // Pivot first
+        private final List<Cell> targets;
+        private final int digit;
+
+        public Step(List<Cell> wing, List<Cell> targets, int digit) {
+            this.wing = wing;
+            this.targets = targets;
+            this.digit = digit;
+        }
+
+        @Override
+        public List<Cell> primaryCells() {
+            return wing;
+        }
+
+        @Override
+        public List<Cell> secondaryCells() {
+            return targets;
+        }
+
+        @Override
+        public String description() {
+            return String.format("%s with pivot %s and pincers %s and %s means one of them is %d, eliminating %d from %s.", (includePivotDigit ? "An XYZ-Wing" : "An XY-Wing"), wing.get(0), wing.get(1), wing.get(2), digit, digit, Cell.toString(targets));
+        }
+
+        @Override
+        public void apply(SolvingSudoku sudoku) {
+            for (Cell target : targets) {
+                sudoku.removePossible(target, digit);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2023 Sander Verdonschot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.batch;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class OffHeapLongSetTest {
+
+    public OffHeapLongSetTest() {
+    }
+
+    @Test
+    public void testAddAndGrow() {
+        OffHeapLongSet set = new OffHeapLongSet(0);
+        Set<Long> expected = new HashSet<>();
+        Random rand = new Random(48);
+
+        for (int i = 0; i < 100_000; i++) {
+            // Small values, so that many are added twice
+            long value = rand.nextInt(50_000) - 25_000;
+            assertEquals(expected.add(value), set.add(value));
+        }
+
+        assertEquals(expected.size(), set.size());
+        assertTrue(set.contains(0));
+
+        for (long value = -25_000; value < 25_000; value++) {
+            assertEquals(expected.contains(value), set.contains(value));
+        }
+
+        assertFalse(set.contains(Long.MIN_VALUE));
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2023 Sander Verdonschot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.batch;
+
+import com.github.mangara.puzzles.data.logiquiz.CreateLogiquizSettings;
+import com.github.mangara.puzzles.data.nonogram.Nonogram;
+import com.github.mangara.puzzles.data.nonogram.SolvedNonogram;
+import com.github.mangara.puzzles.generators.logiquiz.LogiquizGenerator;
+import com.github.mangara.puzzles.generators.nonogram.NonogramGenerator;
+import static com.github.mangara.puzzles.solvers.sudoku.BitmaskSolverTest.*;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PuzzleDedupIndexTest {
+
+    public PuzzleDedupIndexTest() {
+    }
+
+    @Test
+    public void testMixedPuzzles() {
+        PuzzleDedupIndex index = new PuzzleDedupIndex();
+
+        SolvedNonogram drawn = NonogramGenerator.generateNonogram(new boolean[][]{{true, true}, {false, true}, {false, false}});
+        SolvedNonogram mirrored = NonogramGenerator.generateNonogram(new boolean[][]{{false, false}, {false, true}, {true, true}});
+
+        assertTrue(index.add(drawn));
+        assertFalse(index.add(mirrored));
+        assertFalse(index.add(new Nonogram(mirrored.getSideNumbers(), mirrored.getTopNumbers())));
+
+        assertTrue(index.add(parse(UNIQUE_EASY)));
+        assertTrue(index.contains(parse(UNIQUE_EASY.replace('1', 'x').replace('2', '1').replace('x', '2'))));
+        assertFalse(index.contains(parse(UNIQUE_HARD)));
+        assertEquals(2, index.size());
+
+        try {
+            index.add(LogiquizGenerator.create(new CreateLogiquizSettings(3, 4, 1)));
+            fail("Logiquiz has no canonical form.");
+        } catch (IllegalArgumentException ex) {
+            // Expected
+        }
+    }
+}
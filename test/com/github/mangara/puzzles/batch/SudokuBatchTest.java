@@ -0,0 +1,226 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.batch;
+
+import com.github.mangara.puzzles.batch.BatchSettings.Stage;
+import com.github.mangara.puzzles.io.sudoku.SudokuCollectionWriter;
+import com.github.mangara.puzzles.io.sudoku.SudokuWriter;
+import com.github.mangara.puzzles.solvers.SolveCache;
+import com.github.mangara.puzzles.solvers.SolveCacheEntry;
+import com.github.mangara.puzzles.solvers.SolveResult;
+import com.github.mangara.puzzles.solvers.sudoku.SudokuGrade;
+import com.github.mangara.puzzles.solvers.sudoku.SudokuGrader;
+import static com.github.mangara.puzzles.solvers.sudoku.BitmaskSolverTest.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SudokuBatchTest {
+
+    public SudokuBatchTest() {
+    }
+
+    @Test
+    public void testOrderedFiltering() throws IOException, InterruptedException {
+        String input = String.join("\n", UNIQUE_EASY, CONFLICT, UNIQUE_HARD, TWO_SOLUTIONS, UNIQUE_17_CLUES) + "\n";
+        String output = run(input, EnumSet.allOf(Stage.class), true);
+
+        String[] lines = output.split("\n");
+        assertEquals(3, lines.length);
+        assertEquals(UNIQUE_EASY.replace('0', '.') + " EASY", lines[0]);
+        assertTrue(lines[1].startsWith(UNIQUE_HARD.replace('0', '.')));
+        assertTrue(lines[2].startsWith(UNIQUE_17_CLUES.replace('0', '.')));
+    }
+
+    @Test
+    public void testUnorderedValidation() throws IOException, InterruptedException {
+        StringBuilder input = new StringBuilder();
+
+        for (int i = 0; i < 100; i++) {
+            input.append(i % 4 == 0 ? CONFLICT : TWO_SOLUTIONS).append('\n');
+        }
+
+        String output = run(input.toString(), EnumSet.of(Stage.VALIDATE), false);
+        assertEquals(75, output.split("\n").length);
+    }
+
+    @Test
+    public void testDedup() throws IOException, InterruptedException {
+        // The same puzzle with its digits relabeled, and with the bands reversed
+        String relabeled = UNIQUE_EASY.replace('1', 'x').replace('2', '1').replace('x', '2');
+        String swapped = UNIQUE_EASY.substring(54) + UNIQUE_EASY.substring(27, 54) + UNIQUE_EASY.substring(0, 27);
+        String input = String.join("\n", UNIQUE_EASY, UNIQUE_HARD, relabeled, swapped, UNIQUE_HARD, UNIQUE_17_CLUES) + "\n";
+
+        for (boolean ordered : new boolean[]{true, false}) {
+            String output = run(input, EnumSet.of(Stage.DEDUP), ordered);
+            assertEquals(3, output.split("\n").length);
+        }
+
+        String[] lines = run(input, EnumSet.allOf(Stage.class), true).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals(UNIQUE_EASY.replace('0', '.') + " EASY", lines[0]);
+        assertTrue(lines[2].startsWith(UNIQUE_17_CLUES.replace('0', '.')));
+    }
+
+    @Test
+    public void testRatingWithoutUnique() throws IOException, InterruptedException {
+        String input = String.join("\n", UNIQUE_EASY, CONFLICT, EMPTY, TWO_SOLUTIONS) + "\n";
+        String[] lines = run(input, EnumSet.of(Stage.RATE), true).split("\n");
+
+        assertEquals(4, lines.length);
+        assertTrue(lines[0].endsWith(" EASY"));
+        assertTrue(lines[1].endsWith(" INVALID"));
+        assertTrue(lines[2].endsWith(" MULTIPLE"));
+        assertTrue(lines[3].endsWith(" MULTIPLE"));
+    }
+
+    @Test
+    public void testInputTypes() throws IOException, InterruptedException {
+        Path directory = Files.createTempDirectory("batch");
+        Path nonogram = directory.resolve("nonogram.txt");
+        Path collection = directory.resolve("collection.txt");
+
+        try {
+            Files.writeString(nonogram, "X-X\n-X-\nX-X\n");
+
+            assertThrows(IllegalArgumentException.class, () -> { SudokuBatch.checkInput(nonogram); });
+            assertThrows(IllegalArgumentException.class, () -> { SudokuBatch.checkInput(directory); });
+            assertThrows(IllegalArgumentException.class, () -> { SudokuBatch.checkInput(directory.resolve("missing.txt")); });
+
+            Files.writeString(collection, UNIQUE_EASY + "\n");
+            SudokuBatch.checkInput(collection);
+
+            SudokuWriter.save(parse(UNIQUE_HARD), directory.resolve("sudoku.txt"));
+            SudokuBatch.checkInput(directory);
+
+            SudokuBatch batch = new SudokuBatch(new BatchSettings(EnumSet.of(Stage.VALIDATE), 1, 4, true));
+
+            try (SudokuCollectionWriter writer = new SudokuCollectionWriter(new ByteArrayOutputStream(), '.')) {
+                batch.run(directory, writer, null, 0);
+            }
+
+            // The collection and the nonogram are not Sudoku files
+            assertEquals(1, batch.getRead());
+            assertEquals(2, batch.getSkipped());
+        } finally {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void testCache() throws IOException, InterruptedException {
+        Path directory = Files.createTempDirectory("cache");
+        String input = String.join("\n", UNIQUE_EASY, CONFLICT, UNIQUE_HARD, TWO_SOLUTIONS, UNIQUE_EASY) + "\n";
+
+        try {
+            String expected = run(input, EnumSet.allOf(Stage.class), true);
+
+            for (int i = 0; i < 2; i++) {
+                try (SolveCache cache = SolveCache.open(directory.resolve("solves"))) {
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                    SudokuBatch batch = new SudokuBatch(new BatchSettings(EnumSet.of(Stage.VALIDATE, Stage.UNIQUE, Stage.RATE), 1, 4, true), cache);
+
+                    try (SudokuCollectionWriter writer = new SudokuCollectionWriter(bytes, '.')) {
+                        batch.run(new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII)), writer, null, 0);
+                    }
+
+                    // The second copy of the first puzzle is found in the cache, then everything
+                    assertEquals(i == 0 ? 1 : 5, batch.getCacheHits());
+                    assertEquals(expected + UNIQUE_EASY.replace('0', '.') + " EASY\n", new String(bytes.toByteArray(), StandardCharsets.US_ASCII));
+                }
+            }
+        } finally {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void testFailingCache() throws IOException, InterruptedException {
+        Path directory = Files.createTempDirectory("cache");
+        Path file = directory.resolve("solves");
+        StringBuilder input = new StringBuilder();
+
+        for (int i = 0; i < 50; i++) {
+            input.append(i == 5 ? UNIQUE_HARD : UNIQUE_EASY).append('\n');
+        }
+
+        try (SolveCache cache = SolveCache.open(file)) {
+            cache.put(parse(UNIQUE_EASY), entry(UNIQUE_EASY));
+            long end = cache.getFileSize();
+            cache.put(parse(UNIQUE_HARD), entry(UNIQUE_HARD));
+
+            // Cut off the second record, so that only reading it fails
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(end);
+            }
+
+            // One worker fails while the other one keeps going
+            SudokuBatch batch = new SudokuBatch(new BatchSettings(EnumSet.of(Stage.UNIQUE), 2, 4, true), cache);
+
+            try (SudokuCollectionWriter writer = new SudokuCollectionWriter(new ByteArrayOutputStream(), '.')) {
+                assertThrows(IOException.class, () -> {
+                    batch.run(new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.US_ASCII)), writer, null, 0);
+                });
+            }
+        } finally {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path path : (Iterable<Path>) files::iterator) {
+                    Files.delete(path);
+                }
+            }
+
+            Files.delete(directory);
+        }
+    }
+
+    private static SolveCacheEntry entry(String puzzle) {
+        SudokuGrade grade = SudokuGrader.grade(parse(puzzle));
+        return new SolveCacheEntry(SolveResult.ofCount(grade.getSolutionCount()), grade.getSolution(), grade.getDifficulty().name(), SudokuGrader.VERSION);
+    }
+
+    private static String run(String input, Set<Stage> stages, boolean ordered) throws IOException, InterruptedException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SudokuBatch batch = new SudokuBatch(new BatchSettings(stages, 3, 4, ordered));
+
+        try (SudokuCollectionWriter writer = new SudokuCollectionWriter(bytes, '.')) {
+            batch.run(new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII)), writer, null, 0);
+        }
+
+        return new String(bytes.toByteArray(), StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.data.logiquiz;
+
+import com.github.mangara.puzzles.data.logiquiz.LogiquizClue.Entry;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class LogiquizClueParserTest {
+
+    private static final Logiquiz PUZZLE = new Logiquiz(List.of(
+            List.of("Candelabrum", "Basket", "Tea light", "Terrarium"),
+            List.of("Chapters", "IKEA", "Michael's", "DollarIt"),
+            List.of("10%", "25%", "40%", "70%"),
+            List.of("Vintage", "Old-timey", "Geometric", "Fancy or not")),
+            Collections.emptyList());
+
+    public LogiquizClueParserTest() {
+    }
+
+    @Test
+    public void testParse() {
+        Entry basket = new Entry(0, 1);
+        Entry teaLight = new Entry(0, 2);
+        Entry ikea = new Entry(1, 1);
+        Entry dollarIt = new Entry(1, 3);
+        Entry vintage = new Entry(3, 0);
+        Entry fancy = new Entry(3, 3);
+
+        assertEquals(LogiquizClue.is(teaLight, ikea), parse("Tea light is IKEA."));
+        assertEquals(LogiquizClue.isNot(ikea, teaLight), parse("IKEA IS NOT Tea light"));
+        assertEquals(LogiquizClue.eitherOr(basket, dollarIt, fancy), parse("Basket is either DollarIt or Fancy or not."));
+        assertEquals(LogiquizClue.neitherNor(basket, ikea, vintage), parse("Basket is neither IKEA nor Vintage."));
+        assertEquals(LogiquizClue.before(basket, ikea, 2), parse("Basket is before IKEA in group 3."));
+        assertEquals(LogiquizClue.after(vintage, basket, 2), parse("Vintage is after Basket in group 3."));
+        assertEquals(LogiquizClue.moreThan(teaLight, basket, 2, 2), parse("Tea light is 2 more than Basket in group 3."));
+        assertEquals(LogiquizClue.lessThan(ikea, fancy, 2, 1), parse("IKEA is 1 less than Fancy or not in group 3."));
+    }
+
+    @Test
+    public void testInvalid() {
+        String[] invalid = {
+            "Tea light is Basket.", // Same group
+            "Tea light is a candle.", // Unknown entry
+            "Tea light is before IKEA in group 5.", // Unknown group
+            "Tea light is 0 more than IKEA in group 3.",
+            "Tea light costs more than IKEA."
+        };
+
+        for (String clue : invalid) {
+            try {
+                parse(clue);
+                fail("Expected an exception for \"" + clue + "\"");
+            } catch (IllegalArgumentException ex) {
+                // Expected
+            }
+        }
+    }
+
+    @Test
+    public void testFormat() {
+        String[] clues = {
+            "Tea light is IKEA.",
+            "Basket is either DollarIt or Fancy or not.",
+            "Basket is neither IKEA nor Vintage.",
+            "IKEA is 1 less than Fancy or not in group 3."
+        };
+
+        for (String clue : clues) {
+            assertEquals(clue, LogiquizClueParser.format(PUZZLE, parse(clue)));
+        }
+    }
+
+    private static LogiquizClue parse(String clue) {
+        return LogiquizClueParser.parse(PUZZLE, clue);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2023 Sander Verdonschot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.data.nonogram;
+
+import com.github.mangara.puzzles.generators.nonogram.NonogramGenerator;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class NonogramCanonicalizerTest {
+
+    public NonogramCanonicalizerTest() {
+    }
+
+    @Test
+    public void testSymmetries() {
+        Random rand = new Random(49);
+
+        for (int[] size : new int[][]{{5, 7}, {6, 6}, {1, 4}}) {
+            boolean[][] drawing = randomDrawing(size[0], size[1], rand);
+            SolvedNonogram nonogram = NonogramGenerator.generateNonogram(drawing);
+
+            SolvedNonogram canonical = NonogramCanonicalizer.canonicalize(nonogram);
+            Nonogram canonicalClues = NonogramCanonicalizer.canonicalizeClues(nonogram);
+            long drawingHash = NonogramCanonicalizer.drawingHash(nonogram);
+            long clueHash = NonogramCanonicalizer.clueHash(nonogram);
+
+            for (int symmetry = 0; symmetry < 8; symmetry++) {
+                SolvedNonogram transformed = NonogramGenerator.generateNonogram(NonogramCanonicalizer.transform(drawing, symmetry));
+
+                assertArrayEquals(canonical.getDrawing(), NonogramCanonicalizer.canonicalize(transformed).getDrawing());
+                assertEquals(drawingHash, NonogramCanonicalizer.drawingHash(transformed));
+                assertEquals(clueHash, NonogramCanonicalizer.clueHash(transformed));
+
+                // Without the drawing
+                Nonogram clues = new Nonogram(transformed.getSideNumbers(), transformed.getTopNumbers());
+                Nonogram result = NonogramCanonicalizer.canonicalizeClues(clues);
+                assertEquals(canonicalClues.getSideNumbers(), result.getSideNumbers());
+                assertEquals(canonicalClues.getTopNumbers(), result.getTopNumbers());
+                assertEquals(clueHash, NonogramCanonicalizer.clueHash(clues));
+            }
+        }
+    }
+
+    @Test
+    public void testTransform() {
+        boolean[][] drawing = {{true, false, false}, {true, true, false}}; // 2 wide, 3 high
+        Set<String> results = new HashSet<>();
+
+        for (int symmetry = 0; symmetry < 8; symmetry++) {
+            boolean[][] transformed = NonogramCanonicalizer.transform(drawing, symmetry);
+            assertEquals(symmetry < 4 ? 2 : 3, transformed.length);
+            results.add(Arrays.deepToString(transformed));
+        }
+
+        // The drawing has no symmetries, so all transforms differ
+        assertEquals(8, results.size());
+        assertArrayEquals(new boolean[][]{{true, true}, {false, true}, {false, false}}, NonogramCanonicalizer.transform(drawing, 4));
+    }
+
+    @Test
+    public void testDifferentPuzzles() {
+        SolvedNonogram a = NonogramGenerator.generateNonogram(new boolean[][]{{true, false}, {false, false}});
+        SolvedNonogram b = NonogramGenerator.generateNonogram(new boolean[][]{{true, false}, {false, true}});
+        assertNotEquals(NonogramCanonicalizer.drawingHash(a), NonogramCanonicalizer.drawingHash(b));
+        assertNotEquals(NonogramCanonicalizer.clueHash(a), NonogramCanonicalizer.clueHash(b));
+    }
+
+    private static boolean[][] randomDrawing(int width, int height, Random rand) {
+        boolean[][] drawing = new boolean[width][height];
+
+        for (boolean[] column : drawing) {
+            for (int y = 0; y < height; y++) {
+                column[y] = rand.nextBoolean();
+            }
+        }
+
+        return drawing;
+    }
+}
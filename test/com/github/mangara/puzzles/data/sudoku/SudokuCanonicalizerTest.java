@@ -0,0 +1,117 @@
+/*
+ * Copyright 2023 Sander Verdonschot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.data.sudoku;
+
+import static com.github.mangara.puzzles.solvers.sudoku.BitmaskSolverTest.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SudokuCanonicalizerTest {
+
+    private static final int[][] ORDERS = {{0, 1, 2}, {0, 2, 1}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0}};
+
+    public SudokuCanonicalizerTest() {
+    }
+
+    @Test
+    public void testKnownForms() {
+        assertCanonical(UNIQUE_EASY, "000000000001002003240560780000000000002003007350680940000070050520308406710405208");
+        assertCanonical(TWO_SOLUTIONS, "001234567253167489467589132005712643312456798674893215126378954548921376739645821");
+        assertCanonical(EMPTY, EMPTY);
+        assertCanonical(CONFLICT, "000000000000000000000000000000000000000000000000000000000000000000000000000000011");
+
+        // Repeated digits let a first row with fewer blanks win
+        assertCanonical("012122222110100102111001110122220202022221121221222212101122101202221000112112002", "000011112001212221022022121011112110122110112211121111021202020111210121220222002");
+    }
+
+    @Test
+    public void testEquivalentPuzzles() {
+        Random rand = new Random(48);
+
+        for (String puzzle : new String[]{UNIQUE_EASY, UNIQUE_17_CLUES, UNIQUE_HARD, TWO_SOLUTIONS, CONFLICT}) {
+            int[][] digits = parse(puzzle).getGivenDigits();
+            int[][] canonical = new SudokuCanonicalizer().canonicalDigits(digits);
+            long hash = SudokuCanonicalizer.canonicalHash(digits);
+
+            for (int i = 0; i < 50; i++) {
+                int[][] transformed = transform(digits, rand);
+                assertArrayEquals(canonical, new SudokuCanonicalizer().canonicalDigits(transformed));
+                assertEquals(hash, SudokuCanonicalizer.canonicalHash(transformed));
+            }
+
+            // The canonical form is its own canonical form
+            assertArrayEquals(canonical, new SudokuCanonicalizer().canonicalDigits(canonical));
+        }
+    }
+
+    @Test
+    public void testDifferentPuzzles() {
+        assertNotEquals(SudokuCanonicalizer.canonicalHash(parse(UNIQUE_EASY)), SudokuCanonicalizer.canonicalHash(parse(UNIQUE_HARD)));
+        assertNotEquals(SudokuCanonicalizer.canonicalHash(parse(UNIQUE_17_CLUES)), SudokuCanonicalizer.canonicalHash(parse(UNIQUE_HARD)));
+    }
+
+    private static void assertCanonical(String puzzle, String expected) {
+        assertArrayEquals(parse(expected).getGivenDigits(), SudokuCanonicalizer.canonicalize(parse(puzzle)).getGivenDigits());
+    }
+
+    /**
+     * Applies a random relabeling, row and column permutation and possibly a
+     * transposition.
+     */
+    private static int[][] transform(int[][] digits, Random rand) {
+        int[] rows = randomOrder(rand);
+        int[] columns = randomOrder(rand);
+        boolean transpose = rand.nextBoolean();
+
+        List<Integer> labels = new ArrayList<>();
+
+        for (int digit = 1; digit <= 9; digit++) {
+            labels.add(digit);
+        }
+
+        Collections.shuffle(labels, rand);
+
+        int[][] result = new int[9][9];
+
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                int digit = transpose ? digits[columns[col]][rows[row]] : digits[rows[row]][columns[col]];
+                result[row][col] = (digit == 0 ? 0 : labels.get(digit - 1));
+            }
+        }
+
+        return result;
+    }
+
+    private static int[] randomOrder(Random rand) {
+        int[] bands = ORDERS[rand.nextInt(6)];
+        int[] order = new int[9];
+
+        for (int i = 0; i < 3; i++) {
+            int[] within = ORDERS[rand.nextInt(6)];
+
+            for (int j = 0; j < 3; j++) {
+                order[3 * i + j] = 3 * bands[i] + within[j];
+            }
+        }
+
+        return order;
+    }
+}
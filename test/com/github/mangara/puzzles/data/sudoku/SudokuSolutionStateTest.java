@@ -0,0 +1,81 @@
+/*
+ * Copyright 2023 Sander Verdonschot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.data.sudoku;
+
+import java.util.Arrays;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SudokuSolutionStateTest {
+
+    public SudokuSolutionStateTest() {
+    }
+
+    @Test
+    public void testBlank() {
+        SudokuSolutionState state = new SudokuSolutionState();
+
+        assertEquals(0x1FF, state.getPossibleMask());
+        assertEquals(9, state.getPossibleCount());
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9), state.allPossible());
+    }
+
+    @Test
+    public void testDigit() {
+        SudokuSolutionState state = new SudokuSolutionState(6, true);
+
+        assertEquals(0b100000, state.getPossibleMask());
+        assertTrue(state.isPossible(6));
+        assertFalse(state.isPossible(5));
+
+        // The digit in the cell stays possible
+        state.removePossible(6);
+        assertTrue(state.isPossible(6));
+
+        state.setDigit(2);
+        assertEquals(Arrays.asList(2), state.allPossible());
+    }
+
+    @Test
+    public void testRemovePossible() {
+        SudokuSolutionState state = new SudokuSolutionState();
+
+        state.removePossible(1);
+        state.removePossible(9);
+        state.removePossible(9);
+        state.setPossible(4, false);
+
+        assertEquals(0b011110110, state.getPossibleMask());
+        assertEquals(6, state.getPossibleCount());
+        assertEquals(Arrays.asList(2, 3, 5, 6, 7, 8), state.allPossible());
+
+        state.setPossible(1, true);
+        assertTrue(state.isPossible(1));
+        assertEquals(0b011110111, state.getPossibleMask());
+    }
+
+    @Test
+    public void testCopy() {
+        SudokuSolutionState state = new SudokuSolutionState();
+        state.removePossible(3);
+
+        SudokuSolutionState copy = new SudokuSolutionState(state);
+        copy.removePossible(4);
+
+        assertEquals(0b111111011, state.getPossibleMask());
+        assertEquals(0b111110011, copy.getPossibleMask());
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2023 Sander Verdonschot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.generators.logiquiz;
+
+import com.github.mangara.puzzles.data.logiquiz.CreateLogiquizSettings;
+import com.github.mangara.puzzles.data.logiquiz.Logiquiz;
+import com.github.mangara.puzzles.solvers.logiquiz.LogiquizConstraint;
+import com.github.mangara.puzzles.solvers.logiquiz.LogiquizSolver;
+import com.github.mangara.puzzles.solvers.logiquiz.LogiquizState;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class LogiquizGeneratorTest {
+
+    public LogiquizGeneratorTest() {
+    }
+
+    @Test
+    public void testCreate() {
+        int[][] sizes = {{2, 2}, {3, 3}, {4, 5}, {5, 4}};
+
+        for (int[] size : sizes) {
+            for (long seed = 0; seed < 10; seed++) {
+                Logiquiz puzzle = LogiquizGenerator.create(new CreateLogiquizSettings(size[0], size[1], seed));
+
+                assertEquals(size[0], puzzle.getGroupCount());
+                assertEquals(size[1], puzzle.getGroupSize());
+                assertTrue(LogiquizSolver.hasUniqueSolution(puzzle));
+                assertTrue(isMinimal(puzzle));
+            }
+        }
+    }
+
+    @Test
+    public void testSeed() {
+        CreateLogiquizSettings settings = new CreateLogiquizSettings(4, 5, 123);
+        assertEquals(LogiquizGenerator.create(settings).getClues(), LogiquizGenerator.create(settings).getClues());
+    }
+
+    @Test
+    public void testCreateBlank() {
+        Logiquiz puzzle = LogiquizGenerator.createBlank(new CreateLogiquizSettings(3, 4));
+
+        assertEquals(3, puzzle.getGroupCount());
+        assertEquals(4, puzzle.getGroupSize());
+        assertTrue(puzzle.getClues().isEmpty());
+    }
+
+    @Test
+    public void testCancel() {
+        assertThrows(CancellationException.class, () -> LogiquizGenerator.create(new CreateLogiquizSettings(4, 5), () -> true));
+    }
+
+    private boolean isMinimal(Logiquiz puzzle) {
+        List<LogiquizConstraint> constraints = LogiquizConstraint.compileAll(puzzle);
+
+        for (int i = 0; i < constraints.size(); i++) {
+            LogiquizConstraint removed = constraints.remove(i);
+            int count = LogiquizSolver.countSolutions(new LogiquizState(puzzle), constraints, 2);
+            constraints.add(i, removed);
+
+            if (count == 1) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
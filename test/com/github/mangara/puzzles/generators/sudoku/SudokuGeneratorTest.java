@@ -0,0 +1,118 @@
+/*
+ * Copyright 2023 Sander Verdonschot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.generators.sudoku;
+
+import com.github.mangara.puzzles.data.sudoku.CreateSudokuSettings;
+import com.github.mangara.puzzles.data.sudoku.CreateSudokuSettings.Symmetry;
+import com.github.mangara.puzzles.data.sudoku.RatedSudoku;
+import com.github.mangara.puzzles.data.sudoku.SudokuDifficulty;
+import static com.github.mangara.puzzles.data.sudoku.SudokuSolutionState.BLANK;
+import com.github.mangara.puzzles.solvers.sudoku.BitmaskSolver;
+import com.github.mangara.puzzles.solvers.sudoku.LogicalSolver;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SudokuGeneratorTest {
+
+    public SudokuGeneratorTest() {
+    }
+
+    @Test
+    public void testCreate() {
+        for (Symmetry symmetry : Symmetry.values()) {
+            for (long seed = 0; seed < 10; seed++) {
+                RatedSudoku puzzle = SudokuGenerator.create(new CreateSudokuSettings(seed, 22, 32, symmetry));
+                int[][] digits = puzzle.getGivenDigits();
+
+                assertTrue(puzzle.meetsSettings());
+                assertTrue(BitmaskSolver.hasUniqueSolution(puzzle));
+                assertTrue(countClues(digits) >= 22);
+                assertTrue(countClues(digits) <= 32);
+                assertTrue(isSymmetric(digits, symmetry));
+            }
+        }
+    }
+
+    @Test
+    public void testSeed() {
+        CreateSudokuSettings settings = new CreateSudokuSettings(123, 22, 30, Symmetry.ROTATIONAL);
+        int[][] first = SudokuGenerator.create(settings).getGivenDigits();
+        int[][] second = SudokuGenerator.create(settings).getGivenDigits();
+        assertTrue(Arrays.deepEquals(first, second));
+    }
+
+    @Test
+    public void testDifficulty() {
+        for (SudokuDifficulty difficulty : new SudokuDifficulty[]{SudokuDifficulty.EASY, SudokuDifficulty.MEDIUM}) {
+            RatedSudoku puzzle = SudokuGenerator.create(new CreateSudokuSettings(1, 17, 40, Symmetry.NONE, difficulty));
+
+            assertTrue(puzzle.meetsSettings());
+            assertEquals(difficulty, puzzle.getDifficulty());
+            assertEquals(difficulty, LogicalSolver.rate(puzzle));
+            assertTrue(BitmaskSolver.hasUniqueSolution(puzzle));
+        }
+    }
+
+    @Test
+    public void testCreateBatch() throws InterruptedException {
+        List<RatedSudoku> puzzles = SudokuGenerator.createBatch(new CreateSudokuSettings(), 8, () -> false);
+        assertEquals(8, puzzles.size());
+
+        for (RatedSudoku puzzle : puzzles) {
+            assertTrue(BitmaskSolver.hasUniqueSolution(puzzle));
+        }
+    }
+
+    @Test
+    public void testCancel() {
+        assertThrows(CancellationException.class, () -> SudokuGenerator.create(new CreateSudokuSettings(), () -> true));
+    }
+
+    private int countClues(int[][] digits) {
+        int count = 0;
+
+        for (int[] row : digits) {
+            for (int digit : row) {
+                if (digit != BLANK) {
+                    count++;
+                }
+            }
+        }
+
+        return count;
+    }
+
+    private boolean isSymmetric(int[][] digits, Symmetry symmetry) {
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                boolean given = digits[row][col] != BLANK;
+
+                if (symmetry == Symmetry.ROTATIONAL && given != (digits[8 - row][8 - col] != BLANK)) {
+                    return false;
+                }
+
+                if (symmetry == Symmetry.MIRROR && given != (digits[row][8 - col] != BLANK)) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.io;
+
+import com.github.mangara.puzzles.data.Puzzle;
+import com.github.mangara.puzzles.data.PuzzleType;
+import com.github.mangara.puzzles.data.logiquiz.CreateLogiquizSettings;
+import com.github.mangara.puzzles.data.logiquiz.Logiquiz;
+import com.github.mangara.puzzles.data.logiquiz.LogiquizSolutionState;
+import com.github.mangara.puzzles.data.logiquiz.MarkedLogiquiz;
+import com.github.mangara.puzzles.data.nonogram.SolvedNonogram;
+import com.github.mangara.puzzles.data.sudoku.Sudoku;
+import com.github.mangara.puzzles.generators.logiquiz.LogiquizGenerator;
+import static com.github.mangara.puzzles.solvers.sudoku.BitmaskSolverTest.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PuzzleReaderTest {
+
+    public PuzzleReaderTest() {
+    }
+
+    @Test
+    public void testDetect() throws IOException {
+        assertEquals(PuzzleType.SUDOKU, PuzzleReader.detect("type=sudoku\r\n.........\n"));
+        assertEquals(PuzzleType.LOGIQUIZ, PuzzleReader.detect("type=logiquiz\nversion=1\n"));
+        assertEquals(PuzzleType.NONOGRAM, PuzzleReader.detect("X-X\n-X-\r\nX-X\n"));
+        assertEquals(PuzzleType.NONOGRAM, PuzzleReader.detect("X-X\n-X-\nX-X"));
+        assertEquals(PuzzleType.LOGIQUIZ, PuzzleReader.detect("Ann\nBob\n\nred\nblue\n"));
+        assertNull(PuzzleReader.detect("X-X\n\nX-X\nX\n"));
+        assertNull(PuzzleReader.detect(""));
+    }
+
+    @Test
+    public void testRead() throws IOException {
+        Path file = Files.createTempFile("puzzle", ".txt");
+
+        try {
+            Sudoku sudoku = parse(UNIQUE_EASY);
+            PuzzleWriter.write(sudoku, file);
+            assertArrayEquals(sudoku.getGivenDigits(), ((Sudoku) PuzzleReader.read(file)).getGivenDigits());
+
+            Logiquiz logiquiz = LogiquizGenerator.create(new CreateLogiquizSettings(3, 4, 2));
+            PuzzleWriter.write(logiquiz, file);
+            assertEquals(logiquiz.getClues(), ((Logiquiz) PuzzleReader.read(file)).getClues());
+            assertFalse(PuzzleReader.read(file) instanceof MarkedLogiquiz);
+
+            LogiquizSolutionState[][] marks = new LogiquizSolutionState[8][8];
+
+            for (LogiquizSolutionState[] column : marks) {
+                Arrays.fill(column, LogiquizSolutionState.UNKNOWN);
+            }
+
+            marks[0][1] = LogiquizSolutionState.POSITIVE;
+            marks[2][5] = LogiquizSolutionState.NEGATIVE;
+            PuzzleWriter.write(new MarkedLogiquiz(logiquiz, marks), file);
+            assertArrayEquals(marks, ((MarkedLogiquiz) PuzzleReader.read(file)).getMarks());
+
+            Files.write(file, "XX-\n-XX\n".getBytes(StandardCharsets.UTF_8));
+            Puzzle nonogram = PuzzleReader.read(file);
+            assertEquals(PuzzleType.NONOGRAM, nonogram.getType());
+            assertTrue(((SolvedNonogram) nonogram).getDrawing()[0][0]);
+            assertFalse(((SolvedNonogram) nonogram).getDrawing()[2][0]);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
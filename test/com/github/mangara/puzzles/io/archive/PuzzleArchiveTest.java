@@ -0,0 +1,195 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.io.archive;
+
+import com.github.mangara.puzzles.data.Puzzle;
+import com.github.mangara.puzzles.data.PuzzleType;
+import com.github.mangara.puzzles.data.logiquiz.CreateLogiquizSettings;
+import com.github.mangara.puzzles.data.logiquiz.Logiquiz;
+import com.github.mangara.puzzles.data.nonogram.SolvedNonogram;
+import com.github.mangara.puzzles.data.sudoku.Sudoku;
+import com.github.mangara.puzzles.generators.logiquiz.LogiquizGenerator;
+import com.github.mangara.puzzles.generators.nonogram.NonogramGenerator;
+import static com.github.mangara.puzzles.solvers.sudoku.BitmaskSolverTest.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PuzzleArchiveTest {
+
+    public PuzzleArchiveTest() {
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        List<Puzzle> puzzles = mixedPuzzles();
+        Path file = Files.createTempFile("puzzles", ".pzar");
+
+        try {
+            PuzzleArchiveWriter.writeAll(puzzles, file);
+
+            // A small segment size makes some records cross segment boundaries
+            for (int segmentSize : new int[]{PuzzleArchiveReader.SEGMENT_SIZE, 64}) {
+                try (PuzzleArchiveReader reader = new PuzzleArchiveReader(file, segmentSize)) {
+                    assertEquals(puzzles.size(), reader.size());
+
+                    // Read out of order
+                    for (int i = puzzles.size() - 1; i >= 0; i -= 2) {
+                        assertSamePuzzle(puzzles.get(i), reader.get(i));
+                    }
+
+                    for (int i = 0; i < puzzles.size(); i++) {
+                        assertEquals(puzzles.get(i).getType(), reader.getType(i));
+                        assertSamePuzzle(puzzles.get(i), reader.get(i));
+                    }
+
+                    assertThrows(IndexOutOfBoundsException.class, () -> { reader.get(puzzles.size()); });
+                    assertThrows(IndexOutOfBoundsException.class, () -> { reader.getType(puzzles.size()); });
+                    assertThrows(IndexOutOfBoundsException.class, () -> { reader.get(-1); });
+                    assertThrows(IndexOutOfBoundsException.class, () -> { reader.getType(-1); });
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        Path file = Files.createTempFile("puzzles", ".pzar");
+
+        try {
+            PuzzleArchiveWriter.writeAll(new ArrayList<>(), file);
+
+            try (PuzzleArchiveReader reader = PuzzleArchiveReader.open(file)) {
+                assertEquals(0, reader.size());
+                assertThrows(IndexOutOfBoundsException.class, () -> { reader.get(0); });
+                assertThrows(IndexOutOfBoundsException.class, () -> { reader.getType(0); });
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testCloseTwice() throws IOException {
+        Path file = Files.createTempFile("puzzles", ".pzar");
+
+        try {
+            PuzzleArchiveWriter writer = PuzzleArchiveWriter.create(file);
+            writer.write(parse(UNIQUE_EASY));
+            writer.close();
+
+            long size = Files.size(file);
+            writer.close();
+
+            assertEquals(size, Files.size(file));
+            assertThrows(IOException.class, () -> { writer.write(parse(UNIQUE_HARD)); });
+
+            try (PuzzleArchiveReader reader = PuzzleArchiveReader.open(file)) {
+                assertEquals(1, reader.size());
+                assertSamePuzzle(parse(UNIQUE_EASY), reader.get(0));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testInvalid() throws IOException {
+        Path file = Files.createTempFile("puzzles", ".pzar");
+
+        try {
+            List<Puzzle> puzzles = mixedPuzzles();
+            PuzzleArchiveWriter.writeAll(puzzles, file);
+            byte[] bytes = Files.readAllBytes(file);
+
+            // Cut off the footer, as if the writer was never closed
+            Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+
+            assertThrows(IOException.class, () -> { PuzzleArchiveReader.open(file).close(); });
+
+            // A record that ends in the string data
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.clone());
+            long recordIndex = buffer.getLong(bytes.length - ArchiveFormat.FOOTER_SIZE);
+            long recordsEnd = buffer.getLong((int) recordIndex + 8 * 12);
+            buffer.putLong((int) recordIndex + 8 * 11, recordsEnd + 1);
+            Files.write(file, buffer.array());
+
+            try (PuzzleArchiveReader reader = PuzzleArchiveReader.open(file)) {
+                assertSamePuzzle(puzzles.get(9), reader.get(9));
+                assertThrows(IOException.class, () -> { reader.get(10); });
+                assertThrows(IOException.class, () -> { reader.get(11); });
+                assertThrows(IOException.class, () -> { reader.getType(11); });
+            }
+
+            // An archive with the wrong magic number
+            bytes[0] = 'X';
+            Files.write(file, bytes);
+            assertThrows(IOException.class, () -> { PuzzleArchiveReader.open(file).close(); });
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static List<Puzzle> mixedPuzzles() {
+        List<Puzzle> puzzles = new ArrayList<>();
+        Random rand = new Random(47);
+
+        for (int i = 0; i < 12; i++) {
+            switch (i % 3) {
+                case 0:
+                    puzzles.add(parse(i % 2 == 0 ? UNIQUE_EASY : EMPTY));
+                    break;
+                case 1:
+                    boolean[][] drawing = new boolean[3 + i][2 + i / 2];
+
+                    for (boolean[] column : drawing) {
+                        for (int y = 0; y < column.length; y++) {
+                            column[y] = rand.nextBoolean();
+                        }
+                    }
+
+                    puzzles.add(NonogramGenerator.generateNonogram(drawing));
+                    break;
+                default:
+                    puzzles.add(LogiquizGenerator.create(new CreateLogiquizSettings(3, 4, i)));
+            }
+        }
+
+        return puzzles;
+    }
+
+    private static void assertSamePuzzle(Puzzle expected, Puzzle actual) {
+        assertEquals(expected.getType(), actual.getType());
+
+        if (expected.getType() == PuzzleType.SUDOKU) {
+            assertArrayEquals(((Sudoku) expected).getGivenDigits(), ((Sudoku) actual).getGivenDigits());
+        } else if (expected.getType() == PuzzleType.NONOGRAM) {
+            assertArrayEquals(((SolvedNonogram) expected).getDrawing(), ((SolvedNonogram) actual).getDrawing());
+        } else {
+            assertEquals(((Logiquiz) expected).getGroups(), ((Logiquiz) actual).getGroups());
+            assertEquals(((Logiquiz) expected).getClues(), ((Logiquiz) actual).getClues());
+        }
+    }
+}
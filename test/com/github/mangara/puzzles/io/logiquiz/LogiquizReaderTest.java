@@ -0,0 +1,119 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.io.logiquiz;
+
+import com.github.mangara.puzzles.data.logiquiz.CreateLogiquizSettings;
+import com.github.mangara.puzzles.data.logiquiz.Logiquiz;
+import com.github.mangara.puzzles.data.logiquiz.LogiquizSolutionState;
+import com.github.mangara.puzzles.generators.logiquiz.LogiquizGenerator;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class LogiquizReaderTest {
+
+    public LogiquizReaderTest() {
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        Logiquiz puzzle = LogiquizGenerator.create(new CreateLogiquizSettings(3, 4, 7));
+        LogiquizFile file = read(write(puzzle, null));
+
+        assertEquals(puzzle.getGroups(), file.getPuzzle().getGroups());
+        assertEquals(puzzle.getClues(), file.getPuzzle().getClues());
+        assertFalse(file.hasProgress());
+    }
+
+    @Test
+    public void testProgress() throws IOException {
+        Logiquiz puzzle = new Logiquiz(Arrays.asList(Arrays.asList("Ann", "Bob"), Arrays.asList("red", "blue")), Arrays.asList("Ann is red.", "Bob likes tea."));
+        LogiquizSolutionState[][] progress = {{LogiquizSolutionState.POSITIVE, LogiquizSolutionState.NEGATIVE}, {LogiquizSolutionState.UNKNOWN, LogiquizSolutionState.POSITIVE}};
+        String text = write(puzzle, progress);
+
+        assertTrue(text.contains("is\tAnn is red."));
+        assertTrue(text.contains("text\tBob likes tea."));
+
+        LogiquizFile file = read(text);
+
+        assertEquals(puzzle.getClues(), file.getPuzzle().getClues());
+        assertArrayEquals(progress, file.getProgress());
+    }
+
+    @Test
+    public void testOldFormat() throws IOException {
+        LogiquizFile file = read("Ann\nBob\n\nred\nblue\n\n");
+
+        assertEquals(Arrays.asList(Arrays.asList("Ann", "Bob"), Arrays.asList("red", "blue")), file.getPuzzle().getGroups());
+        assertTrue(file.getPuzzle().getClues().isEmpty());
+    }
+
+    @Test
+    public void testInvalid() {
+        String[] texts = {
+            "type=logiquiz\n[groups]\nAnn\nBob\n\nred\nblue\n", // No version
+            "type=logiquiz\nversion=2\n", // Newer version
+            "type=logiquiz\nversion=1\n[groups]\nAnn\nBob\n\nred\nblue\n\n[clues]\nsometimes\tAnn is red.\n",
+            "type=logiquiz\nversion=1\n[groups]\nAnn\nBob\n\nred\nblue\n\n[clues]\nis_not\tAnn is red.\n", // Type does not match the text
+            "type=logiquiz\nversion=1\n[groups]\nAnn\nBob\n\nred\nblue\n\n[clues]\nis\tBob likes tea.\n",
+            "type=logiquiz\nversion=1\n[groups]\nAnn\nBob\n\nred\nblue\n\n[progress]\no.\n"
+        };
+
+        for (String text : texts) {
+            try {
+                read(text);
+                fail("Expected an IOException for " + text);
+            } catch (IOException ex) {
+                // Expected
+            }
+        }
+    }
+
+    @Test
+    public void testIsLogiquiz() throws IOException {
+        Path file = Files.createTempFile("logiquiz", ".txt");
+
+        try {
+            Logiquiz puzzle = LogiquizGenerator.create(new CreateLogiquizSettings(3, 3, 1));
+            LogiquizWriter.save(puzzle, file);
+            assertTrue(LogiquizReader.isLogiquiz(file));
+            assertEquals(puzzle.getClues(), LogiquizReader.readLogiquiz(file).getClues());
+
+            Files.write(file, "Ann\nBob\n\nred\nblue\ngreen\n".getBytes(StandardCharsets.UTF_8));
+            assertFalse(LogiquizReader.isLogiquiz(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private String write(Logiquiz puzzle, LogiquizSolutionState[][] progress) throws IOException {
+        StringWriter text = new StringWriter();
+        LogiquizWriter.write(puzzle, progress, new BufferedWriter(text));
+        return text.toString();
+    }
+
+    private LogiquizFile read(String text) throws IOException {
+        return LogiquizReader.read(new BufferedReader(new StringReader(text)));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.io.sudoku;
+
+import com.github.mangara.puzzles.data.sudoku.Sudoku;
+import static com.github.mangara.puzzles.solvers.sudoku.BitmaskSolverTest.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SudokuCollectionReaderTest {
+
+    public SudokuCollectionReaderTest() {
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        String[] lines = {UNIQUE_EASY, UNIQUE_17_CLUES, UNIQUE_HARD, EMPTY};
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (SudokuCollectionWriter writer = new SudokuCollectionWriter(bytes, '.')) {
+            for (String line : lines) {
+                writer.write(parse(line));
+            }
+        }
+
+        try (SudokuCollectionReader reader = new SudokuCollectionReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+            for (String line : lines) {
+                Sudoku sudoku = reader.next();
+                assertNotNull(sudoku);
+                assertArrayEquals(parse(line).getGivenDigits(), sudoku.getGivenDigits());
+            }
+
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    public void testCommentsAndSuffixes() throws IOException {
+        String text = "# A comment\n\n" + UNIQUE_EASY.replace('0', '.') + " 1.2\r\n" + UNIQUE_HARD + "\n";
+        int[][] digits = new int[9][9];
+
+        try (SudokuCollectionReader reader = reader(text)) {
+            assertTrue(reader.readDigits(digits));
+            assertArrayEquals(parse(UNIQUE_EASY).getGivenDigits(), digits);
+            assertEquals(3, reader.getLineNumber());
+
+            assertTrue(reader.readDigits(digits));
+            assertArrayEquals(parse(UNIQUE_HARD).getGivenDigits(), digits);
+            assertEquals(4, reader.getLineNumber());
+
+            assertFalse(reader.readDigits(digits));
+        }
+    }
+
+    @Test
+    public void testShortLine() throws IOException {
+        try (SudokuCollectionReader reader = reader(UNIQUE_EASY.substring(1) + "\n")) {
+            reader.next();
+            fail("Expected an exception for a line with 80 cells");
+        } catch (IOException ex) {
+            // Expected
+        }
+    }
+
+    private static SudokuCollectionReader reader(String text) {
+        return new SudokuCollectionReader(new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers;
+
+import com.github.mangara.puzzles.solvers.sudoku.BitmaskSolver;
+import static com.github.mangara.puzzles.solvers.sudoku.BitmaskSolverTest.*;
+import com.github.mangara.puzzles.solvers.sudoku.LogicalSolver;
+import com.github.mangara.puzzles.solvers.sudoku.SudokuGrader;
+import java.lang.management.ManagementFactory;
+import javax.management.ObjectName;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class MetricsTest {
+
+    public MetricsTest() {
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        assertFalse(Metrics.isEnabled());
+        assertSame(SolverMetrics.NONE, Metrics.current());
+    }
+
+    @Test
+    public void testRecording() {
+        MetricsSnapshot search;
+        MetricsSnapshot logical;
+
+        try (Metrics.Recording recording = Metrics.record()) {
+            BitmaskSolver.hasUniqueSolution(parse(UNIQUE_HARD));
+            search = recording.getSnapshot();
+
+            LogicalSolver.rate(parse(UNIQUE_EASY));
+            logical = recording.getSnapshot().minus(search);
+        }
+
+        assertSame(SolverMetrics.NONE, Metrics.current());
+
+        assertEquals(1, search.getSolves());
+        assertTrue(search.getSearchNodes() > 1);
+        assertTrue(search.getBacktracks() > 0);
+        assertEquals(0, search.getStrategyAttempts());
+
+        assertEquals(1, logical.getSolves());
+        assertEquals(0, logical.getSearchNodes());
+        assertTrue(logical.getStrategyHits() > 0);
+        assertTrue(logical.getStrategyAttempts() >= logical.getStrategyHits());
+        assertEquals(logical.getStrategyHits() + 1, logical.getPropagationPasses());
+    }
+
+    @Test
+    public void testGradeRecordsOneSolve() {
+        try (Metrics.Recording recording = Metrics.record()) {
+            for (String line : new String[]{UNIQUE_EASY, UNIQUE_HARD, TWO_SOLUTIONS, CONFLICT}) {
+                MetricsSnapshot before = recording.getSnapshot();
+                SudokuGrader.grade(parse(line));
+                MetricsSnapshot grade = recording.getSnapshot().minus(before);
+
+                assertEquals(line, 1, grade.getSolves());
+            }
+        }
+    }
+
+    @Test
+    public void testMBean() throws Exception {
+        try {
+            Metrics.registerMBean();
+            Metrics.getTotals().reset();
+
+            try (Metrics.Recording recording = Metrics.record()) {
+                BitmaskSolver.hasUniqueSolution(parse(UNIQUE_HARD));
+
+                // Both the recording and the totals see the solve
+                assertEquals(recording.getSnapshot().getSearchNodes(), Metrics.getTotals().getSearchNodes());
+            }
+
+            Object solves = ManagementFactory.getPlatformMBeanServer().getAttribute(new ObjectName(Metrics.OBJECT_NAME), "Solves");
+            assertEquals(1L, solves);
+        } finally {
+            Metrics.disable();
+        }
+    }
+}
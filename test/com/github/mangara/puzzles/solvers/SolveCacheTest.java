@@ -0,0 +1,221 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers;
+
+import com.github.mangara.puzzles.data.logiquiz.CreateLogiquizSettings;
+import com.github.mangara.puzzles.data.logiquiz.Logiquiz;
+import com.github.mangara.puzzles.data.nonogram.SolvedNonogram;
+import com.github.mangara.puzzles.data.sudoku.Sudoku;
+import com.github.mangara.puzzles.generators.logiquiz.LogiquizGenerator;
+import com.github.mangara.puzzles.generators.nonogram.NonogramGenerator;
+import com.github.mangara.puzzles.solvers.logiquiz.LogiquizSolver;
+import static com.github.mangara.puzzles.solvers.sudoku.BitmaskSolverTest.*;
+import com.github.mangara.puzzles.solvers.sudoku.DancingLinksSolver;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SolveCacheTest {
+
+    public SolveCacheTest() {
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        Path directory = Files.createTempDirectory("cache");
+
+        try {
+            Path file = directory.resolve("solves");
+            Sudoku sudoku = parse(UNIQUE_EASY);
+            int[][] sudokuSolution = DancingLinksSolver.findAnySolution(sudoku);
+            SolvedNonogram nonogram = NonogramGenerator.generateNonogram(new boolean[][]{{true, false}, {true, true}});
+            Logiquiz logiquiz = LogiquizGenerator.create(new CreateLogiquizSettings(3, 4, 50));
+            int[][] logiquizSolution = LogiquizSolver.findAnySolution(logiquiz);
+
+            try (SolveCache cache = SolveCache.open(file)) {
+                assertNull(cache.get(sudoku, 1));
+
+                cache.put(sudoku, new SolveCacheEntry(SolveResult.UNIQUE, sudokuSolution, "EASY", 1));
+                cache.put(nonogram, new SolveCacheEntry(SolveResult.UNIQUE, new int[][]{{1, 0}, {1, 1}}, null, 1));
+                cache.put(logiquiz, new SolveCacheEntry(SolveResult.UNIQUE, logiquizSolution, "12", 2));
+                assertEquals(3, cache.size());
+
+                // Opening it twice is not allowed
+                assertThrows(IOException.class, () -> { SolveCache.open(file).close(); });
+            }
+
+            try (SolveCache cache = SolveCache.open(file)) {
+                assertEquals(3, cache.size());
+
+                SolveCacheEntry entry = cache.get(sudoku, 1);
+                assertEquals(SolveResult.UNIQUE, entry.getResult());
+                assertArrayEquals(sudokuSolution, entry.getSolution());
+                assertEquals("EASY", entry.getRating());
+                assertNull(cache.get(sudoku, 2)); // Different solver version
+
+                entry = cache.get(nonogram, 1);
+                assertArrayEquals(new int[][]{{1, 0}, {1, 1}}, entry.getSolution());
+                assertNull(entry.getRating());
+
+                assertArrayEquals(logiquizSolution, cache.get(logiquiz, 2).getSolution());
+                assertNull(cache.get(parse(UNIQUE_HARD), 1));
+
+                // A newer entry replaces the old one
+                cache.put(sudoku, new SolveCacheEntry(SolveResult.UNIQUE, sudokuSolution, "MEDIUM", 1));
+                assertEquals("MEDIUM", cache.get(sudoku, 1).getRating());
+                assertEquals(3, cache.size());
+            }
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void testRecovery() throws IOException {
+        Path directory = Files.createTempDirectory("cache");
+
+        try {
+            Path file = directory.resolve("solves");
+            long complete;
+
+            try (SolveCache cache = SolveCache.open(file)) {
+                cache.put(parse(UNIQUE_EASY), new SolveCacheEntry(SolveResult.UNIQUE, null, "EASY", 1));
+                complete = cache.getFileSize();
+                cache.put(parse(UNIQUE_HARD), new SolveCacheEntry(SolveResult.UNIQUE, null, "HARD", 1));
+            }
+
+            // A crash in the middle of the last append
+            byte[] bytes = Files.readAllBytes(file);
+            Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+            try (SolveCache cache = SolveCache.open(file)) {
+                assertEquals(1, cache.size());
+                assertEquals(complete, cache.getFileSize());
+                assertEquals(complete, Files.size(file));
+                assertEquals("EASY", cache.get(parse(UNIQUE_EASY), 1).getRating());
+
+                cache.put(parse(UNIQUE_HARD), new SolveCacheEntry(SolveResult.UNIQUE, null, "HARD", 1));
+            }
+
+            // A damaged record, and everything after it, is dropped
+            bytes = Files.readAllBytes(file);
+            bytes[(int) complete - 2] ^= 1;
+            Files.write(file, bytes);
+
+            try (SolveCache cache = SolveCache.open(file)) {
+                assertEquals(0, cache.size());
+            }
+
+            Files.write(file, "Not a cache at all".getBytes(), StandardOpenOption.TRUNCATE_EXISTING);
+
+            // Other files are not opened as a cache
+            assertThrows(IOException.class, () -> { SolveCache.open(file).close(); });
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void testEviction() throws IOException {
+        Path directory = Files.createTempDirectory("cache");
+
+        try {
+            Path file = directory.resolve("solves");
+            long maxBytes = 4096;
+
+            try (SolveCache cache = SolveCache.open(file, maxBytes)) {
+                for (int i = 0; i < 500; i++) {
+                    cache.put(i, new SolveCacheEntry(SolveResult.MULTIPLE, null, "entry " + i, 1));
+
+                    // Keep using the first entry
+                    assertNotNull(cache.get(0));
+                    assertTrue(cache.getFileSize() <= maxBytes);
+                }
+
+                assertTrue(cache.size() < 500);
+                assertNull(cache.get(1));
+                assertEquals("entry 499", cache.get(499).getRating());
+                assertEquals("entry 0", cache.get(0).getRating());
+            }
+
+            try (SolveCache cache = SolveCache.open(file, maxBytes)) {
+                assertEquals("entry 0", cache.get(0).getRating());
+                assertEquals("entry 499", cache.get(499).getRating());
+                assertEquals(cache.getFileSize(), Files.size(file));
+            }
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void testFailedCompaction() throws IOException {
+        Path directory = Files.createTempDirectory("cache");
+
+        try {
+            Path file = directory.resolve("solves");
+            Path temporary = directory.resolve("solves.tmp");
+            long maxBytes = 4096;
+
+            try (SolveCache cache = SolveCache.open(file, maxBytes)) {
+                // The compacted log can't be written where a directory is in the way
+                Files.createDirectory(temporary);
+                int count = 0;
+
+                try {
+                    while (count < 500) {
+                        cache.put(count, new SolveCacheEntry(SolveResult.MULTIPLE, null, "entry " + count, 1));
+                        count++;
+                    }
+
+                    fail("The compaction should fail.");
+                } catch (IOException ex) {
+                    // Expected
+                }
+
+                assertFalse(Files.exists(temporary));
+                assertEquals(count + 1, cache.size());
+                assertEquals("entry 0", cache.get(0).getRating());
+                assertEquals("entry " + count, cache.get(count).getRating());
+
+                // The next compaction succeeds
+                cache.put(count + 1, new SolveCacheEntry(SolveResult.MULTIPLE, null, "entry " + (count + 1), 1));
+                assertTrue(cache.getFileSize() <= maxBytes);
+                assertEquals("entry " + (count + 1), cache.get(count + 1).getRating());
+            }
+
+            try (SolveCache cache = SolveCache.open(file, maxBytes)) {
+                assertEquals(cache.getFileSize(), Files.size(file));
+            }
+        } finally {
+            delete(directory);
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
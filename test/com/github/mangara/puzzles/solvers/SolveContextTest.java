@@ -0,0 +1,93 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers;
+
+import com.github.mangara.puzzles.solvers.sudoku.BitmaskSolver;
+import static com.github.mangara.puzzles.solvers.sudoku.BitmaskSolverTest.*;
+import com.github.mangara.puzzles.solvers.sudoku.DancingLinksSolver;
+import com.github.mangara.puzzles.solvers.sudoku.LogicalSolver;
+import com.github.mangara.puzzles.solvers.sudoku.SolvingSudoku;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SolveContextTest {
+
+    public SolveContextTest() {
+    }
+
+    @Test
+    public void testCheckpoint() {
+        CancellationToken token = new CancellationToken();
+        AtomicLong reported = new AtomicLong();
+        SolveContext context = new SolveContext(null, token, (work, nanos) -> reported.set(work));
+
+        for (int i = 0; i < SolveContext.CHECK_INTERVAL; i++) {
+            assertFalse(context.checkpoint());
+        }
+
+        assertEquals(SolveContext.CHECK_INTERVAL, reported.get());
+
+        token.cancel();
+        assertFalse(context.checkpoint()); // Not checked yet
+        assertTrue(context.check());
+        assertTrue(context.isStopped());
+        assertTrue(context.checkpoint()); // Stays stopped
+    }
+
+    @Test
+    public void testTimeout() {
+        SolveContext context = SolveContext.withTimeout(Duration.ZERO);
+        assertTrue(context.check());
+
+        try {
+            SolveContext.withTimeout(Duration.ofSeconds(-1));
+            fail("A negative timeout should be rejected");
+        } catch (IllegalArgumentException ex) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void testResults() {
+        for (SolveContext context : new SolveContext[]{SolveContext.UNBOUNDED, SolveContext.withTimeout(Duration.ofMinutes(1))}) {
+            assertEquals(SolveResult.UNIQUE, BitmaskSolver.solve(parse(UNIQUE_HARD), context));
+            assertEquals(SolveResult.MULTIPLE, BitmaskSolver.solve(parse(TWO_SOLUTIONS), context));
+            assertEquals(SolveResult.NONE, BitmaskSolver.solve(parse(CONFLICT), context));
+
+            assertEquals(SolveResult.UNIQUE, DancingLinksSolver.solve(parse(UNIQUE_HARD), context));
+            assertEquals(SolveResult.MULTIPLE, DancingLinksSolver.solve(parse(EMPTY), context));
+            assertEquals(SolveResult.NONE, DancingLinksSolver.solve(parse(CONFLICT), context));
+        }
+    }
+
+    @Test
+    public void testCancelled() {
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+
+        // This search needs more than one check interval
+        assertEquals(SolveResult.UNKNOWN, DancingLinksSolver.solve(parse(UNIQUE_HARD), SolveContext.withToken(token)));
+
+        // The solver is left ready for the next puzzle
+        assertEquals(SolveResult.UNIQUE, DancingLinksSolver.solve(parse(UNIQUE_HARD), SolveContext.UNBOUNDED));
+
+        SolvingSudoku sudoku = new SolvingSudoku(parse(UNIQUE_EASY));
+        assertTrue(LogicalSolver.solve(sudoku, SolveContext.withToken(token)).getSecond().isEmpty());
+        assertFalse(sudoku.isSolved());
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.logiquiz;
+
+import com.github.mangara.puzzles.data.logiquiz.CreateLogiquizSettings;
+import com.github.mangara.puzzles.data.logiquiz.Logiquiz;
+import com.github.mangara.puzzles.generators.logiquiz.LogiquizGenerator;
+import com.github.mangara.puzzles.solvers.SolveResult;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class LogiquizGraderTest {
+
+    private static final List<List<String>> GROUPS = Arrays.asList(
+            Arrays.asList("Ann", "Bob", "Cat"),
+            Arrays.asList("red", "green", "blue"),
+            Arrays.asList("dog", "fish", "bird"));
+
+    public LogiquizGraderTest() {
+    }
+
+    @Test
+    public void testDirectClues() {
+        Logiquiz puzzle = new Logiquiz(GROUPS, Arrays.asList(
+                "Ann is red.",
+                "Bob is green.",
+                "Ann is dog.",
+                "Bob is fish."));
+        LogiquizGrade grade = LogiquizGrader.grade(puzzle);
+
+        assertTrue(grade.isUnique());
+        assertTrue(grade.isComplete());
+        assertEquals(LogiquizDeduction.DIRECT_CLUE, grade.getSteps().get(0).getDeduction());
+        assertEquals(0, grade.getSteps().get(0).getClueIndex());
+        assertEquals(0, grade.getStepCount(LogiquizDeduction.LOOKAHEAD));
+        assertTrue(grade.getSteps().get(0).description().startsWith("Clue 1: Ann is red."));
+        assertSolves(puzzle, grade);
+    }
+
+    @Test
+    public void testNotUnique() {
+        LogiquizGrade grade = LogiquizGrader.grade(new Logiquiz(GROUPS, Arrays.asList("Ann is red.")));
+
+        assertEquals(SolveResult.MULTIPLE, grade.getResult());
+        assertFalse(grade.isComplete());
+        assertTrue(grade.getSteps().isEmpty());
+        assertNull(grade.getHardestDeduction());
+    }
+
+    @Test
+    public void testGenerated() {
+        for (long seed = 0; seed < 10; seed++) {
+            Logiquiz puzzle = LogiquizGenerator.create(new CreateLogiquizSettings(4, 5, seed));
+            LogiquizGrade grade = LogiquizGrader.grade(puzzle);
+
+            assertTrue(grade.isUnique());
+            assertEquals(grade.getScore(), LogiquizGrader.grade(puzzle).getScore());
+
+            int score = 0;
+
+            for (LogiquizStep step : grade.getSteps()) {
+                score += step.getDeduction().getWeight();
+            }
+
+            assertEquals(score, grade.getScore());
+
+            if (grade.isComplete()) {
+                assertSolves(puzzle, grade);
+            }
+        }
+    }
+
+    private void assertSolves(Logiquiz puzzle, LogiquizGrade grade) {
+        List<LogiquizStep> steps = grade.getSteps();
+        LogiquizState state = steps.isEmpty() ? new LogiquizState(puzzle) : steps.get(steps.size() - 1).getResult();
+
+        assertTrue(state.isSolved());
+        assertArrayEquals(LogiquizSolver.findAnySolution(puzzle), state.getSolution());
+    }
+}
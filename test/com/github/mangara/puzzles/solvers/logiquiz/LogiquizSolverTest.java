@@ -0,0 +1,117 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.logiquiz;
+
+import com.github.mangara.puzzles.data.logiquiz.CreateLogiquizSettings;
+import com.github.mangara.puzzles.data.logiquiz.Logiquiz;
+import com.github.mangara.puzzles.data.logiquiz.LogiquizSolutionState;
+import com.github.mangara.puzzles.generators.logiquiz.LogiquizGenerator;
+import com.github.mangara.puzzles.solvers.SolveContext;
+import com.github.mangara.puzzles.solvers.SolveResult;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class LogiquizSolverTest {
+
+    public LogiquizSolverTest() {
+    }
+
+    @Test
+    public void testCountSolutions() {
+        // One permutation per group after the first
+        assertEquals(36, LogiquizSolver.countSolutions(new LogiquizState(3, 3), 100));
+        assertEquals(216, LogiquizSolver.countSolutions(new LogiquizState(4, 3), 1000));
+        assertEquals(SolveResult.MULTIPLE, LogiquizSolver.solve(new LogiquizState(6, 8), SolveContext.UNBOUNDED));
+    }
+
+    @Test
+    public void testUnique() {
+        LogiquizState state = chain();
+
+        assertTrue(LogiquizSolver.hasUniqueSolution(state));
+        assertArrayEquals(new int[][]{{0, 1, 2}, {0, 1, 2}, {1, 2, 0}}, LogiquizSolver.findAnySolution(state));
+
+        // Propagation alone is enough here
+        assertTrue(state.propagate());
+        assertTrue(state.isSolved());
+        assertEquals(LogiquizSolutionState.POSITIVE, state.getState(1, 2, 2, 0));
+        assertEquals(LogiquizSolutionState.NEGATIVE, state.getState(2, 0, 0, 0));
+    }
+
+    @Test
+    public void testNoSolution() {
+        LogiquizState state = chain();
+        state.exclude(1, 2, 2, 0);
+
+        assertFalse(state.propagate());
+        assertEquals(SolveResult.NONE, LogiquizSolver.solve(state, SolveContext.UNBOUNDED));
+        assertNull(LogiquizSolver.findAnySolution(state));
+    }
+
+    @Test
+    public void testGrid() {
+        Logiquiz puzzle = LogiquizGenerator.create(new CreateLogiquizSettings(3, 3));
+        LogiquizState state = chain();
+        LogiquizSolutionState[][] grid = state.toGrid();
+
+        // Column 0 is the first entry of the last group, row 0 the first entry of the first group
+        assertEquals(LogiquizSolutionState.POSITIVE, grid[1][0]);
+        assertEquals(LogiquizSolutionState.NEGATIVE, grid[0][0]);
+        assertEquals(LogiquizSolutionState.POSITIVE, grid[3][0]);
+        assertEquals(LogiquizSolutionState.UNKNOWN, grid[3][3]); // Outside the staircase
+
+        LogiquizSolutionState[][] copy = LogiquizState.fromGrid(puzzle, grid).toGrid();
+
+        for (int i = 0; i < grid.length; i++) {
+            assertArrayEquals(grid[i], copy[i]);
+        }
+    }
+
+    @Test
+    public void testClues() {
+        Logiquiz puzzle = new Logiquiz(List.of(List.of("Ann", "Bob", "Eve"), List.of("dog", "fish", "bird"), List.of("1st", "2nd", "3rd")), List.of(
+                "Eve is before Ann in group 3.",
+                "Bob is not fish.",
+                "bird is 2 less than dog in group 3.",
+                "Ann is either fish or 3rd."));
+
+        assertEquals(SolveResult.MULTIPLE, LogiquizSolver.solve(puzzle, SolveContext.UNBOUNDED));
+
+        List<String> clues = new ArrayList<>(puzzle.getClues());
+        clues.add("Ann is not 3rd.");
+        puzzle = new Logiquiz(puzzle.getGroups(), clues);
+
+        assertTrue(LogiquizSolver.hasUniqueSolution(puzzle));
+        assertArrayEquals(new int[][]{{0, 1, 2}, {1, 0, 2}, {1, 2, 0}}, LogiquizSolver.findAnySolution(puzzle));
+
+        clues.add("Bob is before Eve in group 3.");
+        assertEquals(SolveResult.NONE, LogiquizSolver.solve(new Logiquiz(puzzle.getGroups(), clues), SolveContext.UNBOUNDED));
+    }
+
+    /**
+     * Three groups of three: A0 is B0, A1 is B1, A0 is C1 and B1 is C2.
+     */
+    private static LogiquizState chain() {
+        LogiquizState state = new LogiquizState(3, 3);
+        state.match(0, 0, 1, 0);
+        state.match(0, 1, 1, 1);
+        state.match(0, 0, 2, 1);
+        state.match(1, 1, 2, 2);
+        return state;
+    }
+}
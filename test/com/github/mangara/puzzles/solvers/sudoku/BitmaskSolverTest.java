@@ -0,0 +1,72 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.sudoku;
+
+import com.github.mangara.puzzles.checkers.sudoku.SudokuChecker;
+import com.github.mangara.puzzles.data.sudoku.Sudoku;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class BitmaskSolverTest {
+
+    public static final String UNIQUE_EASY = "003020600900305001001806400008102900700000008006708200002609500800203009005010300";
+    public static final String UNIQUE_17_CLUES = "000000010400000000020000000000050407008000300001090000300400200050100000000806000";
+    public static final String UNIQUE_HARD = "800000000003600000070090200050007000000045700000100030001000068008500010090000400";
+    public static final String TWO_SOLUTIONS = "403921057907345021251876493548132976729564138136798245372689514814253769695417382";
+    public static final String EMPTY = "000000000000000000000000000000000000000000000000000000000000000000000000000000000";
+    public static final String CONFLICT = "110000000000000000000000000000000000000000000000000000000000000000000000000000000";
+
+    public BitmaskSolverTest() {
+    }
+
+    @Test
+    public void testHasUniqueSolution() {
+        assertTrue(BitmaskSolver.hasUniqueSolution(parse(UNIQUE_EASY)));
+        assertTrue(BitmaskSolver.hasUniqueSolution(parse(UNIQUE_17_CLUES)));
+        assertTrue(BitmaskSolver.hasUniqueSolution(parse(UNIQUE_HARD)));
+        assertFalse(BitmaskSolver.hasUniqueSolution(parse(TWO_SOLUTIONS)));
+        assertFalse(BitmaskSolver.hasUniqueSolution(parse(EMPTY)));
+        assertFalse(BitmaskSolver.hasUniqueSolution(parse(CONFLICT)));
+    }
+
+    @Test
+    public void testCountSolutions() {
+        assertEquals(1, BitmaskSolver.countSolutions(parse(UNIQUE_HARD), 10));
+        assertEquals(2, BitmaskSolver.countSolutions(parse(TWO_SOLUTIONS), 10));
+        assertEquals(100, BitmaskSolver.countSolutions(parse(EMPTY), 100));
+        assertEquals(0, BitmaskSolver.countSolutions(parse(CONFLICT), 10));
+    }
+
+    @Test
+    public void testFindAnySolution() {
+        Sudoku puzzle = parse(UNIQUE_17_CLUES);
+        int[][] solution = BitmaskSolver.findAnySolution(puzzle);
+        assertNotNull(solution);
+        assertTrue(SudokuChecker.isValidSolution(puzzle, solution));
+
+        assertNull(BitmaskSolver.findAnySolution(parse(CONFLICT)));
+    }
+
+    public static Sudoku parse(String line) {
+        int[][] digits = new int[9][9];
+
+        for (int i = 0; i < 81; i++) {
+            digits[i / 9][i % 9] = line.charAt(i) - '0';
+        }
+
+        return new Sudoku(digits);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.sudoku;
+
+import com.github.mangara.puzzles.checkers.sudoku.SudokuChecker;
+import com.github.mangara.puzzles.data.sudoku.Sudoku;
+import static com.github.mangara.puzzles.solvers.sudoku.BitmaskSolverTest.*;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class DancingLinksSolverTest {
+
+    public DancingLinksSolverTest() {
+    }
+
+    @Test
+    public void testHasUniqueSolution() {
+        assertTrue(DancingLinksSolver.hasUniqueSolution(parse(UNIQUE_EASY)));
+        assertTrue(DancingLinksSolver.hasUniqueSolution(parse(UNIQUE_17_CLUES)));
+        assertTrue(DancingLinksSolver.hasUniqueSolution(parse(UNIQUE_HARD)));
+        assertFalse(DancingLinksSolver.hasUniqueSolution(parse(TWO_SOLUTIONS)));
+        assertFalse(DancingLinksSolver.hasUniqueSolution(parse(EMPTY)));
+        assertFalse(DancingLinksSolver.hasUniqueSolution(parse(CONFLICT)));
+    }
+
+    @Test
+    public void testFindAnySolution() {
+        Sudoku puzzle = parse(UNIQUE_HARD);
+        int[][] solution = DancingLinksSolver.findAnySolution(puzzle);
+        assertNotNull(solution);
+        assertTrue(SudokuChecker.isValidSolution(puzzle, solution));
+
+        assertNull(DancingLinksSolver.findAnySolution(parse(CONFLICT)));
+    }
+
+    /**
+     * The two solvers are independent, so they should agree on the number of
+     * solutions of random subsets of a solved grid.
+     */
+    @Test
+    public void testMatchesBitmaskSolver() {
+        Random rand = new Random(42);
+        int[][] full = BitmaskSolver.findAnySolution(parse(UNIQUE_17_CLUES));
+
+        for (int i = 0; i < 500; i++) {
+            int[][] digits = new int[9][9];
+            int keep = 20 + rand.nextInt(30);
+
+            for (int cell = 0; cell < 81; cell++) {
+                if (rand.nextInt(81) < keep) {
+                    digits[cell / 9][cell % 9] = full[cell / 9][cell % 9];
+                }
+            }
+
+            Sudoku puzzle = new Sudoku(digits);
+            assertEquals(BitmaskSolver.countSolutions(puzzle, 20), DancingLinksSolver.countSolutions(puzzle, 20));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.sudoku;
+
+import com.github.mangara.puzzles.data.sudoku.Sudoku;
+import com.github.mangara.puzzles.data.sudoku.SudokuDifficulty;
+import static com.github.mangara.puzzles.solvers.sudoku.BitmaskSolverTest.*;
+import com.github.mangara.puzzles.solvers.sudoku.strategy.NakedSingle;
+import com.github.mangara.puzzles.solvers.sudoku.strategy.NakedSubset;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class LogicalSolverTest {
+
+    public LogicalSolverTest() {
+    }
+
+    @Test
+    public void testRate() {
+        assertEquals(SudokuDifficulty.EASY, LogicalSolver.rate(parse(UNIQUE_EASY)));
+        assertEquals(SudokuDifficulty.UNSOLVED, LogicalSolver.rate(parse(TWO_SOLUTIONS)));
+    }
+
+    @Test
+    public void testAdaptiveOrdering() {
+        StrategyRegistry registry = new StrategyRegistry();
+        LogicalSolver canonical = new LogicalSolver(registry.createAll(StrategyRegistry.CANONICAL), LogicalSolver.Ordering.CANONICAL);
+        LogicalSolver adaptive = new LogicalSolver(registry.createAll(StrategyRegistry.CANONICAL), LogicalSolver.Ordering.ADAPTIVE);
+
+        for (String line : new String[]{UNIQUE_EASY, UNIQUE_17_CLUES, UNIQUE_HARD}) {
+            Sudoku puzzle = parse(line);
+            SolvingSudoku expected = canonical.run(new SolvingSudoku(puzzle)).getFirst();
+            SolvingSudoku actual = adaptive.run(new SolvingSudoku(puzzle)).getFirst();
+
+            assertEquals(expected.isSolved(), actual.isSolved());
+            assertEquals(canonical.grade(new SolvingSudoku(puzzle)), adaptive.grade(new SolvingSudoku(puzzle)));
+        }
+
+        long calls = 0;
+
+        for (StrategyStats stats : adaptive.getStatistics()) {
+            calls += stats.getCalls();
+        }
+
+        assertTrue(calls > 0);
+    }
+
+    @Test
+    public void testKeysRoundTrip() {
+        StrategyRegistry registry = new StrategyRegistry();
+        registry.register("Pair", () -> new NakedSubset(2));
+
+        LogicalSolver solver = registry.createSolver(StrategyRegistry.CANONICAL + ", Pair", LogicalSolver.Ordering.CANONICAL);
+        List<String> keys = new ArrayList<>();
+
+        for (StrategyStats stats : solver.getStatistics()) {
+            keys.add(stats.getKey());
+        }
+
+        List<String> names = new ArrayList<>(registry.getNames());
+        assertEquals(names, keys);
+
+        LogicalSolver copy = registry.createSolver(String.join(", ", keys), LogicalSolver.Ordering.CANONICAL);
+
+        for (int i = 0; i < keys.size(); i++) {
+            assertEquals(keys.get(i), copy.getStatistics().get(i).getKey());
+            assertEquals(solver.getStatistics().get(i).getName(), copy.getStatistics().get(i).getName());
+        }
+
+        String className = NakedSingle.class.getName();
+        assertEquals(className, registry.createSolver(className, LogicalSolver.Ordering.CANONICAL).getStatistics().get(0).getKey());
+        assertEquals(className, new LogicalSolver(List.of(new NakedSingle()), LogicalSolver.Ordering.CANONICAL).getStatistics().get(0).getKey());
+    }
+
+    @Test
+    public void testRegistry() {
+        StrategyRegistry registry = new StrategyRegistry();
+        List<SolveStrategy> strategies = registry.createAll("NakedSingle, XWing");
+
+        assertEquals(2, strategies.size());
+        assertEquals("NakedSingle", strategies.get(0).getName());
+        assertEquals("X-Wing", strategies.get(1).getName());
+        assertTrue(registry.create("com.github.mangara.puzzles.solvers.sudoku.strategy.NakedSingle") instanceof NakedSingle);
+
+        try {
+            registry.create("NoSuchStrategy");
+            fail("Expected an exception for an unknown strategy");
+        } catch (IllegalArgumentException ex) {
+            // Expected
+        }
+    }
+}
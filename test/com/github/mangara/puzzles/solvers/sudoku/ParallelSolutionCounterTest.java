@@ -0,0 +1,67 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.sudoku;
+
+import com.github.mangara.puzzles.data.sudoku.Sudoku;
+import static com.github.mangara.puzzles.solvers.sudoku.BitmaskSolverTest.*;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ParallelSolutionCounterTest {
+
+    public ParallelSolutionCounterTest() {
+    }
+
+    @Test
+    public void testCountSolutions() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            ParallelSolutionCounter counter = new ParallelSolutionCounter(pool, 2);
+
+            assertEquals(1, counter.countSolutions(parse(UNIQUE_17_CLUES), 10));
+            assertEquals(2, counter.countSolutions(parse(TWO_SOLUTIONS), 10));
+            assertEquals(1000, counter.countSolutions(parse(EMPTY), 1000));
+            assertEquals(0, counter.countSolutions(parse(CONFLICT), 10));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testMatchesSequential() {
+        Random rand = new Random(7);
+        int[][] full = BitmaskSolver.findAnySolution(parse(UNIQUE_HARD));
+        ParallelSolutionCounter counter = new ParallelSolutionCounter();
+
+        for (int i = 0; i < 200; i++) {
+            int[][] digits = new int[9][9];
+            int keep = 15 + rand.nextInt(30);
+
+            for (int cell = 0; cell < 81; cell++) {
+                if (rand.nextInt(81) < keep) {
+                    digits[cell / 9][cell % 9] = full[cell / 9][cell % 9];
+                }
+            }
+
+            Sudoku puzzle = new Sudoku(digits);
+            int limit = 1 + rand.nextInt(100);
+            assertEquals(BitmaskSolver.countSolutions(puzzle, limit), counter.countSolutions(puzzle, limit));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2023 Sander Verdonschot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.sudoku;
+
+import com.github.mangara.puzzles.data.sudoku.Cell;
+import com.github.mangara.puzzles.data.sudoku.Sudoku;
+import static com.github.mangara.puzzles.data.sudoku.SudokuSolutionState.BLANK;
+import static com.github.mangara.puzzles.solvers.sudoku.BitmaskSolverTest.*;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SolvingSudokuTest {
+
+    public SolvingSudokuTest() {
+    }
+
+    @Test
+    public void testPositionsAfterPlaceDigit() {
+        for (String line : new String[]{EMPTY, UNIQUE_EASY, UNIQUE_HARD}) {
+            Sudoku puzzle = parse(line);
+            int[][] solution = BitmaskSolver.findAnySolution(puzzle);
+            SolvingSudoku sudoku = new SolvingSudoku(puzzle);
+            checkPositions(sudoku);
+
+            for (int row = 0; row < 9; row++) {
+                for (int col = 0; col < 9; col++) {
+                    if (sudoku.state[row][col].digit == BLANK) {
+                        sudoku.placeDigit(row, col, solution[row][col]);
+                        checkPositions(sudoku);
+                    }
+                }
+            }
+
+            assertTrue(sudoku.isSolved());
+            assertEquals(0, sudoku.getCandidateCount());
+        }
+    }
+
+    @Test
+    public void testPositionsAfterRemovePossible() {
+        Random random = new Random(7);
+        Sudoku puzzle = parse(UNIQUE_HARD);
+        int[][] solution = BitmaskSolver.findAnySolution(puzzle);
+        SolvingSudoku sudoku = new SolvingSudoku(puzzle);
+
+        for (int i = 0; i < 500; i++) {
+            Cell cell = new Cell(random.nextInt(9), random.nextInt(9));
+            int digit = 1 + random.nextInt(9);
+
+            if (digit != solution[cell.row][cell.col]) {
+                sudoku.removePossible(cell, digit);
+            }
+
+            // Removing the digit of a filled cell must not change anything
+            if (i % 10 == 0) {
+                sudoku.placeDigit(cell, solution[cell.row][cell.col]);
+                sudoku.removePossible(cell, solution[cell.row][cell.col]);
+            }
+
+            checkPositions(sudoku);
+        }
+    }
+
+    @Test
+    public void testCopy() {
+        SolvingSudoku sudoku = new SolvingSudoku(parse(UNIQUE_EASY));
+        SolvingSudoku copy = new SolvingSudoku(sudoku);
+
+        copy.removePossible(new Cell(0, 0), 4);
+        copy.placeDigit(0, 1, 4);
+
+        checkPositions(sudoku);
+        checkPositions(copy);
+        assertNotEquals(sudoku.getRowPositions(4, 0), copy.getRowPositions(4, 0));
+    }
+
+    /**
+     * Checks the position masks against a recomputation from the state.
+     */
+    private static void checkPositions(SolvingSudoku sudoku) {
+        int candidates = 0;
+
+        for (int digit = 1; digit <= 9; digit++) {
+            for (int i = 0; i < 9; i++) {
+                int rowPositions = 0;
+                int colPositions = 0;
+
+                for (int j = 0; j < 9; j++) {
+                    if (sudoku.state[i][j].digit == BLANK && sudoku.state[i][j].isPossible(digit)) {
+                        rowPositions |= 1 << j;
+                    }
+
+                    if (sudoku.state[j][i].digit == BLANK && sudoku.state[j][i].isPossible(digit)) {
+                        colPositions |= 1 << j;
+                    }
+                }
+
+                assertEquals("Row positions of " + digit + " in row " + (i + 1), rowPositions, sudoku.getRowPositions(digit, i));
+                assertEquals("Column positions of " + digit + " in column " + (i + 1), colPositions, sudoku.getColumnPositions(digit, i));
+                candidates += Integer.bitCount(rowPositions);
+            }
+        }
+
+        assertEquals(candidates, sudoku.getCandidateCount());
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2023 Sander Verdonschot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.sudoku;
+
+import com.github.mangara.puzzles.data.sudoku.Cell;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class StrongLinkGraphTest {
+
+    public StrongLinkGraphTest() {
+    }
+
+    @Test
+    public void testLinks() {
+        SolvingSudoku sudoku = new SolvingSudoku();
+        StrongLinkGraph graph = sudoku.getStrongLinks();
+
+        for (int cell = 0; cell < 81; cell++) {
+            assertEquals(0, graph.getLinkCount(1, cell));
+        }
+
+        // Row link for 1 between r1c1 and r1c6
+        remove(sudoku, 1, 0, 1, 2, 3, 4, 6, 7, 8);
+        // Column link for 1 between r1c6 and r8c6
+        for (int row = 1; row < 9; row++) {
+            if (row != 7) {
+                sudoku.removePossible(new Cell(row, 5), 1);
+            }
+        }
+
+        graph = sudoku.getStrongLinks();
+        assertEquals(Arrays.asList(new Cell(0, 5)), links(graph, 1, new Cell(0, 0)));
+        assertEquals(Arrays.asList(new Cell(0, 0), new Cell(7, 5)), links(graph, 1, new Cell(0, 5)));
+        assertEquals(Arrays.asList(new Cell(0, 5)), links(graph, 1, new Cell(7, 5)));
+        assertEquals(0, graph.getLinkCount(2, 0));
+
+        // Break the row link
+        sudoku.removePossible(new Cell(0, 0), 1);
+        graph = sudoku.getStrongLinks();
+        assertEquals(0, graph.getLinkCount(1, 0));
+        assertEquals(Arrays.asList(new Cell(7, 5)), links(graph, 1, new Cell(0, 5)));
+    }
+
+    @Test
+    public void testRowAndBoxLink() {
+        // r1c1 and r1c2 are the only places for 2 in both row 1 and box 1
+        SolvingSudoku sudoku = new SolvingSudoku();
+        remove(sudoku, 2, 0, 2, 3, 4, 5, 6, 7, 8);
+
+        for (int row = 1; row < 3; row++) {
+            remove(sudoku, 2, row, 0, 1, 2);
+        }
+
+        StrongLinkGraph graph = sudoku.getStrongLinks();
+        assertEquals(Arrays.asList(new Cell(0, 1)), links(graph, 2, new Cell(0, 0)));
+        assertEquals(Arrays.asList(new Cell(0, 0)), links(graph, 2, new Cell(0, 1)));
+    }
+
+    @Test
+    public void testBoxLink() {
+        // r2c2 and r3c3 are the only places for 5 in box 1
+        SolvingSudoku sudoku = new SolvingSudoku();
+
+        for (int i = 0; i < 9; i++) {
+            if (i != 4 && i != 8) {
+                sudoku.removePossible(new Cell(i / 3, i % 3), 5);
+            }
+        }
+
+        StrongLinkGraph graph = sudoku.getStrongLinks();
+        assertEquals(Arrays.asList(new Cell(2, 2)), links(graph, 5, new Cell(1, 1)));
+        assertEquals(Arrays.asList(new Cell(1, 1)), links(graph, 5, new Cell(2, 2)));
+    }
+
+    @Test
+    public void testSees() {
+        assertTrue(StrongLinkGraph.sees(0, 8)); // Row
+        assertTrue(StrongLinkGraph.sees(0, 72)); // Column
+        assertTrue(StrongLinkGraph.sees(0, 20)); // Box
+        assertFalse(StrongLinkGraph.sees(0, 30));
+        assertFalse(StrongLinkGraph.sees(2, 12));
+        assertEquals(new Cell(4, 7), StrongLinkGraph.cell(StrongLinkGraph.index(new Cell(4, 7))));
+    }
+
+    private static List<Cell> links(StrongLinkGraph graph, int digit, Cell cell) {
+        List<Cell> result = new ArrayList<>();
+        int index = StrongLinkGraph.index(cell);
+
+        for (int i = 0; i < graph.getLinkCount(digit, index); i++) {
+            result.add(StrongLinkGraph.cell(graph.getLink(digit, index, i)));
+        }
+
+        return result;
+    }
+
+    private static void remove(SolvingSudoku sudoku, int digit, int row, int... columns) {
+        for (int col : columns) {
+            sudoku.removePossible(new Cell(row, col), digit);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2023 Sander Verdonschot <sander.verdonschot at gmail.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.sudoku;
+
+import com.github.mangara.puzzles.checkers.sudoku.SudokuChecker;
+import com.github.mangara.puzzles.data.sudoku.Sudoku;
+import com.github.mangara.puzzles.data.sudoku.SudokuDifficulty;
+import static com.github.mangara.puzzles.solvers.sudoku.BitmaskSolverTest.*;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SudokuGraderTest {
+
+    public SudokuGraderTest() {
+    }
+
+    @Test
+    public void testUniquePuzzles() {
+        for (String line : new String[]{UNIQUE_EASY, UNIQUE_17_CLUES, UNIQUE_HARD}) {
+            Sudoku puzzle = parse(line);
+            SudokuGrade grade = SudokuGrader.grade(puzzle);
+
+            assertTrue(grade.isValid());
+            assertTrue(grade.isUnique());
+            assertTrue(SudokuChecker.isValidSolution(puzzle, grade.getSolution()));
+            assertEquals(LogicalSolver.rate(puzzle), grade.getDifficulty());
+            assertEquals(LogicalSolver.solve(puzzle).getSecond().size(), grade.getSteps().size());
+        }
+
+        assertEquals(SudokuDifficulty.EASY, SudokuGrader.grade(parse(UNIQUE_EASY)).getDifficulty());
+    }
+
+    @Test
+    public void testInvalidAndAmbiguousPuzzles() {
+        SudokuGrade conflict = SudokuGrader.grade(parse(CONFLICT));
+        assertFalse(conflict.isValid());
+        assertEquals(0, conflict.getSolutionCount());
+
+        SudokuGrade twoSolutions = SudokuGrader.grade(parse(TWO_SOLUTIONS));
+        assertTrue(twoSolutions.isValid());
+        assertEquals(2, twoSolutions.getSolutionCount());
+        assertNull(twoSolutions.getSolution());
+        assertNull(twoSolutions.getDifficulty());
+
+        SudokuGrade empty = SudokuGrader.grade(parse(EMPTY));
+        assertTrue(empty.isValid());
+        assertFalse(empty.isUnique());
+    }
+}
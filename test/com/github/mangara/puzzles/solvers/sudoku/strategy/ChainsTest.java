@@ -0,0 +1,146 @@
+/*
+ * Copyright 2023 Sander Verdonschot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.sudoku.strategy;
+
+import com.github.mangara.puzzles.data.sudoku.Cell;
+import com.github.mangara.puzzles.solvers.sudoku.SolveStep;
+import com.github.mangara.puzzles.solvers.sudoku.SolvingSudoku;
+import java.util.Arrays;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ChainsTest {
+
+    // The solution of BitmaskSolverTest.UNIQUE_EASY
+    public static final String SOLUTION = "483921657967345821251876493548132976729564138136798245372689514814253769695417382";
+
+    public ChainsTest() {
+    }
+
+    @Test
+    public void testIsCandidate() {
+        SolvingSudoku sudoku = new SolvingSudoku();
+        sudoku.removePossible(new Cell(2, 4), 7);
+        sudoku.placeDigit(8, 8, 3);
+
+        assertTrue(Chains.isCandidate(sudoku, 6, 22));
+        assertFalse(Chains.isCandidate(sudoku, 7, 22));
+        assertFalse(Chains.isCandidate(sudoku, 3, 80)); // Filled in
+        assertFalse(Chains.isCandidate(sudoku, 3, 8)); // Same column
+    }
+
+    @Test
+    public void testCommonPeers() {
+        SolvingSudoku sudoku = new SolvingSudoku();
+
+        assertEquals(Arrays.asList(new Cell(0, 4), new Cell(4, 0)), Chains.commonPeers(sudoku, 1, 0, 40));
+        assertEquals(Arrays.asList(new Cell(0, 1), new Cell(0, 2)), Chains.commonPeers(sudoku, 1, 0, 5, 10));
+
+        sudoku.removePossible(new Cell(0, 4), 1);
+        assertEquals(Arrays.asList(new Cell(4, 0)), Chains.commonPeers(sudoku, 1, 0, 40));
+        assertEquals(Arrays.asList(new Cell(0, 4), new Cell(4, 0)), Chains.commonPeers(sudoku, 2, 0, 40));
+    }
+
+    @Test
+    public void testCells() {
+        assertEquals(Arrays.asList(new Cell(0, 0), new Cell(8, 8), new Cell(1, 0)), Chains.cells(0, 80, 9));
+    }
+
+    /**
+     * The digit of the given cell in SOLUTION.
+     */
+    public static int solution(int row, int col) {
+        return SOLUTION.charAt(9 * row + col) - '0';
+    }
+
+    /**
+     * Removes all candidates from the given cell except the given digits,
+     * which must include its digit in SOLUTION.
+     */
+    public static void restrict(SolvingSudoku sudoku, Cell cell, int... digits) {
+        assertTrue(Arrays.stream(digits).anyMatch(d -> d == solution(cell.row, cell.col)));
+
+        for (int d = 1; d <= 9; d++) {
+            final int digit = d;
+
+            if (Arrays.stream(digits).noneMatch(x -> x == digit)) {
+                sudoku.removePossible(cell, d);
+            }
+        }
+    }
+
+    /**
+     * Removes the digit from all cells in the row except the given columns,
+     * which must include its column in SOLUTION.
+     */
+    public static void confineInRow(SolvingSudoku sudoku, int digit, int row, int... columns) {
+        for (int col = 0; col < 9; col++) {
+            boolean keep = Arrays.binarySearch(columns, col) >= 0;
+
+            assertTrue(keep || solution(row, col) != digit);
+
+            if (!keep) {
+                sudoku.removePossible(new Cell(row, col), digit);
+            }
+        }
+    }
+
+    /**
+     * Removes the digit from all cells in the column except the given rows,
+     * which must include its row in SOLUTION.
+     */
+    public static void confineInColumn(SolvingSudoku sudoku, int digit, int col, int... rows) {
+        for (int row = 0; row < 9; row++) {
+            boolean keep = Arrays.binarySearch(rows, row) >= 0;
+
+            assertTrue(keep || solution(row, col) != digit);
+
+            if (!keep) {
+                sudoku.removePossible(new Cell(row, col), digit);
+            }
+        }
+    }
+
+    /**
+     * Applies the step and checks that exactly the given digit was removed
+     * from exactly the given cells, and that SOLUTION is still possible.
+     */
+    public static void checkEliminations(SolvingSudoku sudoku, SolveStep step, int digit, Cell... targets) {
+        int[][] before = new int[9][9];
+
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                before[row][col] = sudoku.state[row][col].getPossibleMask();
+            }
+        }
+
+        step.apply(sudoku);
+
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                int expected = before[row][col];
+
+                if (Arrays.asList(targets).contains(new Cell(row, col))) {
+                    expected &= ~(1 << (digit - 1));
+                    assertTrue("Nothing removed from " + new Cell(row, col), expected != before[row][col]);
+                }
+
+                assertEquals("Candidates of " + new Cell(row, col), expected, sudoku.state[row][col].getPossibleMask());
+                assertTrue("Solution removed from " + new Cell(row, col), sudoku.state[row][col].isPossible(solution(row, col)));
+            }
+        }
+    }
+}
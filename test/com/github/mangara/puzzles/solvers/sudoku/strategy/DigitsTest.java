@@ -0,0 +1,53 @@
+/*
+ * Copyright 2023 Sander Verdonschot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.sudoku.strategy;
+
+import com.github.mangara.puzzles.data.sudoku.Cell;
+import com.github.mangara.puzzles.solvers.sudoku.Region;
+import java.util.Arrays;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class DigitsTest {
+
+    public DigitsTest() {
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("", Digits.toString(0));
+        assertEquals("5", Digits.toString(0b10000));
+        assertEquals("1 and 9", Digits.toString(0b100000001));
+        assertEquals("2, 3, and 7", Digits.toString(0b1000110));
+        assertEquals("1, 2, 3, 4, 5, 6, 7, 8, and 9", Digits.toString(0x1FF));
+    }
+
+    @Test
+    public void testCells() {
+        assertEquals(Arrays.asList(), Digits.cells(Region.row(3), 0));
+        assertEquals(Arrays.asList(new Cell(3, 0), new Cell(3, 8)), Digits.cells(Region.row(3), 0b100000001));
+        assertEquals(Arrays.asList(new Cell(1, 5), new Cell(4, 5)), Digits.cells(Region.col(5), 0b10010));
+        assertEquals(Arrays.asList(new Cell(3, 7), new Cell(4, 6), new Cell(5, 8)), Digits.cells(Region.box(5), 0b100001010));
+    }
+
+    @Test
+    public void testSubsetName() {
+        assertEquals("pair", Digits.subsetName(2));
+        assertEquals("triple", Digits.subsetName(3));
+        assertEquals("quad", Digits.subsetName(4));
+        assertThrows(IllegalArgumentException.class, () -> { Digits.subsetName(5); });
+    }
+}
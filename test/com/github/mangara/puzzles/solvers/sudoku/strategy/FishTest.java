@@ -0,0 +1,168 @@
+/*
+ * Copyright 2023 Sander Verdonschot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.sudoku.strategy;
+
+import com.github.mangara.puzzles.data.sudoku.Cell;
+import com.github.mangara.puzzles.solvers.sudoku.SolveStep;
+import com.github.mangara.puzzles.solvers.sudoku.SolvingSudoku;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class FishTest {
+
+    public FishTest() {
+    }
+
+    @Test
+    public void testXWing() {
+        // The 1s in rows 2 and 6 can only go in columns 3 and 7
+        SolvingSudoku sudoku = new SolvingSudoku();
+        confineInRow(sudoku, 1, 1, 2, 6);
+        confineInRow(sudoku, 1, 5, 2, 6);
+
+        Optional<SolveStep> step = new Fish(2).findStep(sudoku);
+        assertTrue(step.isPresent());
+        assertEquals(Arrays.asList(new Cell(1, 2), new Cell(5, 2), new Cell(1, 6), new Cell(5, 6)), step.get().primaryCells());
+        assertEquals(Arrays.asList(
+                new Cell(0, 2), new Cell(2, 2), new Cell(3, 2), new Cell(4, 2), new Cell(6, 2), new Cell(7, 2), new Cell(8, 2),
+                new Cell(0, 6), new Cell(2, 6), new Cell(3, 6), new Cell(4, 6), new Cell(6, 6), new Cell(7, 6), new Cell(8, 6)),
+                step.get().secondaryCells());
+
+        checkEliminations(sudoku, step.get(), 1, step.get().secondaryCells());
+    }
+
+    @Test
+    public void testSwordfish() {
+        // The 3s in columns 1, 5 and 8 can only go in rows 3, 4 and 9
+        SolvingSudoku sudoku = new SolvingSudoku();
+        confineInColumn(sudoku, 3, 0, 2, 3);
+        confineInColumn(sudoku, 3, 4, 3, 8);
+        confineInColumn(sudoku, 3, 7, 2, 8);
+
+        Optional<SolveStep> step = new Fish(3).findStep(sudoku);
+        assertTrue(step.isPresent());
+        assertEquals(Arrays.asList(new Cell(2, 0), new Cell(2, 7), new Cell(3, 0), new Cell(3, 4), new Cell(8, 4), new Cell(8, 7)), step.get().primaryCells());
+        assertEquals(Arrays.asList(
+                new Cell(2, 1), new Cell(2, 2), new Cell(2, 3), new Cell(2, 5), new Cell(2, 6), new Cell(2, 8),
+                new Cell(3, 1), new Cell(3, 2), new Cell(3, 3), new Cell(3, 5), new Cell(3, 6), new Cell(3, 8),
+                new Cell(8, 1), new Cell(8, 2), new Cell(8, 3), new Cell(8, 5), new Cell(8, 6), new Cell(8, 8)),
+                step.get().secondaryCells());
+
+        checkEliminations(sudoku, step.get(), 3, step.get().secondaryCells());
+    }
+
+    @Test
+    public void testJellyfish() {
+        // The 9s in rows 1, 3, 5 and 7 can only go in columns 2, 4, 6 and 8,
+        // and some of the other cells in those columns can't be 9 already
+        SolvingSudoku sudoku = new SolvingSudoku();
+        confineInRow(sudoku, 9, 0, 1, 3);
+        confineInRow(sudoku, 9, 2, 3, 5, 7);
+        confineInRow(sudoku, 9, 4, 1, 5);
+        confineInRow(sudoku, 9, 6, 1, 7);
+        sudoku.removePossible(new Cell(1, 1), 9);
+        sudoku.removePossible(new Cell(8, 3), 9);
+        sudoku.removePossible(new Cell(3, 5), 9);
+        sudoku.removePossible(new Cell(3, 7), 9);
+        sudoku.removePossible(new Cell(5, 7), 9);
+
+        Optional<SolveStep> step = new Fish(4).findStep(sudoku);
+        assertTrue(step.isPresent());
+        assertEquals(Arrays.asList(
+                new Cell(0, 1), new Cell(4, 1), new Cell(6, 1),
+                new Cell(0, 3), new Cell(2, 3),
+                new Cell(2, 5), new Cell(4, 5),
+                new Cell(2, 7), new Cell(6, 7)),
+                step.get().primaryCells());
+
+        List<Cell> expected = Arrays.asList(
+                new Cell(3, 1), new Cell(5, 1), new Cell(7, 1), new Cell(8, 1),
+                new Cell(1, 3), new Cell(3, 3), new Cell(5, 3), new Cell(7, 3),
+                new Cell(1, 5), new Cell(5, 5), new Cell(7, 5), new Cell(8, 5),
+                new Cell(1, 7), new Cell(7, 7), new Cell(8, 7));
+        assertEquals(expected, step.get().secondaryCells());
+
+        checkEliminations(sudoku, step.get(), 9, expected);
+    }
+
+    @Test
+    public void testNoStep() {
+        SolvingSudoku sudoku = new SolvingSudoku();
+        assertFalse(new Fish(2).findStep(sudoku).isPresent());
+
+        // Rows 2 and 6 use three columns between them
+        confineInRow(sudoku, 1, 1, 2, 6);
+        confineInRow(sudoku, 1, 5, 2, 7);
+        assertFalse(new Fish(2).findStep(sudoku).isPresent());
+
+        // Once applied, an X-Wing is no longer useful
+        sudoku = new SolvingSudoku();
+        confineInRow(sudoku, 1, 1, 2, 6);
+        confineInRow(sudoku, 1, 5, 2, 6);
+        new Fish(2).findStep(sudoku).get().apply(sudoku);
+        assertFalse(new Fish(2).findStep(sudoku).isPresent());
+
+        assertThrows(IllegalArgumentException.class, () -> { new Fish(5); });
+    }
+
+    /**
+     * Applies the step and checks that it removed the digit from exactly the
+     * given cells.
+     */
+    private static void checkEliminations(SolvingSudoku sudoku, SolveStep step, int digit, List<Cell> targets) {
+        int[][] before = new int[9][9];
+
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                before[row][col] = sudoku.state[row][col].getPossibleMask();
+            }
+        }
+
+        step.apply(sudoku);
+
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                int expected = before[row][col];
+
+                if (targets.contains(new Cell(row, col))) {
+                    assertTrue((expected & (1 << (digit - 1))) != 0);
+                    expected &= ~(1 << (digit - 1));
+                }
+
+                assertEquals("Candidates of " + new Cell(row, col), expected, sudoku.state[row][col].getPossibleMask());
+            }
+        }
+    }
+
+    private static void confineInRow(SolvingSudoku sudoku, int digit, int row, int... columns) {
+        for (int col = 0; col < 9; col++) {
+            if (Arrays.binarySearch(columns, col) < 0) {
+                sudoku.removePossible(new Cell(row, col), digit);
+            }
+        }
+    }
+
+    private static void confineInColumn(SolvingSudoku sudoku, int digit, int col, int... rows) {
+        for (int row = 0; row < 9; row++) {
+            if (Arrays.binarySearch(rows, row) < 0) {
+                sudoku.removePossible(new Cell(row, col), digit);
+            }
+        }
+    }
+}
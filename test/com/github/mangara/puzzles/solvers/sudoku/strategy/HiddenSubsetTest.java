@@ -0,0 +1,138 @@
+/*
+ * Copyright 2023 Sander Verdonschot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.sudoku.strategy;
+
+import com.github.mangara.puzzles.data.sudoku.Cell;
+import com.github.mangara.puzzles.solvers.sudoku.SolveStep;
+import com.github.mangara.puzzles.solvers.sudoku.SolvingSudoku;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class HiddenSubsetTest {
+
+    public HiddenSubsetTest() {
+    }
+
+    @Test
+    public void testPair() {
+        SolvingSudoku sudoku = new SolvingSudoku();
+        confine(sudoku, 1, 0, 4);
+        confine(sudoku, 2, 0, 4);
+
+        check(sudoku, new HiddenSubset(2), new int[]{0, 4}, 1, 2);
+    }
+
+    @Test
+    public void testTriple() {
+        // No digit needs to fit in all three cells
+        SolvingSudoku sudoku = new SolvingSudoku();
+        confine(sudoku, 1, 1, 3);
+        confine(sudoku, 2, 3, 7);
+        confine(sudoku, 3, 1, 7);
+
+        check(sudoku, new HiddenSubset(3), new int[]{1, 3, 7}, 1, 2, 3);
+    }
+
+    @Test
+    public void testQuad() {
+        SolvingSudoku sudoku = new SolvingSudoku();
+        confine(sudoku, 4, 0, 2, 5);
+        confine(sudoku, 5, 2, 8);
+        confine(sudoku, 6, 0, 5, 8);
+        confine(sudoku, 7, 0, 2, 5, 8);
+
+        check(sudoku, new HiddenSubset(4), new int[]{0, 2, 5, 8}, 4, 5, 6, 7);
+    }
+
+    @Test
+    public void testNoStep() {
+        SolvingSudoku sudoku = new SolvingSudoku();
+        assertFalse(new HiddenSubset(2).findStep(sudoku).isPresent());
+
+        // Two digits that fit in three cells between them are not a pair
+        confine(sudoku, 1, 0, 1);
+        confine(sudoku, 2, 1, 2);
+        assertFalse(new HiddenSubset(2).findStep(sudoku).isPresent());
+
+        // A pair whose cells have no other options is not useful
+        sudoku = new SolvingSudoku();
+        confine(sudoku, 1, 0, 1);
+        confine(sudoku, 2, 0, 1);
+        new HiddenSubset(2).findStep(sudoku).get().apply(sudoku);
+        assertFalse(new HiddenSubset(2).findStep(sudoku).isPresent());
+
+        assertThrows(IllegalArgumentException.class, () -> { new HiddenSubset(1); });
+    }
+
+    /**
+     * Checks that the strategy finds the given digits in the given columns of
+     * the first row, and that applying it removes exactly the other digits
+     * from these cells.
+     */
+    private static void check(SolvingSudoku sudoku, HiddenSubset strategy, int[] columns, int... digits) {
+        Optional<SolveStep> step = strategy.findStep(sudoku);
+        assertTrue(step.isPresent());
+
+        List<Cell> subset = new ArrayList<>();
+
+        for (int col : columns) {
+            subset.add(new Cell(0, col));
+        }
+
+        assertEquals(subset, step.get().primaryCells());
+
+        int mask = 0;
+
+        for (int digit : digits) {
+            mask |= 1 << (digit - 1);
+        }
+
+        int[] before = masks(sudoku);
+        step.get().apply(sudoku);
+        int[] after = masks(sudoku);
+
+        for (int i = 0; i < 81; i++) {
+            int expected = (i < 9 && Arrays.binarySearch(columns, i) >= 0) ? before[i] & mask : before[i];
+            assertEquals("Candidates of " + new Cell(i / 9, i % 9), expected, after[i]);
+        }
+    }
+
+    private static int[] masks(SolvingSudoku sudoku) {
+        int[] result = new int[81];
+
+        for (int i = 0; i < 81; i++) {
+            result[i] = sudoku.state[i / 9][i % 9].getPossibleMask();
+        }
+
+        return result;
+    }
+
+    /**
+     * Removes the given digit from all cells in the first row except the given
+     * columns.
+     */
+    private static void confine(SolvingSudoku sudoku, int digit, int... columns) {
+        for (int col = 0; col < 9; col++) {
+            if (Arrays.binarySearch(columns, col) < 0) {
+                sudoku.removePossible(new Cell(0, col), digit);
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2023 Sander Verdonschot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.sudoku.strategy;
+
+import com.github.mangara.puzzles.data.sudoku.Cell;
+import com.github.mangara.puzzles.solvers.sudoku.SolveStep;
+import com.github.mangara.puzzles.solvers.sudoku.SolvingSudoku;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class NakedSubsetTest {
+
+    public NakedSubsetTest() {
+    }
+
+    @Test
+    public void testPair() {
+        SolvingSudoku sudoku = new SolvingSudoku();
+        restrict(sudoku, new Cell(0, 0), 1, 2);
+        restrict(sudoku, new Cell(0, 4), 1, 2);
+
+        check(sudoku, new NakedSubset(2), new int[]{0, 4}, 1, 2);
+    }
+
+    @Test
+    public void testTriple() {
+        // No cell needs to contain all three digits
+        SolvingSudoku sudoku = new SolvingSudoku();
+        restrict(sudoku, new Cell(0, 1), 1, 2);
+        restrict(sudoku, new Cell(0, 3), 2, 3);
+        restrict(sudoku, new Cell(0, 7), 1, 3);
+
+        check(sudoku, new NakedSubset(3), new int[]{1, 3, 7}, 1, 2, 3);
+    }
+
+    @Test
+    public void testQuad() {
+        SolvingSudoku sudoku = new SolvingSudoku();
+        restrict(sudoku, new Cell(0, 0), 4, 5);
+        restrict(sudoku, new Cell(0, 2), 5, 6, 7);
+        restrict(sudoku, new Cell(0, 5), 4, 7);
+        restrict(sudoku, new Cell(0, 8), 4, 5, 6, 7);
+
+        check(sudoku, new NakedSubset(4), new int[]{0, 2, 5, 8}, 4, 5, 6, 7);
+    }
+
+    @Test
+    public void testNoStep() {
+        SolvingSudoku sudoku = new SolvingSudoku();
+        assertFalse(new NakedSubset(2).findStep(sudoku).isPresent());
+
+        // Two cells with three digits between them are not a pair
+        restrict(sudoku, new Cell(0, 0), 1, 2);
+        restrict(sudoku, new Cell(0, 1), 2, 3);
+        assertFalse(new NakedSubset(2).findStep(sudoku).isPresent());
+
+        // A pair whose digits are already gone from the rest of its regions is not useful
+        sudoku = new SolvingSudoku();
+        restrict(sudoku, new Cell(0, 0), 1, 2);
+        restrict(sudoku, new Cell(0, 1), 1, 2);
+        new NakedSubset(2).findStep(sudoku).get().apply(sudoku);
+        new NakedSubset(2).findStep(sudoku).get().apply(sudoku);
+        assertFalse(new NakedSubset(2).findStep(sudoku).isPresent());
+
+        assertThrows(IllegalArgumentException.class, () -> { new NakedSubset(5); });
+    }
+
+    /**
+     * Checks that the strategy finds the subset formed by the given columns of
+     * the first row, and that applying it removes exactly the subset digits
+     * from the rest of the row.
+     */
+    private static void check(SolvingSudoku sudoku, NakedSubset strategy, int[] columns, int... digits) {
+        Optional<SolveStep> step = strategy.findStep(sudoku);
+        assertTrue(step.isPresent());
+
+        List<Cell> subset = new ArrayList<>();
+        List<Cell> targets = new ArrayList<>();
+
+        for (int col = 0; col < 9; col++) {
+            if (Arrays.binarySearch(columns, col) >= 0) {
+                subset.add(new Cell(0, col));
+            } else {
+                targets.add(new Cell(0, col));
+            }
+        }
+
+        assertEquals(subset, step.get().primaryCells());
+        assertEquals(targets, step.get().secondaryCells());
+
+        int mask = 0;
+
+        for (int digit : digits) {
+            mask |= 1 << (digit - 1);
+        }
+
+        int[] before = masks(sudoku);
+        step.get().apply(sudoku);
+        int[] after = masks(sudoku);
+
+        for (int i = 0; i < 81; i++) {
+            int expected = (i < 9 && Arrays.binarySearch(columns, i) < 0) ? before[i] & ~mask : before[i];
+            assertEquals("Candidates of " + new Cell(i / 9, i % 9), expected, after[i]);
+        }
+    }
+
+    private static int[] masks(SolvingSudoku sudoku) {
+        int[] result = new int[81];
+
+        for (int i = 0; i < 81; i++) {
+            result[i] = sudoku.state[i / 9][i % 9].getPossibleMask();
+        }
+
+        return result;
+    }
+
+    /**
+     * Removes all candidates from the given cell except the given digits.
+     */
+    private static void restrict(SolvingSudoku sudoku, Cell cell, int... digits) {
+        for (int d = 1; d <= 9; d++) {
+            final int digit = d;
+
+            if (Arrays.stream(digits).noneMatch(x -> x == digit)) {
+                sudoku.removePossible(cell, d);
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2023 Sander Verdonschot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.sudoku.strategy;
+
+import com.github.mangara.puzzles.data.sudoku.Cell;
+import com.github.mangara.puzzles.solvers.sudoku.SolveStep;
+import com.github.mangara.puzzles.solvers.sudoku.SolvingSudoku;
+import static com.github.mangara.puzzles.solvers.sudoku.strategy.ChainsTest.*;
+import java.util.Arrays;
+import java.util.Optional;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SimpleColoringTest {
+
+    public SimpleColoringTest() {
+    }
+
+    @Test
+    public void testColorTrap() {
+        // r1c3 = r1c6 and r1c3 = r3c3 for 1, so box 1 sees both colors
+        SolvingSudoku sudoku = new SolvingSudoku();
+        confineInRow(sudoku, 1, 0, 2, 5);
+        confineInColumn(sudoku, 1, 2, 0, 2);
+
+        Optional<SolveStep> step = new SimpleColoring().findStep(sudoku);
+        assertTrue(step.isPresent());
+        assertEquals(Arrays.asList(new Cell(0, 2), new Cell(0, 5), new Cell(2, 2)), step.get().primaryCells());
+        assertEquals(Arrays.asList(new Cell(1, 0), new Cell(1, 1), new Cell(2, 0), new Cell(2, 1)), step.get().secondaryCells());
+
+        checkEliminations(sudoku, step.get(), 1, new Cell(1, 0), new Cell(1, 1), new Cell(2, 0), new Cell(2, 1));
+    }
+
+    @Test
+    public void testColorWrap() {
+        // r1c4 = r1c6 = r2c6 for 1, and r1c4 and r2c6 share box 2
+        SolvingSudoku sudoku = new SolvingSudoku();
+        confineInRow(sudoku, 1, 0, 3, 5);
+        confineInColumn(sudoku, 1, 5, 0, 1);
+
+        Optional<SolveStep> step = new SimpleColoring().findStep(sudoku);
+        assertTrue(step.isPresent());
+        assertEquals(Arrays.asList(new Cell(0, 5)), step.get().primaryCells());
+        assertEquals(Arrays.asList(new Cell(0, 3), new Cell(1, 5)), step.get().secondaryCells());
+
+        checkEliminations(sudoku, step.get(), 1, new Cell(0, 3), new Cell(1, 5));
+    }
+
+    @Test
+    public void testNoStep() {
+        // A single strong link is left to simpler strategies
+        SolvingSudoku sudoku = new SolvingSudoku();
+        confineInRow(sudoku, 1, 0, 2, 5);
+
+        assertFalse(new SimpleColoring().findStep(sudoku).isPresent());
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2023 Sander Verdonschot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.sudoku.strategy;
+
+import com.github.mangara.puzzles.data.sudoku.Cell;
+import com.github.mangara.puzzles.solvers.sudoku.SolveStep;
+import com.github.mangara.puzzles.solvers.sudoku.SolvingSudoku;
+import static com.github.mangara.puzzles.solvers.sudoku.strategy.ChainsTest.*;
+import java.util.Arrays;
+import java.util.Optional;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class XChainTest {
+
+    public XChainTest() {
+    }
+
+    @Test
+    public void testSkyscraper() {
+        // r4c4 = r1c4 - r1c1 = r6c1 for 1, so r4c4 or r6c1 is 1
+        SolvingSudoku sudoku = new SolvingSudoku();
+        confineInColumn(sudoku, 1, 0, 0, 5);
+        confineInColumn(sudoku, 1, 3, 0, 3);
+
+        Optional<SolveStep> step = new XChain().findStep(sudoku);
+        assertTrue(step.isPresent());
+        assertEquals(Arrays.asList(new Cell(3, 3), new Cell(0, 3), new Cell(0, 0), new Cell(5, 0)), step.get().primaryCells());
+        assertEquals(Arrays.asList(new Cell(3, 1), new Cell(3, 2), new Cell(5, 4), new Cell(5, 5)), step.get().secondaryCells());
+
+        checkEliminations(sudoku, step.get(), 1, new Cell(3, 1), new Cell(3, 2), new Cell(5, 4), new Cell(5, 5));
+    }
+
+    @Test
+    public void testLongerChain() {
+        // r4c4 = r9c4 - r9c3 = r3c3 - r2c1 = r6c1 for 1, so r4c4 or r6c1 is 1
+        SolvingSudoku sudoku = new SolvingSudoku();
+        confineInColumn(sudoku, 1, 3, 3, 8);
+        confineInColumn(sudoku, 1, 2, 2, 8);
+        confineInColumn(sudoku, 1, 0, 1, 5);
+
+        Optional<SolveStep> step = new XChain().findStep(sudoku);
+        assertTrue(step.isPresent());
+        assertEquals(Arrays.asList(new Cell(3, 3), new Cell(8, 3), new Cell(8, 2), new Cell(2, 2), new Cell(1, 0), new Cell(5, 0)), step.get().primaryCells());
+        assertEquals(Arrays.asList(new Cell(3, 1), new Cell(5, 4), new Cell(5, 5)), step.get().secondaryCells());
+
+        checkEliminations(sudoku, step.get(), 1, new Cell(3, 1), new Cell(5, 4), new Cell(5, 5));
+    }
+
+    @Test
+    public void testNoStep() {
+        // Two strong links that don't see each other form no chain
+        SolvingSudoku sudoku = new SolvingSudoku();
+        confineInColumn(sudoku, 1, 0, 0, 5);
+        confineInColumn(sudoku, 1, 4, 4, 8);
+
+        assertFalse(new XChain().findStep(sudoku).isPresent());
+    }
+}
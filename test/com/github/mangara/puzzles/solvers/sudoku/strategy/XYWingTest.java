@@ -0,0 +1,80 @@
+/*
+ * Copyright 2023 Sander Verdonschot.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.mangara.puzzles.solvers.sudoku.strategy;
+
+import com.github.mangara.puzzles.data.sudoku.Cell;
+import com.github.mangara.puzzles.solvers.sudoku.SolveStep;
+import com.github.mangara.puzzles.solvers.sudoku.SolvingSudoku;
+import static com.github.mangara.puzzles.solvers.sudoku.strategy.ChainsTest.*;
+import java.util.Arrays;
+import java.util.Optional;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class XYWingTest {
+
+    public XYWingTest() {
+    }
+
+    @Test
+    public void testXYWing() {
+        // Pivot r1c1 (47) with pincers r1c5 (24) and r5c1 (27): one pincer is 2
+        SolvingSudoku sudoku = new SolvingSudoku();
+        restrict(sudoku, new Cell(0, 0), 4, 7);
+        restrict(sudoku, new Cell(0, 4), 2, 4);
+        restrict(sudoku, new Cell(4, 0), 2, 7);
+
+        Optional<SolveStep> step = new XYWing(false).findStep(sudoku);
+        assertTrue(step.isPresent());
+        assertEquals(Arrays.asList(new Cell(0, 0), new Cell(0, 4), new Cell(4, 0)), step.get().primaryCells());
+        assertEquals(Arrays.asList(new Cell(4, 4)), step.get().secondaryCells());
+
+        checkEliminations(sudoku, step.get(), 2, new Cell(4, 4));
+        assertFalse(new XYWing(false).findStep(sudoku).isPresent());
+    }
+
+    @Test
+    public void testXYZWing() {
+        // Pivot r1c1 (146) with pincers r1c6 (16) and r2c2 (46): one of them is 6
+        SolvingSudoku sudoku = new SolvingSudoku();
+        restrict(sudoku, new Cell(0, 0), 1, 4, 6);
+        restrict(sudoku, new Cell(0, 5), 1, 6);
+        restrict(sudoku, new Cell(1, 1), 4, 6);
+
+        // Without the pivot digit there is no wing
+        assertFalse(new XYWing(false).findStep(sudoku).isPresent());
+
+        Optional<SolveStep> step = new XYWing(true).findStep(sudoku);
+        assertTrue(step.isPresent());
+        assertEquals(Arrays.asList(new Cell(0, 0), new Cell(0, 5), new Cell(1, 1)), step.get().primaryCells());
+        assertEquals(Arrays.asList(new Cell(0, 1), new Cell(0, 2)), step.get().secondaryCells());
+
+        checkEliminations(sudoku, step.get(), 6, new Cell(0, 1), new Cell(0, 2));
+        assertFalse(new XYWing(true).findStep(sudoku).isPresent());
+    }
+
+    @Test
+    public void testNoStep() {
+        // Pincers with the same options form no wing
+        SolvingSudoku sudoku = new SolvingSudoku();
+        restrict(sudoku, new Cell(0, 0), 4, 7);
+        restrict(sudoku, new Cell(0, 4), 2, 4);
+        restrict(sudoku, new Cell(2, 0), 2, 4);
+
+        assertFalse(new XYWing(false).findStep(sudoku).isPresent());
+        assertFalse(new XYWing(true).findStep(sudoku).isPresent());
+    }
+}